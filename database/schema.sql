@@ -23,6 +23,8 @@
 SET client_encoding = 'UTF8';
 
 -- Drop tables if they exist (for clean reinstalls)
+DROP TABLE IF EXISTS schedule_data_version CASCADE;
+DROP TABLE IF EXISTS constraint_weight CASCADE;
 DROP TABLE IF EXISTS course_assignment CASCADE;
 DROP TABLE IF EXISTS group_course CASCADE;
 DROP TABLE IF EXISTS teacher_qualification CASCADE;
@@ -267,6 +269,63 @@ COMMENT ON COLUMN course_assignment.timeslot_id IS 'Assigned timeslot (null unti
 COMMENT ON COLUMN course_assignment.room_name IS 'Assigned room (null until solver assigns)';
 COMMENT ON COLUMN course_assignment.pinned IS 'If TRUE, Timefold solver must not modify this assignment';
 
+-- ============================================================================
+-- CONSTRAINT WEIGHTS TABLE
+-- ============================================================================
+-- Optional runtime weights for solver constraints (loaded by DataLoader)
+CREATE TABLE constraint_weight (
+    constraint_name VARCHAR(200) PRIMARY KEY,
+    weight VARCHAR(50) NOT NULL,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE constraint_weight IS 'Constraint weight overrides applied to the solver without recompiling';
+COMMENT ON COLUMN constraint_weight.constraint_name IS 'Constraint name exactly as in SchoolConstraintProvider';
+COMMENT ON COLUMN constraint_weight.weight IS 'Weight as a score, e.g. 0hard/3soft or 1hard/0soft; 0 or off disables';
+COMMENT ON COLUMN constraint_weight.enabled IS 'If FALSE, the constraint is disabled (weight zero) regardless of weight';
+
+-- ============================================================================
+-- SCHEDULE DATA VERSION
+-- ============================================================================
+-- One row, bumped by a statement trigger on every table DataLoader reads, so the
+-- loader can tell with a single-row query whether its cached snapshot is current.
+-- The epoch changes whenever the table is recreated. This section can also be run
+-- on its own to add the version row to an existing database.
+CREATE TABLE IF NOT EXISTS schedule_data_version (
+    id BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    epoch VARCHAR(32) NOT NULL DEFAULT md5(random()::text || clock_timestamp()::text),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO schedule_data_version DEFAULT VALUES ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_schedule_data_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE schedule_data_version SET version = version + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    source_table TEXT;
+BEGIN
+    FOREACH source_table IN ARRAY ARRAY['teacher', 'teacher_qualification', 'teacher_availability', 'course',
+            'room', 'timeslot', 'student_group', 'group_course', 'course_assignment'] LOOP
+        EXECUTE format('DROP TRIGGER IF EXISTS trg_schedule_data_version ON %I', source_table);
+        EXECUTE format('CREATE TRIGGER trg_schedule_data_version'
+                || ' AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON %I'
+                || ' FOR EACH STATEMENT EXECUTE FUNCTION bump_schedule_data_version()', source_table);
+    END LOOP;
+END;
+$$;
+
+COMMENT ON TABLE schedule_data_version IS 'Change counter of the tables DataLoader reads; keys its snapshot cache';
+COMMENT ON COLUMN schedule_data_version.epoch IS 'Random tag set when the table is created';
+COMMENT ON COLUMN schedule_data_version.version IS 'Bumped once per INSERT/UPDATE/DELETE/TRUNCATE statement';
+
 -- ============================================================================
 -- UTILITY VIEWS
 -- ============================================================================
@@ -1,3 +1,6 @@
+import com.example.analysis.FeasibilityChecker;
+import com.example.data.DataLoader;
+
 import java.sql.*;
 
 public class DiagnosticCheck {
@@ -33,6 +36,15 @@ public class DiagnosticCheck {
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
         }
+
+        // Check whether the loaded data can be solved at all
+        try {
+            System.out.println("\n=== Feasibility pre-check ===");
+            FeasibilityChecker.check(new DataLoader(jdbcUrl, username, password).loadData()).print(System.out);
+        } catch (SQLException e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
 
     static void checkCount(Statement stmt, String table) throws SQLException {
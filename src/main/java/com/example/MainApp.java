@@ -1,19 +1,37 @@
 package com.example;
 
+import ai.timefold.solver.core.api.solver.SolutionManager;
 import ai.timefold.solver.core.api.solver.Solver;
 import ai.timefold.solver.core.api.solver.SolverFactory;
 
+import com.example.data.CourseBlockConverter;
+import com.example.data.CourseBlockSplitter;
 import com.example.data.DataLoader;
 import com.example.data.DataSaver;
 import com.example.data.DemoDataGenerator;
+import com.example.data.ScheduleSnapshot;
+import com.example.domain.BlockSchedule;
 import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
 import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.monitoring.TelemetrySession;
+import com.example.solver.ConstraintWeights;
+import com.example.solver.ParallelScheduleSolver;
+import com.example.solver.PortfolioSolver;
+import com.example.solver.ScheduleDecomposer;
 import com.example.solver.SchoolSolverConfig;
+import com.example.solver.TwoStageSolver;
 import java.time.DayOfWeek;
 import java.util.*;
+import com.example.analysis.FeasibilityChecker;
+import com.example.analysis.FeasibilityReport;
+import com.example.analysis.ScheduleAnalysisResult;
 import com.example.analysis.ScheduleAnalyzer;
+import com.example.analysis.ScheduleIndex;
 import com.example.util.PdfReporter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 
 public class MainApp {
@@ -24,8 +42,25 @@ public class MainApp {
         String jdbcUrl = "jdbc:postgresql://localhost:5432/school_schedule";
         String username = "mancilla";
         String password = "";
+        // --snapshot=FILE loads a ScheduleSnapshot instead of querying the database;
+        // --reload bypasses DataLoader's cache of unchanged tables
+        String snapshot = Arrays.stream(args).filter(a -> a.startsWith("--snapshot="))
+                .map(a -> a.substring("--snapshot=".length())).findFirst().orElse(null);
         DataLoader dataLoader = new DataLoader(jdbcUrl, username, password);
-        SchoolSchedule initialSchedule = dataLoader.loadData();
+        dataLoader.setForceReload(Arrays.asList(args).contains("--reload"));
+        SchoolSchedule initialSchedule = snapshot != null ? ScheduleSnapshot.read(Path.of(snapshot))
+                : dataLoader.loadData();
+
+        // --weights=FILE (or CONSTRAINT_WEIGHTS) overrides constraint weights on top of
+        // the constraint_weight table, e.g. to switch expensive soft rules off
+        String weightsFile = Arrays.stream(args).filter(a -> a.startsWith("--weights="))
+                .map(a -> a.substring("--weights=".length())).findFirst()
+                .orElse(System.getenv(ConstraintWeights.WEIGHTS_ENV));
+        if (weightsFile != null && !weightsFile.isBlank()) {
+            initialSchedule.setConstraintWeightOverrides(ConstraintWeights.merge(
+                    initialSchedule.getConstraintWeightOverrides(), ConstraintWeights.fromFile(Path.of(weightsFile))));
+            System.out.println("Constraint weights from " + weightsFile);
+        }
 
         System.out.println("=== School Schedule Solver ===");
         System.out.println("Initial problem:");
@@ -37,15 +72,36 @@ public class MainApp {
         System.out.println("  Course Assignments: " + initialSchedule.getCourseAssignments().size());
         System.out.println();
 
-        // System.exit(0);
+        // Refuse to spend hours solving a dataset that provably has no feasible
+        // schedule; pass --force to solve anyway
+        FeasibilityReport feasibility = FeasibilityChecker.check(initialSchedule);
+        feasibility.print(System.out);
+        System.out.println();
+        if (!feasibility.isFeasible() && !Arrays.asList(args).contains("--force")) {
+            System.err.println("Dataset is infeasible; fix the errors above or run with --force to solve anyway.");
+            System.exit(2);
+        }
 
-        // Build solver
-        SolverFactory<SchoolSchedule> solverFactory = SchoolSolverConfig.buildSolverFactory();
-        Solver<SchoolSchedule> solver = solverFactory.buildSolver();
+        // System.exit(0);
 
-        // Solve
-        System.out.println("Solving...");
-        SchoolSchedule solvedSchedule = solver.solve(initialSchedule);
+        // Build solver; --profile=NAME or SOLVER_PROFILE picks the latency/quality
+        // trade-off (default, feasibility-fast, nightly-quality, repair)
+        SchoolSolverConfig.Profile profile = SchoolSolverConfig.selectProfile(args);
+        System.out.println("Solver profile: " + profile.getId());
+        SchoolSolverConfig.applyWeights(profile, initialSchedule);
+        SolverFactory<SchoolSchedule> solverFactory = SchoolSolverConfig.buildSolverFactory(profile);
+        SchoolSchedule solvedSchedule;
+
+        // PORTFOLIO_SOLVERS=N races N differently seeded/configured solvers for
+        // PORTFOLIO_SECONDS, moving stragglers to the best every PORTFOLIO_BROADCAST_SECONDS
+        int portfolioSize = Integer.parseInt(System.getenv().getOrDefault("PORTFOLIO_SOLVERS", "0"));
+
+        // Telemetry for every solver of the run: a CSV per solver under telemetry/,
+        // Prometheus text only when TELEMETRY_PORT is set, e.g. TELEMETRY_PORT=9464; off by default
+        int telemetryPort = Integer.parseInt(System.getenv().getOrDefault("TELEMETRY_PORT", "0"));
+        try (TelemetrySession telemetry = new TelemetrySession(Path.of("telemetry"), telemetryPort)) {
+            solvedSchedule = solve(args, profile, solverFactory, initialSchedule, portfolioSize, telemetry);
+        }
 
         // Print results
         System.out.println();
@@ -53,45 +109,13 @@ public class MainApp {
         System.out.println("Score: " + solvedSchedule.getScore());
         System.out.println();
 
-        // Analyze hard constraint violations by checking the solution against each hard
-        // rule
-        System.out.println("=== Hard Constraint Violations (by rule) ===");
-        Map<String, Integer> violations = ScheduleAnalyzer.analyzeHardConstraintViolations(solvedSchedule);
-        violations.forEach((k, v) -> System.out.println("- " + k + ": " + v));
-        System.out.println();
+        // One index over the solved schedule serves the analysis, the printers and the PDFs
+        ScheduleIndex index = ScheduleIndex.of(solvedSchedule);
 
-        // Also print detailed offending assignments for each hard rule
-        System.out.println("=== Hard Constraint Violations (details) ===");
-        Map<String, List<String>> details = ScheduleAnalyzer.analyzeHardConstraintViolationsDetailed(solvedSchedule);
-        details.forEach((rule, offenders) -> {
-            System.out.println("- " + rule + ": " + offenders.size());
-            for (String desc : offenders) {
-                System.out.println("    " + desc);
-            }
-        });
-        System.out.println();
-
-        /** */
-        // Analyze soft constraint violations (counts)
-        System.out.println("=== Soft Constraint Violations (by rule) ===");
-        Map<String, Integer> softViolations = ScheduleAnalyzer.analyzeSoftConstraintViolations(solvedSchedule);
-        softViolations.forEach((k, v) -> System.out.println("- " + k + ": " + v));
-        System.out.println();
-
-        // Also print detailed offending assignments for each soft rule
-        System.out.println("=== Soft Constraint Violations (details) ===");
-        Map<String, List<String>> softDetails = ScheduleAnalyzer
-                .analyzeSoftConstraintViolationsDetailed(solvedSchedule);
-
-        /**
-         * softDetails.forEach((rule, offenders) -> {
-         * System.out.println("- " + rule + ": " + offenders.size());
-         * for (String desc : offenders) {
-         * System.out.println(" " + desc);
-         * }
-         * });
-         */
-        System.out.println();
+        // Check the solution against every hard and soft rule in one pass; offender
+        // descriptions are only formatted for the sections printed
+        ScheduleAnalysisResult analysis = ScheduleAnalyzer.analyze(index);
+        analysis.print(System.out, false);
 
         // Save results back to database
         System.out.println();
@@ -112,22 +136,22 @@ public class MainApp {
 
         // Print schedule by day
         // System.out.println("=== Schedule by Day ===");
-        // printScheduleByDay(solvedSchedule);
+        // printScheduleByDay(index);
 
         // Print schedule by teacher
         System.out.println();
         // System.out.println("=== Schedule by Teacher ===");
-        // printScheduleByTeacher(solvedSchedule);
+        // printScheduleByTeacher(index);
 
         // Print schedule by group
         System.out.println();
         // System.out.println("=== Schedule by Group ===");
-        // printScheduleByGroup(solvedSchedule);
+        // printScheduleByGroup(index);
 
         // Write PDF report
         try {
             String base = "calendario";
-            PdfReporter.generateReports(solvedSchedule, violations, softViolations, base);
+            PdfReporter.generateReports(analysis, base);
             System.out
                     .println("PDF reports written to: " + base + "-incumplimientos.pdf, " + base + "-por-maestro.pdf, "
                             + base + "-por-grupo.pdf");
@@ -139,22 +163,64 @@ public class MainApp {
 
     // Soft constraint analysis
 
-    private static void printScheduleByDay(SchoolSchedule schedule) {
-        Map<DayOfWeek, List<CourseAssignment>> byDay = new TreeMap<>();
-
-        for (CourseAssignment assignment : schedule.getCourseAssignments()) {
-            if (assignment.getTimeslot() != null) {
-                byDay.computeIfAbsent(assignment.getTimeslot().getDayOfWeek(), k -> new ArrayList<>())
-                        .add(assignment);
-            }
+    /**
+     * Solve with the model and strategy picked on the command line; every solver
+     * involved is attached to {@code telemetry}.
+     */
+    private static SchoolSchedule solve(String[] args, SchoolSolverConfig.Profile profile,
+            SolverFactory<SchoolSchedule> solverFactory, SchoolSchedule initialSchedule, int portfolioSize,
+            TelemetrySession telemetry) {
+        if (Arrays.asList(args).contains("--block-model")) {
+            // Coarse-grained model: solve runs of consecutive hours as single
+            // entities, then expand them back into the per-hour rows
+            BlockSchedule blocks = CourseBlockSplitter.split(initialSchedule,
+                    CourseBlockSplitter.DEFAULT_MAX_BLOCK_LENGTH);
+            Solver<BlockSchedule> blockSolver = SchoolSolverConfig.buildBlockSolverFactory().buildSolver();
+            telemetry.attach(blockSolver);
+            System.out.println("Solving...");
+            BlockSchedule solvedBlocks = blockSolver.solve(blocks);
+            System.out.println("Block model score: " + solvedBlocks.getScore());
+            SchoolSchedule solvedSchedule = CourseBlockConverter.toSchoolSchedule(solvedBlocks, initialSchedule);
+            // Score the per-hour rows with the regular constraints for the reports
+            SolutionManager.create(solverFactory).update(solvedSchedule);
+            return solvedSchedule;
         }
+        if (portfolioSize > 1) {
+            long portfolioSeconds = Long.parseLong(System.getenv().getOrDefault("PORTFOLIO_SECONDS", "600"));
+            long broadcastSeconds = Long.parseLong(System.getenv().getOrDefault("PORTFOLIO_BROADCAST_SECONDS", "30"));
+            System.out.println("Solving...");
+            PortfolioSolver portfolioSolver = new PortfolioSolver(SchoolSolverConfig.buildSolverConfig(profile),
+                    portfolioSize, portfolioSeconds, broadcastSeconds);
+            portfolioSolver.setSolverCustomizer(telemetry::attach);
+            return portfolioSolver.solve(initialSchedule);
+        }
+        if (Arrays.asList(args).contains("--two-stage")) {
+            // Hard constraints only until feasible (or stalled), then all constraints
+            System.out.println("Solving...");
+            TwoStageSolver twoStageSolver = new TwoStageSolver(SchoolSolverConfig.buildSolverConfig(profile));
+            twoStageSolver.setSolverCustomizer(telemetry::attach);
+            return twoStageSolver.solve(initialSchedule);
+        }
+        List<SchoolSchedule> components = ScheduleDecomposer.decompose(initialSchedule);
+        if (components.size() > 1) {
+            // Groups that share no pinned teacher or room with the rest are solved as separate
+            // sub-problems, each on its own core with its own termination budget; clashes on
+            // shared candidate teachers or rooms are repaired after the merge
+            System.out.println("Solving...");
+            ParallelScheduleSolver parallelSolver = new ParallelScheduleSolver(solverFactory);
+            parallelSolver.setSolverCustomizer(telemetry::attach);
+            return parallelSolver.solve(initialSchedule, components);
+        }
+        Solver<SchoolSchedule> solver = solverFactory.buildSolver();
+        telemetry.attach(solver);
+        System.out.println("Solving...");
+        return solver.solve(initialSchedule);
+    }
 
-        for (DayOfWeek day : byDay.keySet()) {
+    private static void printScheduleByDay(ScheduleIndex index) {
+        for (DayOfWeek day : index.getDays()) {
             System.out.println(day + ":");
-            List<CourseAssignment> dayAssignments = byDay.get(day);
-            dayAssignments.sort(Comparator.comparing(a -> a.getTimeslot().getHour()));
-
-            for (CourseAssignment assignment : dayAssignments) {
+            for (CourseAssignment assignment : index.getByDay(day)) {
                 System.out.printf("  %s: %s (Group: %s, Teacher: %s, Room: %s)%n",
                         assignment.getTimeslot(),
                         assignment.getCourse().getName(),
@@ -165,26 +231,10 @@ public class MainApp {
         }
     }
 
-    private static void printScheduleByTeacher(SchoolSchedule schedule) {
-        Map<String, List<CourseAssignment>> byTeacher = new TreeMap<>();
-
-        for (CourseAssignment assignment : schedule.getCourseAssignments()) {
-            if (assignment.getTeacher() != null) {
-                byTeacher.computeIfAbsent(assignment.getTeacher().getName(), k -> new ArrayList<>())
-                        .add(assignment);
-            }
-        }
-
-        for (String teacherName : byTeacher.keySet()) {
-            System.out.println(teacherName + ":");
-            List<CourseAssignment> teacherAssignments = byTeacher.get(teacherName);
-            teacherAssignments.sort(Comparator.comparing(a -> {
-                if (a.getTimeslot() == null)
-                    return Integer.MAX_VALUE;
-                return a.getTimeslot().getDayOfWeek().getValue() * 100 + a.getTimeslot().getHour();
-            }));
-
-            for (CourseAssignment assignment : teacherAssignments) {
+    private static void printScheduleByTeacher(ScheduleIndex index) {
+        for (Teacher teacher : index.getTeachers()) {
+            System.out.println(teacher.getName() + ":");
+            for (CourseAssignment assignment : index.getByTeacher(teacher)) {
                 System.out.printf("  %s: %s (Group: %s, Room: %s)%n",
                         assignment.getTimeslot() != null ? assignment.getTimeslot() : "UNASSIGNED",
                         assignment.getCourse().getName(),
@@ -192,32 +242,16 @@ public class MainApp {
                         assignment.getRoom() != null ? assignment.getRoom().getName() : "UNASSIGNED");
             }
 
-            int hoursPerWeek = (int) schedule.getCourseAssignments().stream()
-                    .filter(a -> a.getTeacher() != null && a.getTeacher().getName().equals(teacherName))
-                    .count();
-            System.out.println("  Total hours: " + hoursPerWeek);
+            System.out.println("  Total hours: " + index.getTeacherHours(teacher) + " of "
+                    + teacher.getMaxHoursPerWeek());
             System.out.println();
         }
     }
 
-    private static void printScheduleByGroup(SchoolSchedule schedule) {
-        Map<String, List<CourseAssignment>> byGroup = new TreeMap<>();
-
-        for (CourseAssignment assignment : schedule.getCourseAssignments()) {
-            byGroup.computeIfAbsent(assignment.getGroup().getName(), k -> new ArrayList<>())
-                    .add(assignment);
-        }
-
-        for (String groupName : byGroup.keySet()) {
-            System.out.println(groupName + ":");
-            List<CourseAssignment> groupAssignments = byGroup.get(groupName);
-            groupAssignments.sort(Comparator.comparing(a -> {
-                if (a.getTimeslot() == null)
-                    return Integer.MAX_VALUE;
-                return a.getTimeslot().getDayOfWeek().getValue() * 100 + a.getTimeslot().getHour();
-            }));
-
-            for (CourseAssignment assignment : groupAssignments) {
+    private static void printScheduleByGroup(ScheduleIndex index) {
+        for (Group group : index.getGroups()) {
+            System.out.println(group.getName() + ":");
+            for (CourseAssignment assignment : index.getByGroup(group)) {
                 System.out.printf("  %s: %s (Teacher: %s, Room: %s)%n",
                         assignment.getTimeslot() != null ? assignment.getTimeslot() : "UNASSIGNED",
                         assignment.getCourse().getName(),
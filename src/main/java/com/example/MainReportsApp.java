@@ -7,11 +7,15 @@ import com.example.data.DataLoader;
 import com.example.data.DataSaver;
 import com.example.data.DemoDataGenerator;
 import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
 import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
 import com.example.solver.SchoolSolverConfig;
 import java.time.DayOfWeek;
 import java.util.*;
+import com.example.analysis.ScheduleAnalysisResult;
 import com.example.analysis.ScheduleAnalyzer;
+import com.example.analysis.ScheduleIndex;
 import com.example.util.PdfReporter;
 import java.io.IOException;
 import java.sql.SQLException;
@@ -25,6 +29,7 @@ public class MainReportsApp {
         String username = "mancilla";
         String password = "";
         DataLoader dataLoader = new DataLoader(jdbcUrl, username, password);
+        dataLoader.setForceReload(Arrays.asList(args).contains("--reload"));
         SchoolSchedule solvedSchedule = dataLoader.loadData();
 
         System.out.println("=== School Schedule Solver ===");
@@ -43,60 +48,32 @@ public class MainReportsApp {
         System.out.println("Score: " + solvedSchedule.getScore());
         System.out.println();
 
-        // Analyze hard constraint violations by checking the solution against each hard
-        // rule
-        System.out.println("=== Hard Constraint Violations (by rule) ===");
-        Map<String, Integer> violations = ScheduleAnalyzer.analyzeHardConstraintViolations(solvedSchedule);
-        violations.forEach((k, v) -> System.out.println("- " + k + ": " + v));
-        System.out.println();
-
-        // Also print detailed offending assignments for each hard rule
-        System.out.println("=== Hard Constraint Violations (details) ===");
-        Map<String, List<String>> details = ScheduleAnalyzer.analyzeHardConstraintViolationsDetailed(solvedSchedule);
-        details.forEach((rule, offenders) -> {
-            System.out.println("- " + rule + ": " + offenders.size());
-            for (String desc : offenders) {
-                System.out.println("    " + desc);
-            }
-        });
-        System.out.println();
+        // One index over the solved schedule serves the analysis, the printers and the PDFs
+        ScheduleIndex index = ScheduleIndex.of(solvedSchedule);
 
-        // Analyze soft constraint violations (counts)
-        System.out.println("=== Soft Constraint Violations (by rule) ===");
-        Map<String, Integer> softViolations = ScheduleAnalyzer.analyzeSoftConstraintViolations(solvedSchedule);
-        softViolations.forEach((k, v) -> System.out.println("- " + k + ": " + v));
-        System.out.println();
-
-        // Also print detailed offending assignments for each soft rule
-        System.out.println("=== Soft Constraint Violations (details) ===");
-        Map<String, List<String>> softDetails = ScheduleAnalyzer
-                .analyzeSoftConstraintViolationsDetailed(solvedSchedule);
-        softDetails.forEach((rule, offenders) -> {
-            System.out.println("- " + rule + ": " + offenders.size());
-            for (String desc : offenders) {
-                System.out.println("    " + desc);
-            }
-        });
-        System.out.println();
+        // Check the solution against every hard and soft rule in one pass; offender
+        // descriptions are only formatted for the sections printed
+        ScheduleAnalysisResult analysis = ScheduleAnalyzer.analyze(index);
+        analysis.print(System.out, true);
 
         // Print schedule by day
         System.out.println("=== Schedule by Day ===");
-        printScheduleByDay(solvedSchedule);
+        printScheduleByDay(index);
 
         // Print schedule by teacher
         System.out.println();
         System.out.println("=== Schedule by Teacher ===");
-        printScheduleByTeacher(solvedSchedule);
+        printScheduleByTeacher(index);
 
         // Print schedule by group
         System.out.println();
         System.out.println("=== Schedule by Group ===");
-        printScheduleByGroup(solvedSchedule);
+        printScheduleByGroup(index);
 
         // Write PDF report
         try {
             String base = "calendario";
-            PdfReporter.generateReports(solvedSchedule, violations, softViolations, base);
+            PdfReporter.generateReports(analysis, base);
             System.out
                     .println("PDF reports written to: " + base + "-incumplimientos.pdf, " + base + "-por-maestro.pdf, "
                             + base + "-por-grupo.pdf");
@@ -108,22 +85,10 @@ public class MainReportsApp {
 
     // Soft constraint analysis
 
-    private static void printScheduleByDay(SchoolSchedule schedule) {
-        Map<DayOfWeek, List<CourseAssignment>> byDay = new TreeMap<>();
-
-        for (CourseAssignment assignment : schedule.getCourseAssignments()) {
-            if (assignment.getTimeslot() != null) {
-                byDay.computeIfAbsent(assignment.getTimeslot().getDayOfWeek(), k -> new ArrayList<>())
-                        .add(assignment);
-            }
-        }
-
-        for (DayOfWeek day : byDay.keySet()) {
+    private static void printScheduleByDay(ScheduleIndex index) {
+        for (DayOfWeek day : index.getDays()) {
             System.out.println(day + ":");
-            List<CourseAssignment> dayAssignments = byDay.get(day);
-            dayAssignments.sort(Comparator.comparing(a -> a.getTimeslot().getHour()));
-
-            for (CourseAssignment assignment : dayAssignments) {
+            for (CourseAssignment assignment : index.getByDay(day)) {
                 System.out.printf("  %s: %s (Group: %s, Teacher: %s, Room: %s)%n",
                         assignment.getTimeslot(),
                         assignment.getCourse().getName(),
@@ -134,26 +99,10 @@ public class MainReportsApp {
         }
     }
 
-    private static void printScheduleByTeacher(SchoolSchedule schedule) {
-        Map<String, List<CourseAssignment>> byTeacher = new TreeMap<>();
-
-        for (CourseAssignment assignment : schedule.getCourseAssignments()) {
-            if (assignment.getTeacher() != null) {
-                byTeacher.computeIfAbsent(assignment.getTeacher().getName(), k -> new ArrayList<>())
-                        .add(assignment);
-            }
-        }
-
-        for (String teacherName : byTeacher.keySet()) {
-            System.out.println(teacherName + ":");
-            List<CourseAssignment> teacherAssignments = byTeacher.get(teacherName);
-            teacherAssignments.sort(Comparator.comparing(a -> {
-                if (a.getTimeslot() == null)
-                    return Integer.MAX_VALUE;
-                return a.getTimeslot().getDayOfWeek().getValue() * 100 + a.getTimeslot().getHour();
-            }));
-
-            for (CourseAssignment assignment : teacherAssignments) {
+    private static void printScheduleByTeacher(ScheduleIndex index) {
+        for (Teacher teacher : index.getTeachers()) {
+            System.out.println(teacher.getName() + ":");
+            for (CourseAssignment assignment : index.getByTeacher(teacher)) {
                 System.out.printf("  %s: %s (Group: %s, Room: %s)%n",
                         assignment.getTimeslot() != null ? assignment.getTimeslot() : "UNASSIGNED",
                         assignment.getCourse().getName(),
@@ -161,32 +110,15 @@ public class MainReportsApp {
                         assignment.getRoom() != null ? assignment.getRoom().getName() : "UNASSIGNED");
             }
 
-            int hoursPerWeek = (int) schedule.getCourseAssignments().stream()
-                    .filter(a -> a.getTeacher() != null && a.getTeacher().getName().equals(teacherName))
-                    .count();
-            System.out.println("  Total hours: " + hoursPerWeek);
+            System.out.println("  Total hours: " + index.getTeacherHours(teacher));
             System.out.println();
         }
     }
 
-    private static void printScheduleByGroup(SchoolSchedule schedule) {
-        Map<String, List<CourseAssignment>> byGroup = new TreeMap<>();
-
-        for (CourseAssignment assignment : schedule.getCourseAssignments()) {
-            byGroup.computeIfAbsent(assignment.getGroup().getName(), k -> new ArrayList<>())
-                    .add(assignment);
-        }
-
-        for (String groupName : byGroup.keySet()) {
-            System.out.println(groupName + ":");
-            List<CourseAssignment> groupAssignments = byGroup.get(groupName);
-            groupAssignments.sort(Comparator.comparing(a -> {
-                if (a.getTimeslot() == null)
-                    return Integer.MAX_VALUE;
-                return a.getTimeslot().getDayOfWeek().getValue() * 100 + a.getTimeslot().getHour();
-            }));
-
-            for (CourseAssignment assignment : groupAssignments) {
+    private static void printScheduleByGroup(ScheduleIndex index) {
+        for (Group group : index.getGroups()) {
+            System.out.println(group.getName() + ":");
+            for (CourseAssignment assignment : index.getByGroup(group)) {
                 System.out.printf("  %s: %s (Teacher: %s, Room: %s)%n",
                         assignment.getTimeslot() != null ? assignment.getTimeslot() : "UNASSIGNED",
                         assignment.getCourse().getName(),
@@ -0,0 +1,365 @@
+package com.example.analysis;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.TeacherLoadSnapshot;
+import com.example.domain.Timeslot;
+import com.example.monitoring.AnalysisEvent;
+import com.example.solver.ValueRangeBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Pre-solve check that proves infeasibility (or flags bottlenecks) in
+ * milliseconds instead of waiting for the solver's unimproved time limit.
+ *
+ * Checks, cheapest first:
+ * <ul>
+ * <li>pinned assignments that already break a hard constraint</li>
+ * <li>pinned teacher hours vs. the timeslots the teacher is available in (and,
+ * as a warning, vs. maxHoursPerWeek), and
+ * course hours vs. the capacity of qualified teachers (max-flow)</li>
+ * <li>group hours vs. timeslot count, then a bipartite matching of the group's
+ * hours onto distinct timeslots where a qualified teacher is available</li>
+ * <li>room-type demand vs. supply, as a max-flow because one
+ * room type can serve several requirements (e.g. "laboratorio" also fits an
+ * "estándar" room): over the week for all hours, and per timeslot for the
+ * hours that can only go in that slot (pinned, or a single-slot range)</li>
+ * </ul>
+ * Hours that may still move between slots are only bounded by the weekly
+ * check, so a passing room check is necessary, not sufficient.
+ */
+public final class FeasibilityChecker {
+
+    /** Utilization from which a resource is reported as a bottleneck. */
+    private static final double BOTTLENECK_RATIO = 0.9;
+
+    private FeasibilityChecker() {
+    }
+
+    public static FeasibilityReport check(SchoolSchedule schedule) {
+        AnalysisEvent event = new AnalysisEvent();
+        event.begin();
+        long start = System.currentTimeMillis();
+        FeasibilityReport report = new FeasibilityReport();
+        List<CourseAssignment> assignments = schedule.getCourseAssignments();
+        List<Timeslot> timeslots = schedule.getTimeslots();
+
+        checkPinned(assignments, report);
+        checkTeachers(assignments, schedule.getTeachers(), timeslots, report);
+        checkGroups(assignments, schedule.getTeachers(), timeslots, report);
+        checkRooms(assignments, schedule.getRooms(), timeslots, report);
+
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.analysis = "feasibility";
+            event.assignments = assignments.size();
+            event.violations = report.getErrors().size();
+            event.commit();
+        }
+        return report;
+    }
+
+    private static void checkPinned(List<CourseAssignment> assignments, FeasibilityReport report) {
+        Map<List<Object>, CourseAssignment> occupied = new HashMap<>();
+        for (CourseAssignment a : assignments) {
+            if (!a.isPinned() || a.getTimeslot() == null) {
+                continue;
+            }
+            if (a.getTeacher() != null && !a.getTeacher().isAvailableAt(a.getTimeslot())) {
+                report.error("Pinned " + describe(a) + " is at " + a.getTimeslot() + " but " + a.getTeacher()
+                        + " is not available then");
+            }
+            pinnedClash(occupied, List.of("group", a.getGroup(), a.getTimeslot()), a, report);
+            if (a.getTeacher() != null) {
+                pinnedClash(occupied, List.of("teacher", a.getTeacher(), a.getTimeslot()), a, report);
+            }
+            if (a.getRoom() != null) {
+                pinnedClash(occupied, List.of("room", a.getRoom(), a.getTimeslot()), a, report);
+            }
+        }
+    }
+
+    private static void pinnedClash(Map<List<Object>, CourseAssignment> occupied, List<Object> key,
+            CourseAssignment a, FeasibilityReport report) {
+        CourseAssignment other = occupied.putIfAbsent(key, a);
+        if (other != null) {
+            report.error("Pinned " + describe(a) + " and " + describe(other) + " share " + key.get(0) + " "
+                    + key.get(1) + " at " + a.getTimeslot());
+        }
+    }
+
+    /**
+     * Teachers are planning variables, so only pinned assignments fix a teacher.
+     * Pinned hours per teacher are checked against the teacher's available
+     * timeslots; the hours of every course are then routed through a max-flow
+     * (course -> qualified teacher -> available timeslots of that teacher) to
+     * prove that qualified teachers have enough capacity jointly.
+     */
+    private static void checkTeachers(List<CourseAssignment> assignments, List<Teacher> teachers,
+            List<Timeslot> timeslots, FeasibilityReport report) {
+        Map<Teacher, Integer> available = new LinkedHashMap<>();
+        for (Teacher teacher : teachers) {
+            available.put(teacher, (int) timeslots.stream().filter(teacher::isAvailableAt).count());
+        }
+
+        Map<Teacher, Integer> pinnedDemand = new LinkedHashMap<>();
+        Map<Course, Integer> courseDemand = new LinkedHashMap<>();
+        List<CourseAssignment> pinned = new ArrayList<>();
+        for (CourseAssignment a : assignments) {
+            courseDemand.merge(a.getCourse(), 1, Integer::sum);
+            if (a.isPinned() && a.getTeacher() != null) {
+                pinnedDemand.merge(a.getTeacher(), 1, Integer::sum);
+                pinned.add(a);
+                if (!a.getTeacher().isQualifiedFor(a.getCourse().getName())) {
+                    report.error("Pinned " + describe(a) + " has " + a.getTeacher()
+                            + " who is not qualified for it");
+                }
+            }
+        }
+        pinnedDemand.forEach((teacher, hours) -> {
+            int slots = available.getOrDefault(teacher, 0);
+            if (hours > slots) {
+                report.error(teacher + " has " + hours + " pinned hours but is available in only " + slots
+                        + " timeslots");
+            }
+        });
+        // maxHoursPerWeek is a soft limit, so pinned hours beyond it only cost score
+        TeacherLoadSnapshot pinnedLoad = TeacherLoadSnapshot.of(pinned);
+        pinnedLoad.asMap().forEach((teacher, hours) -> {
+            if (hours > teacher.getMaxHoursPerWeek()) {
+                report.warning(teacher + " has " + hours + " pinned hours, over the maximum of "
+                        + teacher.getMaxHoursPerWeek() + " per week");
+            }
+        });
+
+        Map<String, List<Teacher>> qualified = ValueRangeBuilder.qualificationIndex(teachers);
+        List<Course> courses = new ArrayList<>(courseDemand.keySet());
+        List<Teacher> teacherList = new ArrayList<>(available.keySet());
+        Map<Teacher, Integer> teacherNode = new HashMap<>();
+        int source = 0;
+        int sink = 1;
+        int firstCourse = 2;
+        int firstTeacher = firstCourse + courses.size();
+        for (int t = 0; t < teacherList.size(); t++) {
+            teacherNode.put(teacherList.get(t), firstTeacher + t);
+        }
+        MaxFlow flow = new MaxFlow(firstTeacher + teacherList.size());
+        int totalDemand = 0;
+        boolean courseShort = false;
+        for (int c = 0; c < courses.size(); c++) {
+            Course course = courses.get(c);
+            int hours = courseDemand.get(course);
+            totalDemand += hours;
+            flow.addEdge(source, firstCourse + c, hours);
+            List<Teacher> candidates = qualified.getOrDefault(course.getName(), List.of());
+            int capacity = 0;
+            for (Teacher teacher : candidates) {
+                flow.addEdge(firstCourse + c, teacherNode.get(teacher), hours);
+                capacity += available.get(teacher);
+            }
+            if (candidates.isEmpty()) {
+                courseShort = true;
+                report.error("No teacher is qualified for " + course + " (" + hours + " hours)");
+            } else if (hours > capacity) {
+                courseShort = true;
+                report.error(course + " needs " + hours + " hours but its " + candidates.size()
+                        + " qualified teacher(s) are available for only " + capacity);
+            } else if (hours >= BOTTLENECK_RATIO * capacity) {
+                report.warning(course + " needs " + hours + " hours of the " + capacity
+                        + " available hours of its qualified teachers");
+            }
+        }
+        for (Teacher teacher : teacherList) {
+            flow.addEdge(teacherNode.get(teacher), sink, available.get(teacher));
+        }
+        int placeable = flow.compute(source, sink);
+        if (placeable < totalDemand && !courseShort) {
+            report.error("Qualified teachers cannot cover all courses jointly: only " + placeable + " of "
+                    + totalDemand + " course hours can be given to an available qualified teacher");
+        }
+    }
+
+    private static void checkGroups(List<CourseAssignment> assignments, List<Teacher> teachers,
+            List<Timeslot> timeslots, FeasibilityReport report) {
+        Map<String, List<Teacher>> qualified = ValueRangeBuilder.qualificationIndex(teachers);
+        Map<Group, List<CourseAssignment>> byGroup = new LinkedHashMap<>();
+        for (CourseAssignment a : assignments) {
+            byGroup.computeIfAbsent(a.getGroup(), k -> new ArrayList<>()).add(a);
+        }
+        for (Map.Entry<Group, List<CourseAssignment>> entry : byGroup.entrySet()) {
+            List<CourseAssignment> hours = entry.getValue();
+            if (hours.size() > timeslots.size()) {
+                report.error("Group " + entry.getKey() + " has " + hours.size() + " course hours but there are only "
+                        + timeslots.size() + " timeslots");
+                continue;
+            }
+            if (hours.size() >= BOTTLENECK_RATIO * timeslots.size()) {
+                report.warning("Group " + entry.getKey() + " has " + hours.size() + " course hours in "
+                        + timeslots.size() + " timeslots");
+            }
+            int placeable = matchHoursToTimeslots(hours, qualified, timeslots);
+            if (placeable < hours.size()) {
+                report.error("Group " + entry.getKey() + ": only " + placeable + " of " + hours.size()
+                        + " course hours fit in distinct timeslots where a qualified teacher is available");
+            }
+        }
+    }
+
+    /**
+     * Maximum number of the group's hours that can be placed in distinct
+     * timeslots, each hour only in slots where a teacher qualified for it is
+     * available, and pinned hours only in their own slot.
+     */
+    private static int matchHoursToTimeslots(List<CourseAssignment> hours, Map<String, List<Teacher>> qualified,
+            List<Timeslot> timeslots) {
+        int source = 0;
+        int sink = 1;
+        int firstHour = 2;
+        int firstSlot = firstHour + hours.size();
+        MaxFlow flow = new MaxFlow(firstSlot + timeslots.size());
+        for (int h = 0; h < hours.size(); h++) {
+            CourseAssignment a = hours.get(h);
+            List<Teacher> candidates = qualified.getOrDefault(a.getCourse().getName(), List.of());
+            flow.addEdge(source, firstHour + h, 1);
+            for (int s = 0; s < timeslots.size(); s++) {
+                Timeslot slot = timeslots.get(s);
+                boolean allowed = a.isPinned() && a.getTimeslot() != null
+                        ? slot.equals(a.getTimeslot())
+                        : candidates.isEmpty() || candidates.stream().anyMatch(t -> t.isAvailableAt(slot));
+                if (allowed) {
+                    flow.addEdge(firstHour + h, firstSlot + s, 1);
+                }
+            }
+        }
+        for (int s = 0; s < timeslots.size(); s++) {
+            flow.addEdge(firstSlot + s, sink, 1);
+        }
+        return flow.compute(source, sink);
+    }
+
+    private static void checkRooms(List<CourseAssignment> assignments, List<Room> rooms, List<Timeslot> timeslots,
+            FeasibilityReport report) {
+        // Pinned rooms must satisfy the course requirement
+        for (CourseAssignment a : assignments) {
+            if (a.isPinned() && a.getRoom() != null
+                    && !a.getRoom().satisfiesRequirement(a.getCourse().getRoomRequirement())) {
+                report.error("Pinned " + describe(a) + " requires a '" + a.getCourse().getRoomRequirement()
+                        + "' room but is in " + a.getRoom() + " (" + a.getRoom().getType() + ")");
+            }
+        }
+
+        // Room-type demand vs. supply over the week
+        Map<String, Integer> demandByRequirement = new LinkedHashMap<>();
+        for (CourseAssignment a : assignments) {
+            demandByRequirement.merge(Objects.toString(a.getCourse().getRoomRequirement(), ""), 1, Integer::sum);
+        }
+        Map<String, List<Room>> roomsByType = new LinkedHashMap<>();
+        for (Room room : rooms) {
+            roomsByType.computeIfAbsent(room.getType(), k -> new ArrayList<>()).add(room);
+        }
+        List<String> types = new ArrayList<>(roomsByType.keySet());
+
+        int totalDemand = 0;
+        boolean requirementShort = false;
+        for (Map.Entry<String, Integer> entry : demandByRequirement.entrySet()) {
+            String requirement = entry.getKey();
+            int demand = entry.getValue();
+            totalDemand += demand;
+            int supply = 0;
+            for (String type : types) {
+                List<Room> ofType = roomsByType.get(type);
+                if (ofType.get(0).satisfiesRequirement(requirement)) {
+                    supply += ofType.size() * timeslots.size();
+                }
+            }
+            if (demand > supply) {
+                requirementShort = true;
+                report.error("Courses requiring '" + requirement + "' rooms need " + demand + " hours but only "
+                        + supply + " room-hours satisfy that requirement");
+            } else if (demand >= BOTTLENECK_RATIO * supply) {
+                report.warning("Courses requiring '" + requirement + "' rooms need " + demand + " of " + supply
+                        + " room-hours");
+            }
+        }
+        int totalSupply = rooms.size() * timeslots.size();
+        int placeable = placeableInRooms(demandByRequirement, roomsByType, timeslots.size());
+        if (placeable < totalDemand && !requirementShort) {
+            report.error("Room-type demand cannot be met jointly: only " + placeable + " of " + totalDemand
+                    + " course hours can be placed in a room that satisfies their requirement");
+        } else if (placeable >= BOTTLENECK_RATIO * totalSupply && totalSupply > 0) {
+            report.warning("Rooms are " + (100 * placeable / totalSupply) + "% booked over the week");
+        }
+
+        // Per timeslot: the hours that can only go in that slot need a room there each
+        Map<Timeslot, Map<String, Integer>> fixedDemand = new LinkedHashMap<>();
+        for (CourseAssignment a : assignments) {
+            Timeslot only = fixedTimeslot(a);
+            if (only != null) {
+                fixedDemand.computeIfAbsent(only, k -> new LinkedHashMap<>())
+                        .merge(Objects.toString(a.getCourse().getRoomRequirement(), ""), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<Timeslot, Map<String, Integer>> entry : fixedDemand.entrySet()) {
+            int demand = entry.getValue().values().stream().mapToInt(Integer::intValue).sum();
+            int fit = placeableInRooms(entry.getValue(), roomsByType, 1);
+            if (fit < demand) {
+                report.error(demand + " hours are fixed to " + entry.getKey() + " but only " + fit
+                        + " fit a room that satisfies their requirement");
+            }
+        }
+    }
+
+    /** The timeslot an assignment cannot leave, or null when it may still move. */
+    private static Timeslot fixedTimeslot(CourseAssignment a) {
+        if (a.isPinned()) {
+            return a.getTimeslot();
+        }
+        List<Timeslot> range = a.getTimeslotRange();
+        return range != null && range.size() == 1 ? range.get(0) : null;
+    }
+
+    /**
+     * Max-flow from room requirements to the room types that satisfy them, each
+     * room giving {@code slots} room-hours: how many of the demanded hours can
+     * get a suitable room.
+     */
+    private static int placeableInRooms(Map<String, Integer> demandByRequirement,
+            Map<String, List<Room>> roomsByType, int slots) {
+        List<String> requirements = new ArrayList<>(demandByRequirement.keySet());
+        List<String> types = new ArrayList<>(roomsByType.keySet());
+        int source = 0;
+        int sink = 1;
+        int firstRequirement = 2;
+        int firstType = firstRequirement + requirements.size();
+        MaxFlow flow = new MaxFlow(firstType + types.size());
+        for (int r = 0; r < requirements.size(); r++) {
+            String requirement = requirements.get(r);
+            int demand = demandByRequirement.get(requirement);
+            flow.addEdge(source, firstRequirement + r, demand);
+            for (int t = 0; t < types.size(); t++) {
+                if (roomsByType.get(types.get(t)).get(0).satisfiesRequirement(requirement)) {
+                    flow.addEdge(firstRequirement + r, firstType + t, demand);
+                }
+            }
+        }
+        for (int t = 0; t < types.size(); t++) {
+            flow.addEdge(firstType + t, sink, roomsByType.get(types.get(t)).size() * slots);
+        }
+        return flow.compute(source, sink);
+    }
+
+    private static String describe(CourseAssignment a) {
+        return a.getCourse() + " for " + a.getGroup() + " (" + a.getId() + ")";
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.analysis;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link FeasibilityChecker}: errors prove that no schedule can
+ * satisfy every hard constraint, warnings point at bottlenecks (resources used
+ * at or near capacity) that usually make the solver slow to reach feasibility.
+ */
+public class FeasibilityReport {
+
+    private final List<String> errors = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+    private long elapsedMillis;
+
+    void error(String message) {
+        errors.add(message);
+    }
+
+    void warning(String message) {
+        warnings.add(message);
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public boolean isFeasible() {
+        return errors.isEmpty();
+    }
+
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public List<String> getWarnings() {
+        return Collections.unmodifiableList(warnings);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void print(PrintStream out) {
+        out.println("Feasibility pre-check (" + elapsedMillis + " ms): "
+                + (isFeasible() ? "no infeasibility found" : errors.size() + " problem(s) make the dataset infeasible"));
+        for (String error : errors) {
+            out.println("  ERROR: " + error);
+        }
+        for (String warning : warnings) {
+            out.println("  WARNING: " + warning);
+        }
+    }
+}
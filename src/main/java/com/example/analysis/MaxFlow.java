@@ -0,0 +1,92 @@
+package com.example.analysis;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Dinic max-flow on a small integer-capacity graph. Used by the feasibility
+ * check for bipartite matchings (unit capacities) and for room-type supply vs
+ * demand where one room type can serve several requirements.
+ */
+final class MaxFlow {
+
+    private final int nodeCount;
+    private int[] head;
+    private int[] next = new int[16];
+    private int[] to = new int[16];
+    private int[] capacity = new int[16];
+    private int edgeCount;
+
+    MaxFlow(int nodeCount) {
+        this.nodeCount = nodeCount;
+        this.head = new int[nodeCount];
+        Arrays.fill(head, -1);
+    }
+
+    void addEdge(int from, int target, int cap) {
+        if (edgeCount + 2 > to.length) {
+            next = Arrays.copyOf(next, to.length * 2);
+            capacity = Arrays.copyOf(capacity, to.length * 2);
+            to = Arrays.copyOf(to, to.length * 2);
+        }
+        addHalfEdge(from, target, cap);
+        addHalfEdge(target, from, 0);
+    }
+
+    private void addHalfEdge(int from, int target, int cap) {
+        to[edgeCount] = target;
+        capacity[edgeCount] = cap;
+        next[edgeCount] = head[from];
+        head[from] = edgeCount++;
+    }
+
+    /** Maximum flow from source to sink; the graph keeps the residual capacities. */
+    int compute(int source, int sink) {
+        int flow = 0;
+        int[] level = new int[nodeCount];
+        int[] iterator = new int[nodeCount];
+        while (buildLevels(source, sink, level)) {
+            System.arraycopy(head, 0, iterator, 0, nodeCount);
+            int pushed;
+            while ((pushed = push(source, sink, Integer.MAX_VALUE, level, iterator)) > 0) {
+                flow += pushed;
+            }
+        }
+        return flow;
+    }
+
+    private boolean buildLevels(int source, int sink, int[] level) {
+        Arrays.fill(level, -1);
+        level[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int e = head[node]; e >= 0; e = next[e]) {
+                if (capacity[e] > 0 && level[to[e]] < 0) {
+                    level[to[e]] = level[node] + 1;
+                    queue.add(to[e]);
+                }
+            }
+        }
+        return level[sink] >= 0;
+    }
+
+    private int push(int node, int sink, int limit, int[] level, int[] iterator) {
+        if (node == sink) {
+            return limit;
+        }
+        for (; iterator[node] >= 0; iterator[node] = next[iterator[node]]) {
+            int e = iterator[node];
+            if (capacity[e] > 0 && level[to[e]] == level[node] + 1) {
+                int pushed = push(to[e], sink, Math.min(limit, capacity[e]), level, iterator);
+                if (pushed > 0) {
+                    capacity[e] -= pushed;
+                    capacity[e ^ 1] += pushed;
+                    return pushed;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.analysis;
+
+import com.example.domain.SchoolSchedule;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Outcome of {@link ScheduleAnalyzer#analyze}: violation counts per hard and
+ * soft rule, plus the offenders behind them. Counts are ready as soon as the
+ * analysis returns; offender descriptions are only formatted the first time
+ * the details are asked for, so a run that prints counts pays for no strings.
+ */
+public class ScheduleAnalysisResult {
+
+    private final ScheduleIndex index;
+    private final Map<String, List<Supplier<String>>> hardOffenders = new LinkedHashMap<>();
+    private final Map<String, Integer> hardCounts = new LinkedHashMap<>();
+    private final Map<String, List<Supplier<String>>> softOffenders = new LinkedHashMap<>();
+    private final Map<String, Integer> softCounts = new LinkedHashMap<>();
+    private Map<String, List<String>> hardDetails;
+    private Map<String, List<String>> softDetails;
+
+    ScheduleAnalysisResult(ScheduleIndex index) {
+        this.index = index;
+    }
+
+    /** A hard rule counts one violation per offender. */
+    void hard(String rule, List<Supplier<String>> offenders) {
+        hardOffenders.put(rule, offenders);
+        hardCounts.put(rule, offenders.size());
+    }
+
+    /** A soft rule's count is its penalty, which need not match the number of offenders. */
+    void soft(String rule, int count, List<Supplier<String>> offenders) {
+        softOffenders.put(rule, offenders);
+        softCounts.put(rule, count);
+    }
+
+    public ScheduleIndex getIndex() {
+        return index;
+    }
+
+    public SchoolSchedule getSchedule() {
+        return index.getSchedule();
+    }
+
+    public Map<String, Integer> getHardCounts() {
+        return Collections.unmodifiableMap(hardCounts);
+    }
+
+    public Map<String, Integer> getSoftCounts() {
+        return Collections.unmodifiableMap(softCounts);
+    }
+
+    public int getHardTotal() {
+        return hardCounts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public int getSoftTotal() {
+        return softCounts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public synchronized Map<String, List<String>> getHardDetails() {
+        if (hardDetails == null) {
+            hardDetails = materialize(hardOffenders);
+        }
+        return hardDetails;
+    }
+
+    public synchronized Map<String, List<String>> getSoftDetails() {
+        if (softDetails == null) {
+            softDetails = materialize(softOffenders);
+        }
+        return softDetails;
+    }
+
+    /**
+     * Console report: counts and offenders per hard rule, counts per soft rule
+     * and, with {@code softDetails}, the soft offenders too.
+     */
+    public void print(PrintStream out, boolean softDetails) {
+        out.println("=== Hard Constraint Violations (by rule) ===");
+        hardCounts.forEach((k, v) -> out.println("- " + k + ": " + v));
+        out.println();
+
+        out.println("=== Hard Constraint Violations (details) ===");
+        printDetails(out, getHardDetails());
+        out.println();
+
+        out.println("=== Soft Constraint Violations (by rule) ===");
+        softCounts.forEach((k, v) -> out.println("- " + k + ": " + v));
+        out.println();
+
+        if (softDetails) {
+            out.println("=== Soft Constraint Violations (details) ===");
+            printDetails(out, getSoftDetails());
+            out.println();
+        }
+    }
+
+    private static void printDetails(PrintStream out, Map<String, List<String>> details) {
+        details.forEach((rule, offenders) -> {
+            out.println("- " + rule + ": " + offenders.size());
+            for (String desc : offenders) {
+                out.println("    " + desc);
+            }
+        });
+    }
+
+    private static Map<String, List<String>> materialize(Map<String, List<Supplier<String>>> offenders) {
+        Map<String, List<String>> details = new LinkedHashMap<>();
+        offenders.forEach((rule, suppliers) -> {
+            List<String> descriptions = new ArrayList<>(suppliers.size());
+            for (Supplier<String> supplier : suppliers) {
+                descriptions.add(supplier.get());
+            }
+            details.put(rule, Collections.unmodifiableList(descriptions));
+        });
+        return Collections.unmodifiableMap(details);
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.analysis;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.TeacherLoadSnapshot;
+import com.example.domain.Timeslot;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only lookups over a solved schedule for the reports and printers:
+ * assignments by teacher, group, room, day, timeslot and (group, course),
+ * weekly hours per teacher, and a day x hour grid per teacher and per group.
+ *
+ * Built in one pass over the assignments plus a sort of each teacher's and
+ * group's list; every lookup after that is a map access. Take a new index
+ * when the schedule changes.
+ */
+public final class ScheduleIndex {
+
+    /** Day, then hour; assignments without a timeslot last. */
+    public static final Comparator<CourseAssignment> BY_TIME = Comparator.comparingInt(ScheduleIndex::timeKey);
+
+    private static final Comparator<Teacher> BY_TEACHER_NAME = Comparator
+            .comparing(Teacher::getName, Comparator.nullsLast(Comparator.<String> naturalOrder()))
+            .thenComparing(Teacher::getLastName, Comparator.nullsLast(Comparator.<String> naturalOrder()))
+            .thenComparing(Teacher::getId, Comparator.nullsLast(Comparator.<String> naturalOrder()));
+
+    private static final Comparator<Group> BY_GROUP_NAME = Comparator
+            .comparing(Group::getName, Comparator.nullsLast(Comparator.<String> naturalOrder()))
+            .thenComparing(Group::getId, Comparator.nullsLast(Comparator.<String> naturalOrder()));
+
+    private final SchoolSchedule schedule;
+    private final List<CourseAssignment> assignments;
+    private final Map<Teacher, List<CourseAssignment>> byTeacher;
+    private final List<CourseAssignment> withoutTeacher;
+    private final Map<Group, List<CourseAssignment>> byGroup;
+    private final Map<Room, List<CourseAssignment>> byRoom;
+    private final Map<DayOfWeek, List<CourseAssignment>> byDay;
+    private final Map<Timeslot, List<CourseAssignment>> byTimeslot;
+    private final Map<GroupCourse, List<CourseAssignment>> byGroupCourse;
+    private final List<Teacher> teachers;
+    private final List<Group> groups;
+    private final Map<Teacher, WeeklyGrid> teacherGrids = new HashMap<>();
+    private final Map<Group, WeeklyGrid> groupGrids = new HashMap<>();
+    private final WeeklyGrid withoutTeacherGrid;
+    private final TeacherLoadSnapshot teacherLoad;
+
+    private ScheduleIndex(SchoolSchedule schedule) {
+        this.schedule = schedule;
+        this.assignments = Collections.unmodifiableList(new ArrayList<>(schedule.getCourseAssignments()));
+        Map<Teacher, List<CourseAssignment>> teacherLists = new HashMap<>();
+        List<CourseAssignment> noTeacher = new ArrayList<>();
+        Map<Group, List<CourseAssignment>> groupLists = new HashMap<>();
+        Map<Room, List<CourseAssignment>> roomLists = new HashMap<>();
+        Map<DayOfWeek, List<CourseAssignment>> dayLists = new EnumMap<>(DayOfWeek.class);
+        Map<Timeslot, List<CourseAssignment>> timeslotLists = new HashMap<>();
+        Map<GroupCourse, List<CourseAssignment>> groupCourseLists = new LinkedHashMap<>();
+        for (CourseAssignment a : assignments) {
+            if (a.getTeacher() != null) {
+                teacherLists.computeIfAbsent(a.getTeacher(), k -> new ArrayList<>()).add(a);
+            } else {
+                noTeacher.add(a);
+            }
+            if (a.getGroup() != null) {
+                groupLists.computeIfAbsent(a.getGroup(), k -> new ArrayList<>()).add(a);
+            }
+            if (a.getRoom() != null) {
+                roomLists.computeIfAbsent(a.getRoom(), k -> new ArrayList<>()).add(a);
+            }
+            if (a.getTimeslot() != null) {
+                dayLists.computeIfAbsent(a.getTimeslot().getDayOfWeek(), k -> new ArrayList<>()).add(a);
+                timeslotLists.computeIfAbsent(a.getTimeslot(), k -> new ArrayList<>()).add(a);
+            }
+            groupCourseLists.computeIfAbsent(new GroupCourse(a.getGroup(), a.getCourse()), k -> new ArrayList<>())
+                    .add(a);
+        }
+        // Lists by timeslot and by (group, course) keep schedule order, the rest go by time
+        this.byTeacher = sortedByTime(teacherLists);
+        this.withoutTeacher = sortByTime(noTeacher);
+        this.byGroup = sortedByTime(groupLists);
+        this.byRoom = sortedByTime(roomLists);
+        this.byDay = sortedByTime(dayLists);
+        this.byTimeslot = unmodifiable(timeslotLists);
+        this.byGroupCourse = unmodifiable(groupCourseLists);
+
+        List<Teacher> teacherList = new ArrayList<>(byTeacher.keySet());
+        teacherList.sort(BY_TEACHER_NAME);
+        this.teachers = Collections.unmodifiableList(teacherList);
+        List<Group> groupList = new ArrayList<>(byGroup.keySet());
+        groupList.sort(BY_GROUP_NAME);
+        this.groups = Collections.unmodifiableList(groupList);
+        byTeacher.forEach((teacher, list) -> teacherGrids.put(teacher, new WeeklyGrid(list)));
+        byGroup.forEach((group, list) -> groupGrids.put(group, new WeeklyGrid(list)));
+        this.withoutTeacherGrid = new WeeklyGrid(withoutTeacher);
+        this.teacherLoad = TeacherLoadSnapshot.of(assignments);
+    }
+
+    public static ScheduleIndex of(SchoolSchedule schedule) {
+        return new ScheduleIndex(schedule);
+    }
+
+    public SchoolSchedule getSchedule() {
+        return schedule;
+    }
+
+    /** All assignments, in schedule order. */
+    public List<CourseAssignment> getAssignments() {
+        return assignments;
+    }
+
+    /** Teachers with at least one assignment, by name. */
+    public List<Teacher> getTeachers() {
+        return teachers;
+    }
+
+    /** Groups with at least one assignment, by name. */
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    /** Days with at least one scheduled assignment, Monday first. */
+    public Collection<DayOfWeek> getDays() {
+        return byDay.keySet();
+    }
+
+    public List<CourseAssignment> getByTeacher(Teacher teacher) {
+        return byTeacher.getOrDefault(teacher, List.of());
+    }
+
+    public List<CourseAssignment> getWithoutTeacher() {
+        return withoutTeacher;
+    }
+
+    public List<CourseAssignment> getByGroup(Group group) {
+        return byGroup.getOrDefault(group, List.of());
+    }
+
+    public List<CourseAssignment> getByRoom(Room room) {
+        return byRoom.getOrDefault(room, List.of());
+    }
+
+    public List<CourseAssignment> getByDay(DayOfWeek day) {
+        return byDay.getOrDefault(day, List.of());
+    }
+
+    /** Assignments in one timeslot, in schedule order. */
+    public List<CourseAssignment> getByTimeslot(Timeslot timeslot) {
+        return byTimeslot.getOrDefault(timeslot, List.of());
+    }
+
+    /** Timeslots with at least one assignment. */
+    public Collection<Timeslot> getTimeslots() {
+        return byTimeslot.keySet();
+    }
+
+    /** The hours of one course for one group, in schedule order. */
+    public List<CourseAssignment> getByGroupCourse(Group group, Course course) {
+        return byGroupCourse.getOrDefault(new GroupCourse(group, course), List.of());
+    }
+
+    /** The hours of every (group, course), one list each. */
+    public Collection<List<CourseAssignment>> getGroupCourses() {
+        return byGroupCourse.values();
+    }
+
+    /** Hours of {@code teacher} in the week, counted by the {@link TeacherLoadSnapshot} rule. */
+    public int getTeacherHours(Teacher teacher) {
+        return teacherLoad.getAssignedHours(teacher);
+    }
+
+    public TeacherLoadSnapshot getTeacherLoad() {
+        return teacherLoad;
+    }
+
+    public WeeklyGrid getTeacherGrid(Teacher teacher) {
+        return teacherGrids.getOrDefault(teacher, WeeklyGrid.EMPTY);
+    }
+
+    public WeeklyGrid getWithoutTeacherGrid() {
+        return withoutTeacherGrid;
+    }
+
+    public WeeklyGrid getGroupGrid(Group group) {
+        return groupGrids.getOrDefault(group, WeeklyGrid.EMPTY);
+    }
+
+    private static int timeKey(CourseAssignment a) {
+        Timeslot t = a.getTimeslot();
+        return t == null ? Integer.MAX_VALUE : t.getDayOfWeek().getValue() * 100 + t.getHour();
+    }
+
+    private static List<CourseAssignment> sortByTime(List<CourseAssignment> list) {
+        list.sort(BY_TIME);
+        return Collections.unmodifiableList(list);
+    }
+
+    private static <K> Map<K, List<CourseAssignment>> sortedByTime(Map<K, List<CourseAssignment>> lists) {
+        lists.replaceAll((key, list) -> sortByTime(list));
+        return Collections.unmodifiableMap(lists);
+    }
+
+    private static <K> Map<K, List<CourseAssignment>> unmodifiable(Map<K, List<CourseAssignment>> lists) {
+        lists.replaceAll((key, list) -> Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(lists);
+    }
+
+    private record GroupCourse(Group group, Course course) {
+    }
+
+    /** One week of a teacher or group: the assignments at each day and hour. */
+    public static final class WeeklyGrid {
+
+        static final WeeklyGrid EMPTY = new WeeklyGrid(List.of());
+
+        private static final int HOURS = 24;
+
+        private final List<CourseAssignment>[] cells;
+
+        @SuppressWarnings("unchecked")
+        WeeklyGrid(List<CourseAssignment> assignments) {
+            cells = new List[7 * HOURS];
+            for (CourseAssignment a : assignments) {
+                Timeslot t = a.getTimeslot();
+                if (t == null || t.getHour() < 0 || t.getHour() >= HOURS) {
+                    continue;
+                }
+                int cell = (t.getDayOfWeek().getValue() - 1) * HOURS + t.getHour();
+                if (cells[cell] == null) {
+                    cells[cell] = new ArrayList<>(1);
+                }
+                cells[cell].add(a);
+            }
+        }
+
+        /** Assignments at {@code hour} on {@code day}, empty when there are none. */
+        public List<CourseAssignment> get(DayOfWeek day, int hour) {
+            if (hour < 0 || hour >= HOURS) {
+                return List.of();
+            }
+            List<CourseAssignment> cell = cells[(day.getValue() - 1) * HOURS + hour];
+            return cell == null ? List.of() : Collections.unmodifiableList(cell);
+        }
+    }
+}
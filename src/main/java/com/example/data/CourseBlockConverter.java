@@ -0,0 +1,116 @@
+package com.example.data;
+
+import com.example.domain.BlockSchedule;
+import com.example.domain.CourseAssignment;
+import com.example.domain.CourseBlock;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Timeslot;
+import com.example.solver.ValueRangeBuilder;
+
+import java.util.*;
+
+/**
+ * Expands a solved {@link BlockSchedule} back into the per-hour
+ * CourseAssignment rows that DataSaver, ScheduleAnalyzer and PdfReporter work
+ * on.
+ *
+ * Pinned rows are copied unchanged. The unpinned rows of each (group, course),
+ * in sequenceIndex order, take the hours of its unpinned blocks in
+ * chronological order, one row per hour. Rows left over when the blocks hold
+ * fewer hours are cleared (no teacher, timeslot or room) rather than keeping a
+ * stale timeslot from the input. A block hour past the end of its day (the
+ * splitter's fallback start ranges allow it) leaves its row without a
+ * timeslot; such hours are counted in a warning. Rows keep their ids so
+ * DataSaver updates the same database rows.
+ */
+public final class CourseBlockConverter {
+
+    private CourseBlockConverter() {
+    }
+
+    public static SchoolSchedule toSchoolSchedule(BlockSchedule solved, SchoolSchedule original) {
+        Map<String, Timeslot> timeslotsByDayHour = new HashMap<>();
+        for (Timeslot t : original.getTimeslots()) {
+            timeslotsByDayHour.put(t.getDayOfWeek() + "-" + t.getHour(), t);
+        }
+
+        Map<List<Object>, List<CourseBlock>> blocksByCourse = new HashMap<>();
+        for (CourseBlock block : solved.getCourseBlocks()) {
+            if (!block.isPinned()) {
+                blocksByCourse.computeIfAbsent(List.of(block.getGroup(), block.getCourse()), k -> new ArrayList<>())
+                        .add(block);
+            }
+        }
+
+        Map<List<Object>, List<CourseAssignment>> rowsByCourse = new LinkedHashMap<>();
+        List<CourseAssignment> assignments = new ArrayList<>();
+        for (CourseAssignment a : original.getCourseAssignments()) {
+            CourseAssignment copy = new CourseAssignment(a.getId(), a.getGroup(), a.getCourse(), a.getSequenceIndex());
+            copy.setTeacher(a.getTeacher());
+            copy.setTimeslot(a.getTimeslot());
+            copy.setRoom(a.getRoom());
+            copy.setPinned(a.isPinned());
+            assignments.add(copy);
+            if (!a.isPinned()) {
+                rowsByCourse.computeIfAbsent(List.of(a.getGroup(), a.getCourse()), k -> new ArrayList<>()).add(copy);
+            }
+        }
+
+        int mismatched = 0;
+        int offDay = 0;
+        for (Map.Entry<List<Object>, List<CourseAssignment>> entry : rowsByCourse.entrySet()) {
+            List<CourseAssignment> rows = entry.getValue();
+            rows.sort(Comparator.comparingInt(CourseAssignment::getSequenceIndex));
+            List<CourseBlock> blocks = blocksByCourse.getOrDefault(entry.getKey(), new ArrayList<>());
+            // Chronological order, so sequenceIndex increases with time on every day
+            blocks.sort(Comparator.comparing(CourseBlock::getDay, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparingInt(CourseBlock::getStartHour)
+                    .thenComparingInt(CourseBlock::getBlockIndex));
+
+            int row = 0;
+            int hours = 0;
+            for (CourseBlock block : blocks) {
+                for (int h = 0; h < block.getLength(); h++, hours++) {
+                    if (row >= rows.size()) {
+                        continue;
+                    }
+                    CourseAssignment a = rows.get(row++);
+                    a.setTeacher(block.getTeacher());
+                    a.setRoom(block.getRoom());
+                    a.setTimeslot(block.getStart() == null ? null
+                            : timeslotsByDayHour.get(block.getDay() + "-" + (block.getStartHour() + h)));
+                    if (block.getStart() != null && a.getTimeslot() == null) {
+                        offDay++;
+                    }
+                }
+            }
+            for (; row < rows.size(); row++) {
+                CourseAssignment a = rows.get(row);
+                a.setTeacher(null);
+                a.setTimeslot(null);
+                a.setRoom(null);
+            }
+            if (hours != rows.size()) {
+                mismatched++;
+                System.err.println("Warning: " + entry.getKey().get(0) + " / " + entry.getKey().get(1) + " has "
+                        + rows.size() + " unpinned rows but " + hours + " block hours");
+            }
+        }
+        if (mismatched > 0) {
+            System.err.println("Warning: " + mismatched
+                    + " (group, course) pairs have a different number of rows than block hours;"
+                    + " rows without a block hour are left unassigned, block hours without a row are dropped");
+        }
+
+        if (offDay > 0) {
+            System.err.println("Warning: " + offDay + " block hours fall past the end of their day;"
+                    + " their rows are left without a timeslot");
+        }
+
+        SchoolSchedule schedule = new SchoolSchedule(original.getTeachers(), original.getTimeslots(),
+                original.getRooms(), original.getCourses(), original.getGroups(), assignments);
+        schedule.setConstraintWeightOverrides(original.getConstraintWeightOverrides());
+        ValueRangeBuilder.apply(schedule);
+        return schedule;
+    }
+}
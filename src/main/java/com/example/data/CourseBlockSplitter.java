@@ -0,0 +1,193 @@
+package com.example.data;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import com.example.domain.BlockSchedule;
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.CourseBlock;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+import com.example.solver.BlockConstraintProvider;
+import com.example.solver.ConstraintWeights;
+import com.example.solver.ValueRangeBuilder;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+/**
+ * Builds the block model ({@link BlockSchedule}) from a per-hour
+ * SchoolSchedule.
+ *
+ * For every (group, course) the pinned hours become pinned blocks (one per run
+ * of consecutive hours on a day with the same teacher and room); the rest of
+ * {@code Course.requiredHoursPerWeek} is split into as few blocks of at most
+ * {@code maxBlockLength} hours as possible, with lengths as even as possible
+ * (5 hours, max 2 -> 2+2+1).
+ *
+ * Constraint weight overrides are carried over for the constraints the block
+ * model shares with the per-hour model; the others are dropped, with a warning
+ * unless they only disable a constraint.
+ */
+public final class CourseBlockSplitter {
+
+    public static final int DEFAULT_MAX_BLOCK_LENGTH = 2;
+
+    private CourseBlockSplitter() {
+    }
+
+    public static BlockSchedule split(SchoolSchedule schedule, int maxBlockLength) {
+        Map<List<Object>, List<CourseAssignment>> rowsByCourse = new LinkedHashMap<>();
+        for (CourseAssignment a : schedule.getCourseAssignments()) {
+            rowsByCourse.computeIfAbsent(List.of(a.getGroup(), a.getCourse()), k -> new ArrayList<>()).add(a);
+        }
+
+        List<CourseBlock> blocks = new ArrayList<>();
+        for (List<CourseAssignment> rows : rowsByCourse.values()) {
+            Group group = rows.get(0).getGroup();
+            Course course = rows.get(0).getCourse();
+            int blockIndex = 0;
+
+            List<CourseAssignment> pinned = rows.stream()
+                    .filter(a -> a.isPinned() && a.getTimeslot() != null)
+                    .sorted(Comparator.comparing((CourseAssignment a) -> a.getTimeslot().getDayOfWeek())
+                            .thenComparingInt(a -> a.getTimeslot().getHour()))
+                    .toList();
+            for (int i = 0; i < pinned.size();) {
+                CourseAssignment first = pinned.get(i);
+                int j = i + 1;
+                while (j < pinned.size() && continues(pinned.get(j - 1), pinned.get(j))) {
+                    j++;
+                }
+                CourseBlock block = new CourseBlock(blockId(group, course, blockIndex), group, course, blockIndex,
+                        j - i);
+                block.setStart(first.getTimeslot());
+                block.setTeacher(first.getTeacher());
+                block.setRoom(first.getRoom());
+                block.setPinned(true);
+                blocks.add(block);
+                blockIndex++;
+                i = j;
+            }
+
+            int remaining = (course.getRequiredHoursPerWeek() > 0 ? course.getRequiredHoursPerWeek() : rows.size())
+                    - pinned.size();
+            if (remaining > 0) {
+                int count = (remaining + maxBlockLength - 1) / maxBlockLength;
+                for (int b = 0; b < count; b++) {
+                    int length = remaining / count + (b < remaining % count ? 1 : 0);
+                    blocks.add(new CourseBlock(blockId(group, course, blockIndex), group, course, blockIndex, length));
+                    blockIndex++;
+                }
+            }
+        }
+
+        applyValueRanges(schedule, blocks);
+        System.out.println("Split " + schedule.getCourseAssignments().size() + " course hours into " + blocks.size()
+                + " blocks (max " + maxBlockLength + " hours)");
+        BlockSchedule blockSchedule = new BlockSchedule(schedule.getTeachers(), schedule.getTimeslots(),
+                schedule.getRooms(), schedule.getCourses(), schedule.getGroups(), blocks);
+        blockSchedule.setConstraintWeightOverrides(blockWeights(schedule));
+        return blockSchedule;
+    }
+
+    private static ConstraintWeightOverrides<HardSoftScore> blockWeights(SchoolSchedule schedule) {
+        ConstraintWeightOverrides<HardSoftScore> weights = schedule.getConstraintWeightOverrides();
+        for (String name : weights.getKnownConstraintNames()) {
+            // A zero weight for a constraint the block model lacks already has its effect
+            if (!BlockConstraintProvider.CONSTRAINT_NAMES.contains(name)
+                    && !HardSoftScore.ZERO.equals(weights.getConstraintWeight(name))) {
+                System.err.println("Warning: the block model has no constraint '" + name
+                        + "', its weight override is ignored");
+            }
+        }
+        return ConstraintWeights.retain(weights, BlockConstraintProvider.CONSTRAINT_NAMES);
+    }
+
+    private static boolean continues(CourseAssignment previous, CourseAssignment next) {
+        return previous.getTimeslot().getDayOfWeek() == next.getTimeslot().getDayOfWeek()
+                && previous.getTimeslot().getHour() + 1 == next.getTimeslot().getHour()
+                && Objects.equals(previous.getTeacher(), next.getTeacher())
+                && Objects.equals(previous.getRoom(), next.getRoom());
+    }
+
+    private static String blockId(Group group, Course course, int blockIndex) {
+        return group.getId() + "-" + course.getId() + "-b" + blockIndex;
+    }
+
+    /**
+     * Same ranges as ValueRangeBuilder for the per-hour model, except that a
+     * start timeslot is only allowed when every hour of the block exists on that
+     * day, a qualified teacher is available for all of them and none is taken by
+     * a pinned block of the group.
+     */
+    private static void applyValueRanges(SchoolSchedule schedule, List<CourseBlock> blocks) {
+        List<Teacher> allTeachers = List.copyOf(schedule.getTeachers());
+        List<Room> allRooms = List.copyOf(schedule.getRooms());
+        Map<String, List<Teacher>> qualified = ValueRangeBuilder.qualificationIndex(allTeachers);
+        Map<String, List<Room>> roomsByRequirement = new HashMap<>();
+
+        long[] existing = new long[7];
+        for (Timeslot t : schedule.getTimeslots()) {
+            existing[t.getDayOfWeek().ordinal()] |= 1L << t.getHour();
+        }
+        Map<Group, long[]> groupBlocked = new HashMap<>();
+        for (CourseBlock block : blocks) {
+            if (block.isPinned()) {
+                groupBlocked.computeIfAbsent(block.getGroup(), k -> new long[7])[block.getDay().ordinal()] |= block
+                        .getHourMask();
+            }
+        }
+
+        Map<List<Object>, List<Timeslot>> startCache = new HashMap<>();
+        long[] none = new long[7];
+        for (CourseBlock block : blocks) {
+            if (block.isPinned()) {
+                block.setTeacherRange(block.getTeacher() != null ? List.of(block.getTeacher()) : allTeachers);
+                block.setRoomRange(block.getRoom() != null ? List.of(block.getRoom()) : allRooms);
+                block.setStartRange(List.of(block.getStart()));
+                continue;
+            }
+            List<Teacher> teachers = qualified.getOrDefault(block.getCourse().getName(), List.of());
+            block.setTeacherRange(teachers.isEmpty() ? allTeachers : teachers);
+            List<Room> rooms = roomsByRequirement.computeIfAbsent(block.getCourse().getRoomRequirement(),
+                    requirement -> allRooms.stream().filter(r -> r.satisfiesRequirement(requirement)).toList());
+            block.setRoomRange(rooms.isEmpty() ? allRooms : rooms);
+
+            long[] blocked = groupBlocked.getOrDefault(block.getGroup(), none);
+            block.setStartRange(startCache.computeIfAbsent(
+                    List.of(block.getGroup(), block.getTeacherRange(), block.getLength()), k -> {
+                        long[] available = new long[7];
+                        for (Teacher teacher : block.getTeacherRange()) {
+                            for (DayOfWeek day : DayOfWeek.values()) {
+                                available[day.ordinal()] |= teacher.getAvailabilityMask(day);
+                            }
+                        }
+                        long lengthMask = (1L << block.getLength()) - 1;
+                        List<Timeslot> starts = new ArrayList<>();
+                        List<Timeslot> fitting = new ArrayList<>();
+                        for (Timeslot t : schedule.getTimeslots()) {
+                            int day = t.getDayOfWeek().ordinal();
+                            long mask = lengthMask << t.getHour();
+                            if ((existing[day] & mask) != mask || (blocked[day] & mask) != 0) {
+                                continue;
+                            }
+                            fitting.add(t);
+                            if ((available[day] & mask) == mask) {
+                                starts.add(t);
+                            }
+                        }
+                        // Fall back to any start where the block fits the day, then to any
+                        // start at all (CourseBlockConverter leaves hours that fall off the day
+                        // without a timeslot and warns about them)
+                        if (!starts.isEmpty()) {
+                            return List.copyOf(starts);
+                        }
+                        return List.copyOf(fitting.isEmpty() ? schedule.getTimeslots() : fitting);
+                    }));
+        }
+    }
+}
@@ -1,6 +1,16 @@
 package com.example.data;
 
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+
 import com.example.domain.*;
+import com.example.monitoring.DataLoadEvent;
+import com.example.solver.ConstraintWeights;
+import com.example.solver.ValueRangeBuilder;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
 import java.time.DayOfWeek;
 import java.util.*;
@@ -9,12 +19,23 @@ import java.util.*;
  * DataLoader loads the initial scheduling dataset from PostgreSQL database.
  * Reads teachers, courses, rooms, timeslots, groups, and course assignments
  * and returns a SchoolSchedule ready for the Timefold solver.
+ *
+ * Every load is cached as a ScheduleSnapshot under the cache directory
+ * together with a fingerprint of the source tables: the epoch and version of
+ * the schedule_data_version row, which triggers bump on every statement that
+ * writes a source table (see database/schema.sql). When the fingerprint still
+ * matches, the snapshot is read instead of running the queries. A database
+ * without that table is always loaded from the tables.
  */
 public class DataLoader {
 
+    public static final Path DEFAULT_CACHE_DIRECTORY = Path.of(".schedule-cache");
+
     private final String jdbcUrl;
     private final String username;
     private final String password;
+    private Path cacheDirectory = DEFAULT_CACHE_DIRECTORY;
+    private boolean forceReload;
 
     /**
      * Create a DataLoader with database connection parameters.
@@ -30,6 +51,21 @@ public class DataLoader {
         this.password = password;
     }
 
+    /**
+     * Directory for the cached snapshot, or null to always query every table.
+     */
+    public void setCacheDirectory(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Ignore a matching cached snapshot and load from the tables (the cache is
+     * still refreshed).
+     */
+    public void setForceReload(boolean forceReload) {
+        this.forceReload = forceReload;
+    }
+
     /**
      * Load the complete dataset from the database and return a SchoolSchedule.
      *
@@ -37,14 +73,55 @@ public class DataLoader {
      * @throws SQLException if database access fails
      */
     public SchoolSchedule loadData() throws SQLException {
+        DataLoadEvent loadEvent = new DataLoadEvent();
+        loadEvent.begin();
         try (Connection conn = DriverManager.getConnection(jdbcUrl, username, password)) {
+            String fingerprint = null;
+            if (cacheDirectory != null) {
+                DataLoadEvent event = new DataLoadEvent();
+                event.begin();
+                fingerprint = fingerprint(conn);
+                commit(event, "schedule_data_version", 1);
+                SchoolSchedule cached = cachedSchedule(fingerprint);
+                if (cached != null) {
+                    cached.setConstraintWeightOverrides(loadConstraintWeights(conn));
+                    System.out.println("Loaded " + cached.getCourseAssignments().size()
+                            + " course assignments from cache (tables unchanged)");
+                    commit(loadEvent, "*", cached.getCourseAssignments().size());
+                    return cached;
+                }
+            }
+
+            DataLoadEvent event = new DataLoadEvent();
+            event.begin();
             List<Teacher> teachers = loadTeachers(conn);
+            commit(event, "teacher", teachers.size());
+
+            event = new DataLoadEvent();
+            event.begin();
             List<Course> courses = loadCourses(conn);
+            commit(event, "course", courses.size());
+
+            event = new DataLoadEvent();
+            event.begin();
             List<Room> rooms = loadRooms(conn);
+            commit(event, "room", rooms.size());
+
+            event = new DataLoadEvent();
+            event.begin();
             List<Timeslot> timeslots = loadTimeslots(conn);
+            commit(event, "timeslot", timeslots.size());
+
+            event = new DataLoadEvent();
+            event.begin();
             List<Group> groups = loadGroups(conn, rooms);
+            commit(event, "student_group", groups.size());
+
+            event = new DataLoadEvent();
+            event.begin();
             List<CourseAssignment> assignments = loadCourseAssignments(conn, groups, courses, teachers, rooms,
                     timeslots);
+            commit(event, "course_assignment", assignments.size());
 
             System.out.println("Loaded from database:");
             System.out.println("  - " + teachers.size() + " teachers");
@@ -54,7 +131,106 @@ public class DataLoader {
             System.out.println("  - " + groups.size() + " groups");
             System.out.println("  - " + assignments.size() + " course assignments");
 
-            return new SchoolSchedule(teachers, timeslots, rooms, courses, groups, assignments);
+            commit(loadEvent, "*", assignments.size());
+            SchoolSchedule schedule = new SchoolSchedule(teachers, timeslots, rooms, courses, groups, assignments);
+            ValueRangeBuilder.apply(schedule);
+            if (fingerprint != null) {
+                writeCache(schedule, fingerprint);
+            }
+            // Not part of the snapshot: read on every load, the table is tiny
+            schedule.setConstraintWeightOverrides(loadConstraintWeights(conn));
+            return schedule;
+        }
+    }
+
+    /**
+     * Fingerprint of the source tables, read from the trigger-maintained
+     * schedule_data_version row: one indexed row instead of a scan of every
+     * table. Null, after a warning, when the database has no such row.
+     */
+    private String fingerprint(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT epoch, version FROM schedule_data_version")) {
+            if (rs.next()) {
+                return fingerprint(rs.getString("epoch"), rs.getLong("version"));
+            }
+        } catch (SQLException e) {
+            System.err.println("Warning: schedule cache disabled, no schedule_data_version table (see "
+                    + "database/schema.sql): " + e.getMessage());
+            return null;
+        }
+        System.err.println("Warning: schedule cache disabled, schedule_data_version has no row");
+        return null;
+    }
+
+    /** Cache key for a schedule_data_version row; the snapshot format version is part of it. */
+    static String fingerprint(String epoch, long version) {
+        return "v" + ScheduleSnapshot.VERSION + ";" + epoch + ":" + version;
+    }
+
+    /**
+     * The cached schedule for {@code fingerprint}, or null when there is no
+     * cache, the fingerprint is unknown or changed, or a reload was forced.
+     */
+    SchoolSchedule cachedSchedule(String fingerprint) {
+        if (cacheDirectory == null || fingerprint == null || forceReload) {
+            return null;
+        }
+        return readCache(fingerprint);
+    }
+
+    /** Snapshot file for this database, so different databases do not share a cache. */
+    private Path cacheFile() {
+        String database = Integer.toHexString((jdbcUrl + "|" + username).hashCode());
+        return cacheDirectory.resolve("schedule-" + database + ".snap");
+    }
+
+    private Path fingerprintFile() {
+        return cacheFile().resolveSibling(cacheFile().getFileName() + ".fingerprint");
+    }
+
+    /**
+     * The cached schedule if its fingerprint matches, otherwise null. A damaged
+     * cache is treated as a miss.
+     */
+    private SchoolSchedule readCache(String fingerprint) {
+        try {
+            if (!Files.exists(fingerprintFile())
+                    || !Files.readString(fingerprintFile(), StandardCharsets.UTF_8).equals(fingerprint)) {
+                return null;
+            }
+            return ScheduleSnapshot.read(cacheFile());
+        } catch (IOException e) {
+            System.err.println("Warning: ignoring schedule cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store the snapshot and then its fingerprint; the old fingerprint is removed
+     * first so a failed write can never pair a new fingerprint with old data.
+     */
+    void writeCache(SchoolSchedule schedule, String fingerprint) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            Files.deleteIfExists(fingerprintFile());
+            ScheduleSnapshot.write(schedule, cacheFile());
+            Files.writeString(fingerprintFile(), fingerprint, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Warning: could not write schedule cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * End a JFR load event and commit it if a recording wants it. The fields are
+     * only filled in when the event will actually be written.
+     */
+    private static void commit(DataLoadEvent event, String table, int rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.table = table;
+            event.rows = rows;
+            event.commit();
         }
     }
 
@@ -367,6 +543,33 @@ public class DataLoader {
         return assignments;
     }
 
+    /**
+     * Constraint weights from the optional constraint_weight table; none when
+     * the table does not exist.
+     */
+    private ConstraintWeightOverrides<HardSoftScore> loadConstraintWeights(Connection conn) throws SQLException {
+        try (ResultSet tables = conn.getMetaData().getTables(null, null, "constraint_weight", null)) {
+            if (!tables.next()) {
+                return ConstraintWeightOverrides.none();
+            }
+        }
+        Map<String, String> weights = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT constraint_name, weight, enabled FROM constraint_weight")) {
+            while (rs.next()) {
+                weights.put(rs.getString("constraint_name"), rs.getBoolean("enabled") ? rs.getString("weight") : "off");
+            }
+        }
+        if (!weights.isEmpty()) {
+            System.out.println("  - " + weights.size() + " constraint weight overrides");
+        }
+        try {
+            return ConstraintWeights.of(weights);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Invalid weight in constraint_weight: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Convert database day_of_week integer to Java DayOfWeek enum.
      * Database: 1=Monday, 2=Tuesday, ..., 7=Sunday
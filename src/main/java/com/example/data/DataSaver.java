@@ -1,6 +1,7 @@
 package com.example.data;
 
 import com.example.domain.*;
+import com.example.monitoring.DataSaveEvent;
 import java.sql.*;
 import java.util.*;
 
@@ -40,10 +41,12 @@ public class DataSaver {
      * @throws SQLException if database access fails
      */
     public void saveSchedule(SchoolSchedule schedule) throws SQLException {
+        DataSaveEvent event = new DataSaveEvent();
+        event.begin();
         try (Connection conn = DriverManager.getConnection(jdbcUrl, username, password)) {
             conn.setAutoCommit(false); // Start transaction
             try {
-                saveCourseAssignments(conn, schedule.getCourseAssignments());
+                saveCourseAssignments(conn, schedule.getCourseAssignments(), event);
                 conn.commit();
                 System.out.println("✓ Schedule successfully saved to database");
             } catch (SQLException e) {
@@ -52,13 +55,19 @@ public class DataSaver {
                 throw e;
             }
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.assignments = schedule.getCourseAssignments().size();
+            event.commit();
+        }
     }
 
     /**
      * Update all course assignments with their solved teacher, timeslot, and room
      * assignments.
      */
-    private void saveCourseAssignments(Connection conn, List<CourseAssignment> assignments) throws SQLException {
+    private void saveCourseAssignments(Connection conn, List<CourseAssignment> assignments, DataSaveEvent event)
+            throws SQLException {
         String sql = "UPDATE course_assignment SET teacher_id = ?, timeslot_id = ?, room_name = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
 
         int totalUpdated = 0;
@@ -89,6 +98,8 @@ public class DataSaver {
             }
         }
 
+        event.rowsUpdated = totalUpdated;
+        event.unassigned = unassignedCount;
         System.out.println("  Updated " + totalUpdated + " course assignments");
         if (unassignedCount > 0) {
             System.out.println("  ⚠ Warning: " + unassignedCount + " assignments remain unassigned");
@@ -1,6 +1,7 @@
 package com.example.data;
 
 import com.example.domain.*;
+import com.example.solver.ValueRangeBuilder;
 import com.example.util.CourseAssignmentValidator;
 
 import java.time.DayOfWeek;
@@ -22,6 +23,7 @@ public class DemoDataGenerator {
                         ca.setTimeslot(null);
                 }
                 SchoolSchedule schedule = new SchoolSchedule(teachers, timeslots, rooms, courses, groups, assignments);
+                ValueRangeBuilder.apply(schedule);
 
                 return schedule;
         }
@@ -432,15 +434,19 @@ public class DemoDataGenerator {
 
         private static List<CourseAssignment> generateCourseAssignments(List<Group> groups, List<Course> courses) {
                 List<CourseAssignment> assignments = new ArrayList<>();
+                // Name -> course once, instead of scanning the course list per group course
+                Map<String, Course> courseByName = new HashMap<>();
+                for (Course course : courses) {
+                        courseByName.put(course.getName(), course);
+                }
 
                 int counter = 0;
                 for (Group group : groups) {
                         for (String courseName : group.getCourseNames()) {
-                                System.out.println("courseName: " + courseName + " .");
-                                Course course = courses.stream()
-                                                .filter(c -> c.getName().equals(courseName))
-                                                .findFirst()
-                                                .orElseThrow();
+                                Course course = courseByName.get(courseName);
+                                if (course == null) {
+                                        throw new NoSuchElementException("Unknown course: " + courseName);
+                                }
 
                                 // Create an assignment for each hour required for the course
                                 for (int i = 0; i < course.getRequiredHoursPerWeek(); i++) {
@@ -0,0 +1,438 @@
+package com.example.data;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+import com.example.solver.ValueRangeBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Versioned binary snapshot of a SchoolSchedule (problem or solution), so
+ * benchmarks, tests and the CLI can load a dataset without a database.
+ *
+ * Layout (big-endian): magic, version, a string table, the fact tables
+ * (teachers, courses, rooms, timeslots, groups) referring to strings and to
+ * each other by dense int ids, the score, and then the course assignments as
+ * columns: id, group, course, sequenceIndex, teacher, timeslot, room (int
+ * arrays, -1 = null) and pinned (byte array), and finally the value ranges as
+ * shared range tables plus one table id column per variable. The reader
+ * memory-maps the file and bulk-copies the columns, so there is no per-row
+ * parsing and no ValueRangeBuilder pass.
+ */
+public final class ScheduleSnapshot {
+
+    private static final int MAGIC = 0x5353_4E50; // "SSNP"
+    public static final int VERSION = 1;
+
+    private ScheduleSnapshot() {
+    }
+
+    /**
+     * Write {@code schedule} to {@code path}. The file is written next to the
+     * target and moved into place, so a reader never sees a half-written file.
+     */
+    public static void write(SchoolSchedule schedule, Path path) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<Teacher, Integer> teacherIds = denseIds(schedule.getTeachers());
+        Map<Course, Integer> courseIds = denseIds(schedule.getCourses());
+        Map<Room, Integer> roomIds = denseIds(schedule.getRooms());
+        Map<Timeslot, Integer> timeslotIds = denseIds(schedule.getTimeslots());
+        Map<Group, Integer> groupIds = denseIds(schedule.getGroups());
+
+        // Intern every string first, so the table can be written ahead of its users
+        for (Teacher t : schedule.getTeachers()) {
+            intern(strings, t.getId(), t.getName(), t.getLastName());
+            if (t.getQualifications() != null) {
+                t.getQualifications().forEach(q -> intern(strings, q));
+            }
+        }
+        for (Course c : schedule.getCourses()) {
+            intern(strings, c.getId(), c.getName(), c.getAbbreviation(), c.getSemester(), c.getComponent(),
+                    c.getRoomRequirement());
+        }
+        for (Room r : schedule.getRooms()) {
+            intern(strings, r.getName(), r.getBuilding(), r.getType());
+        }
+        for (Timeslot t : schedule.getTimeslots()) {
+            intern(strings, t.getId(), t.getDisplayName());
+        }
+        for (Group g : schedule.getGroups()) {
+            intern(strings, g.getId(), g.getName());
+            if (g.getCourseNames() != null) {
+                g.getCourseNames().forEach(n -> intern(strings, n));
+            }
+        }
+        List<CourseAssignment> assignments = schedule.getCourseAssignments();
+        for (CourseAssignment a : assignments) {
+            intern(strings, a.getId());
+        }
+        String score = schedule.getScore() == null ? null : schedule.getScore().toString();
+        intern(strings, score);
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            out.writeInt(strings.size());
+            for (String s : strings.keySet()) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(schedule.getTeachers().size());
+            for (Teacher t : schedule.getTeachers()) {
+                out.writeInt(ref(strings, t.getId()));
+                out.writeInt(ref(strings, t.getName()));
+                out.writeInt(ref(strings, t.getLastName()));
+                out.writeInt(t.getMaxHoursPerWeek());
+                // Days present in the availability map, then one hour mask per day
+                int days = 0;
+                for (DayOfWeek d : t.getAvailableDays()) {
+                    days |= 1 << d.ordinal();
+                }
+                out.writeByte(days);
+                for (DayOfWeek d : DayOfWeek.values()) {
+                    out.writeLong(t.getAvailabilityMask(d));
+                }
+                writeStrings(out, strings, t.getQualifications());
+            }
+
+            out.writeInt(schedule.getCourses().size());
+            for (Course c : schedule.getCourses()) {
+                out.writeInt(ref(strings, c.getId()));
+                out.writeInt(ref(strings, c.getName()));
+                out.writeInt(ref(strings, c.getAbbreviation()));
+                out.writeInt(ref(strings, c.getSemester()));
+                out.writeInt(ref(strings, c.getComponent()));
+                out.writeInt(ref(strings, c.getRoomRequirement()));
+                out.writeInt(c.getRequiredHoursPerWeek());
+                out.writeByte(c.getActive() == null ? -1 : c.getActive() ? 1 : 0);
+            }
+
+            out.writeInt(schedule.getRooms().size());
+            for (Room r : schedule.getRooms()) {
+                out.writeInt(ref(strings, r.getName()));
+                out.writeInt(ref(strings, r.getBuilding()));
+                out.writeInt(ref(strings, r.getType()));
+            }
+
+            out.writeInt(schedule.getTimeslots().size());
+            for (Timeslot t : schedule.getTimeslots()) {
+                out.writeInt(ref(strings, t.getId()));
+                out.writeByte(t.getDayOfWeek().ordinal());
+                out.writeInt(t.getHour());
+                out.writeInt(ref(strings, t.getDisplayName()));
+            }
+
+            out.writeInt(schedule.getGroups().size());
+            for (Group g : schedule.getGroups()) {
+                out.writeInt(ref(strings, g.getId()));
+                out.writeInt(ref(strings, g.getName()));
+                out.writeInt(g.getPreferredRoom() == null ? -1 : roomIds.get(g.getPreferredRoom()));
+                writeStrings(out, strings, g.getCourseNames());
+            }
+
+            out.writeInt(ref(strings, score));
+
+            int n = assignments.size();
+            out.writeInt(n);
+            for (CourseAssignment a : assignments) {
+                out.writeInt(ref(strings, a.getId()));
+            }
+            for (CourseAssignment a : assignments) {
+                out.writeInt(groupIds.get(a.getGroup()));
+            }
+            for (CourseAssignment a : assignments) {
+                out.writeInt(courseIds.get(a.getCourse()));
+            }
+            for (CourseAssignment a : assignments) {
+                out.writeInt(a.getSequenceIndex());
+            }
+            for (CourseAssignment a : assignments) {
+                out.writeInt(a.getTeacher() == null ? -1 : teacherIds.get(a.getTeacher()));
+            }
+            for (CourseAssignment a : assignments) {
+                out.writeInt(a.getTimeslot() == null ? -1 : timeslotIds.get(a.getTimeslot()));
+            }
+            for (CourseAssignment a : assignments) {
+                out.writeInt(a.getRoom() == null ? -1 : roomIds.get(a.getRoom()));
+            }
+            for (CourseAssignment a : assignments) {
+                out.writeByte(a.isPinned() ? 1 : 0);
+            }
+
+            // Value ranges as shared tables plus one table id per assignment, so the
+            // reader does not have to run ValueRangeBuilder again
+            boolean ranges = assignments.stream().allMatch(a -> a.getTeacherRange() != null
+                    && a.getRoomRange() != null && a.getTimeslotRange() != null);
+            out.writeByte(ranges ? 1 : 0);
+            if (ranges) {
+                writeRanges(out, assignments, CourseAssignment::getTeacherRange, teacherIds);
+                writeRanges(out, assignments, CourseAssignment::getRoomRange, roomIds);
+                writeRanges(out, assignments, CourseAssignment::getTimeslotRange, timeslotIds);
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read a snapshot written by {@link #write} and rebuild the domain graph,
+     * with value ranges applied as DataLoader does.
+     *
+     * @throws IOException if the file is not a snapshot or has another version
+     */
+    public static SchoolSchedule read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return read(buffer);
+        } catch (java.nio.BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated or corrupt schedule snapshot: " + path, e);
+        }
+    }
+
+    private static SchoolSchedule read(ByteBuffer in) throws IOException {
+        if (in.remaining() < 8 || in.getInt() != MAGIC) {
+            throw new IOException("Not a schedule snapshot");
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported schedule snapshot version " + version + " (expected " + VERSION + ")");
+        }
+
+        String[] strings = new String[in.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int teacherCount = in.getInt();
+        List<Teacher> teachers = new ArrayList<>(teacherCount);
+        for (int i = 0; i < teacherCount; i++) {
+            String id = str(strings, in.getInt());
+            String name = str(strings, in.getInt());
+            String lastName = str(strings, in.getInt());
+            int maxHours = in.getInt();
+            int days = in.get();
+            Map<DayOfWeek, Set<Integer>> availability = new EnumMap<>(DayOfWeek.class);
+            for (DayOfWeek d : DayOfWeek.values()) {
+                long mask = in.getLong();
+                if ((days & (1 << d.ordinal())) != 0) {
+                    Set<Integer> hours = new HashSet<>();
+                    for (long m = mask; m != 0; m &= m - 1) {
+                        hours.add(Long.numberOfTrailingZeros(m));
+                    }
+                    availability.put(d, hours);
+                }
+            }
+            teachers.add(new Teacher(id, name, lastName, readStrings(in, strings), availability, maxHours));
+        }
+
+        int courseCount = in.getInt();
+        List<Course> courses = new ArrayList<>(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            String id = str(strings, in.getInt());
+            String name = str(strings, in.getInt());
+            String abbreviation = str(strings, in.getInt());
+            String semester = str(strings, in.getInt());
+            String component = str(strings, in.getInt());
+            String roomRequirement = str(strings, in.getInt());
+            int hours = in.getInt();
+            byte active = in.get();
+            courses.add(new Course(id, name, abbreviation, semester, component, roomRequirement, hours,
+                    active < 0 ? null : active == 1));
+        }
+
+        int roomCount = in.getInt();
+        List<Room> rooms = new ArrayList<>(roomCount);
+        for (int i = 0; i < roomCount; i++) {
+            rooms.add(new Room(str(strings, in.getInt()), str(strings, in.getInt()), str(strings, in.getInt())));
+        }
+
+        int timeslotCount = in.getInt();
+        List<Timeslot> timeslots = new ArrayList<>(timeslotCount);
+        for (int i = 0; i < timeslotCount; i++) {
+            String id = str(strings, in.getInt());
+            DayOfWeek day = DayOfWeek.values()[in.get()];
+            int hour = in.getInt();
+            timeslots.add(new Timeslot(id, day, hour, str(strings, in.getInt())));
+        }
+
+        int groupCount = in.getInt();
+        List<Group> groups = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            String id = str(strings, in.getInt());
+            String name = str(strings, in.getInt());
+            int room = in.getInt();
+            Set<String> courseNames = readStrings(in, strings);
+            groups.add(new Group(id, name, courseNames, room < 0 ? null : rooms.get(room)));
+        }
+
+        String score = str(strings, in.getInt());
+
+        int n = in.getInt();
+        int[] ids = column(in, n);
+        int[] groupColumn = column(in, n);
+        int[] courseColumn = column(in, n);
+        int[] sequenceColumn = column(in, n);
+        int[] teacherColumn = column(in, n);
+        int[] timeslotColumn = column(in, n);
+        int[] roomColumn = column(in, n);
+        byte[] pinnedColumn = new byte[n];
+        in.get(pinnedColumn);
+
+        List<CourseAssignment> assignments = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            CourseAssignment a = new CourseAssignment(strings[ids[i]], groups.get(groupColumn[i]),
+                    courses.get(courseColumn[i]), sequenceColumn[i]);
+            a.setTeacher(teacherColumn[i] < 0 ? null : teachers.get(teacherColumn[i]));
+            a.setTimeslot(timeslotColumn[i] < 0 ? null : timeslots.get(timeslotColumn[i]));
+            a.setRoom(roomColumn[i] < 0 ? null : rooms.get(roomColumn[i]));
+            a.setPinned(pinnedColumn[i] != 0);
+            assignments.add(a);
+        }
+
+        SchoolSchedule schedule = new SchoolSchedule(teachers, timeslots, rooms, courses, groups, assignments);
+        if (score != null) {
+            schedule.setScore(HardSoftScore.parseScore(score));
+        }
+        if (in.get() != 0) {
+            List<List<Teacher>> teacherRanges = readRanges(in, teachers);
+            int[] teacherRange = column(in, n);
+            List<List<Room>> roomRanges = readRanges(in, rooms);
+            int[] roomRange = column(in, n);
+            List<List<Timeslot>> timeslotRanges = readRanges(in, timeslots);
+            int[] timeslotRange = column(in, n);
+            for (int i = 0; i < n; i++) {
+                CourseAssignment a = assignments.get(i);
+                a.setTeacherRange(teacherRanges.get(teacherRange[i]));
+                a.setRoomRange(roomRanges.get(roomRange[i]));
+                a.setTimeslotRange(timeslotRanges.get(timeslotRange[i]));
+            }
+        } else {
+            ValueRangeBuilder.apply(schedule);
+        }
+        return schedule;
+    }
+
+    /** Bulk-copy one int column and move past it. */
+    private static int[] column(ByteBuffer in, int n) {
+        int[] values = new int[n];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + n * Integer.BYTES);
+        return values;
+    }
+
+    private static <T> List<List<T>> readRanges(ByteBuffer in, List<T> facts) {
+        int count = in.getInt();
+        List<List<T>> ranges = new ArrayList<>(count);
+        for (int r = 0; r < count; r++) {
+            int[] ids = column(in, in.getInt());
+            List<T> range = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                range.add(facts.get(id));
+            }
+            ranges.add(List.copyOf(range));
+        }
+        return ranges;
+    }
+
+    private static String str(String[] strings, int ref) {
+        return ref < 0 ? null : strings[ref];
+    }
+
+    private static Set<String> readStrings(ByteBuffer in, String[] strings) {
+        int count = in.getInt();
+        if (count < 0) {
+            return null;
+        }
+        Set<String> values = new LinkedHashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            values.add(strings[in.getInt()]);
+        }
+        return values;
+    }
+
+    private static <T> Map<T, Integer> denseIds(List<T> facts) {
+        Map<T, Integer> ids = new HashMap<>(facts.size() * 2);
+        for (int i = 0; i < facts.size(); i++) {
+            ids.putIfAbsent(facts.get(i), i);
+        }
+        return ids;
+    }
+
+    private static void intern(Map<String, Integer> strings, String... values) {
+        for (String value : values) {
+            if (value != null) {
+                strings.putIfAbsent(value, strings.size());
+            }
+        }
+    }
+
+    private static int ref(Map<String, Integer> strings, String value) {
+        return value == null ? -1 : strings.get(value);
+    }
+
+    /**
+     * Write each distinct range list once (ValueRangeBuilder shares them between
+     * assignments), followed by the column of range table ids.
+     */
+    private static <T> void writeRanges(DataOutputStream out, List<CourseAssignment> assignments,
+            Function<CourseAssignment, List<T>> range, Map<T, Integer> ids) throws IOException {
+        Map<List<T>, Integer> tables = new IdentityHashMap<>();
+        int[] column = new int[assignments.size()];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = tables.computeIfAbsent(range.apply(assignments.get(i)), k -> tables.size());
+        }
+        List<List<T>> ordered = new ArrayList<>(Collections.nCopies(tables.size(), null));
+        tables.forEach((list, id) -> ordered.set(id, list));
+        out.writeInt(ordered.size());
+        for (List<T> list : ordered) {
+            out.writeInt(list.size());
+            for (T value : list) {
+                out.writeInt(ids.get(value));
+            }
+        }
+        for (int id : column) {
+            out.writeInt(id);
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, Map<String, Integer> strings, Collection<String> values)
+            throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeInt(ref(strings, value));
+        }
+    }
+}
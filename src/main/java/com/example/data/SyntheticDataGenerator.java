@@ -0,0 +1,424 @@
+package com.example.data;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+import com.example.solver.ValueRangeBuilder;
+import com.example.util.ExcelTemplateGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.*;
+
+/**
+ * Seeded generator of synthetic schools of any size, for load-testing the
+ * solver, DataLoader and the reports.
+ *
+ * Groups are spread over semesters. Every group of a semester takes the same
+ * curriculum of {@code coursesPerGroup} courses of 1-4 hours, with the room
+ * requirements in proportion to the rooms of each type. Every course gets at
+ * least one qualified teacher, and teachers pick up further courses with
+ * probability {@code qualificationDensity}. Availability is one contiguous
+ * window per working day of about {@code availabilityDensity * hoursPerDay}
+ * hours. The same seed and sizes always give the same school, and generation
+ * is linear in the size of the output.
+ *
+ * The defaults reproduce the size of DemoDataGenerator; {@link #setScale(int)}
+ * multiplies groups, teachers and rooms.
+ */
+public class SyntheticDataGenerator {
+
+    // course.semester is VARCHAR(2) in database/schema.sql, so Roman numerals past II do not fit
+    private static final String[] SEMESTERS = { "1", "2", "3", "4", "5", "6" };
+    private static final int[] MAX_HOURS = { 20, 30, 30, 40 };
+    private static final int SQL_BATCH_SIZE = 1000;
+
+    private long seed = 42L;
+    private int groups = 9;
+    private int teachers = 22;
+    private Map<String, Integer> roomsPerType = new LinkedHashMap<>(Map.of("estándar", 9, "centro de cómputo", 2));
+    private int semesters = 3;
+    private int coursesPerGroup = 11;
+    private int days = 5;
+    private int firstHour = 7;
+    private int hoursPerDay = 8;
+    private double qualificationDensity = 0.1;
+    private double availabilityDensity = 0.85;
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setGroups(int groups) {
+        this.groups = groups;
+    }
+
+    public void setTeachers(int teachers) {
+        this.teachers = teachers;
+    }
+
+    public void setRoomsPerType(Map<String, Integer> roomsPerType) {
+        this.roomsPerType = new LinkedHashMap<>(roomsPerType);
+    }
+
+    public void setSemesters(int semesters) {
+        this.semesters = Math.max(1, Math.min(semesters, SEMESTERS.length));
+    }
+
+    public void setCoursesPerGroup(int coursesPerGroup) {
+        this.coursesPerGroup = coursesPerGroup;
+    }
+
+    public void setDays(int days) {
+        this.days = Math.max(1, Math.min(days, 7));
+    }
+
+    public void setFirstHour(int firstHour) {
+        this.firstHour = firstHour;
+    }
+
+    public void setHoursPerDay(int hoursPerDay) {
+        this.hoursPerDay = hoursPerDay;
+    }
+
+    public void setQualificationDensity(double qualificationDensity) {
+        this.qualificationDensity = qualificationDensity;
+    }
+
+    public void setAvailabilityDensity(double availabilityDensity) {
+        this.availabilityDensity = availabilityDensity;
+    }
+
+    /** Multiply the current group, teacher and room counts by {@code factor}. */
+    public void setScale(int factor) {
+        groups *= factor;
+        teachers *= factor;
+        roomsPerType.replaceAll((type, count) -> count * factor);
+    }
+
+    public SchoolSchedule generate() {
+        Random random = new Random(seed);
+        List<Timeslot> timeslots = generateTimeslots();
+        List<Room> rooms = generateRooms();
+        List<Course> courses = generateCourses(random);
+        List<Teacher> teacherList = generateTeachers(random, courses);
+        List<Group> groupList = generateGroups(courses, rooms);
+        List<CourseAssignment> assignments = generateCourseAssignments(groupList, courses);
+
+        SchoolSchedule schedule = new SchoolSchedule(teacherList, timeslots, rooms, courses, groupList, assignments);
+        ValueRangeBuilder.apply(schedule);
+        System.out.println("Generated synthetic school (seed " + seed + "): " + teacherList.size() + " teachers, "
+                + courses.size() + " courses, " + rooms.size() + " rooms, " + timeslots.size() + " timeslots, "
+                + groupList.size() + " groups, " + assignments.size() + " assignments");
+        return schedule;
+    }
+
+    private List<Timeslot> generateTimeslots() {
+        List<Timeslot> timeslots = new ArrayList<>();
+        for (int d = 0; d < days; d++) {
+            DayOfWeek day = DayOfWeek.of(d + 1);
+            for (int hour = firstHour; hour < firstHour + hoursPerDay; hour++) {
+                timeslots.add(new Timeslot("slot_" + timeslots.size(), day, hour,
+                        day.toString().substring(0, 3) + " " + hour + "-" + (hour + 1)));
+            }
+        }
+        return timeslots;
+    }
+
+    private List<Room> generateRooms() {
+        List<Room> rooms = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : roomsPerType.entrySet()) {
+            for (int i = 0; i < e.getValue(); i++) {
+                String building = String.valueOf((char) ('A' + (rooms.size() / 20) % 26));
+                rooms.add(new Room(e.getKey() + " " + (i + 1), building, e.getKey()));
+            }
+        }
+        return rooms;
+    }
+
+    private List<Course> generateCourses(Random random) {
+        // Room requirements drawn in proportion to the rooms available per type
+        List<String> requirementPool = new ArrayList<>();
+        roomsPerType.forEach((type, count) -> {
+            for (int i = 0; i < count; i++) {
+                requirementPool.add(type);
+            }
+        });
+        if (requirementPool.isEmpty()) {
+            requirementPool.add("estándar");
+        }
+
+        List<Course> courses = new ArrayList<>();
+        for (int s = 0; s < semesters; s++) {
+            for (int c = 0; c < coursesPerGroup; c++) {
+                int n = courses.size() + 1;
+                String name = "CURSO " + SEMESTERS[s] + "-" + (c + 1);
+                courses.add(new Course(String.format("C%04d", n), name, "CUR " + SEMESTERS[s] + "-" + (c + 1),
+                        SEMESTERS[s], c % 3 == 2 ? "TADHR" : "BASICAS",
+                        requirementPool.get(random.nextInt(requirementPool.size())), 1 + random.nextInt(4),
+                        Boolean.TRUE));
+            }
+        }
+        return courses;
+    }
+
+    private List<Teacher> generateTeachers(Random random, List<Course> courses) {
+        List<Set<String>> qualifications = new ArrayList<>();
+        for (int t = 0; t < teachers; t++) {
+            qualifications.add(new HashSet<>());
+        }
+        // Every course has at least one qualified teacher
+        for (int c = 0; c < courses.size() && teachers > 0; c++) {
+            qualifications.get(random.nextInt(teachers)).add(courses.get(c).getName());
+        }
+
+        int extra = (int) Math.round(qualificationDensity * courses.size());
+        List<Teacher> teacherList = new ArrayList<>();
+        for (int t = 0; t < teachers; t++) {
+            Set<String> quals = qualifications.get(t);
+            for (int k = 0; k < extra; k++) {
+                quals.add(courses.get(random.nextInt(courses.size())).getName());
+            }
+
+            int window = Math.max(1, Math.min(hoursPerDay,
+                    (int) Math.round(availabilityDensity * hoursPerDay) + random.nextInt(3) - 1));
+            Map<DayOfWeek, Set<Integer>> availability = new EnumMap<>(DayOfWeek.class);
+            for (int d = 0; d < days; d++) {
+                int start = firstHour + random.nextInt(hoursPerDay - window + 1);
+                Set<Integer> hours = new HashSet<>();
+                for (int h = start; h < start + window; h++) {
+                    hours.add(h);
+                }
+                availability.put(DayOfWeek.of(d + 1), hours);
+            }
+            String id = String.format("t_%05d", t + 1);
+            teacherList.add(new Teacher(id, "MAESTRO", String.format("SINTETICO %05d", t + 1), quals, availability,
+                    MAX_HOURS[random.nextInt(MAX_HOURS.length)]));
+        }
+        return teacherList;
+    }
+
+    private List<Group> generateGroups(List<Course> courses, List<Room> rooms) {
+        List<Room> standardRooms = rooms.stream().filter(r -> "estándar".equals(r.getType())).toList();
+        List<Group> groupList = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            int semester = g % semesters;
+            Set<String> courseNames = new LinkedHashSet<>();
+            for (Course course : courses.subList(semester * coursesPerGroup, (semester + 1) * coursesPerGroup)) {
+                courseNames.add(course.getName());
+            }
+            Room preferred = standardRooms.isEmpty() ? null : standardRooms.get(g % standardRooms.size());
+            groupList.add(new Group(String.format("g_%05d", g + 1),
+                    String.format("Gpo %s-%05d", SEMESTERS[semester], g + 1), courseNames, preferred));
+        }
+        return groupList;
+    }
+
+    private static List<CourseAssignment> generateCourseAssignments(List<Group> groups, List<Course> courses) {
+        Map<String, Course> courseByName = new HashMap<>();
+        for (Course course : courses) {
+            courseByName.put(course.getName(), course);
+        }
+        List<CourseAssignment> assignments = new ArrayList<>();
+        for (Group group : groups) {
+            for (String courseName : group.getCourseNames()) {
+                Course course = courseByName.get(courseName);
+                for (int i = 0; i < course.getRequiredHoursPerWeek(); i++) {
+                    assignments.add(new CourseAssignment("ca_" + assignments.size(), group, course, i));
+                }
+            }
+        }
+        return assignments;
+    }
+
+    // ************************************************************************
+    // Output
+    // ************************************************************************
+
+    /**
+     * Write {@code schedule} as INSERT statements for database/schema.sql
+     * (existing rows are deleted first, like load_demo_data.sql).
+     */
+    public static void writeSql(SchoolSchedule schedule, Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("-- Synthetic dataset generated by SyntheticDataGenerator\n");
+            out.write("SET client_encoding = 'UTF8';\n\n");
+            for (String table : List.of("course_assignment", "group_course", "teacher_qualification",
+                    "teacher_availability", "student_group", "timeslot", "room", "course", "teacher")) {
+                out.write("DELETE FROM " + table + ";\n");
+            }
+
+            SqlInserts teachers = new SqlInserts(out, "teacher (id, name, last_name, max_hours_per_week)");
+            SqlInserts qualifications = new SqlInserts(out, "teacher_qualification (teacher_id, qualification)");
+            SqlInserts availability = new SqlInserts(out, "teacher_availability (teacher_id, day_of_week, hour)");
+            for (Teacher t : schedule.getTeachers()) {
+                teachers.add(quote(t.getId()), quote(t.getName()), quote(t.getLastName()),
+                        String.valueOf(t.getMaxHoursPerWeek()));
+            }
+            teachers.flush();
+            for (Teacher t : schedule.getTeachers()) {
+                for (String q : new TreeSet<>(t.getQualifications())) {
+                    qualifications.add(quote(t.getId()), quote(q));
+                }
+            }
+            qualifications.flush();
+            for (Teacher t : schedule.getTeachers()) {
+                for (Timeslot ts : schedule.getTimeslots()) {
+                    if (t.isAvailableAt(ts)) {
+                        availability.add(quote(t.getId()), String.valueOf(ts.getDayOfWeek().getValue()),
+                                String.valueOf(ts.getHour()));
+                    }
+                }
+            }
+            availability.flush();
+
+            SqlInserts courses = new SqlInserts(out, "course (id, name, abbreviation, room_requirement, "
+                    + "required_hours_per_week, semester, component, active)");
+            for (Course c : schedule.getCourses()) {
+                courses.add(quote(c.getId()), quote(c.getName()), quote(c.getAbbreviation()),
+                        quote(c.getRoomRequirement()), String.valueOf(c.getRequiredHoursPerWeek()),
+                        quote(c.getSemester()), quote(c.getComponent()), "TRUE");
+            }
+            courses.flush();
+
+            SqlInserts rooms = new SqlInserts(out, "room (name, building, type)");
+            for (Room r : schedule.getRooms()) {
+                rooms.add(quote(r.getName()), quote(r.getBuilding()), quote(r.getType()));
+            }
+            rooms.flush();
+
+            SqlInserts timeslots = new SqlInserts(out, "timeslot (id, day_of_week, hour, display_name)");
+            for (Timeslot ts : schedule.getTimeslots()) {
+                timeslots.add(quote(ts.getId()), String.valueOf(ts.getDayOfWeek().getValue()),
+                        String.valueOf(ts.getHour()), quote(ts.getDisplayName()));
+            }
+            timeslots.flush();
+
+            SqlInserts groups = new SqlInserts(out, "student_group (id, name, preferred_room_name)");
+            SqlInserts groupCourses = new SqlInserts(out, "group_course (group_id, course_name)");
+            for (Group g : schedule.getGroups()) {
+                groups.add(quote(g.getId()), quote(g.getName()),
+                        g.getPreferredRoom() != null ? quote(g.getPreferredRoom().getName()) : "NULL");
+            }
+            groups.flush();
+            for (Group g : schedule.getGroups()) {
+                for (String courseName : g.getCourseNames()) {
+                    groupCourses.add(quote(g.getId()), quote(courseName));
+                }
+            }
+            groupCourses.flush();
+
+            SqlInserts assignments = new SqlInserts(out,
+                    "course_assignment (id, group_id, course_id, sequence_index)");
+            for (CourseAssignment a : schedule.getCourseAssignments()) {
+                assignments.add(quote(a.getId()), quote(a.getGroup().getId()), quote(a.getCourse().getId()),
+                        String.valueOf(a.getSequenceIndex()));
+            }
+            assignments.flush();
+        }
+    }
+
+    private static String quote(String value) {
+        return value == null ? "NULL" : "'" + value.replace("'", "''") + "'";
+    }
+
+    /** Multi-row INSERT statements of at most SQL_BATCH_SIZE rows each. */
+    private static final class SqlInserts {
+        private final BufferedWriter out;
+        private final String table;
+        private int rows;
+
+        SqlInserts(BufferedWriter out, String table) {
+            this.out = out;
+            this.table = table;
+        }
+
+        void add(String... values) throws IOException {
+            out.write(rows == 0 ? "\nINSERT INTO " + table + " VALUES\n(" : ",\n(");
+            out.write(String.join(", ", values));
+            out.write(")");
+            if (++rows == SQL_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (rows > 0) {
+                out.write(";\n");
+                rows = 0;
+            }
+        }
+    }
+
+    /**
+     * Usage: {@code SyntheticDataGenerator [key=value ...]} with keys seed,
+     * scale, groups, teachers, rooms (type:count,type:count), semesters,
+     * courses (per group), days, firstHour, hours (per day), qualification,
+     * availability, sql (output path), xlsx (output path) and snapshot (output
+     * path, see ScheduleSnapshot).
+     */
+    public static void main(String[] args) throws IOException {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator();
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        // Explicit sizes first, so scale multiplies them
+        if (options.containsKey("groups"))
+            generator.setGroups(Integer.parseInt(options.get("groups")));
+        if (options.containsKey("teachers"))
+            generator.setTeachers(Integer.parseInt(options.get("teachers")));
+        if (options.containsKey("rooms")) {
+            Map<String, Integer> rooms = new LinkedHashMap<>();
+            for (String part : options.get("rooms").split(",")) {
+                String[] typeCount = part.split(":");
+                rooms.put(typeCount[0].trim(), Integer.parseInt(typeCount[1].trim()));
+            }
+            generator.setRoomsPerType(rooms);
+        }
+        if (options.containsKey("scale"))
+            generator.setScale(Integer.parseInt(options.get("scale")));
+        if (options.containsKey("seed"))
+            generator.setSeed(Long.parseLong(options.get("seed")));
+        if (options.containsKey("semesters"))
+            generator.setSemesters(Integer.parseInt(options.get("semesters")));
+        if (options.containsKey("courses"))
+            generator.setCoursesPerGroup(Integer.parseInt(options.get("courses")));
+        if (options.containsKey("days"))
+            generator.setDays(Integer.parseInt(options.get("days")));
+        if (options.containsKey("firstHour"))
+            generator.setFirstHour(Integer.parseInt(options.get("firstHour")));
+        if (options.containsKey("hours"))
+            generator.setHoursPerDay(Integer.parseInt(options.get("hours")));
+        if (options.containsKey("qualification"))
+            generator.setQualificationDensity(Double.parseDouble(options.get("qualification")));
+        if (options.containsKey("availability"))
+            generator.setAvailabilityDensity(Double.parseDouble(options.get("availability")));
+
+        SchoolSchedule schedule = generator.generate();
+        if (options.containsKey("sql")) {
+            writeSql(schedule, Path.of(options.get("sql")));
+            System.out.println("SQL written to: " + options.get("sql"));
+        }
+        if (options.containsKey("xlsx")) {
+            ExcelTemplateGenerator.generateTemplate(schedule, options.get("xlsx"));
+            System.out.println("Excel workbook written to: " + options.get("xlsx"));
+        }
+        if (options.containsKey("snapshot")) {
+            ScheduleSnapshot.write(schedule, Path.of(options.get("snapshot")));
+            System.out.println("Snapshot written to: " + options.get("snapshot"));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.domain;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.domain.solution.PlanningEntityCollectionProperty;
+import ai.timefold.solver.core.api.domain.solution.PlanningScore;
+import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
+import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import java.util.List;
+
+/**
+ * Alternative, coarse-grained planning solution: one {@link CourseBlock} per
+ * run of consecutive hours instead of one CourseAssignment per hour. Built from
+ * a SchoolSchedule by CourseBlockSplitter and converted back to per-hour rows
+ * by CourseBlockConverter.
+ */
+@PlanningSolution
+public class BlockSchedule {
+    @ProblemFactCollectionProperty
+    private List<Teacher> teachers;
+
+    @ProblemFactCollectionProperty
+    private List<Timeslot> timeslots;
+
+    @ProblemFactCollectionProperty
+    private List<Room> rooms;
+
+    @ProblemFactCollectionProperty
+    private List<Course> courses;
+
+    @ProblemFactCollectionProperty
+    private List<Group> groups;
+
+    @PlanningEntityCollectionProperty
+    private List<CourseBlock> courseBlocks;
+
+    // Per-constraint weight overrides, carried over from the SchoolSchedule for the
+    // constraints both models share (see CourseBlockSplitter)
+    private ConstraintWeightOverrides<HardSoftScore> constraintWeightOverrides = ConstraintWeightOverrides.none();
+
+    @PlanningScore
+    private HardSoftScore score;
+
+    public BlockSchedule() {
+        // No-arg constructor required by Timefold
+    }
+
+    public BlockSchedule(List<Teacher> teachers, List<Timeslot> timeslots, List<Room> rooms,
+            List<Course> courses, List<Group> groups, List<CourseBlock> courseBlocks) {
+        this.teachers = teachers;
+        this.timeslots = timeslots;
+        this.rooms = rooms;
+        this.courses = courses;
+        this.groups = groups;
+        this.courseBlocks = courseBlocks;
+    }
+
+    public List<Teacher> getTeachers() {
+        return teachers;
+    }
+
+    public List<Timeslot> getTimeslots() {
+        return timeslots;
+    }
+
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public List<CourseBlock> getCourseBlocks() {
+        return courseBlocks;
+    }
+
+    public ConstraintWeightOverrides<HardSoftScore> getConstraintWeightOverrides() {
+        return constraintWeightOverrides;
+    }
+
+    public void setConstraintWeightOverrides(ConstraintWeightOverrides<HardSoftScore> constraintWeightOverrides) {
+        this.constraintWeightOverrides = constraintWeightOverrides;
+    }
+
+    public HardSoftScore getScore() {
+        return score;
+    }
+
+    public void setScore(HardSoftScore score) {
+        this.score = score;
+    }
+}
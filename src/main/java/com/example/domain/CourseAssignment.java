@@ -4,6 +4,8 @@ import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
 import ai.timefold.solver.core.api.domain.entity.PlanningPin;
 import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
 import ai.timefold.solver.core.api.domain.lookup.PlanningId;
+import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
+import java.util.List;
 import java.util.Objects;
 
 @PlanningEntity
@@ -17,15 +19,23 @@ public class CourseAssignment {
     @PlanningPin
     private boolean pinned;
 
-    // @PlanningVariable(valueRangeProviderRefs = { "teacherRange" })
+    @PlanningVariable(valueRangeProviderRefs = { "assignmentTeacherRange" })
     private Teacher teacher;
 
-    @PlanningVariable(valueRangeProviderRefs = { "timeslotRange" })
+    @PlanningVariable(valueRangeProviderRefs = { "assignmentTimeslotRange" })
     private Timeslot timeslot;
 
-    // @PlanningVariable(valueRangeProviderRefs = { "roomRange" })
+    @PlanningVariable(valueRangeProviderRefs = { "assignmentRoomRange" })
     private Room room;
 
+    // Per-entity value ranges, filled at load by ValueRangeBuilder: qualified
+    // teachers, rooms satisfying the course requirement, and timeslots where a
+    // qualified teacher is available and the group is not blocked by pinned
+    // assignments.
+    private List<Teacher> teacherRange;
+    private List<Room> roomRange;
+    private List<Timeslot> timeslotRange;
+
     public CourseAssignment() {
         // No-arg constructor required by Timefold
     }
@@ -93,6 +103,33 @@ public class CourseAssignment {
         this.room = room;
     }
 
+    @ValueRangeProvider(id = "assignmentTeacherRange")
+    public List<Teacher> getTeacherRange() {
+        return teacherRange;
+    }
+
+    public void setTeacherRange(List<Teacher> teacherRange) {
+        this.teacherRange = teacherRange;
+    }
+
+    @ValueRangeProvider(id = "assignmentRoomRange")
+    public List<Room> getRoomRange() {
+        return roomRange;
+    }
+
+    public void setRoomRange(List<Room> roomRange) {
+        this.roomRange = roomRange;
+    }
+
+    @ValueRangeProvider(id = "assignmentTimeslotRange")
+    public List<Timeslot> getTimeslotRange() {
+        return timeslotRange;
+    }
+
+    public void setTimeslotRange(List<Timeslot> timeslotRange) {
+        this.timeslotRange = timeslotRange;
+    }
+
     public boolean isPinned() {
         return pinned;
     }
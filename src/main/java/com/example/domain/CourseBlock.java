@@ -0,0 +1,178 @@
+package com.example.domain;
+
+import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
+import ai.timefold.solver.core.api.domain.entity.PlanningPin;
+import ai.timefold.solver.core.api.domain.lookup.PlanningId;
+import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
+import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Planning entity of the block model (see {@link BlockSchedule}): a run of
+ * {@code length} consecutive hours of one course for one group, placed by its
+ * start timeslot. Hours inside a block are consecutive by construction, so the
+ * block model needs no consecutiveness constraint.
+ */
+@PlanningEntity
+public class CourseBlock {
+    @PlanningId
+    private String id;
+    private Group group;
+    private Course course;
+    private int blockIndex; // Which block of the course (0, 1, 2, etc.)
+    private int length; // Consecutive hours
+
+    @PlanningPin
+    private boolean pinned;
+
+    @PlanningVariable(valueRangeProviderRefs = { "blockTeacherRange" })
+    private Teacher teacher;
+
+    // First hour of the block; the block covers start.hour .. start.hour + length - 1
+    @PlanningVariable(valueRangeProviderRefs = { "blockStartRange" })
+    private Timeslot start;
+
+    @PlanningVariable(valueRangeProviderRefs = { "blockRoomRange" })
+    private Room room;
+
+    // Per-entity value ranges, filled by CourseBlockSplitter
+    private List<Teacher> teacherRange;
+    private List<Timeslot> startRange;
+    private List<Room> roomRange;
+
+    public CourseBlock() {
+        // No-arg constructor required by Timefold
+    }
+
+    public CourseBlock(String id, Group group, Course course, int blockIndex, int length) {
+        this.id = id;
+        this.group = group;
+        this.course = course;
+        this.blockIndex = blockIndex;
+        this.length = length;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Group getGroup() {
+        return group;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public int getBlockIndex() {
+        return blockIndex;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public Teacher getTeacher() {
+        return teacher;
+    }
+
+    public void setTeacher(Teacher teacher) {
+        this.teacher = teacher;
+    }
+
+    public Timeslot getStart() {
+        return start;
+    }
+
+    public void setStart(Timeslot start) {
+        this.start = start;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public void setPinned(boolean pinned) {
+        this.pinned = pinned;
+    }
+
+    @ValueRangeProvider(id = "blockTeacherRange")
+    public List<Teacher> getTeacherRange() {
+        return teacherRange;
+    }
+
+    public void setTeacherRange(List<Teacher> teacherRange) {
+        this.teacherRange = teacherRange;
+    }
+
+    @ValueRangeProvider(id = "blockStartRange")
+    public List<Timeslot> getStartRange() {
+        return startRange;
+    }
+
+    public void setStartRange(List<Timeslot> startRange) {
+        this.startRange = startRange;
+    }
+
+    @ValueRangeProvider(id = "blockRoomRange")
+    public List<Room> getRoomRange() {
+        return roomRange;
+    }
+
+    public void setRoomRange(List<Room> roomRange) {
+        this.roomRange = roomRange;
+    }
+
+    // ************************************************************************
+    // Derived from start and length
+    // ************************************************************************
+
+    public DayOfWeek getDay() {
+        return start == null ? null : start.getDayOfWeek();
+    }
+
+    public int getStartHour() {
+        return start == null ? -1 : start.getHour();
+    }
+
+    /** One past the last hour of the block. */
+    public int getEndHour() {
+        return start == null ? -1 : start.getHour() + length;
+    }
+
+    /** Occupied hours as a bitmask (bit h = hour h), 0 when unplaced. */
+    public long getHourMask() {
+        return start == null ? 0L : ((1L << length) - 1) << start.getHour();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        CourseBlock that = (CourseBlock) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s x%d] start=%s teacher=%s room=%s %s",
+                id, course, length, start, teacher, room, pinned ? "PINNED" : "UNPINNED");
+    }
+}
@@ -39,7 +39,9 @@ public class Room {
         } else if ("laboratorio".equals(requirement)) {
             return ("laboratorio".equals(type) || "estándar".equals(type));
         }
-        return false;
+        // Any other requirement (e.g. the demo data's "standard"/"lab") needs a room
+        // of exactly that type
+        return requirement != null && requirement.equals(type);
     }
 
     @Override
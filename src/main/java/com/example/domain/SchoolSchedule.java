@@ -1,5 +1,6 @@
 package com.example.domain;
 
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
 import ai.timefold.solver.core.api.domain.solution.PlanningEntityCollectionProperty;
 import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
 import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
@@ -31,6 +32,10 @@ public class SchoolSchedule {
     @PlanningEntityCollectionProperty
     private List<CourseAssignment> courseAssignments;
 
+    // Per-constraint weight overrides; a zero weight disables the constraint
+    // (TwoStageSolver uses this for its hard-only stage)
+    private ConstraintWeightOverrides<HardSoftScore> constraintWeightOverrides = ConstraintWeightOverrides.none();
+
     @PlanningScore
     private HardSoftScore score;
 
@@ -76,6 +81,14 @@ public class SchoolSchedule {
         this.courseAssignments = courseAssignments;
     }
 
+    public ConstraintWeightOverrides<HardSoftScore> getConstraintWeightOverrides() {
+        return constraintWeightOverrides;
+    }
+
+    public void setConstraintWeightOverrides(ConstraintWeightOverrides<HardSoftScore> constraintWeightOverrides) {
+        this.constraintWeightOverrides = constraintWeightOverrides;
+    }
+
     public HardSoftScore getScore() {
         return score;
     }
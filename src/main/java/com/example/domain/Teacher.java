@@ -13,6 +13,9 @@ public class Teacher {
     // Availability expressed as a map from DayOfWeek -> set of available hours
     // (each hour is an int)
     private java.util.Map<DayOfWeek, java.util.Set<Integer>> availabilityPerDay = new java.util.HashMap<>();
+    // Same availability as one bitmask per day (bit h set = available at hour h),
+    // indexed by DayOfWeek ordinal; built once in the constructors
+    private final long[] availabilityMasks = new long[7];
     // Maximum teaching hours per week for this teacher. Default will be 20.
     private int maxHoursPerWeek = 40;
 
@@ -30,6 +33,7 @@ public class Teacher {
             }
             availabilityPerDay.put(d, hours);
         }
+        buildAvailabilityMasks();
     }
 
     // Backwards-compatible constructor that generates an id from the name
@@ -70,6 +74,19 @@ public class Teacher {
             }
         }
         this.maxHoursPerWeek = maxHoursPerWeek;
+        buildAvailabilityMasks();
+    }
+
+    private void buildAvailabilityMasks() {
+        for (java.util.Map.Entry<DayOfWeek, java.util.Set<Integer>> e : availabilityPerDay.entrySet()) {
+            long mask = 0L;
+            for (int hour : e.getValue()) {
+                if (hour >= 0 && hour < 64) {
+                    mask |= 1L << hour;
+                }
+            }
+            availabilityMasks[e.getKey().ordinal()] = mask;
+        }
     }
 
     // Backwards-compatible explicit-availability constructor without id
@@ -163,8 +180,7 @@ public class Teacher {
         if (timeslot == null) {
             return false;
         }
-        java.util.Set<Integer> hours = availabilityPerDay.get(timeslot.getDayOfWeek());
-        return hours != null && hours.contains(timeslot.getHour());
+        return isAvailableAt(timeslot.getDayOfWeek(), timeslot.getHour());
     }
 
     /**
@@ -172,8 +188,15 @@ public class Teacher {
      * This is a convenience method that doesn't require a Timeslot object.
      */
     public boolean isAvailableAt(DayOfWeek day, int hour) {
-        java.util.Set<Integer> hours = availabilityPerDay.get(day);
-        return hours != null && hours.contains(hour);
+        return hour >= 0 && hour < 64 && (availabilityMasks[day.ordinal()] & (1L << hour)) != 0;
+    }
+
+    /**
+     * Availability on {@code day} as a bitmask: bit h is set when the teacher is
+     * available at hour h.
+     */
+    public long getAvailabilityMask(DayOfWeek day) {
+        return availabilityMasks[day.ordinal()];
     }
 
     @Override
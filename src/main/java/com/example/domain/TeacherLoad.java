@@ -0,0 +1,73 @@
+package com.example.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigned hours per teacher, read live from one solution's assignments. The
+ * counted rows are indexed once by the teachers in their teacher range, so a
+ * query only looks at the rows that could hold that teacher (a few dozen)
+ * instead of the whole schedule. Nothing is cached per teacher, so the answer
+ * always matches the current teacher variables and no listener has to keep it
+ * in sync.
+ *
+ * A query is O(k) in those rows by design. An O(1) counter would have to be
+ * updated on afterVariableChanged, and the only supported place for that is a
+ * shadow variable on Teacher, which would make every teacher a planning entity
+ * cloned with each best solution.
+ */
+public class TeacherLoad {
+    private final Map<Teacher, List<CourseAssignment>> candidates = new HashMap<>();
+    // Rows without a teacher range could hold any teacher
+    private final List<CourseAssignment> unranged = new ArrayList<>();
+
+    private TeacherLoad() {
+    }
+
+    /** Index the counted rows of {@code assignments}; the rows are read on every query, not copied. */
+    public static TeacherLoad of(List<CourseAssignment> assignments) {
+        TeacherLoad load = new TeacherLoad();
+        for (CourseAssignment assignment : assignments) {
+            if (!counts(assignment)) {
+                continue;
+            }
+            if (assignment.getTeacherRange() == null) {
+                load.unranged.add(assignment);
+                continue;
+            }
+            for (Teacher teacher : assignment.getTeacherRange()) {
+                load.candidates.computeIfAbsent(teacher, t -> new ArrayList<>()).add(assignment);
+            }
+        }
+        return load;
+    }
+
+    /**
+     * Whether an assignment counts toward its teacher's load: only hours within
+     * the course's required hours, as in CourseAssignmentValidator.
+     */
+    public static boolean counts(CourseAssignment assignment) {
+        return assignment.getSequenceIndex() >= 0
+                && assignment.getSequenceIndex() < assignment.getCourse().getRequiredHoursPerWeek();
+    }
+
+    public int getAssignedHours(Teacher teacher) {
+        return count(candidates.getOrDefault(teacher, List.of()), teacher) + count(unranged, teacher);
+    }
+
+    public int getRemainingHours(Teacher teacher) {
+        return Math.max(0, teacher.getMaxHoursPerWeek() - getAssignedHours(teacher));
+    }
+
+    private static int count(List<CourseAssignment> assignments, Teacher teacher) {
+        int hours = 0;
+        for (CourseAssignment assignment : assignments) {
+            if (teacher.equals(assignment.getTeacher())) {
+                hours++;
+            }
+        }
+        return hours;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.domain;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable teacher to assigned-hours table, computed in one pass over the
+ * assignments and then queried for any teacher in O(1), instead of streaming
+ * the assignment list once per teacher.
+ *
+ * Hours are counted by {@link TeacherLoad#counts}, the rule the solver's move
+ * filter, the max-hours constraint and the reports share: only rows whose
+ * sequenceIndex falls within the course's required hours.
+ */
+public final class TeacherLoadSnapshot {
+
+    private final Map<Teacher, Integer> assignedHours;
+
+    private TeacherLoadSnapshot(Map<Teacher, Integer> assignedHours) {
+        this.assignedHours = assignedHours;
+    }
+
+    public static TeacherLoadSnapshot of(List<CourseAssignment> assignments) {
+        Map<Teacher, Integer> hours = new HashMap<>();
+        for (CourseAssignment assignment : assignments) {
+            if (assignment.getTeacher() != null && TeacherLoad.counts(assignment)) {
+                hours.merge(assignment.getTeacher(), 1, Integer::sum);
+            }
+        }
+        return new TeacherLoadSnapshot(hours);
+    }
+
+    public int getAssignedHours(Teacher teacher) {
+        return teacher == null ? 0 : assignedHours.getOrDefault(teacher, 0);
+    }
+
+    public int getRemainingHours(Teacher teacher) {
+        if (teacher == null) {
+            return 0;
+        }
+        return Math.max(0, teacher.getMaxHoursPerWeek() - getAssignedHours(teacher));
+    }
+
+    /** Whether all required hours of {@code course} still fit the teacher's maxHoursPerWeek. */
+    public boolean canAssignCourse(Teacher teacher, Course course) {
+        if (teacher == null || course == null) {
+            return false;
+        }
+        return getAssignedHours(teacher) + course.getRequiredHoursPerWeek() <= teacher.getMaxHoursPerWeek();
+    }
+
+    /** Unmodifiable view of every teacher with at least one counted hour. */
+    public Map<Teacher, Integer> asMap() {
+        return Collections.unmodifiableMap(assignedHours);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around one {@code ScheduleAnalyzer} pass over a solution.
+ */
+@Name("com.example.Analysis")
+@Label("Schedule Analysis")
+@Category({ "School Schedule", "Reports" })
+@StackTrace(false)
+@Description("Post-solve constraint violation analysis")
+public class AnalysisEvent extends jdk.jfr.Event {
+
+    @Label("Analysis")
+    public String analysis;
+
+    @Label("Assignments")
+    public int assignments;
+
+    @Label("Violations")
+    public int violations;
+}
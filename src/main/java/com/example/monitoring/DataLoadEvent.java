@@ -0,0 +1,25 @@
+package com.example.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around one {@code DataLoader} query (one table) or the whole load
+ * when {@code table} is "*".
+ */
+@Name("com.example.DataLoad")
+@Label("Data Load")
+@Category({ "School Schedule", "Data" })
+@StackTrace(false)
+@Description("Loading a table (or the whole dataset) from the database")
+public class DataLoadEvent extends jdk.jfr.Event {
+
+    @Label("Table")
+    public String table;
+
+    @Label("Rows")
+    public int rows;
+}
@@ -0,0 +1,27 @@
+package com.example.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around {@code DataSaver.saveSchedule}.
+ */
+@Name("com.example.DataSave")
+@Label("Data Save")
+@Category({ "School Schedule", "Data" })
+@StackTrace(false)
+@Description("Writing solved course assignments back to the database")
+public class DataSaveEvent extends jdk.jfr.Event {
+
+    @Label("Assignments")
+    public int assignments;
+
+    @Label("Rows Updated")
+    public int rowsUpdated;
+
+    @Label("Unassigned")
+    public int unassigned;
+}
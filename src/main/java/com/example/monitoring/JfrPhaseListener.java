@@ -0,0 +1,62 @@
+package com.example.monitoring;
+
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import ai.timefold.solver.core.impl.phase.scope.AbstractPhaseScope;
+import ai.timefold.solver.core.impl.phase.scope.AbstractStepScope;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+
+/**
+ * Emits one {@link SolverPhaseEvent} per solver phase. When no recording is
+ * running the event is never enabled and only the step counter is touched.
+ */
+public class JfrPhaseListener<Solution_> extends PhaseLifecycleListenerAdapter<Solution_> {
+
+    private SolverPhaseEvent event;
+    private int steps;
+    private long startScoreCalculations;
+    private long startMoveEvaluations;
+
+    public static <Solution_> void attach(Solver<Solution_> solver) {
+        ((DefaultSolver<Solution_>) solver).addPhaseLifecycleListener(new JfrPhaseListener<>());
+    }
+
+    @Override
+    public void phaseStarted(AbstractPhaseScope<Solution_> phaseScope) {
+        steps = 0;
+        event = new SolverPhaseEvent();
+        if (event.isEnabled()) {
+            startScoreCalculations = phaseScope.getSolverScope().getScoreCalculationCount();
+            startMoveEvaluations = phaseScope.getSolverScope().getMoveEvaluationCount();
+        }
+        event.begin();
+    }
+
+    @Override
+    public void stepEnded(AbstractStepScope<Solution_> stepScope) {
+        steps++;
+    }
+
+    @Override
+    public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
+        SolverPhaseEvent current = event;
+        event = null;
+        if (current == null) {
+            return;
+        }
+        current.end();
+        if (current.shouldCommit()) {
+            current.phase = phaseScope.getClass().getSimpleName().replace("PhaseScope", "");
+            current.phaseIndex = phaseScope.getPhaseIndex();
+            current.entities = phaseScope.getWorkingEntityCount();
+            current.steps = steps;
+            // The phase scope's own counters are only set after the listeners ran
+            current.scoreCalculations = phaseScope.getSolverScope().getScoreCalculationCount()
+                    - startScoreCalculations;
+            current.moveEvaluations = phaseScope.getSolverScope().getMoveEvaluationCount() - startMoveEvaluations;
+            current.bestScore = phaseScope.getSolverScope().getBestScore() == null ? null
+                    : String.valueOf(phaseScope.getSolverScope().getBestScore().raw());
+            current.commit();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.monitoring;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Tag;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Minimal Prometheus text-format (version 0.0.4) endpoint for a Micrometer
+ * registry, bound to the loopback interface. Good enough for a local scrape or
+ * a {@code curl localhost:<port>/metrics} during a long solve; it avoids
+ * pulling in the full Prometheus client library.
+ */
+public class PrometheusEndpoint {
+
+    private final HttpServer server;
+
+    private PrometheusEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Start serving {@code registry} on {@code http://localhost:<port>/metrics}.
+     * Returns null (and logs) when the port cannot be bound, so a busy port never
+     * stops a solve.
+     */
+    public static PrometheusEndpoint start(MeterRegistry registry, int port) {
+        return start(registry::getMeters, port);
+    }
+
+    /** Same, for meters spread over several registries (see TelemetrySession). */
+    static PrometheusEndpoint start(Supplier<? extends Collection<Meter>> meters, int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = scrape(meters.get()).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            System.out.println("Prometheus metrics available at http://localhost:" + port + "/metrics");
+            return new PrometheusEndpoint(server);
+        } catch (IOException e) {
+            System.err.println("Could not start Prometheus endpoint on port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Render every meter in Prometheus text format. Each
+     * Micrometer measurement becomes one sample; the statistic is appended to the
+     * metric name the same way the official Prometheus registry does.
+     */
+    static String scrape(Collection<Meter> meters) {
+        StringBuilder sb = new StringBuilder();
+        List<Meter> sorted = meters.stream()
+                .sorted(Comparator.comparing(m -> m.getId().getName()))
+                .toList();
+        for (Meter meter : sorted) {
+            String baseName = sanitize(meter.getId().getName());
+            String labels = labels(meter.getId().getTags());
+            for (Measurement measurement : meter.measure()) {
+                String name = baseName + suffix(meter, measurement);
+                sb.append(name).append(labels).append(' ')
+                        .append(format(measurement.getValue())).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String suffix(Meter meter, Measurement measurement) {
+        return switch (measurement.getStatistic()) {
+            case COUNT -> meter.getId().getType() == Meter.Type.COUNTER ? "_total" : "_count";
+            case TOTAL_TIME -> "_seconds_sum";
+            case TOTAL -> "_sum";
+            case MAX -> "_max";
+            case ACTIVE_TASKS -> "_active_count";
+            case DURATION -> "_duration_sum";
+            default -> "";
+        };
+    }
+
+    private static String labels(List<Tag> tags) {
+        if (tags.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < tags.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            Tag tag = tags.get(i);
+            sb.append(sanitize(tag.getKey())).append("=\"")
+                    .append(tag.getValue().replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_:]", "_");
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return String.format(Locale.ROOT, "%s", value);
+    }
+}
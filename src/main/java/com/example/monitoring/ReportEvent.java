@@ -0,0 +1,31 @@
+package com.example.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around the rendering of one {@code PdfReporter} document.
+ */
+@Name("com.example.Report")
+@Label("PDF Report")
+@Category({ "School Schedule", "Reports" })
+@StackTrace(false)
+@Description("Rendering and saving one PDF document")
+public class ReportEvent extends jdk.jfr.Event {
+
+    @Label("Document")
+    public String document;
+
+    @Label("Assignments")
+    public int assignments;
+
+    @Label("Pages")
+    public int pages;
+
+    @Label("Parts")
+    @Description("Documents rendered in parallel and merged into this one")
+    public int parts;
+}
@@ -0,0 +1,40 @@
+package com.example.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one solver phase (construction heuristic, local search,
+ * ...). Emitted by {@link JfrPhaseListener}.
+ */
+@Name("com.example.SolverPhase")
+@Label("Solver Phase")
+@Category({ "School Schedule", "Solver" })
+@StackTrace(false)
+@Description("One phase of a Timefold solve")
+public class SolverPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Phase Index")
+    public int phaseIndex;
+
+    @Label("Entities")
+    public int entities;
+
+    @Label("Steps")
+    public int steps;
+
+    @Label("Score Calculations")
+    public long scoreCalculations;
+
+    @Label("Move Evaluations")
+    public long moveEvaluations;
+
+    @Label("Best Score")
+    public String bestScore;
+}
@@ -0,0 +1,256 @@
+package com.example.monitoring;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.impl.localsearch.scope.LocalSearchStepScope;
+import ai.timefold.solver.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import ai.timefold.solver.core.impl.phase.scope.AbstractPhaseScope;
+import ai.timefold.solver.core.impl.phase.scope.AbstractStepScope;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ai.timefold.solver.core.impl.solver.scope.SolverScope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects solver telemetry for a single run: best score over time, score
+ * calculation count/speed, moves evaluated vs accepted (per move type) and
+ * step time.
+ *
+ * Timefold publishes its own Micrometer meters (see the monitoring section of
+ * solverConfig.xml) to the global registry; this class adds a registry there
+ * so those meters can be scraped, registers a few extra meters of its own and
+ * samples everything once per second into a CSV file written when the run is
+ * closed. When a port is given, the registry is also served in Prometheus text
+ * format on http://localhost:&lt;port&gt;/metrics while the run is alive.
+ */
+public class SolverTelemetry implements AutoCloseable {
+
+    private static final String CSV_HEADER = "elapsed_ms,phase,best_hard,best_soft,score_calc_count,"
+            + "score_calc_speed,move_eval_count,move_eval_speed,steps,accepted_moves,selected_moves,"
+            + "avg_step_micros";
+
+    private final String runId;
+    private final Path csvFile;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Tags tags;
+    private final List<String> csvRows = new ArrayList<>();
+    private final ScheduledExecutorService sampler;
+    private final PrometheusEndpoint endpoint;
+
+    private final AtomicLong stepCount = new AtomicLong();
+    private final AtomicLong acceptedMoveCount = new AtomicLong();
+    private final AtomicLong selectedMoveCount = new AtomicLong();
+    private final AtomicLong stepNanosTotal = new AtomicLong();
+    private final Map<String, Counter> pickedMoveCounters = new ConcurrentHashMap<>();
+    private final Timer stepTimer;
+
+    private volatile SolverScope<?> solverScope;
+    private volatile String currentPhase = "-";
+    private volatile HardSoftScore bestScore;
+    private volatile long startMillis;
+    private long stepStartNanos;
+
+    private SolverTelemetry(String runId, Path outputDir, int prometheusPort) throws IOException {
+        this.runId = runId;
+        this.tags = Tags.of("run", runId);
+        Files.createDirectories(outputDir);
+        this.csvFile = outputDir.resolve("solver-metrics-" + runId + ".csv");
+        Metrics.addRegistry(registry);
+
+        this.stepTimer = Timer.builder("schedule.solver.step.time")
+                .description("Wall time per solver step")
+                .tags(tags)
+                .register(registry);
+        registry.gauge("schedule.solver.best.hard", tags, this, t -> t.bestScore == null ? 0 : t.bestScore.hardScore());
+        registry.gauge("schedule.solver.best.soft", tags, this, t -> t.bestScore == null ? 0 : t.bestScore.softScore());
+        registry.gauge("schedule.solver.moves.accepted", tags, acceptedMoveCount, AtomicLong::doubleValue);
+        registry.gauge("schedule.solver.moves.selected", tags, selectedMoveCount, AtomicLong::doubleValue);
+        registry.gauge("schedule.solver.score.calculation.speed", tags, this, SolverTelemetry::scoreCalculationSpeed);
+
+        this.endpoint = prometheusPort > 0 ? PrometheusEndpoint.start(registry, prometheusPort) : null;
+        this.sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "solver-telemetry-" + runId);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Attach telemetry to a solver before calling {@code solve}. The CSV file is
+     * written to {@code outputDir} when {@link #close()} is called.
+     *
+     * @param solver         solver built from a SolverFactory
+     * @param outputDir      directory for the per-run CSV file
+     * @param prometheusPort port for the Prometheus text endpoint, or 0 to disable
+     */
+    public static <Solution_> SolverTelemetry attach(Solver<Solution_> solver, Path outputDir, int prometheusPort)
+            throws IOException {
+        return attach(solver, outputDir, newRunId(), prometheusPort);
+    }
+
+    static String newRunId() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+
+    /** Same, with the run id chosen by the caller (see TelemetrySession). */
+    static <Solution_> SolverTelemetry attach(Solver<Solution_> solver, Path outputDir, String runId,
+            int prometheusPort) throws IOException {
+        SolverTelemetry telemetry = new SolverTelemetry(runId, outputDir, prometheusPort);
+        DefaultSolver<Solution_> defaultSolver = (DefaultSolver<Solution_>) solver;
+        defaultSolver.setMonitorTagMap(Map.of("run", runId));
+        defaultSolver.addPhaseLifecycleListener(telemetry.new StepListener<>());
+        solver.addEventListener(event -> telemetry.onBestScore((HardSoftScore) event.getNewBestScore()));
+        telemetry.sampler.scheduleAtFixedRate(telemetry::sample, 1, 1, TimeUnit.SECONDS);
+        return telemetry;
+    }
+
+    MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public Path getCsvFile() {
+        return csvFile;
+    }
+
+    /**
+     * Evaluated move counts per move type as reported by the solver, joined with
+     * the number of times a move of that type was picked as the step.
+     */
+    public Map<String, long[]> getMoveCountsPerType() {
+        Map<String, long[]> result = new TreeMap<>();
+        SolverScope<?> scope = solverScope;
+        if (scope != null) {
+            scope.getMoveEvaluationCountPerType().forEach((type, count) -> result.put(type, new long[] { count, 0 }));
+        }
+        pickedMoveCounters.forEach((type, counter) -> result.computeIfAbsent(type, k -> new long[2])[1] = (long) counter
+                .count());
+        return result;
+    }
+
+    private void onBestScore(HardSoftScore score) {
+        bestScore = score;
+    }
+
+    private double scoreCalculationSpeed() {
+        SolverScope<?> scope = solverScope;
+        return scope == null ? 0 : scope.getScoreCalculationSpeed();
+    }
+
+    private synchronized void sample() {
+        SolverScope<?> scope = solverScope;
+        if (scope == null) {
+            return;
+        }
+        long steps = stepCount.get();
+        HardSoftScore best = bestScore;
+        csvRows.add(String.format("%d,%s,%s,%s,%d,%d,%d,%d,%d,%d,%d,%d",
+                System.currentTimeMillis() - startMillis,
+                currentPhase,
+                best == null ? "" : String.valueOf(best.hardScore()),
+                best == null ? "" : String.valueOf(best.softScore()),
+                scope.getScoreCalculationCount(),
+                scope.getScoreCalculationSpeed(),
+                scope.getMoveEvaluationCount(),
+                scope.getMoveEvaluationSpeed(),
+                steps,
+                acceptedMoveCount.get(),
+                selectedMoveCount.get(),
+                steps == 0 ? 0 : stepNanosTotal.get() / steps / 1000));
+    }
+
+    /**
+     * Take a final sample, write the CSV file, print a move summary and stop the
+     * Prometheus endpoint.
+     */
+    @Override
+    public void close() throws IOException {
+        sampler.shutdownNow();
+        sample();
+        synchronized (this) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8))) {
+                out.println(CSV_HEADER);
+                csvRows.forEach(out::println);
+            }
+        }
+        System.out.println("Solver telemetry written to: " + csvFile);
+        getMoveCountsPerType().forEach((type, counts) -> System.out.printf("  %s: evaluated=%d, picked=%d%n",
+                type, counts[0], counts[1]));
+        if (endpoint != null) {
+            endpoint.stop();
+        }
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    private class StepListener<Solution_> extends PhaseLifecycleListenerAdapter<Solution_> {
+
+        @Override
+        public void solvingStarted(SolverScope<Solution_> scope) {
+            solverScope = scope;
+            startMillis = System.currentTimeMillis();
+        }
+
+        @Override
+        public void phaseStarted(AbstractPhaseScope<Solution_> phaseScope) {
+            currentPhase = phaseScope.getClass().getSimpleName().replace("PhaseScope", "")
+                    + phaseScope.getPhaseIndex();
+        }
+
+        @Override
+        public void stepStarted(AbstractStepScope<Solution_> stepScope) {
+            stepStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public void stepEnded(AbstractStepScope<Solution_> stepScope) {
+            long nanos = System.nanoTime() - stepStartNanos;
+            stepTimer.record(nanos, TimeUnit.NANOSECONDS);
+            stepNanosTotal.addAndGet(nanos);
+            stepCount.incrementAndGet();
+            if (stepScope instanceof LocalSearchStepScope<Solution_> localSearchStep) {
+                if (localSearchStep.getAcceptedMoveCount() != null) {
+                    acceptedMoveCount.addAndGet(localSearchStep.getAcceptedMoveCount());
+                }
+                if (localSearchStep.getSelectedMoveCount() != null) {
+                    selectedMoveCount.addAndGet(localSearchStep.getSelectedMoveCount());
+                }
+                if (localSearchStep.getStep() != null) {
+                    String type = localSearchStep.getStep().describe();
+                    pickedMoveCounters.computeIfAbsent(type, k -> Counter.builder("schedule.solver.moves.picked")
+                            .tags(tags.and("move.type", k))
+                            .register(registry)).increment();
+                }
+            }
+        }
+
+        @Override
+        public void solvingEnded(SolverScope<Solution_> scope) {
+            sample();
+        }
+    }
+}
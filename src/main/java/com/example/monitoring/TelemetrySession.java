@@ -0,0 +1,80 @@
+package com.example.monitoring;
+
+import ai.timefold.solver.core.api.solver.Solver;
+
+import io.micrometer.core.instrument.Meter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Telemetry for one run that may use several solvers: the sub-solvers of a
+ * decomposed schedule, the members of a portfolio, the stages of a two-stage
+ * solve or the block-model solver. Every attached solver gets its own
+ * {@link SolverTelemetry} and CSV file ({@code <run>-<n>}); a single
+ * Prometheus endpoint serves the meters of all of them, tagged by run.
+ */
+public class TelemetrySession implements AutoCloseable {
+
+    private final Path outputDir;
+    private final String runId = SolverTelemetry.newRunId();
+    private final List<SolverTelemetry> telemetries = new ArrayList<>();
+    private final PrometheusEndpoint endpoint;
+
+    /**
+     * @param outputDir      directory for the per-solver CSV files
+     * @param prometheusPort port for the Prometheus text endpoint, or 0 to disable
+     */
+    public TelemetrySession(Path outputDir, int prometheusPort) {
+        this.outputDir = outputDir;
+        this.endpoint = prometheusPort > 0 ? PrometheusEndpoint.start(this::meters, prometheusPort) : null;
+    }
+
+    /**
+     * Attach telemetry and JFR phase events to a solver before it starts. Safe to
+     * call from the threads that build sub-solvers.
+     */
+    public <Solution_> void attach(Solver<Solution_> solver) {
+        try {
+            synchronized (telemetries) {
+                String id = runId + "-" + (telemetries.size() + 1);
+                telemetries.add(SolverTelemetry.attach(solver, outputDir, id, 0));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        JfrPhaseListener.attach(solver);
+    }
+
+    /**
+     * Meters of every attached solver. Timefold's own meters are registered
+     * globally and so show up in each solver's registry; keep one per id.
+     */
+    private List<Meter> meters() {
+        Map<Meter.Id, Meter> meters = new LinkedHashMap<>();
+        synchronized (telemetries) {
+            for (SolverTelemetry telemetry : telemetries) {
+                telemetry.getRegistry().getMeters().forEach(m -> meters.putIfAbsent(m.getId(), m));
+            }
+        }
+        return new ArrayList<>(meters.values());
+    }
+
+    /** Write every solver's CSV file and stop the endpoint. */
+    @Override
+    public void close() throws IOException {
+        synchronized (telemetries) {
+            for (SolverTelemetry telemetry : telemetries) {
+                telemetry.close();
+            }
+        }
+        if (endpoint != null) {
+            endpoint.stop();
+        }
+    }
+}
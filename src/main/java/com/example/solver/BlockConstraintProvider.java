@@ -0,0 +1,183 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintCollectors;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
+import ai.timefold.solver.core.api.score.stream.Joiners;
+
+import com.example.domain.CourseBlock;
+
+import java.util.List;
+
+/**
+ * Constraints of the block model (see BlockSchedule). Same rules as
+ * SchoolConstraintProvider, but every pair constraint compares hour intervals
+ * [startHour, endHour) with Joiners.overlapping, and hours inside a block are
+ * consecutive by construction, so there is no per-hour consecutiveness join.
+ */
+public class BlockConstraintProvider implements ConstraintProvider {
+
+    /**
+     * Name of every constraint below. Weight overrides for other names (e.g. the
+     * per-hour model's room preferences) cannot be applied to the block model.
+     */
+    public static final List<String> CONSTRAINT_NAMES = List.of(
+            "Teacher must be available for the whole block",
+            "Teacher must be qualified",
+            "Room type must satisfy course requirement",
+            "Group cannot have two courses at same time",
+            "No teacher double-booking",
+            "No room double-booking",
+            "Same teacher for all course hours (hard constraint)",
+            SchoolConstraintProvider.GROUP_COURSE_CONSECUTIVE,
+            SchoolConstraintProvider.TEACHER_IDLE_GAPS,
+            SchoolConstraintProvider.TEACHER_MAX_HOURS);
+
+    @Override
+    public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+        return new Constraint[] {
+                // Single-entity HARD constraints
+                teacherMustBeAvailable(constraintFactory),
+                teacherMustBeQualified(constraintFactory),
+                roomTypeMustSatisfyRequirement(constraintFactory),
+
+                // Overlap HARD constraints (one pair per overlapping block, not per hour)
+                groupCannotHaveTwoBlocksAtSameTime(constraintFactory),
+                noTeacherDoubleBooking(constraintFactory),
+                noRoomDoubleBooking(constraintFactory),
+
+                // Consistency HARD constraints between blocks of one (group, course)
+                sameTeacherForAllBlocks(constraintFactory),
+                sameDayBlocksMustBeAdjacent(constraintFactory),
+
+                // SOFT constraints
+                minimizeTeacherIdleGaps(constraintFactory),
+                teacherMaxHoursPerWeek(constraintFactory),
+        };
+    }
+
+    // ==================== HARD CONSTRAINTS ====================
+
+    private Constraint teacherMustBeAvailable(ConstraintFactory constraintFactory) {
+        // One penalty per block hour outside the teacher's availability
+        return constraintFactory
+                .forEach(CourseBlock.class)
+                .filter(block -> block.getTeacher() != null && block.getStart() != null
+                        && unavailableHours(block) > 0)
+                .penalize(HardSoftScore.ONE_HARD, BlockConstraintProvider::unavailableHours)
+                .asConstraint("Teacher must be available for the whole block");
+    }
+
+    private Constraint teacherMustBeQualified(ConstraintFactory constraintFactory) {
+        return constraintFactory
+                .forEach(CourseBlock.class)
+                .filter(block -> block.getTeacher() != null
+                        && !block.getTeacher().isQualifiedFor(block.getCourse().getName()))
+                .penalize(HardSoftScore.ONE_HARD, CourseBlock::getLength)
+                .asConstraint("Teacher must be qualified");
+    }
+
+    private Constraint roomTypeMustSatisfyRequirement(ConstraintFactory constraintFactory) {
+        return constraintFactory
+                .forEach(CourseBlock.class)
+                .filter(block -> block.getRoom() != null
+                        && !block.getRoom().satisfiesRequirement(block.getCourse().getRoomRequirement()))
+                .penalize(HardSoftScore.ONE_HARD, CourseBlock::getLength)
+                .asConstraint("Room type must satisfy course requirement");
+    }
+
+    private Constraint groupCannotHaveTwoBlocksAtSameTime(ConstraintFactory constraintFactory) {
+        return constraintFactory
+                .forEachUniquePair(CourseBlock.class,
+                        Joiners.equal(CourseBlock::getGroup),
+                        Joiners.equal(CourseBlock::getDay),
+                        Joiners.overlapping(CourseBlock::getStartHour, CourseBlock::getEndHour))
+                .filter((b1, b2) -> b1.getStart() != null)
+                .penalize(HardSoftScore.ONE_HARD, BlockConstraintProvider::overlapHours)
+                .asConstraint("Group cannot have two courses at same time");
+    }
+
+    private Constraint noTeacherDoubleBooking(ConstraintFactory constraintFactory) {
+        return constraintFactory
+                .forEachUniquePair(CourseBlock.class,
+                        Joiners.equal(CourseBlock::getTeacher),
+                        Joiners.equal(CourseBlock::getDay),
+                        Joiners.overlapping(CourseBlock::getStartHour, CourseBlock::getEndHour))
+                .filter((b1, b2) -> b1.getTeacher() != null && b1.getStart() != null)
+                .penalize(HardSoftScore.ONE_HARD, BlockConstraintProvider::overlapHours)
+                .asConstraint("No teacher double-booking");
+    }
+
+    private Constraint noRoomDoubleBooking(ConstraintFactory constraintFactory) {
+        return constraintFactory
+                .forEachUniquePair(CourseBlock.class,
+                        Joiners.equal(CourseBlock::getRoom),
+                        Joiners.equal(CourseBlock::getDay),
+                        Joiners.overlapping(CourseBlock::getStartHour, CourseBlock::getEndHour))
+                .filter((b1, b2) -> b1.getRoom() != null && b1.getStart() != null)
+                .penalize(HardSoftScore.ONE_HARD, BlockConstraintProvider::overlapHours)
+                .asConstraint("No room double-booking");
+    }
+
+    private Constraint sameTeacherForAllBlocks(ConstraintFactory constraintFactory) {
+        return constraintFactory
+                .forEachUniquePair(CourseBlock.class,
+                        Joiners.equal(CourseBlock::getGroup),
+                        Joiners.equal(CourseBlock::getCourse))
+                .filter((b1, b2) -> b1.getTeacher() != null && b2.getTeacher() != null
+                        && !b1.getTeacher().equals(b2.getTeacher()))
+                .penalize(HardSoftScore.ONE_HARD)
+                .asConstraint("Same teacher for all course hours (hard constraint)");
+    }
+
+    private Constraint sameDayBlocksMustBeAdjacent(ConstraintFactory constraintFactory) {
+        // The day's blocks of a (group, course) must form one run of hours: the
+        // hours are collected as a mask and each break between runs costs 1, as
+        // in the per-hour model, so a chain of touching blocks is never penalized
+        return constraintFactory
+                .forEach(CourseBlock.class)
+                .filter(block -> block.getStart() != null)
+                .groupBy(CourseBlock::getGroup, CourseBlock::getCourse, CourseBlock::getDay,
+                        HourMaskCollector.hourMask(CourseBlock::getHourMask))
+                .filter((group, course, day, hours) -> HourMaskCollector.breaks(hours) > 0)
+                .penalize(HardSoftScore.ONE_HARD, (group, course, day, hours) -> HourMaskCollector.breaks(hours))
+                .asConstraint(SchoolConstraintProvider.GROUP_COURSE_CONSECUTIVE);
+    }
+
+    // ==================== SOFT CONSTRAINTS ====================
+
+    private Constraint minimizeTeacherIdleGaps(ConstraintFactory constraintFactory) {
+        return constraintFactory
+                .forEach(CourseBlock.class)
+                .filter(block -> block.getTeacher() != null && block.getStart() != null)
+                .groupBy(CourseBlock::getTeacher, CourseBlock::getDay,
+                        HourMaskCollector.hourMask(CourseBlock::getHourMask))
+                .filter((teacher, day, hours) -> HourMaskCollector.avoidableIdleHours(hours,
+                        teacher.getAvailabilityMask(day)) > 0)
+                .penalize(HardSoftScore.ONE_SOFT, (teacher, day, hours) -> HourMaskCollector
+                        .avoidableIdleHours(hours, teacher.getAvailabilityMask(day)))
+                .asConstraint(SchoolConstraintProvider.TEACHER_IDLE_GAPS);
+    }
+
+    private Constraint teacherMaxHoursPerWeek(ConstraintFactory constraintFactory) {
+        return constraintFactory
+                .forEach(CourseBlock.class)
+                .filter(block -> block.getTeacher() != null && block.getStart() != null)
+                .groupBy(CourseBlock::getTeacher, ConstraintCollectors.sum(CourseBlock::getLength))
+                .filter((teacher, hours) -> hours > teacher.getMaxHoursPerWeek())
+                .penalize(HardSoftScore.ONE_SOFT, (teacher, hours) -> hours - teacher.getMaxHoursPerWeek())
+                .asConstraint(SchoolConstraintProvider.TEACHER_MAX_HOURS);
+    }
+
+    // ==================== HELPERS ====================
+
+    private static int unavailableHours(CourseBlock block) {
+        return Long.bitCount(block.getHourMask() & ~block.getTeacher().getAvailabilityMask(block.getDay()));
+    }
+
+    private static int overlapHours(CourseBlock b1, CourseBlock b2) {
+        return Math.min(b1.getEndHour(), b2.getEndHour()) - Math.max(b1.getStartHour(), b2.getStartHour());
+    }
+}
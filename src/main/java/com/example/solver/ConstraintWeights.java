@@ -0,0 +1,116 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime constraint weights for SchoolSchedule.setConstraintWeightOverrides.
+ *
+ * A weight is a score such as {@code 0hard/3soft} or {@code 1hard/0soft}, or
+ * {@code off} / {@code 0} to disable the constraint (Timefold then does not
+ * evaluate it). Constraints without an entry keep the weight from
+ * SchoolConstraintProvider. Unknown names are rejected by Timefold when the
+ * solver starts.
+ *
+ * Weights file format, one constraint per line ({@code #} starts a comment):
+ *
+ * <pre>
+ * Minimize teacher idle gaps (availability-aware) = off
+ * Prefer group's pre-assigned room = 0hard/3soft
+ * </pre>
+ */
+public final class ConstraintWeights {
+
+    /** Environment variable with the path of a weights file, used when there is no --weights flag. */
+    public static final String WEIGHTS_ENV = "CONSTRAINT_WEIGHTS";
+
+    private ConstraintWeights() {
+    }
+
+    public static HardSoftScore parseWeight(String weight) {
+        String value = weight.trim();
+        if (value.equalsIgnoreCase("off") || value.equals("0")) {
+            return HardSoftScore.ZERO;
+        }
+        return HardSoftScore.parseScore(value);
+    }
+
+    /** Overrides from {@code constraint name -> weight} entries. */
+    public static ConstraintWeightOverrides<HardSoftScore> of(Map<String, String> weights) {
+        Map<String, HardSoftScore> scores = new LinkedHashMap<>();
+        weights.forEach((name, weight) -> scores.put(name.trim(), parseWeight(weight)));
+        return ConstraintWeightOverrides.of(scores);
+    }
+
+    /**
+     * Read a weights file. The constraint name runs up to the last {@code =},
+     * so names may contain spaces and parentheses.
+     */
+    public static ConstraintWeightOverrides<HardSoftScore> fromFile(Path path) throws IOException {
+        Map<String, String> weights = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int eq = line.lastIndexOf('=');
+            if (eq <= 0) {
+                throw new IOException(path + ":" + (i + 1) + ": expected 'constraint name = weight'");
+            }
+            weights.put(line.substring(0, eq), line.substring(eq + 1));
+        }
+        try {
+            return of(weights);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@code weights} with every SOFT constraint of SchoolConstraintProvider set
+     * to zero, so only the hard constraints are evaluated.
+     */
+    public static ConstraintWeightOverrides<HardSoftScore> hardOnly(ConstraintWeightOverrides<HardSoftScore> weights) {
+        Map<String, HardSoftScore> zero = new HashMap<>();
+        for (String name : SchoolConstraintProvider.SOFT_CONSTRAINTS) {
+            zero.put(name, HardSoftScore.ZERO);
+        }
+        return merge(weights, ConstraintWeightOverrides.of(zero));
+    }
+
+    /** The entries of {@code weights} whose constraint is in {@code names}. */
+    public static ConstraintWeightOverrides<HardSoftScore> retain(ConstraintWeightOverrides<HardSoftScore> weights,
+            Collection<String> names) {
+        Map<String, HardSoftScore> scores = new HashMap<>();
+        for (String name : weights.getKnownConstraintNames()) {
+            if (names.contains(name)) {
+                scores.put(name, weights.getConstraintWeight(name));
+            }
+        }
+        return ConstraintWeightOverrides.of(scores);
+    }
+
+    /** {@code base} with every entry of {@code top} put over it. */
+    public static ConstraintWeightOverrides<HardSoftScore> merge(ConstraintWeightOverrides<HardSoftScore> base,
+            ConstraintWeightOverrides<HardSoftScore> top) {
+        Map<String, HardSoftScore> scores = new HashMap<>();
+        for (String name : base.getKnownConstraintNames()) {
+            scores.put(name, base.getConstraintWeight(name));
+        }
+        for (String name : top.getKnownConstraintNames()) {
+            scores.put(name, top.getConstraintWeight(name));
+        }
+        return ConstraintWeightOverrides.of(scores);
+    }
+}
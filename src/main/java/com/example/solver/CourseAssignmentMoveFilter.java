@@ -1,22 +1,43 @@
 package com.example.solver;
 
-import java.util.List;
-import com.example.domain.Teacher;
-import com.example.domain.Course;
 import com.example.domain.CourseAssignment;
 import com.example.domain.SchoolSchedule;
-import com.example.util.CourseAssignmentValidator;
+import com.example.domain.Teacher;
+import com.example.domain.TeacherLoad;
 import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.move.Move;
 import ai.timefold.solver.core.impl.heuristic.selector.common.decorator.SelectionFilter;
+import ai.timefold.solver.core.impl.heuristic.selector.move.generic.ChangeMove;
 
-public class CourseAssignmentMoveFilter implements SelectionFilter<SchoolSchedule, CourseAssignment> {
+/**
+ * Rejects teacher change moves that would push the new teacher past
+ * maxHoursPerWeek. The load is derived from the score director's working
+ * solution through a {@link TeacherLoad} built once per working solution, so
+ * a call only scans the rows that could hold the new teacher.
+ */
+public class CourseAssignmentMoveFilter implements SelectionFilter<SchoolSchedule, Move<SchoolSchedule>> {
+
+    private SchoolSchedule indexedSolution;
+    private TeacherLoad load;
 
     @Override
-    public boolean accept(ScoreDirector<SchoolSchedule> scoreDirector, CourseAssignment courseAssignment) {
-        Teacher teacher = courseAssignment.getTeacher();
-        Course course = courseAssignment.getCourse();
-        List<CourseAssignment> assignments = scoreDirector.getWorkingSolution().getCourseAssignments();
+    public boolean accept(ScoreDirector<SchoolSchedule> scoreDirector, Move<SchoolSchedule> move) {
+        if (!(move instanceof ChangeMove<SchoolSchedule> change) || !"teacher".equals(change.getVariableName())) {
+            return true;
+        }
+        return accept(scoreDirector.getWorkingSolution(), (CourseAssignment) change.getEntity(),
+                (Teacher) change.getToPlanningValue());
+    }
 
-        return CourseAssignmentValidator.canAssignCourse(teacher, course, assignments);
+    /** Whether {@code assignment} may move to {@code teacher} in {@code solution}. */
+    boolean accept(SchoolSchedule solution, CourseAssignment assignment, Teacher teacher) {
+        if (teacher == null || teacher.equals(assignment.getTeacher()) || !TeacherLoad.counts(assignment)) {
+            return true;
+        }
+        if (solution != indexedSolution) {
+            indexedSolution = solution;
+            load = TeacherLoad.of(solution.getCourseAssignments());
+        }
+        return load.getAssignedHours(teacher) + 1 <= teacher.getMaxHoursPerWeek();
     }
-}
\ No newline at end of file
+}
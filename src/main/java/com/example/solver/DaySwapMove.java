@@ -0,0 +1,106 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.move.AbstractMove;
+import com.example.domain.CourseAssignment;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Timeslot;
+
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Swaps two days for all unpinned assignments of one group or one teacher:
+ * an assignment at {@code hour} on one day moves to the same hour on the
+ * other day, so consecutive blocks stay consecutive. Built by
+ * DaySwapMoveIteratorFactory, which resolves the target timeslots up front.
+ */
+public class DaySwapMove extends AbstractMove<SchoolSchedule> {
+
+    private final String ownerType;
+    private final DayOfWeek firstDay;
+    private final DayOfWeek secondDay;
+    private final List<CourseAssignment> assignments;
+    private final List<Timeslot> targets;
+
+    /**
+     * @param ownerType {@code "group"} or {@code "teacher"}, for move statistics
+     * @param targets   timeslot for each entry of {@code assignments}, null when the
+     *                  other day has no timeslot at that hour
+     */
+    public DaySwapMove(String ownerType, DayOfWeek firstDay, DayOfWeek secondDay,
+            List<CourseAssignment> assignments, List<Timeslot> targets) {
+        this.ownerType = ownerType;
+        this.firstDay = firstDay;
+        this.secondDay = secondDay;
+        this.assignments = assignments;
+        this.targets = targets;
+    }
+
+    public List<CourseAssignment> getAssignments() {
+        return assignments;
+    }
+
+    public List<Timeslot> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Doable when every target exists, is in the assignment's timeslot range
+     * and the assigned teacher is available at it. A move without assignments,
+     * like the factory's placeholder with no days, is never doable.
+     */
+    @Override
+    public boolean isMoveDoable(ScoreDirector<SchoolSchedule> scoreDirector) {
+        if (assignments.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < assignments.size(); i++) {
+            CourseAssignment assignment = assignments.get(i);
+            Timeslot target = targets.get(i);
+            if (assignment.isPinned() || target == null || !assignment.getTimeslotRange().contains(target)
+                    || (assignment.getTeacher() != null && !assignment.getTeacher().isAvailableAt(target))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doMoveOnGenuineVariables(ScoreDirector<SchoolSchedule> scoreDirector) {
+        for (int i = 0; i < assignments.size(); i++) {
+            CourseAssignment assignment = assignments.get(i);
+            scoreDirector.beforeVariableChanged(assignment, "timeslot");
+            assignment.setTimeslot(targets.get(i));
+            scoreDirector.afterVariableChanged(assignment, "timeslot");
+        }
+    }
+
+    @Override
+    public DaySwapMove rebase(ScoreDirector<SchoolSchedule> destinationScoreDirector) {
+        return new DaySwapMove(ownerType, firstDay, secondDay, rebaseList(assignments, destinationScoreDirector),
+                rebaseList(targets, destinationScoreDirector));
+    }
+
+    @Override
+    public String getSimpleMoveTypeDescription() {
+        return "DaySwapMove(" + ownerType + ")";
+    }
+
+    @Override
+    public Collection<? extends Object> getPlanningEntities() {
+        return assignments;
+    }
+
+    @Override
+    public Collection<? extends Object> getPlanningValues() {
+        return targets;
+    }
+
+    @Override
+    public String toString() {
+        return "Day swap of " + assignments.size() + " " + ownerType + " assignments {" + firstDay + " <-> "
+                + secondDay + "}";
+    }
+}
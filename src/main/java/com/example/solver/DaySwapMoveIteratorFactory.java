@@ -0,0 +1,145 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+import com.example.domain.CourseAssignment;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Timeslot;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Random DaySwapMoves for local search: a random unpinned assignment picks the
+ * owner (its group or, half of the time, its teacher) and the first day, the
+ * second day is drawn from the other days of the week. Swaps the teacher's
+ * availability does not allow are retried, up to a few times per move.
+ *
+ * Random selection only: solverConfig.xml sets {@code selectionOrder} RANDOM
+ * on this factory, and an ORIGINAL iterator fails fast. When no doable swap
+ * turns up, {@code next()} returns the last undoable swap or, if none was
+ * built, an empty move without days, which is never doable either.
+ */
+public class DaySwapMoveIteratorFactory implements MoveIteratorFactory<SchoolSchedule, DaySwapMove> {
+
+    private static final int ATTEMPTS_PER_MOVE = 10;
+
+    @Override
+    public long getSize(ScoreDirector<SchoolSchedule> scoreDirector) {
+        SchoolSchedule schedule = scoreDirector.getWorkingSolution();
+        // Owners x pairs of days, roughly
+        return (long) (schedule.getGroups().size() + schedule.getTeachers().size()) * 10;
+    }
+
+    @Override
+    public Iterator<DaySwapMove> createOriginalMoveIterator(ScoreDirector<SchoolSchedule> scoreDirector) {
+        throw new UnsupportedOperationException("DaySwapMoveIteratorFactory only supports random selection"
+                + " (selectionOrder RANDOM)");
+    }
+
+    @Override
+    public Iterator<DaySwapMove> createRandomMoveIterator(ScoreDirector<SchoolSchedule> scoreDirector,
+            Random random) {
+        return new RandomIterator(scoreDirector.getWorkingSolution(), random);
+    }
+
+    /** Timeslots by day and hour. */
+    static Map<DayOfWeek, Map<Integer, Timeslot>> slotsByDay(List<Timeslot> timeslots) {
+        Map<DayOfWeek, Map<Integer, Timeslot>> slots = new EnumMap<>(DayOfWeek.class);
+        for (Timeslot timeslot : timeslots) {
+            slots.computeIfAbsent(timeslot.getDayOfWeek(), d -> new HashMap<>()).put(timeslot.getHour(), timeslot);
+        }
+        return slots;
+    }
+
+    /**
+     * Swaps the two days for the unpinned, placed assignments in {@code owned}:
+     * each one targets the same hour on the other day, null when that day has
+     * no such hour.
+     */
+    static DaySwapMove daySwap(String ownerType, List<CourseAssignment> owned, DayOfWeek first, DayOfWeek second,
+            Map<DayOfWeek, Map<Integer, Timeslot>> slots) {
+        List<CourseAssignment> moved = new ArrayList<>();
+        List<Timeslot> targets = new ArrayList<>();
+        for (CourseAssignment assignment : owned) {
+            Timeslot timeslot = assignment.getTimeslot();
+            if (assignment.isPinned() || timeslot == null) {
+                continue;
+            }
+            DayOfWeek day = timeslot.getDayOfWeek();
+            if (day == first || day == second) {
+                moved.add(assignment);
+                targets.add(slots.getOrDefault(day == first ? second : first, Map.of()).get(timeslot.getHour()));
+            }
+        }
+        return new DaySwapMove(ownerType, first, second, moved, targets);
+    }
+
+    private static class RandomIterator implements Iterator<DaySwapMove> {
+
+        private final SchoolSchedule schedule;
+        private final Random random;
+        // Built on first use: the working solution does not change within a step
+        private Map<DayOfWeek, Map<Integer, Timeslot>> slots;
+        private List<DayOfWeek> days;
+        private Map<Object, List<CourseAssignment>> byOwner;
+
+        RandomIterator(SchoolSchedule schedule, Random random) {
+            this.schedule = schedule;
+            this.random = random;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !schedule.getCourseAssignments().isEmpty();
+        }
+
+        @Override
+        public DaySwapMove next() {
+            if (byOwner == null) {
+                index();
+            }
+            List<CourseAssignment> assignments = schedule.getCourseAssignments();
+            DaySwapMove move = null;
+            for (int attempt = 0; attempt < ATTEMPTS_PER_MOVE && days.size() > 1; attempt++) {
+                CourseAssignment start = assignments.get(random.nextInt(assignments.size()));
+                if (start.isPinned() || start.getTimeslot() == null) {
+                    continue;
+                }
+                boolean byTeacher = start.getTeacher() != null && random.nextBoolean();
+                Object owner = byTeacher ? start.getTeacher() : start.getGroup();
+                DayOfWeek first = start.getTimeslot().getDayOfWeek();
+                DayOfWeek second = days.get(random.nextInt(days.size()));
+                if (second == first) {
+                    continue;
+                }
+                move = daySwap(byTeacher ? "teacher" : "group", byOwner.get(owner), first, second, slots);
+                if (move.isMoveDoable(null)) {
+                    return move;
+                }
+            }
+            // Not doable, so local search skips it and draws again
+            return move != null ? move
+                    : new DaySwapMove("group", null, null, Collections.emptyList(), Collections.emptyList());
+        }
+
+        private void index() {
+            slots = slotsByDay(schedule.getTimeslots());
+            days = new ArrayList<>(slots.keySet());
+            byOwner = new HashMap<>();
+            for (CourseAssignment assignment : schedule.getCourseAssignments()) {
+                byOwner.computeIfAbsent(assignment.getGroup(), g -> new ArrayList<>()).add(assignment);
+                if (assignment.getTeacher() != null) {
+                    byOwner.computeIfAbsent(assignment.getTeacher(), t -> new ArrayList<>()).add(assignment);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.stream.uni.UniConstraintCollector;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Collects the hours occupied by a group of matches (e.g. one teacher's
+ * assignments on one day) as a bitmask, bit h = hour h. A per-hour counter
+ * keeps the mask correct when two matches share an hour, so inserting or
+ * retracting a one-hour match is O(1).
+ */
+public final class HourMaskCollector<A> implements UniConstraintCollector<A, HourMaskCollector.Hours, Long> {
+
+    private final ToLongFunction<A> hoursFunction;
+
+    private HourMaskCollector(ToLongFunction<A> hoursFunction) {
+        this.hoursFunction = hoursFunction;
+    }
+
+    /**
+     * @param hoursFunction the hours a match occupies as a bitmask, e.g.
+     *                      {@code 1L << hour} for a single hour
+     */
+    public static <A> HourMaskCollector<A> hourMask(ToLongFunction<A> hoursFunction) {
+        return new HourMaskCollector<>(hoursFunction);
+    }
+
+    /**
+     * Idle hours between the first and last occupied hour, counted per gap and
+     * only when the teacher is available for the whole gap (a gap with an
+     * unavailable hour in it cannot be closed). Each idle hour counts once, no
+     * matter how many classes surround it.
+     */
+    public static int avoidableIdleHours(long occupied, long available) {
+        if (Long.bitCount(occupied) < 2) {
+            return 0;
+        }
+        long highest = Long.highestOneBit(occupied);
+        long lowest = Long.lowestOneBit(occupied);
+        long gaps = (highest - lowest) & ~occupied;
+        int idle = 0;
+        while (gaps != 0) {
+            // Adding the lowest bit carries through the lowest run of set bits
+            long run = gaps & ~(gaps + Long.lowestOneBit(gaps));
+            if ((run & ~available) == 0) {
+                idle += Long.bitCount(run);
+            }
+            gaps &= ~run;
+        }
+        return idle;
+    }
+
+    /**
+     * Breaks between runs of consecutive occupied hours: 0 for one run (or none),
+     * 1 when the hours are split in two, and so on.
+     */
+    public static int breaks(long occupied) {
+        // A run starts at each occupied hour whose previous hour is free
+        int runs = Long.bitCount(occupied & ~(occupied << 1));
+        return Math.max(0, runs - 1);
+    }
+
+    @Override
+    public Supplier<Hours> supplier() {
+        return Hours::new;
+    }
+
+    @Override
+    public BiFunction<Hours, A, Runnable> accumulator() {
+        return (hours, match) -> {
+            long mask = hoursFunction.applyAsLong(match);
+            hours.add(mask);
+            return () -> hours.remove(mask);
+        };
+    }
+
+    @Override
+    public Function<Hours, Long> finisher() {
+        return hours -> hours.mask;
+    }
+
+    /** Mutable result container: how many matches occupy each hour. */
+    public static final class Hours {
+        private final int[] counts = new int[64];
+        private long mask;
+
+        private void add(long hours) {
+            for (long rest = hours; rest != 0; rest &= rest - 1) {
+                int hour = Long.numberOfTrailingZeros(rest);
+                if (counts[hour]++ == 0) {
+                    mask |= 1L << hour;
+                }
+            }
+        }
+
+        private void remove(long hours) {
+            for (long rest = hours; rest != 0; rest &= rest - 1) {
+                int hour = Long.numberOfTrailingZeros(rest);
+                if (--counts[hour] == 0) {
+                    mask &= ~(1L << hour);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.move.AbstractMove;
+import com.example.domain.CourseAssignment;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Timeslot;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Swaps two timeslots for a whole Kempe chain: every assignment of the chain
+ * in {@code first} moves to {@code second} and the other way round. The chain
+ * is built by KempeChainMoveIteratorFactory as a connected component of
+ * assignments in the two slots that share a group, teacher or room, so the
+ * clashes between the two slots are carried along instead of recreated. A
+ * move with an empty chain or a missing slot is never doable.
+ */
+public class KempeChainMove extends AbstractMove<SchoolSchedule> {
+
+    private final List<CourseAssignment> chain;
+    private final Timeslot first;
+    private final Timeslot second;
+
+    public KempeChainMove(List<CourseAssignment> chain, Timeslot first, Timeslot second) {
+        this.chain = chain;
+        this.first = first;
+        this.second = second;
+    }
+
+    public List<CourseAssignment> getChain() {
+        return chain;
+    }
+
+    @Override
+    public boolean isMoveDoable(ScoreDirector<SchoolSchedule> scoreDirector) {
+        if (chain.isEmpty() || first == null || second == null || first.equals(second)) {
+            return false;
+        }
+        for (CourseAssignment assignment : chain) {
+            Timeslot target = swapped(assignment.getTimeslot());
+            if (assignment.isPinned() || target == null || !assignment.getTimeslotRange().contains(target)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doMoveOnGenuineVariables(ScoreDirector<SchoolSchedule> scoreDirector) {
+        for (CourseAssignment assignment : chain) {
+            scoreDirector.beforeVariableChanged(assignment, "timeslot");
+            assignment.setTimeslot(swapped(assignment.getTimeslot()));
+            scoreDirector.afterVariableChanged(assignment, "timeslot");
+        }
+    }
+
+    private Timeslot swapped(Timeslot timeslot) {
+        if (first.equals(timeslot)) {
+            return second;
+        }
+        return second.equals(timeslot) ? first : null;
+    }
+
+    @Override
+    public KempeChainMove rebase(ScoreDirector<SchoolSchedule> destinationScoreDirector) {
+        return new KempeChainMove(rebaseList(chain, destinationScoreDirector),
+                destinationScoreDirector.lookUpWorkingObject(first),
+                destinationScoreDirector.lookUpWorkingObject(second));
+    }
+
+    @Override
+    public String getSimpleMoveTypeDescription() {
+        return "KempeChainMove(timeslot)";
+    }
+
+    @Override
+    public Collection<? extends Object> getPlanningEntities() {
+        return chain;
+    }
+
+    @Override
+    public Collection<? extends Object> getPlanningValues() {
+        return Arrays.asList(first, second);
+    }
+
+    @Override
+    public String toString() {
+        return "Kempe chain of " + chain.size() + " {" + first + " <-> " + second + "}";
+    }
+}
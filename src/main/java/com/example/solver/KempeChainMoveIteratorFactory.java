@@ -0,0 +1,178 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+import com.example.domain.CourseAssignment;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Timeslot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Random KempeChainMoves for local search.
+ *
+ * A move starts from a random unpinned assignment and a second timeslot from
+ * its range, then collects the connected component of assignments in the two
+ * slots where an edge joins two assignments in different slots that share a
+ * group, teacher or room. Chains with a pinned member, a member whose range
+ * lacks the other slot or more than {@link #MAX_CHAIN_SIZE} members are
+ * skipped.
+ *
+ * Random selection only: solverConfig.xml sets {@code selectionOrder} RANDOM
+ * on this factory, and an ORIGINAL iterator fails fast. When no doable chain
+ * turns up within a few attempts, {@code next()} returns an empty chain,
+ * which is never doable, so local search just draws again.
+ */
+public class KempeChainMoveIteratorFactory implements MoveIteratorFactory<SchoolSchedule, KempeChainMove> {
+
+    /** Larger chains rarely score well and are expensive to evaluate. */
+    public static final int MAX_CHAIN_SIZE = 40;
+
+    private static final int ATTEMPTS_PER_MOVE = 10;
+
+    @Override
+    public long getSize(ScoreDirector<SchoolSchedule> scoreDirector) {
+        SchoolSchedule schedule = scoreDirector.getWorkingSolution();
+        return (long) schedule.getCourseAssignments().size() * schedule.getTimeslots().size();
+    }
+
+    @Override
+    public Iterator<KempeChainMove> createOriginalMoveIterator(ScoreDirector<SchoolSchedule> scoreDirector) {
+        throw new UnsupportedOperationException("KempeChainMoveIteratorFactory only supports random selection"
+                + " (selectionOrder RANDOM)");
+    }
+
+    /** Assignments with a timeslot, by timeslot. */
+    static Map<Timeslot, List<CourseAssignment>> bySlot(List<CourseAssignment> assignments) {
+        Map<Timeslot, List<CourseAssignment>> bySlot = new HashMap<>();
+        for (CourseAssignment assignment : assignments) {
+            if (assignment.getTimeslot() != null) {
+                bySlot.computeIfAbsent(assignment.getTimeslot(), t -> new ArrayList<>()).add(assignment);
+            }
+        }
+        return bySlot;
+    }
+
+    /**
+     * Breadth-first component of {@code start} across {@code first} and
+     * {@code second}, or null when it has more than {@link #MAX_CHAIN_SIZE}
+     * members.
+     */
+    static List<CourseAssignment> chain(Map<Timeslot, List<CourseAssignment>> bySlot, CourseAssignment start,
+            Timeslot first, Timeslot second) {
+        SlotIndex inFirst = new SlotIndex(bySlot.getOrDefault(first, List.of()));
+        SlotIndex inSecond = new SlotIndex(bySlot.getOrDefault(second, List.of()));
+        Set<CourseAssignment> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<CourseAssignment> chain = new ArrayList<>();
+        ArrayDeque<CourseAssignment> queue = new ArrayDeque<>();
+        seen.add(start);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            CourseAssignment current = queue.poll();
+            chain.add(current);
+            if (chain.size() > MAX_CHAIN_SIZE) {
+                return null;
+            }
+            SlotIndex other = first.equals(current.getTimeslot()) ? inSecond : inFirst;
+            for (CourseAssignment neighbour : other.linkedTo(current)) {
+                if (seen.add(neighbour)) {
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return chain;
+    }
+
+    @Override
+    public Iterator<KempeChainMove> createRandomMoveIterator(ScoreDirector<SchoolSchedule> scoreDirector,
+            Random random) {
+        return new RandomIterator(scoreDirector.getWorkingSolution().getCourseAssignments(), random);
+    }
+
+    private static class RandomIterator implements Iterator<KempeChainMove> {
+
+        private final List<CourseAssignment> assignments;
+        private final Random random;
+        // Built on first use: the working solution does not change within a step
+        private Map<Timeslot, List<CourseAssignment>> bySlot;
+
+        RandomIterator(List<CourseAssignment> assignments, Random random) {
+            this.assignments = assignments;
+            this.random = random;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !assignments.isEmpty();
+        }
+
+        @Override
+        public KempeChainMove next() {
+            if (bySlot == null) {
+                bySlot = bySlot(assignments);
+            }
+            KempeChainMove move = null;
+            for (int attempt = 0; attempt < ATTEMPTS_PER_MOVE; attempt++) {
+                CourseAssignment start = assignments.get(random.nextInt(assignments.size()));
+                List<Timeslot> range = start.getTimeslotRange();
+                if (start.isPinned() || start.getTimeslot() == null || range == null || range.size() < 2) {
+                    continue;
+                }
+                Timeslot first = start.getTimeslot();
+                Timeslot second = range.get(random.nextInt(range.size()));
+                if (second.equals(first)) {
+                    continue;
+                }
+                List<CourseAssignment> chain = chain(bySlot, start, first, second);
+                if (chain == null) {
+                    continue;
+                }
+                move = new KempeChainMove(chain, first, second);
+                if (move.isMoveDoable(null)) {
+                    return move;
+                }
+            }
+            // Not doable, so local search skips it and draws again
+            return move != null ? move : new KempeChainMove(Collections.emptyList(), null, null);
+        }
+    }
+
+    /** Assignments of one timeslot by group, teacher and room. */
+    private static class SlotIndex {
+
+        private final Map<Object, List<CourseAssignment>> byKey = new HashMap<>();
+
+        SlotIndex(List<CourseAssignment> assignments) {
+            for (CourseAssignment assignment : assignments) {
+                add(assignment.getGroup(), assignment);
+                add(assignment.getTeacher(), assignment);
+                add(assignment.getRoom(), assignment);
+            }
+        }
+
+        private void add(Object key, CourseAssignment assignment) {
+            if (key != null) {
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(assignment);
+            }
+        }
+
+        List<CourseAssignment> linkedTo(CourseAssignment assignment) {
+            List<CourseAssignment> linked = new ArrayList<>();
+            for (Object key : new Object[] { assignment.getGroup(), assignment.getTeacher(), assignment.getRoom() }) {
+                if (key != null) {
+                    linked.addAll(byKey.getOrDefault(key, List.of()));
+                }
+            }
+            return linked;
+        }
+    }
+}
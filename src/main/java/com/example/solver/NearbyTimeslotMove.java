@@ -0,0 +1,82 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.move.AbstractMove;
+import com.example.domain.CourseAssignment;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Timeslot;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Timeslot change (one assignment) or swap (two assignments) picked by
+ * NearbyTimeslotMoveIteratorFactory. Same effect as the generic change and
+ * swap moves on {@code timeslot}, with its own name in the move statistics.
+ */
+public class NearbyTimeslotMove extends AbstractMove<SchoolSchedule> {
+
+    private final List<CourseAssignment> assignments;
+    private final List<Timeslot> targets;
+
+    public NearbyTimeslotMove(List<CourseAssignment> assignments, List<Timeslot> targets) {
+        this.assignments = assignments;
+        this.targets = targets;
+    }
+
+    @Override
+    public boolean isMoveDoable(ScoreDirector<SchoolSchedule> scoreDirector) {
+        boolean changes = false;
+        for (int i = 0; i < assignments.size(); i++) {
+            CourseAssignment assignment = assignments.get(i);
+            Timeslot target = targets.get(i);
+            if (assignment.isPinned() || target == null || !assignment.getTimeslotRange().contains(target)) {
+                return false;
+            }
+            changes |= !target.equals(assignment.getTimeslot());
+        }
+        return changes;
+    }
+
+    @Override
+    protected void doMoveOnGenuineVariables(ScoreDirector<SchoolSchedule> scoreDirector) {
+        for (int i = 0; i < assignments.size(); i++) {
+            CourseAssignment assignment = assignments.get(i);
+            scoreDirector.beforeVariableChanged(assignment, "timeslot");
+            assignment.setTimeslot(targets.get(i));
+            scoreDirector.afterVariableChanged(assignment, "timeslot");
+        }
+    }
+
+    @Override
+    public NearbyTimeslotMove rebase(ScoreDirector<SchoolSchedule> destinationScoreDirector) {
+        return new NearbyTimeslotMove(rebaseList(assignments, destinationScoreDirector),
+                rebaseList(targets, destinationScoreDirector));
+    }
+
+    @Override
+    public String getSimpleMoveTypeDescription() {
+        return assignments.size() == 1 ? "NearbyTimeslotMove(change)" : "NearbyTimeslotMove(swap)";
+    }
+
+    @Override
+    public Collection<? extends Object> getPlanningEntities() {
+        return assignments;
+    }
+
+    @Override
+    public Collection<? extends Object> getPlanningValues() {
+        return targets;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < assignments.size(); i++) {
+            CourseAssignment assignment = assignments.get(i);
+            text.append(i == 0 ? "" : ", ").append(assignment.getId()).append(" {")
+                    .append(assignment.getTimeslot()).append(" -> ").append(targets.get(i)).append('}');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+import com.example.domain.CourseAssignment;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Timeslot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Nearby timeslot change and swap moves for the community edition, where
+ * {@code <nearbySelection>} is not available.
+ *
+ * For a random unpinned assignment the other timeslots of its range are ranked
+ * by TimeslotDistanceMeter and one is drawn with a parabolic distribution, so
+ * the nearest slots are tried most often but any slot can come up. Half of the
+ * moves swap with an unpinned assignment of the drawn slot that may take the
+ * original slot, the rest change to it.
+ *
+ * Random selection only: solverConfig.xml sets {@code selectionOrder} RANDOM
+ * on this factory, and an ORIGINAL iterator fails fast. An assignment that
+ * cannot move (pinned, unplaced or with a single-slot range) yields a change
+ * to a null slot, which is never doable.
+ */
+public class NearbyTimeslotMoveIteratorFactory implements MoveIteratorFactory<SchoolSchedule, NearbyTimeslotMove> {
+
+    private TimeslotDistanceMeter distanceMeter;
+
+    @Override
+    public void phaseStarted(ScoreDirector<SchoolSchedule> scoreDirector) {
+        distanceMeter = new TimeslotDistanceMeter(scoreDirector.getWorkingSolution().getCourseAssignments());
+    }
+
+    @Override
+    public void phaseEnded(ScoreDirector<SchoolSchedule> scoreDirector) {
+        distanceMeter = null;
+    }
+
+    @Override
+    public long getSize(ScoreDirector<SchoolSchedule> scoreDirector) {
+        SchoolSchedule schedule = scoreDirector.getWorkingSolution();
+        return (long) schedule.getCourseAssignments().size() * schedule.getTimeslots().size();
+    }
+
+    @Override
+    public Iterator<NearbyTimeslotMove> createOriginalMoveIterator(ScoreDirector<SchoolSchedule> scoreDirector) {
+        throw new UnsupportedOperationException("NearbyTimeslotMoveIteratorFactory only supports random selection"
+                + " (selectionOrder RANDOM)");
+    }
+
+    @Override
+    public Iterator<NearbyTimeslotMove> createRandomMoveIterator(ScoreDirector<SchoolSchedule> scoreDirector,
+            Random random) {
+        if (distanceMeter == null) {
+            phaseStarted(scoreDirector);
+        }
+        return new RandomIterator(scoreDirector.getWorkingSolution().getCourseAssignments(), distanceMeter, random);
+    }
+
+    /**
+     * The other timeslots of the origin's range, nearest first. Ties keep a
+     * random order: most slots are on another day and tie at the same distance,
+     * and a stable sort would otherwise favour the early days.
+     */
+    static List<Timeslot> rankByDistance(CourseAssignment origin, TimeslotDistanceMeter distanceMeter,
+            Random random) {
+        List<Timeslot> candidates = new ArrayList<>(origin.getTimeslotRange());
+        candidates.remove(origin.getTimeslot());
+        Collections.shuffle(candidates, random);
+        // One distance per candidate instead of two per comparison
+        Map<Timeslot, Double> distances = new HashMap<>();
+        for (Timeslot candidate : candidates) {
+            distances.put(candidate, distanceMeter.getNearbyDistance(origin, candidate));
+        }
+        candidates.sort(Comparator.comparingDouble(distances::get));
+        return candidates;
+    }
+
+    private static class RandomIterator implements Iterator<NearbyTimeslotMove> {
+
+        private final List<CourseAssignment> assignments;
+        private final TimeslotDistanceMeter distanceMeter;
+        private final Random random;
+        // Built on first swap: the working solution does not change within a step
+        private Map<Timeslot, List<CourseAssignment>> bySlot;
+
+        RandomIterator(List<CourseAssignment> assignments, TimeslotDistanceMeter distanceMeter, Random random) {
+            this.assignments = assignments;
+            this.distanceMeter = distanceMeter;
+            this.random = random;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !assignments.isEmpty();
+        }
+
+        @Override
+        public NearbyTimeslotMove next() {
+            CourseAssignment origin = assignments.get(random.nextInt(assignments.size()));
+            Timeslot current = origin.getTimeslot();
+            List<Timeslot> range = origin.getTimeslotRange();
+            if (origin.isPinned() || current == null || range == null || range.size() < 2) {
+                // Not doable, so local search skips it and draws again
+                return new NearbyTimeslotMove(List.of(origin), Collections.singletonList(null));
+            }
+            List<Timeslot> candidates = rankByDistance(origin, distanceMeter, random);
+            // Parabolic distribution over the ranking, as in Timefold's nearby selection
+            int index = (int) (candidates.size() * (1.0 - Math.sqrt(1.0 - random.nextDouble())));
+            Timeslot target = candidates.get(Math.min(index, candidates.size() - 1));
+            if (random.nextBoolean()) {
+                CourseAssignment other = swapPartner(target, current);
+                if (other != null) {
+                    return new NearbyTimeslotMove(List.of(origin, other), List.of(target, current));
+                }
+            }
+            return new NearbyTimeslotMove(List.of(origin), List.of(target));
+        }
+
+        private CourseAssignment swapPartner(Timeslot target, Timeslot current) {
+            if (bySlot == null) {
+                bySlot = new HashMap<>();
+                for (CourseAssignment assignment : assignments) {
+                    if (assignment.getTimeslot() != null) {
+                        bySlot.computeIfAbsent(assignment.getTimeslot(), t -> new ArrayList<>()).add(assignment);
+                    }
+                }
+            }
+            List<CourseAssignment> inTarget = bySlot.getOrDefault(target, List.of());
+            if (inTarget.isEmpty()) {
+                return null;
+            }
+            CourseAssignment other = inTarget.get(random.nextInt(inTarget.size()));
+            return other.isPinned() || !other.getTimeslotRange().contains(current) ? null : other;
+        }
+    }
+}
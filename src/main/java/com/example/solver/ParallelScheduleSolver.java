@@ -0,0 +1,194 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.example.domain.CourseAssignment;
+import com.example.domain.SchoolSchedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Solves the parts found by {@link ScheduleDecomposer} on separate threads,
+ * each with its own Solver built from the same factory (and therefore its own
+ * termination budget), then merges the solved assignments back into one
+ * SchoolSchedule. Parts may share candidate teachers and rooms, so a merge
+ * with cross-part clashes is repaired by one more solve from the merged
+ * solution, bounded by the repair termination.
+ */
+public class ParallelScheduleSolver {
+
+    private final SolverFactory<SchoolSchedule> solverFactory;
+    private final int parallelism;
+    private Consumer<Solver<SchoolSchedule>> solverCustomizer = solver -> {
+    };
+    private TerminationConfig repairTermination = new TerminationConfig()
+            .withUnimprovedSecondsSpentLimit(30L)
+            .withMinutesSpentLimit(5L);
+
+    public ParallelScheduleSolver(SolverFactory<SchoolSchedule> solverFactory) {
+        this(solverFactory, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelScheduleSolver(SolverFactory<SchoolSchedule> solverFactory, int parallelism) {
+        this.solverFactory = solverFactory;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Hook called on every sub-solver before it starts, e.g. to attach event or
+     * phase listeners.
+     */
+    public void setSolverCustomizer(Consumer<Solver<SchoolSchedule>> solverCustomizer) {
+        this.solverCustomizer = solverCustomizer;
+    }
+
+    /** Termination of the solve that repairs cross-part clashes after the merge. */
+    public void setRepairTermination(TerminationConfig repairTermination) {
+        this.repairTermination = repairTermination;
+    }
+
+    /**
+     * Decompose, solve every part and merge. When the schedule has a single
+     * connected component this is a plain solve on the calling thread.
+     */
+    public SchoolSchedule solve(SchoolSchedule schedule) {
+        return solve(schedule, ScheduleDecomposer.decompose(schedule));
+    }
+
+    /**
+     * Solve with components the caller already got from
+     * {@link ScheduleDecomposer#decompose}, so a caller that decomposed to decide
+     * whether to solve in parallel does not decompose twice.
+     */
+    public SchoolSchedule solve(SchoolSchedule schedule, List<SchoolSchedule> components) {
+        if (components.size() == 1) {
+            Solver<SchoolSchedule> solver = solverFactory.buildSolver();
+            solverCustomizer.accept(solver);
+            return solver.solve(schedule);
+        }
+        List<SchoolSchedule> parts = ScheduleDecomposer.pack(schedule, components, parallelism);
+        System.out.println("Decomposed into " + components.size() + " independent components, solving "
+                + parts.size() + " sub-problems in parallel");
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parts.size(), r -> {
+            Thread t = new Thread(r, "sub-solver-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<SchoolSchedule>> futures = new ArrayList<>();
+            for (int i = 0; i < parts.size(); i++) {
+                SchoolSchedule part = parts.get(i);
+                int partIndex = i;
+                futures.add(executor.submit(() -> {
+                    Solver<SchoolSchedule> solver = solverFactory.buildSolver();
+                    solverCustomizer.accept(solver);
+                    SchoolSchedule solved = solver.solve(part);
+                    System.out.printf("  Sub-problem %d (%d groups, %d assignments): %s%n", partIndex + 1,
+                            part.getGroups().size(), part.getCourseAssignments().size(), solved.getScore());
+                    return solved;
+                }));
+            }
+            List<SchoolSchedule> solvedParts = new ArrayList<>();
+            for (Future<SchoolSchedule> future : futures) {
+                solvedParts.add(future.get());
+            }
+            return repair(merge(schedule, solvedParts), solvedParts);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving sub-problems", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sub-problem solve failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Each sub-solver keeps only its own part free of clashes. Assignments that
+     * put a shared teacher or room in a timeslot another part already uses lose
+     * their timeslot, and one more solve places them again from the merged
+     * solution.
+     */
+    private SchoolSchedule repair(SchoolSchedule merged, List<SchoolSchedule> solvedParts) {
+        List<CourseAssignment> clashing = crossPartClashes(solvedParts);
+        if (clashing.isEmpty()) {
+            return merged;
+        }
+        System.out.println("Repairing " + clashing.size() + " assignments that clash across sub-problems");
+        for (CourseAssignment a : clashing) {
+            a.setTimeslot(null);
+        }
+        Solver<SchoolSchedule> solver = solverFactory.buildSolver(
+                new SolverConfigOverride<SchoolSchedule>().withTerminationConfig(repairTermination));
+        solverCustomizer.accept(solver);
+        return solver.solve(merged);
+    }
+
+    /**
+     * Unpinned assignments whose teacher or room is already used in the same
+     * timeslot by another part. Pinned assignments claim their slots first, then
+     * parts claim in order, so the earliest part keeps a contested slot.
+     */
+    static List<CourseAssignment> crossPartClashes(List<SchoolSchedule> parts) {
+        Map<List<Object>, Integer> owner = new HashMap<>();
+        Set<CourseAssignment> clashing = new LinkedHashSet<>();
+        for (boolean pinnedPass : new boolean[] { true, false }) {
+            for (int part = 0; part < parts.size(); part++) {
+                for (CourseAssignment a : parts.get(part).getCourseAssignments()) {
+                    if (a.isPinned() != pinnedPass || a.getTimeslot() == null) {
+                        continue;
+                    }
+                    for (Object resource : new Object[] { a.getTeacher(), a.getRoom() }) {
+                        if (resource != null && claim(owner, List.of(resource, a.getTimeslot()), part) != part
+                                && !pinnedPass) {
+                            clashing.add(a);
+                        }
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(clashing);
+    }
+
+    private static int claim(Map<List<Object>, Integer> owner, List<Object> slot, int part) {
+        return owner.computeIfAbsent(slot, k -> part);
+    }
+
+    /**
+     * Build a schedule with the original facts and the solved planning entities
+     * (the solver returns clones), keeping the original assignment order.
+     */
+    private SchoolSchedule merge(SchoolSchedule original, List<SchoolSchedule> solvedParts) {
+        Map<String, CourseAssignment> solvedById = new HashMap<>();
+        for (SchoolSchedule part : solvedParts) {
+            for (CourseAssignment a : part.getCourseAssignments()) {
+                solvedById.put(a.getId(), a);
+            }
+        }
+        List<CourseAssignment> merged = new ArrayList<>(original.getCourseAssignments().size());
+        for (CourseAssignment a : original.getCourseAssignments()) {
+            merged.add(solvedById.getOrDefault(a.getId(), a));
+        }
+        SchoolSchedule result = new SchoolSchedule(original.getTeachers(), original.getTimeslots(),
+                original.getRooms(), original.getCourses(), original.getGroups(), merged);
+        result.setConstraintWeightOverrides(original.getConstraintWeightOverrides());
+        SolutionManager.create(solverFactory).update(result);
+        return result;
+    }
+}
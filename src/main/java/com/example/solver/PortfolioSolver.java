@@ -0,0 +1,296 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
+import ai.timefold.solver.core.config.localsearch.decider.forager.LocalSearchForagerConfig;
+import ai.timefold.solver.core.config.phase.PhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.example.domain.CourseAssignment;
+import com.example.domain.SchoolSchedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs several differently configured solvers on the same problem, one per
+ * thread, and keeps the best solution any of them finds.
+ *
+ * Each member gets its own random seed and local search acceptor (late
+ * acceptance, tabu search or simulated annealing) on top of solverConfig.xml.
+ * Every {@code broadcastInterval} the current global best is pushed as a
+ * ProblemChange to the members that are behind it, so stragglers restart from
+ * the best known schedule instead of wasting the rest of the time limit. All
+ * members stop at the same wall-clock limit.
+ */
+public class PortfolioSolver {
+
+    /** Local search acceptor used by a portfolio member. */
+    public enum Strategy {
+        LATE_ACCEPTANCE,
+        TABU_SEARCH,
+        SIMULATED_ANNEALING
+    }
+
+    private final SolverConfig baseConfig;
+    private final int size;
+    private final long timeLimitSeconds;
+    private final long broadcastIntervalSeconds;
+
+    private Consumer<Solver<SchoolSchedule>> solverCustomizer = solver -> {
+    };
+
+    private final Object lock = new Object();
+    private SchoolSchedule globalBest;
+    private int globalBestOwner = -1;
+
+    /**
+     * @param baseConfig               configuration every member is derived from
+     * @param size                     number of solvers to run in parallel
+     * @param timeLimitSeconds         wall-clock limit shared by all members
+     * @param broadcastIntervalSeconds how often stragglers are moved to the global
+     *                                 best, or 0 to never broadcast
+     */
+    public PortfolioSolver(SolverConfig baseConfig, int size, long timeLimitSeconds, long broadcastIntervalSeconds) {
+        this.baseConfig = baseConfig;
+        this.size = Math.max(1, size);
+        this.timeLimitSeconds = timeLimitSeconds;
+        this.broadcastIntervalSeconds = broadcastIntervalSeconds;
+    }
+
+    /**
+     * Hook called on every member solver before it starts, e.g. to attach event
+     * or phase listeners.
+     */
+    public void setSolverCustomizer(Consumer<Solver<SchoolSchedule>> solverCustomizer) {
+        this.solverCustomizer = solverCustomizer;
+    }
+
+    /**
+     * Strategy of member {@code index}; members cycle through the strategies so
+     * each one is tried by roughly the same number of seeds.
+     */
+    public static Strategy strategyOf(int index) {
+        Strategy[] strategies = Strategy.values();
+        return strategies[index % strategies.length];
+    }
+
+    /**
+     * Member configuration: the base config with its own seed and acceptor. The
+     * local search phase termination is removed so members run to the shared
+     * wall-clock limit instead of stopping at the first feasible schedule.
+     */
+    SolverConfig memberConfig(int index) {
+        SolverConfig config = new SolverConfig(baseConfig)
+                .withRandomSeed(index + 1L)
+                .withTerminationConfig(new TerminationConfig().withSecondsSpentLimit(timeLimitSeconds));
+        List<PhaseConfig> phases = new ArrayList<>();
+        for (PhaseConfig<?> phase : baseConfig.getPhaseConfigList()) {
+            PhaseConfig<?> copy = phase.copyConfig();
+            if (copy instanceof LocalSearchPhaseConfig localSearch) {
+                localSearch.setTerminationConfig(null);
+                switch (strategyOf(index)) {
+                    case LATE_ACCEPTANCE -> {
+                        localSearch.setAcceptorConfig(new LocalSearchAcceptorConfig().withLateAcceptanceSize(400));
+                        localSearch.setForagerConfig(new LocalSearchForagerConfig().withAcceptedCountLimit(1));
+                    }
+                    case TABU_SEARCH -> {
+                        localSearch.setAcceptorConfig(new LocalSearchAcceptorConfig().withEntityTabuRatio(0.02));
+                        localSearch.setForagerConfig(new LocalSearchForagerConfig().withAcceptedCountLimit(1000));
+                    }
+                    case SIMULATED_ANNEALING -> {
+                        localSearch.setAcceptorConfig(new LocalSearchAcceptorConfig()
+                                .withSimulatedAnnealingStartingTemperature("2hard/50soft"));
+                        localSearch.setForagerConfig(new LocalSearchForagerConfig().withAcceptedCountLimit(4));
+                    }
+                }
+            }
+            phases.add(copy);
+        }
+        return config.withPhases(phases.toArray(new PhaseConfig[0]));
+    }
+
+    public SchoolSchedule solve(SchoolSchedule problem) {
+        globalBest = problem;
+        globalBestOwner = -1;
+        List<Solver<SchoolSchedule>> solvers = new ArrayList<>();
+        HardSoftScore[] memberBest = new HardSoftScore[size];
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            Solver<SchoolSchedule> solver = SolverFactory.<SchoolSchedule> create(memberConfig(i)).buildSolver();
+            solver.addEventListener(event -> onBestSolution(index, event.getNewBestSolution(),
+                    event.isNewBestSolutionInitialized(), memberBest));
+            solverCustomizer.accept(solver);
+            solvers.add(solver);
+        }
+        System.out.println("Portfolio: " + size + " solvers, " + timeLimitSeconds + "s limit"
+                + (broadcastIntervalSeconds > 0 ? ", broadcasting best every " + broadcastIntervalSeconds + "s" : ""));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "portfolio-solver-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<SchoolSchedule>> futures = new ArrayList<>();
+            for (Solver<SchoolSchedule> solver : solvers) {
+                futures.add(executor.submit(() -> solver.solve(problem)));
+            }
+            coordinate(solvers, futures, memberBest);
+            for (int i = 0; i < size; i++) {
+                SchoolSchedule result = futures.get(i).get();
+                onBestSolution(i, result, isInitialized(result), memberBest);
+                System.out.printf("  Solver %d (%s, seed %d): %s%n", i + 1, strategyOf(i), i + 1L,
+                        result.getScore());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            solvers.forEach(Solver::terminateEarly);
+            throw new IllegalStateException("Interrupted while running the solver portfolio", e);
+        } catch (ExecutionException e) {
+            solvers.forEach(Solver::terminateEarly);
+            throw new IllegalStateException("Portfolio solver failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        synchronized (lock) {
+            System.out.println("Portfolio best: " + globalBest.getScore() + " from solver " + (globalBestOwner + 1)
+                    + " (" + strategyOf(Math.max(0, globalBestOwner)) + ")");
+            return globalBest;
+        }
+    }
+
+    /**
+     * Record a member's new best and take it as the global best when it is
+     * initialized and scores higher. A partially constructed schedule can score
+     * better than a complete one, so it never wins.
+     */
+    void onBestSolution(int index, SchoolSchedule solution, boolean initialized, HardSoftScore[] memberBest) {
+        HardSoftScore score = solution.getScore();
+        synchronized (lock) {
+            memberBest[index] = score;
+            if (score != null && initialized && (globalBest == null || globalBest.getScore() == null
+                    || score.compareTo(globalBest.getScore()) > 0)) {
+                globalBest = solution;
+                globalBestOwner = index;
+            }
+        }
+    }
+
+    SchoolSchedule getGlobalBest() {
+        synchronized (lock) {
+            return globalBest;
+        }
+    }
+
+    int getGlobalBestOwner() {
+        synchronized (lock) {
+            return globalBestOwner;
+        }
+    }
+
+    /** Whether every assignment has a teacher, a timeslot and a room. */
+    static boolean isInitialized(SchoolSchedule solution) {
+        for (CourseAssignment a : solution.getCourseAssignments()) {
+            if (a.getTeacher() == null || a.getTimeslot() == null || a.getRoom() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Broadcast the global best every interval and stop all members at the
+     * deadline. A ProblemChange restarts a member's phases, so the per-solver
+     * time limit alone does not guarantee a shared wall-clock end.
+     */
+    private void coordinate(List<Solver<SchoolSchedule>> solvers, List<Future<SchoolSchedule>> futures,
+            HardSoftScore[] memberBest) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeLimitSeconds);
+        long intervalNanos = broadcastIntervalSeconds > 0
+                ? TimeUnit.SECONDS.toNanos(broadcastIntervalSeconds)
+                : Long.MAX_VALUE;
+        while (!futures.stream().allMatch(Future::isDone)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                solvers.forEach(Solver::terminateEarly);
+                return;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, intervalNanos));
+            if (broadcastIntervalSeconds <= 0 || System.nanoTime() >= deadline) {
+                continue;
+            }
+            SchoolSchedule best;
+            int owner;
+            synchronized (lock) {
+                best = globalBest;
+                owner = globalBestOwner;
+            }
+            if (owner < 0) {
+                continue;
+            }
+            Map<String, CourseAssignment> bestAssignments = new HashMap<>();
+            for (CourseAssignment a : best.getCourseAssignments()) {
+                bestAssignments.put(a.getId(), a);
+            }
+            for (int i = 0; i < size; i++) {
+                HardSoftScore score;
+                synchronized (lock) {
+                    score = memberBest[i];
+                }
+                if (i != owner && !futures.get(i).isDone() && score != null
+                        && score.compareTo(best.getScore()) < 0) {
+                    solvers.get(i).addProblemChange(new RestartFromBest(bestAssignments));
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the teacher, timeslot and room of every unpinned assignment in the
+     * global best into a member's working solution. These values are problem
+     * facts shared by all members, so they need no lookup.
+     */
+    static class RestartFromBest implements ProblemChange<SchoolSchedule> {
+
+        private final Map<String, CourseAssignment> best;
+
+        RestartFromBest(Map<String, CourseAssignment> best) {
+            this.best = best;
+        }
+
+        @Override
+        public void doChange(SchoolSchedule workingSolution, ProblemChangeDirector director) {
+            for (CourseAssignment a : workingSolution.getCourseAssignments()) {
+                CourseAssignment source = best.get(a.getId());
+                if (a.isPinned() || source == null) {
+                    continue;
+                }
+                if (source.getTeacher() != a.getTeacher()) {
+                    director.changeVariable(a, "teacher", entity -> entity.setTeacher(source.getTeacher()));
+                }
+                if (source.getTimeslot() != a.getTimeslot()) {
+                    director.changeVariable(a, "timeslot", entity -> entity.setTimeslot(source.getTimeslot()));
+                }
+                if (source.getRoom() != a.getRoom()) {
+                    director.changeVariable(a, "room", entity -> entity.setRoom(source.getRoom()));
+                }
+            }
+        }
+    }
+}
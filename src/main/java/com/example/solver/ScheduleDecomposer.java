@@ -0,0 +1,172 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits a schedule into sub-problems that can be solved in parallel.
+ *
+ * Every hard and soft constraint couples assignments only through a shared
+ * group, teacher or room. The interaction graph links each group to the
+ * teachers and rooms its assignments are bound to: the current values of
+ * pinned assignments, and the only value of a single-candidate range. Its
+ * connected components are found with a union-find over groups.
+ *
+ * A teacher or room that is merely a candidate of several groups does not
+ * link them, otherwise any teacher qualified across cohorts or any room type
+ * shared school-wide would merge the whole schedule into one component. The
+ * sub-solvers can therefore put such a teacher or room in the same timeslot;
+ * {@link ParallelScheduleSolver} repairs those cross-part clashes after the
+ * merge.
+ */
+public class ScheduleDecomposer {
+
+    private ScheduleDecomposer() {
+    }
+
+    /**
+     * Return one SchoolSchedule per connected component, largest first. Each
+     * sub-schedule shares the original fact and entity instances, contains all
+     * timeslots and only the groups, teachers, rooms and courses its own
+     * assignments can use; teachers and rooms may appear in several. A
+     * schedule with a single component is returned as-is.
+     */
+    public static List<SchoolSchedule> decompose(SchoolSchedule schedule) {
+        List<CourseAssignment> assignments = schedule.getCourseAssignments();
+        Map<Group, Integer> groupIndex = new HashMap<>();
+        for (CourseAssignment a : assignments) {
+            groupIndex.putIfAbsent(a.getGroup(), groupIndex.size());
+        }
+
+        int[] parent = new int[groupIndex.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        // First group bound to each teacher/room; later groups are joined to it
+        Map<Teacher, Integer> teacherOwner = new HashMap<>();
+        Map<Room, Integer> roomOwner = new HashMap<>();
+        for (CourseAssignment a : assignments) {
+            int g = groupIndex.get(a.getGroup());
+            Teacher teacher = fixed(a, a.getTeacherRange(), a.getTeacher());
+            if (teacher != null) {
+                union(parent, g, teacherOwner.computeIfAbsent(teacher, t -> g));
+            }
+            Room room = fixed(a, a.getRoomRange(), a.getRoom());
+            if (room != null) {
+                union(parent, g, roomOwner.computeIfAbsent(room, r -> g));
+            }
+        }
+
+        Map<Integer, List<CourseAssignment>> byComponent = new LinkedHashMap<>();
+        for (CourseAssignment a : assignments) {
+            int root = find(parent, groupIndex.get(a.getGroup()));
+            byComponent.computeIfAbsent(root, k -> new ArrayList<>()).add(a);
+        }
+        if (byComponent.size() <= 1) {
+            return List.of(schedule);
+        }
+
+        List<SchoolSchedule> components = new ArrayList<>();
+        for (List<CourseAssignment> componentAssignments : byComponent.values()) {
+            components.add(subSchedule(schedule, componentAssignments));
+        }
+        components.sort(Comparator.comparingInt((SchoolSchedule s) -> s.getCourseAssignments().size()).reversed());
+        return components;
+    }
+
+    /**
+     * Pack components into at most {@code maxParts} sub-schedules, largest
+     * component first into the currently smallest part. Independent components
+     * can share a solver without interfering, so this keeps the number of
+     * concurrent solvers bounded by the number of cores.
+     */
+    public static List<SchoolSchedule> pack(SchoolSchedule schedule, List<SchoolSchedule> components, int maxParts) {
+        if (components.size() <= maxParts) {
+            return components;
+        }
+        List<List<CourseAssignment>> parts = new ArrayList<>();
+        for (int i = 0; i < maxParts; i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (SchoolSchedule component : components) {
+            List<CourseAssignment> smallest = parts.stream()
+                    .min(Comparator.comparingInt(List::size))
+                    .orElseThrow();
+            smallest.addAll(component.getCourseAssignments());
+        }
+        List<SchoolSchedule> packed = new ArrayList<>();
+        for (List<CourseAssignment> part : parts) {
+            packed.add(subSchedule(schedule, part));
+        }
+        return packed;
+    }
+
+    private static SchoolSchedule subSchedule(SchoolSchedule schedule, List<CourseAssignment> assignments) {
+        Set<Group> groups = new LinkedHashSet<>();
+        Set<Teacher> teachers = new LinkedHashSet<>();
+        Set<Room> rooms = new LinkedHashSet<>();
+        Set<Course> courses = new LinkedHashSet<>();
+        for (CourseAssignment a : assignments) {
+            groups.add(a.getGroup());
+            courses.add(a.getCourse());
+            teachers.addAll(candidates(a.getTeacherRange(), a.getTeacher()));
+            rooms.addAll(candidates(a.getRoomRange(), a.getRoom()));
+        }
+        SchoolSchedule part = new SchoolSchedule(new ArrayList<>(teachers), schedule.getTimeslots(),
+                new ArrayList<>(rooms), new ArrayList<>(courses), new ArrayList<>(groups),
+                new ArrayList<>(assignments));
+        part.setConstraintWeightOverrides(schedule.getConstraintWeightOverrides());
+        return part;
+    }
+
+    /**
+     * Value an assignment is bound to: its current value when pinned, else the
+     * only value of a single-candidate range, else null.
+     */
+    private static <T> T fixed(CourseAssignment a, List<T> range, T current) {
+        if (a.isPinned()) {
+            return current;
+        }
+        return range != null && range.size() == 1 ? range.get(0) : null;
+    }
+
+    /**
+     * Values an assignment can take: its per-entity range when set, otherwise
+     * just its current value.
+     */
+    private static <T> List<T> candidates(List<T> range, T current) {
+        if (range != null) {
+            return range;
+        }
+        return current != null ? List.of(current) : List.of();
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[rootA] = rootB;
+        }
+    }
+}
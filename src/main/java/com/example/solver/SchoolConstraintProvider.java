@@ -7,14 +7,31 @@ import ai.timefold.solver.core.api.score.stream.Joiners;
 import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
 import ai.timefold.solver.core.api.score.stream.ConstraintCollectors;
 
-import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.List;
 
 import com.example.domain.CourseAssignment;
 import com.example.domain.Teacher;
+import com.example.domain.TeacherLoad;
 
 public class SchoolConstraintProvider implements ConstraintProvider {
 
+    public static final String TEACHER_IDLE_GAPS = "Minimize teacher idle gaps (availability-aware)";
+    public static final String TEACHER_MAX_HOURS = "Teacher exceeds max hours per week (hard)";
+    public static final String SAME_ROOM_BY_TYPE = "Group courses with same room type must use same room";
+    public static final String PREFERRED_ROOM = "Prefer group's pre-assigned room";
+    public static final String BUILDING_CHANGES = "Minimize teacher building changes (comfort)";
+    public static final String BALANCE_WORKLOAD = "Balance teacher workload gently";
+    public static final String TEACHER_AVAILABILITY = "Prefer teachers with higher availability";
+    public static final String ALTERNATIVE_TEACHERS = "Encourage distribution among qualified teachers";
+    public static final String NON_BASICAS_DAYS = "Limit non-BASICAS courses to at most 2 days per group";
+    public static final String GROUP_COURSE_CONSECUTIVE = "Group course hours must be consecutive when on the same day";
+
+    /** Names of the SOFT constraints (TwoStageSolver zero-weights them in its first stage). */
+    public static final List<String> SOFT_CONSTRAINTS = List.of(TEACHER_IDLE_GAPS, TEACHER_MAX_HOURS,
+            PREFERRED_ROOM, BUILDING_CHANGES, BALANCE_WORKLOAD, TEACHER_AVAILABILITY, ALTERNATIVE_TEACHERS,
+            NON_BASICAS_DAYS);
+
     @Override
     public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
         return new Constraint[] {
@@ -40,7 +57,7 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                 // - More pairs to evaluate than Tier 2
                 // - Lower failure rate (less selective)
                 // - Still critical for feasibility
-                groupCourseMustBeConsecutiveOnSameDay(constraintFactory), // #7: ~500 pairs, medium selectivity
+                groupCourseMustBeConsecutiveOnSameDay(constraintFactory), // #7: groupBy consecutive sequences
                 sameTeacherForAllCourseHours(constraintFactory), // #8: ~2,000 pairs, low selectivity
 
                 // ========== TIER 4: SOFT Constraints - Quality Optimization ==========
@@ -48,26 +65,19 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                 // - Don't affect feasibility (can be violated)
                 // - Evaluated only if all HARD constraints pass
                 // - Order by computational cost (most expensive first)
-                minimizeTeacherIdleGaps(constraintFactory), // #9: ~1,000 pairs (most expensive SOFT)
-                // limitNonBasicasCoursesToTwoDaysPerGroup(constraintFactory), // #10: groupBy
-                // aggregation (weight 15,
-                // concentrate non-BASICAS)
-                teacherMaxHoursPerWeek(constraintFactory), // #11: groupBy aggregation (workload balance)
-
-                // ========== COMMENTED OUT CONSTRAINTS ==========
-                // Uncomment these if needed:
-                // groupCoursesInSameRoomByType(constraintFactory), // HARD: same room type
-                // consistency
-                // groupPreferredRoomConstraint(constraintFactory), // SOFT: prefer group's
-                // pre-assigned room
-                // minimizeTeacherBuildingChanges(constraintFactory), // SOFT: minimize teacher
-                // travel
-                // balanceTeacherWorkload(constraintFactory), // SOFT: balance workload
-                // distribution
-                // preferUsingTeachersWithMoreAvailability(constraintFactory), // SOFT: prefer
-                // high-availability teachers
-                // encourageAlternativeQualifiedTeachers(constraintFactory), // SOFT: distribute
-                // among qualified teachers
+                minimizeTeacherIdleGaps(constraintFactory), // #9: groupBy (teacher, day) with an hour bitmask
+                teacherMaxHoursPerWeek(constraintFactory), // #10: groupBy aggregation (workload balance)
+
+                // ========== OPTIONAL CONSTRAINTS (weight zero = off) ==========
+                // Timefold does not evaluate zero-weight constraints; enable one with a
+                // weight in constraint_weight or a weights file (see ConstraintWeights)
+                groupCoursesInSameRoomByType(constraintFactory), // HARD: same room type consistency
+                groupPreferredRoomConstraint(constraintFactory), // SOFT: prefer group's room (0hard/3soft)
+                minimizeTeacherBuildingChanges(constraintFactory), // SOFT: minimize teacher travel
+                balanceTeacherWorkload(constraintFactory), // SOFT: balance workload distribution
+                preferUsingTeachersWithMoreAvailability(constraintFactory), // SOFT: high-availability teachers
+                encourageAlternativeQualifiedTeachers(constraintFactory), // SOFT: distribute among teachers
+                limitNonBasicasCoursesToTwoDaysPerGroup(constraintFactory), // SOFT: non-BASICAS days (0hard/15soft)
         };
     }
 
@@ -154,49 +164,19 @@ public class SchoolConstraintProvider implements ConstraintProvider {
         // those hours must be consecutive.
         // However, course hours can be spread across different days (no requirement for
         // same day).
-        // This constraint only applies when both assignments happen to be on the same
-        // day.
-        // ENHANCED: Higher penalty for non-BASICAS courses (TADHR, TEM, etc.)
+        // The day's hours of each (group, course) are kept as consecutive sequences
+        // (O(log n) per insert/retract); one penalty per break between two runs, so a
+        // block split in two costs 1 and in three costs 2
         return constraintFactory
-                .forEachUniquePair(CourseAssignment.class,
-                        // Add join to reduce pairs evaluated
-                        Joiners.equal(CourseAssignment::getGroup),
-                        Joiners.equal(CourseAssignment::getCourse),
-                        Joiners.equal(a -> a.getTimeslot() != null ? a.getTimeslot().getDayOfWeek() : null))
-                .filter((a1, a2) -> {
-                    // Simplified filter since joins handle most conditions
-                    return a1.getSequenceIndex() != a2.getSequenceIndex()
-                            && a1.getTimeslot() != null && a2.getTimeslot() != null;
-                })
-                .penalize(HardSoftScore.ONE_HARD, (a1, a2) -> {
-                    // Calculate gap size (how many hours apart they are)
-                    int hour1 = a1.getTimeslot().getHour();
-                    int hour2 = a2.getTimeslot().getHour();
-                    int seqDiff = Math.abs(a2.getSequenceIndex() - a1.getSequenceIndex());
-                    int hourDiff = Math.abs(hour2 - hour1);
-                    int gapSize = hourDiff - seqDiff; // Gap between consecutive sequence indices
-
-                    // Get course component (BASICAS, TADHR, TEM, etc.)
-                    String component = a1.getCourse().getComponent();
-
-                    // ENHANCED PENALTY SYSTEM:
-                    // - BASICAS courses: 1x penalty per gap hour (standard)
-                    // - Non-BASICAS courses (TADHR, TEM, etc.): 3x penalty per gap hour (stricter)
-                    // This ensures specialized/technical courses are more strictly scheduled
-                    // consecutively
-
-                    int basePenalty = Math.max(1, gapSize); // At least 1 penalty for any violation
-                    /**
-                     * if (component != null && !component.equalsIgnoreCase("BASICAS")) {
-                     * // Non-BASICAS courses: 3x penalty (TADHR, TEM, etc.)
-                     * return basePenalty * 3;
-                     * }
-                     */
-
-                    // BASICAS courses: standard penalty
-                    return basePenalty;
-                })
-                .asConstraint("Group course hours must be consecutive when on the same day (stricter for non-BASICAS)");
+                .forEach(CourseAssignment.class)
+                .filter(a -> a.getTimeslot() != null)
+                .groupBy(CourseAssignment::getGroup,
+                        CourseAssignment::getCourse,
+                        a -> a.getTimeslot().getDayOfWeek(),
+                        ConstraintCollectors.toConsecutiveSequences(a -> a.getTimeslot().getHour()))
+                .filter((group, course, day, hours) -> !hours.getBreaks().isEmpty())
+                .penalize(HardSoftScore.ONE_HARD, (group, course, day, hours) -> hours.getBreaks().size())
+                .asConstraint(GROUP_COURSE_CONSECUTIVE);
     }
 
     private Constraint groupCoursesInSameRoomByType(ConstraintFactory constraintFactory) {
@@ -230,8 +210,8 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                     // Same group + same room type requirement: must use same room
                     return !a1.getRoom().equals(a2.getRoom());
                 })
-                .penalize(HardSoftScore.ONE_HARD)
-                .asConstraint("Group courses with same room type must use same room");
+                .penalize(HardSoftScore.ZERO)
+                .asConstraint(SAME_ROOM_BY_TYPE);
     }
 
     private boolean overlapsForbiddenWindow(LocalTime start, LocalTime end) {
@@ -244,25 +224,26 @@ public class SchoolConstraintProvider implements ConstraintProvider {
     private Constraint teacherMaxHoursPerWeek(ConstraintFactory constraintFactory) {
         // Count the number of assigned CourseAssignment objects per teacher and
         // penalize when the count exceeds Teacher.maxHoursPerWeek.
-        // Each CourseAssignment represents exactly 1 hour of teaching.
+        // Each CourseAssignment represents exactly 1 hour of teaching; rows past the
+        // course's required hours do not count (TeacherLoad.counts, as in the reports).
         return constraintFactory
                 .forEach(CourseAssignment.class)
-                .filter(a -> a.getTeacher() != null && a.getTimeslot() != null)
+                .filter(a -> a.getTeacher() != null && a.getTimeslot() != null && TeacherLoad.counts(a))
                 .groupBy(CourseAssignment::getTeacher,
                         ConstraintCollectors.count())
                 .filter((teacher, totalAssignments) -> totalAssignments > teacher.getMaxHoursPerWeek())
                 .penalize(HardSoftScore.ONE_SOFT,
                         (teacher, totalAssignments) -> totalAssignments - teacher.getMaxHoursPerWeek())
-                .asConstraint("Teacher exceeds max hours per week (hard)");
+                .asConstraint(TEACHER_MAX_HOURS);
     }
 
     private Constraint preferUsingTeachersWithMoreAvailability(ConstraintFactory factory) {
         return factory.forEach(CourseAssignment.class)
                 .filter(a -> a.getTeacher() != null)
                 .penalize(
-                        HardSoftScore.ONE_SOFT,
+                        HardSoftScore.ZERO,
                         a -> scarcityPenalty(a.getTeacher()))
-                .asConstraint("Prefer teachers with higher availability");
+                .asConstraint(TEACHER_AVAILABILITY);
     }
 
     private int scarcityPenalty(Teacher teacher) {
@@ -280,8 +261,8 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                         && !"laboratorio".equalsIgnoreCase(assignment.getGroup().getPreferredRoom().getType())
                         && (assignment.getRoom() == null
                                 || !assignment.getRoom().equals(assignment.getGroup().getPreferredRoom())))
-                .penalize(HardSoftScore.ofSoft(3))
-                .asConstraint("Prefer group's pre-assigned room (weight 3)");
+                .penalize(HardSoftScore.ZERO)
+                .asConstraint(PREFERRED_ROOM);
     }
 
     // ==================== SOFT CONSTRAINTS ====================
@@ -302,8 +283,8 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                     // Same day, different buildings
                     return !a1.getRoom().getBuilding().equals(a2.getRoom().getBuilding());
                 })
-                .penalize(HardSoftScore.ofSoft(1))
-                .asConstraint("Minimize teacher building changes (comfort)");
+                .penalize(HardSoftScore.ZERO)
+                .asConstraint(BUILDING_CHANGES);
     }
 
     private Constraint minimizeTeacherIdleGaps(ConstraintFactory constraintFactory) {
@@ -311,64 +292,20 @@ public class SchoolConstraintProvider implements ConstraintProvider {
         // SMART LOGIC:
         // 1. Only penalizes gaps when teacher IS available during gap hours
         // 2. No penalty if teacher is unavailable (gap is unavoidable)
-        // 3. Uses Joiners for better performance (pre-filters pairs)
-        // 4. Handles same-group vs different-group scenarios
+        // 3. One group per (teacher, day) instead of one pair per two classes: the
+        // collector keeps the day's occupied hours as a bitmask (O(1) per insert or
+        // retract) and each idle hour is counted exactly once
         return constraintFactory
-                .forEachUniquePair(CourseAssignment.class,
-                        // Performance optimization: pre-filter pairs with Joiners
-                        Joiners.equal(CourseAssignment::getTeacher),
-                        Joiners.equal(a -> a.getTimeslot() != null ? a.getTimeslot().getDayOfWeek() : null))
-                .filter((a1, a2) -> {
-                    // Additional filters after Joiners
-                    if (a1.getTeacher() == null || a1.getTimeslot() == null || a2.getTimeslot() == null)
-                        return false;
-
-                    // Must have gap > 1 hour (consecutive hours are fine)
-                    int hour1 = a1.getTimeslot().getHour();
-                    int hour2 = a2.getTimeslot().getHour();
-                    int hourDiff = Math.abs(hour1 - hour2);
-
-                    if (hourDiff <= 1)
-                        return false; // Consecutive or same hour - no gap
-
-                    // Check if teacher is available during ALL gap hours
-                    // If teacher is unavailable for ANY gap hour, the gap is unavoidable (no
-                    // penalty)
-                    int minHour = Math.min(hour1, hour2);
-                    int maxHour = Math.max(hour1, hour2);
-                    DayOfWeek day = a1.getTimeslot().getDayOfWeek();
-
-                    for (int gapHour = minHour + 1; gapHour < maxHour; gapHour++) {
-                        if (!a1.getTeacher().isAvailableAt(day, gapHour)) {
-                            return false; // Teacher unavailable during gap - no penalty
-                        }
-                    }
-
-                    // Teacher IS available for all gap hours - this gap is avoidable, penalize it
-                    return true;
-                })
-                .penalize(HardSoftScore.ONE_SOFT, (a1, a2) -> {
-                    int hour1 = a1.getTimeslot().getHour();
-                    int hour2 = a2.getTimeslot().getHour();
-                    int gapSize = Math.abs(hour1 - hour2) - 1; // Number of idle hours
-
-                    // SCENARIO 1: Same group, same day with gap
-                    // This is BAD for student experience (context switching within same day)
-                    // Example: Math 7-8, gap at 9, Math 10-11 (confusing for students)
-                    // NOTE: This should be caught by groupCourseMustBeConsecutiveOnSameDay (HARD)
-                    // But we add soft penalty as backup/reinforcement
-                    if (a1.getGroup() != null && a1.getGroup().equals(a2.getGroup())) {
-                        // Same group: 3x penalty (very bad for student experience)
-                        return gapSize * 3;
-                    }
-
-                    // SCENARIO 2: Different groups, same teacher, same day with gap
-                    // This is less critical but still undesirable for teacher comfort
-                    // Example: Teacher has Group A at 7-8, gap at 9, Group B at 10-11
-                    // Teacher has idle time but it's acceptable
-                    return gapSize; // Standard penalty (1x per gap hour)
-                })
-                .asConstraint("Minimize teacher idle gaps (availability-aware)");
+                .forEach(CourseAssignment.class)
+                .filter(a -> a.getTeacher() != null && a.getTimeslot() != null)
+                .groupBy(CourseAssignment::getTeacher,
+                        a -> a.getTimeslot().getDayOfWeek(),
+                        HourMaskCollector.hourMask(a -> 1L << a.getTimeslot().getHour()))
+                .filter((teacher, day, hours) -> HourMaskCollector.avoidableIdleHours(hours,
+                        teacher.getAvailabilityMask(day)) > 0)
+                .penalize(HardSoftScore.ONE_SOFT, (teacher, day, hours) -> HourMaskCollector
+                        .avoidableIdleHours(hours, teacher.getAvailabilityMask(day)))
+                .asConstraint(TEACHER_IDLE_GAPS);
     }
 
     private Constraint balanceTeacherWorkload(ConstraintFactory constraintFactory) {
@@ -381,7 +318,7 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                         && a.getTeacher().isQualifiedFor(a.getCourse().getName()))
                 .groupBy(CourseAssignment::getTeacher,
                         ConstraintCollectors.count())
-                .penalize(HardSoftScore.ONE_SOFT, (teacher, totalAssignments) -> {
+                .penalize(HardSoftScore.ZERO, (teacher, totalAssignments) -> {
                     int max = Math.max(1, teacher.getMaxHoursPerWeek());
                     double utilization = (double) totalAssignments / max;
 
@@ -398,7 +335,7 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                         return (int) Math.round(5 + (utilization - 1.0) * 20);
                     }
                 })
-                .asConstraint("Balance teacher workload gently");
+                .asConstraint(BALANCE_WORKLOAD);
     }
 
     private Constraint limitNonBasicasCoursesToTwoDaysPerGroup(ConstraintFactory constraintFactory) {
@@ -406,9 +343,8 @@ public class SchoolConstraintProvider implements ConstraintProvider {
         // all hours into at most 2 different days per group.
         // This improves focus and reduces context switching for specialized/technical
         // courses.
-        // Weight: 15 (very strong preference to concentrate non-BASICAS courses)
-        // Kept as SOFT to maintain solver flexibility and avoid infeasibility
-        // If you want to make this HARD (guaranteed), change ofSoft(15) to ONE_HARD
+        // Penalty: one per day beyond 2, times the weight (0hard/15soft for a very
+        // strong preference; 1hard/0soft to make it HARD)
         return constraintFactory
                 .forEach(CourseAssignment.class)
                 .filter(a -> a.getTimeslot() != null
@@ -418,13 +354,8 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                         CourseAssignment::getCourse,
                         ConstraintCollectors.countDistinct(a -> a.getTimeslot().getDayOfWeek()))
                 .filter((group, course, distinctDays) -> distinctDays > 2)
-                .penalize(HardSoftScore.ofSoft(15), (group, course, distinctDays) -> {
-                    // Penalty increases with number of days beyond 2
-                    // 3 days = 15 points, 4 days = 30 points, 5 days = 45 points
-                    int excessDays = distinctDays - 2;
-                    return excessDays * 15;
-                })
-                .asConstraint("Limit non-BASICAS courses to at most 2 days per group");
+                .penalize(HardSoftScore.ZERO, (group, course, distinctDays) -> distinctDays - 2)
+                .asConstraint(NON_BASICAS_DAYS);
     }
 
     private Constraint encourageAlternativeQualifiedTeachers(ConstraintFactory constraintFactory) {
@@ -438,7 +369,7 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                         && a.getTeacher().isQualifiedFor(a.getCourse().getName()))
                 .groupBy(CourseAssignment::getTeacher,
                         ConstraintCollectors.count())
-                .penalize(HardSoftScore.ONE_SOFT, (teacher, totalAssignments) -> {
+                .penalize(HardSoftScore.ZERO, (teacher, totalAssignments) -> {
                     int max = Math.max(1, teacher.getMaxHoursPerWeek());
                     int remaining = Math.max(0, max - totalAssignments);
 
@@ -446,7 +377,7 @@ public class SchoolConstraintProvider implements ConstraintProvider {
                     // Divided by 3 to make this a very weak preference
                     return remaining / 3;
                 })
-                .asConstraint("Encourage distribution among qualified teachers");
+                .asConstraint(ALTERNATIVE_TEACHERS);
     }
 
 }
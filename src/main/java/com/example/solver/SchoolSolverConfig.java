@@ -1,18 +1,172 @@
 package com.example.solver;
 
 import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.heuristic.selector.move.MoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.PillarSwapMoveSelectorConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
+import ai.timefold.solver.core.config.phase.PhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.example.domain.BlockSchedule;
 import com.example.domain.SchoolSchedule;
-import java.io.File;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solver configurations. solverConfig.xml holds the domain, constraints and
+ * move selectors; a {@link Profile} derives the phases and limits for one use
+ * case from it. Everything is read from the classpath, so it also works from a
+ * packaged jar.
+ */
 public class SchoolSolverConfig {
 
+    /** Environment variable that selects the profile when there is no --profile flag. */
+    public static final String PROFILE_ENV = "SOLVER_PROFILE";
+
+    /**
+     * Trade-off between latency and quality.
+     * <ul>
+     * <li>default: solverConfig.xml unchanged</li>
+     * <li>feasibility-fast: hard constraints only (see {@link #applyWeights}),
+     * stop at the first feasible schedule, a few minutes at most</li>
+     * <li>nightly-quality: local search to feasibility, then a second local
+     * search with pillar (block) swaps that keeps improving the soft score for
+     * hours</li>
+     * <li>repair: warm start from an existing (mostly assigned) schedule with
+     * tight limits, for small fixes after a data change</li>
+     * </ul>
+     */
+    public enum Profile {
+        DEFAULT("default"),
+        FEASIBILITY_FAST("feasibility-fast"),
+        NIGHTLY_QUALITY("nightly-quality"),
+        REPAIR("repair");
+
+        private final String id;
+
+        Profile(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public static Profile of(String id) {
+            for (Profile profile : values()) {
+                if (profile.id.equalsIgnoreCase(id) || profile.name().equalsIgnoreCase(id)) {
+                    return profile;
+                }
+            }
+            throw new IllegalArgumentException("Unknown solver profile '" + id + "', expected one of "
+                    + Arrays.stream(values()).map(Profile::getId).toList());
+        }
+    }
+
+    /**
+     * Profile from a {@code --profile=NAME} argument, else from the
+     * SOLVER_PROFILE environment variable, else DEFAULT.
+     */
+    public static Profile selectProfile(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--profile=")) {
+                return Profile.of(arg.substring("--profile=".length()));
+            }
+        }
+        String env = System.getenv(PROFILE_ENV);
+        return env == null || env.isBlank() ? Profile.DEFAULT : Profile.of(env.trim());
+    }
+
     public static SolverFactory<SchoolSchedule> buildSolverFactory() {
-        try {
-            File configFile = new File(SchoolSolverConfig.class.getClassLoader()
-                    .getResource("solverConfig.xml").toURI());
-            return SolverFactory.createFromXmlFile(configFile);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load solver configuration", e);
+        return buildSolverFactory(Profile.DEFAULT);
+    }
+
+    public static SolverFactory<SchoolSchedule> buildSolverFactory(Profile profile) {
+        return SolverFactory.create(buildSolverConfig(profile));
+    }
+
+    /**
+     * The solverConfig.xml configuration as an object, for callers that derive
+     * their own variants from it (e.g. PortfolioSolver).
+     */
+    public static SolverConfig buildSolverConfig() {
+        return SolverConfig.createFromXmlResource("solverConfig.xml");
+    }
+
+    /** solverConfig.xml with the phases and limits of {@code profile}. */
+    public static SolverConfig buildSolverConfig(Profile profile) {
+        SolverConfig base = buildSolverConfig();
+        PhaseConfig<?> construction = base.getPhaseConfigList().get(0);
+        LocalSearchPhaseConfig localSearch = (LocalSearchPhaseConfig) base.getPhaseConfigList().get(1);
+        switch (profile) {
+            case FEASIBILITY_FAST: {
+                LocalSearchPhaseConfig search = localSearch.copyConfig();
+                search.setTerminationConfig(new TerminationConfig()
+                        .withBestScoreFeasible(true)
+                        .withUnimprovedSecondsSpentLimit(60L));
+                return base.withPhases(construction, search)
+                        .withTerminationConfig(new TerminationConfig().withMinutesSpentLimit(5L));
+            }
+            case NIGHTLY_QUALITY: {
+                LocalSearchPhaseConfig feasibility = localSearch.copyConfig();
+                feasibility.setTerminationConfig(new TerminationConfig()
+                        .withBestScoreFeasible(true)
+                        .withUnimprovedMinutesSpentLimit(20L));
+                LocalSearchPhaseConfig polish = localSearch.copyConfig();
+                polish.setMoveSelectorConfig(withPillarSwaps(polish.getMoveSelectorConfig()));
+                polish.setAcceptorConfig(new LocalSearchAcceptorConfig().withLateAcceptanceSize(2000));
+                polish.setTerminationConfig(new TerminationConfig().withUnimprovedMinutesSpentLimit(45L));
+                return base.withPhases(construction, feasibility, polish)
+                        .withTerminationConfig(new TerminationConfig().withHoursSpentLimit(8L));
+            }
+            case REPAIR: {
+                // The construction heuristic only touches unassigned rows, so a
+                // loaded schedule is kept and only the broken parts move
+                LocalSearchPhaseConfig search = localSearch.copyConfig();
+                search.setAcceptorConfig(new LocalSearchAcceptorConfig().withEntityTabuSize(7));
+                search.setTerminationConfig(new TerminationConfig()
+                        .withUnimprovedSecondsSpentLimit(15L));
+                return base.withPhases(construction, search)
+                        .withTerminationConfig(new TerminationConfig().withSecondsSpentLimit(60L));
+            }
+            default:
+                return base;
+        }
+    }
+
+    /**
+     * Constraint weights of {@code profile} on top of the schedule's own:
+     * feasibility-fast zeroes every soft constraint, so Timefold skips them
+     * (the idle-gap groupBy is the most expensive). The other profiles keep
+     * the schedule's weights.
+     */
+    public static void applyWeights(Profile profile, SchoolSchedule schedule) {
+        if (profile == Profile.FEASIBILITY_FAST) {
+            schedule.setConstraintWeightOverrides(ConstraintWeights.hardOnly(schedule.getConstraintWeightOverrides()));
         }
     }
+
+    /**
+     * Adds a timeslot pillar swap (all assignments that share a timeslot swap
+     * with those of another, i.e. whole blocks move) to the union of moves.
+     */
+    private static MoveSelectorConfig<?> withPillarSwaps(MoveSelectorConfig<?> moves) {
+        List<MoveSelectorConfig> selectors = new ArrayList<>();
+        if (moves instanceof UnionMoveSelectorConfig union) {
+            selectors.addAll(union.getMoveSelectorList());
+        } else if (moves != null) {
+            selectors.add(moves);
+        }
+        selectors.add(new PillarSwapMoveSelectorConfig().withVariableNameIncludes("timeslot"));
+        return new UnionMoveSelectorConfig(selectors);
+    }
+
+    /** Solver for the block model (BlockSchedule), see blockSolverConfig.xml. */
+    public static SolverFactory<BlockSchedule> buildBlockSolverFactory() {
+        return SolverFactory.createFromXmlResource("blockSolverConfig.xml");
+    }
 }
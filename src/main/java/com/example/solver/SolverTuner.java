@@ -0,0 +1,587 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.heuristic.selector.move.MoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.factory.MoveIteratorFactoryConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.ChangeMoveSelectorConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
+import ai.timefold.solver.core.config.localsearch.decider.forager.LocalSearchForagerConfig;
+import ai.timefold.solver.core.config.phase.PhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import ai.timefold.solver.core.impl.io.jaxb.SolverConfigIO;
+import com.example.data.DemoDataGenerator;
+import com.example.data.ScheduleSnapshot;
+import com.example.data.SyntheticDataGenerator;
+import com.example.domain.SchoolSchedule;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Searches local search acceptor, forager and move selector weights for the
+ * configuration that scores best on a suite of datasets.
+ *
+ * Every candidate runs on every dataset with the same time budget and solver
+ * seed, with the local search termination removed so the soft score counts
+ * too (as in PortfolioSolver). Runs are spread over {@code threads} single
+ * threaded solvers, so keep {@code threads} at or below the number of cores
+ * for a fair budget. A candidate's result is the sum of its scores over the
+ * datasets.
+ *
+ * Search strategies:
+ * <ul>
+ * <li>grid: every combination of the space, in order</li>
+ * <li>random: {@code trials} combinations drawn at random</li>
+ * <li>bayes: a quarter of the trials at random, then batches chosen by a
+ * kernel regression of the results so far plus an exploration bonus for
+ * regions with few results (bayesian-lite, no external library)</li>
+ * </ul>
+ * The tuner's own seed is fixed as well, so rerunning it after a constraint
+ * change tries the same candidates.
+ */
+public class SolverTuner {
+
+    public static final String LATE_ACCEPTANCE_SIZE = "lateAcceptanceSize";
+    public static final String ENTITY_TABU_SIZE = "entityTabuSize";
+    public static final String ACCEPTED_COUNT_LIMIT = "acceptedCountLimit";
+    /** Prefix of the fixedProbabilityWeight parameter of each local search union child. */
+    public static final String WEIGHT_PREFIX = "weight.";
+
+    public enum Search {
+        GRID,
+        RANDOM,
+        BAYES
+    }
+
+    /** A tuned setting and the values to try. */
+    public record Parameter(String name, List<String> values) {
+    }
+
+    /** One candidate and its score per dataset; {@code total} is null when a run failed. */
+    public record Trial(Map<String, String> parameters, Map<String, HardSoftScore> scores, HardSoftScore total) {
+    }
+
+    private final SolverConfig baseConfig;
+    private final Map<String, Supplier<SchoolSchedule>> datasets = new LinkedHashMap<>();
+    private List<Parameter> space;
+    private Search search = Search.RANDOM;
+    private int trials = 20;
+    private long secondsPerRun = 30;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 1L;
+
+    public SolverTuner(SolverConfig baseConfig) {
+        this.baseConfig = baseConfig;
+        this.space = defaultSpace(baseConfig);
+    }
+
+    public void addDataset(String name, Supplier<SchoolSchedule> problem) {
+        datasets.put(name, problem);
+    }
+
+    public List<Parameter> getSpace() {
+        return space;
+    }
+
+    public void setSpace(List<Parameter> space) {
+        this.space = space;
+    }
+
+    public void setSearch(Search search) {
+        this.search = search;
+    }
+
+    /**
+     * Number of candidates for random and bayes search, capped at the size of
+     * the space; grid always runs the whole space.
+     */
+    public void setTrials(int trials) {
+        this.trials = trials;
+    }
+
+    public void setSecondsPerRun(long secondsPerRun) {
+        this.secondsPerRun = secondsPerRun;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Acceptor and forager settings around the solverConfig.xml values, and a
+     * weight of 0.5, 1 or 2 for every move selector of the local search union.
+     */
+    public static List<Parameter> defaultSpace(SolverConfig config) {
+        List<Parameter> space = new ArrayList<>();
+        space.add(new Parameter(LATE_ACCEPTANCE_SIZE, List.of("250", "500", "1000", "2000", "4000")));
+        space.add(new Parameter(ENTITY_TABU_SIZE, List.of("0", "5", "7", "11")));
+        space.add(new Parameter(ACCEPTED_COUNT_LIMIT, List.of("1", "2", "4")));
+        LocalSearchPhaseConfig localSearch = firstLocalSearch(config);
+        if (localSearch != null && localSearch.getMoveSelectorConfig() instanceof UnionMoveSelectorConfig union) {
+            for (String label : selectorLabels(union)) {
+                space.add(new Parameter(WEIGHT_PREFIX + label, List.of("0.5", "1", "2")));
+            }
+        }
+        return space;
+    }
+
+    /**
+     * Short name of each union child, e.g. {@code roomChange} or {@code kempeChain};
+     * a repeated name gets its position appended.
+     */
+    static List<String> selectorLabels(UnionMoveSelectorConfig union) {
+        List<String> labels = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        List<MoveSelectorConfig> selectors = union.getMoveSelectorList();
+        for (int i = 0; i < selectors.size(); i++) {
+            MoveSelectorConfig<?> selector = selectors.get(i);
+            String label;
+            if (selector instanceof MoveIteratorFactoryConfig factory
+                    && factory.getMoveIteratorFactoryClass() != null) {
+                label = factory.getMoveIteratorFactoryClass().getSimpleName().replace("MoveIteratorFactory", "");
+            } else if (selector instanceof ChangeMoveSelectorConfig change && change.getValueSelectorConfig() != null
+                    && change.getValueSelectorConfig().getVariableName() != null) {
+                label = change.getValueSelectorConfig().getVariableName() + "Change";
+            } else {
+                label = selector.getClass().getSimpleName().replace("MoveSelectorConfig", "");
+            }
+            label = Character.toLowerCase(label.charAt(0)) + label.substring(1);
+            labels.add(seen.add(label) ? label : label + i);
+        }
+        return labels;
+    }
+
+    /** {@code base} with {@code parameters} applied to every local search phase. */
+    public static SolverConfig configure(SolverConfig base, Map<String, String> parameters) {
+        List<PhaseConfig> phases = new ArrayList<>();
+        for (PhaseConfig<?> phase : base.getPhaseConfigList()) {
+            PhaseConfig<?> copy = phase.copyConfig();
+            if (copy instanceof LocalSearchPhaseConfig localSearch) {
+                apply(localSearch, parameters);
+            }
+            phases.add(copy);
+        }
+        return new SolverConfig(base).withPhases(phases.toArray(new PhaseConfig[0]));
+    }
+
+    private static void apply(LocalSearchPhaseConfig localSearch, Map<String, String> parameters) {
+        LocalSearchAcceptorConfig acceptor = localSearch.getAcceptorConfig() == null ? new LocalSearchAcceptorConfig()
+                : localSearch.getAcceptorConfig().copyConfig();
+        LocalSearchForagerConfig forager = localSearch.getForagerConfig() == null ? new LocalSearchForagerConfig()
+                : localSearch.getForagerConfig().copyConfig();
+        if (parameters.containsKey(LATE_ACCEPTANCE_SIZE)) {
+            acceptor.setLateAcceptanceSize(Integer.parseInt(parameters.get(LATE_ACCEPTANCE_SIZE)));
+        }
+        if (parameters.containsKey(ENTITY_TABU_SIZE)) {
+            int size = Integer.parseInt(parameters.get(ENTITY_TABU_SIZE));
+            acceptor.setEntityTabuSize(size > 0 ? size : null);
+        }
+        if (parameters.containsKey(ACCEPTED_COUNT_LIMIT)) {
+            forager.setAcceptedCountLimit(Integer.parseInt(parameters.get(ACCEPTED_COUNT_LIMIT)));
+        }
+        localSearch.setAcceptorConfig(acceptor);
+        localSearch.setForagerConfig(forager);
+        if (localSearch.getMoveSelectorConfig() instanceof UnionMoveSelectorConfig union) {
+            List<String> labels = selectorLabels(union);
+            List<MoveSelectorConfig> selectors = new ArrayList<>();
+            List<MoveSelectorConfig> original = union.getMoveSelectorList();
+            for (int i = 0; i < labels.size(); i++) {
+                MoveSelectorConfig<?> selector = (MoveSelectorConfig<?>) original.get(i).copyConfig();
+                String weight = parameters.get(WEIGHT_PREFIX + labels.get(i));
+                if (weight != null) {
+                    selector.setFixedProbabilityWeight(Double.parseDouble(weight));
+                }
+                selectors.add(selector);
+            }
+            localSearch.setMoveSelectorConfig(union.copyConfig().withMoveSelectorList(selectors));
+        }
+    }
+
+    /** Runs the search and returns the trials, best first. */
+    public List<Trial> tune() {
+        if (datasets.isEmpty()) {
+            throw new IllegalStateException("No datasets to tune on");
+        }
+        List<Trial> results = new ArrayList<>();
+        Random random = new Random(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "solver-tuner");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            if (search == Search.GRID) {
+                List<Map<String, String>> grid = grid(space);
+                System.out.println("Grid search: " + grid.size() + " candidates x " + datasets.size() + " datasets x "
+                        + secondsPerRun + "s on " + threads + " threads");
+                results.addAll(evaluate(grid, executor));
+            } else {
+                Set<Map<String, String>> tried = new HashSet<>();
+                // A narrow space can hold fewer distinct candidates than requested
+                int budget = (int) Math.min(trials, spaceSize());
+                if (budget < trials) {
+                    System.out.println("Space holds only " + budget + " candidates, running " + budget + " trials");
+                }
+                int initial = search == Search.BAYES ? Math.max(Math.min(budget, threads), budget / 4) : budget;
+                System.out.println(search + " search: " + budget + " candidates x " + datasets.size() + " datasets x "
+                        + secondsPerRun + "s on " + threads + " threads");
+                results.addAll(evaluate(sample(random, initial, tried), executor));
+                while (search == Search.BAYES && results.size() < budget) {
+                    List<Map<String, String>> batch = propose(results, random,
+                            Math.min(threads, budget - results.size()), tried);
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    results.addAll(evaluate(batch, executor));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        results.sort(RANKING);
+        return results;
+    }
+
+    private static final Comparator<Trial> RANKING = Comparator.comparing(Trial::total,
+            Comparator.nullsLast(Comparator.<HardSoftScore> reverseOrder()));
+
+    /** Every combination of the space, first parameter varying slowest. */
+    static List<Map<String, String>> grid(List<Parameter> space) {
+        List<Map<String, String>> grid = new ArrayList<>();
+        grid.add(new LinkedHashMap<>());
+        for (Parameter parameter : space) {
+            List<Map<String, String>> next = new ArrayList<>();
+            for (Map<String, String> partial : grid) {
+                for (String value : parameter.values()) {
+                    Map<String, String> candidate = new LinkedHashMap<>(partial);
+                    candidate.put(parameter.name(), value);
+                    next.add(candidate);
+                }
+            }
+            grid = next;
+        }
+        return grid;
+    }
+
+    /** Number of distinct candidates in the space, Long.MAX_VALUE when it does not fit a long. */
+    long spaceSize() {
+        long size = 1;
+        for (Parameter parameter : space) {
+            int values = parameter.values().size();
+            if (values == 0) {
+                return 0;
+            }
+            if (size > Long.MAX_VALUE / values) {
+                return Long.MAX_VALUE;
+            }
+            size *= values;
+        }
+        return size;
+    }
+
+    private List<Map<String, String>> sample(Random random, int count, Set<Map<String, String>> tried) {
+        long size = spaceSize();
+        List<Map<String, String>> candidates = new ArrayList<>();
+        while (candidates.size() < count && tried.size() < size) {
+            Map<String, String> candidate = new LinkedHashMap<>();
+            for (Parameter parameter : space) {
+                candidate.put(parameter.name(), parameter.values().get(random.nextInt(parameter.values().size())));
+            }
+            if (tried.add(candidate)) {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Next batch for bayes search: of a few hundred random candidates, those with
+     * the best predicted rank plus an exploration bonus. The prediction is a
+     * Gaussian kernel average of the rank of every finished trial, over parameter
+     * positions scaled to [0, 1]; picked candidates count as finished with their
+     * prediction, so one batch spreads out.
+     */
+    private List<Map<String, String>> propose(List<Trial> results, Random random, int batch,
+            Set<Map<String, String>> tried) {
+        List<Trial> ranked = new ArrayList<>(results);
+        ranked.sort(RANKING);
+        List<double[]> points = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            points.add(position(ranked.get(i).parameters()));
+            values.add(1.0 - (double) i / Math.max(1, ranked.size() - 1));
+        }
+        List<Map<String, String>> pool = sample(random, 256, new HashSet<>(tried));
+        List<Map<String, String>> chosen = new ArrayList<>();
+        while (chosen.size() < batch && !pool.isEmpty()) {
+            Map<String, String> best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double bestMean = 0;
+            for (Map<String, String> candidate : pool) {
+                double[] x = position(candidate);
+                double weights = 0;
+                double sum = 0;
+                for (int i = 0; i < points.size(); i++) {
+                    double w = Math.exp(-squaredDistance(x, points.get(i)) / (2 * 0.3 * 0.3));
+                    weights += w;
+                    sum += w * values.get(i);
+                }
+                double mean = weights > 0 ? sum / weights : 0.5;
+                double value = mean + 0.5 / Math.sqrt(1.0 + weights);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestMean = mean;
+                    best = candidate;
+                }
+            }
+            pool.remove(best);
+            chosen.add(best);
+            tried.add(best);
+            points.add(position(best));
+            values.add(bestMean);
+        }
+        return chosen;
+    }
+
+    private double[] position(Map<String, String> candidate) {
+        double[] x = new double[space.size()];
+        for (int i = 0; i < space.size(); i++) {
+            Parameter parameter = space.get(i);
+            int index = parameter.values().indexOf(candidate.get(parameter.name()));
+            x[i] = parameter.values().size() > 1 ? (double) index / (parameter.values().size() - 1) : 0;
+        }
+        return x;
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += (a[i] - b[i]) * (a[i] - b[i]);
+        }
+        return sum;
+    }
+
+    private List<Trial> evaluate(List<Map<String, String>> candidates, ExecutorService executor) {
+        List<Map<String, Future<HardSoftScore>>> futures = new ArrayList<>();
+        for (Map<String, String> candidate : candidates) {
+            SolverConfig config = trialConfig(candidate);
+            Map<String, Future<HardSoftScore>> runs = new LinkedHashMap<>();
+            datasets.forEach((name, problem) -> runs.put(name, executor.submit(() -> SolverFactory
+                    .<SchoolSchedule> create(config).buildSolver().solve(problem.get()).getScore())));
+            futures.add(runs);
+        }
+        List<Trial> trials = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Map<String, HardSoftScore> scores = new LinkedHashMap<>();
+            HardSoftScore total = HardSoftScore.ZERO;
+            for (Map.Entry<String, Future<HardSoftScore>> run : futures.get(i).entrySet()) {
+                try {
+                    HardSoftScore score = run.getValue().get();
+                    scores.put(run.getKey(), score);
+                    total = total == null || score == null ? null : total.add(score);
+                } catch (ExecutionException e) {
+                    System.err.println("Run failed for " + candidates.get(i) + " on " + run.getKey() + ": "
+                            + e.getCause());
+                    total = null;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while tuning", e);
+                }
+            }
+            Trial trial = new Trial(candidates.get(i), scores, total);
+            System.out.println("  " + total + "  " + format(trial.parameters()));
+            trials.add(trial);
+        }
+        return trials;
+    }
+
+    /** Candidate configuration with the tuning budget and seed, and no phase termination. */
+    SolverConfig trialConfig(Map<String, String> parameters) {
+        SolverConfig config = configure(baseConfig, parameters)
+                .withRandomSeed(seed)
+                .withTerminationConfig(new TerminationConfig().withSecondsSpentLimit(secondsPerRun));
+        for (PhaseConfig<?> phase : config.getPhaseConfigList()) {
+            if (phase instanceof LocalSearchPhaseConfig) {
+                phase.setTerminationConfig(null);
+            }
+        }
+        return config;
+    }
+
+    private static LocalSearchPhaseConfig firstLocalSearch(SolverConfig config) {
+        if (config.getPhaseConfigList() == null) {
+            return null;
+        }
+        for (PhaseConfig<?> phase : config.getPhaseConfigList()) {
+            if (phase instanceof LocalSearchPhaseConfig localSearch) {
+                return localSearch;
+            }
+        }
+        return null;
+    }
+
+    private static String format(Map<String, String> parameters) {
+        StringBuilder text = new StringBuilder();
+        parameters.forEach((name, value) -> text.append(text.length() == 0 ? "" : " ").append(name).append('=')
+                .append(value));
+        return text.toString();
+    }
+
+    public static void printTable(List<Trial> ranked, PrintStream out) {
+        out.println("Rank  Total score          Parameters");
+        for (int i = 0; i < ranked.size(); i++) {
+            Trial trial = ranked.get(i);
+            out.printf("%4d  %-20s %s%n", i + 1, trial.total() == null ? "failed" : trial.total(),
+                    format(trial.parameters()));
+        }
+    }
+
+    /** Ranked table as CSV: rank, total, one column per dataset, then one per parameter. */
+    public static void writeCsv(List<Trial> ranked, Path file) throws IOException {
+        if (ranked.isEmpty()) {
+            return;
+        }
+        List<String> datasetNames = new ArrayList<>(ranked.get(0).scores().keySet());
+        List<String> parameterNames = new ArrayList<>(ranked.get(0).parameters().keySet());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("rank,total," + String.join(",", datasetNames) + "," + String.join(",", parameterNames)
+                    + "\n");
+            for (int i = 0; i < ranked.size(); i++) {
+                Trial trial = ranked.get(i);
+                List<String> row = new ArrayList<>();
+                row.add(String.valueOf(i + 1));
+                row.add(trial.total() == null ? "failed" : trial.total().toString());
+                for (String name : datasetNames) {
+                    HardSoftScore score = trial.scores().get(name);
+                    row.add(score == null ? "failed" : score.toString());
+                }
+                for (String name : parameterNames) {
+                    row.add(trial.parameters().get(name));
+                }
+                writer.write(String.join(",", row) + "\n");
+            }
+        }
+    }
+
+    /** solverConfig.xml with {@code parameters} applied, terminations unchanged. */
+    public static void writeConfig(SolverConfig base, Map<String, String> parameters, Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            new SolverConfigIO().write(configure(base, parameters), writer);
+        }
+    }
+
+    /**
+     * Dataset from a suite entry: {@code demo}, {@code synthetic:SEED[:SCALE]} or
+     * the path of a snapshot file.
+     */
+    static Supplier<SchoolSchedule> dataset(String spec) {
+        if (spec.equals("demo")) {
+            return DemoDataGenerator::generateDemoData;
+        }
+        if (spec.startsWith("synthetic:")) {
+            String[] parts = spec.split(":");
+            long datasetSeed = Long.parseLong(parts[1]);
+            int scale = parts.length > 2 ? Integer.parseInt(parts[2]) : 1;
+            return () -> {
+                SyntheticDataGenerator generator = new SyntheticDataGenerator();
+                generator.setSeed(datasetSeed);
+                generator.setScale(scale);
+                return generator.generate();
+            };
+        }
+        Path path = Path.of(spec);
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Unknown dataset '" + spec
+                    + "', expected demo, synthetic:SEED[:SCALE] or a snapshot file");
+        }
+        return () -> {
+            try {
+                return ScheduleSnapshot.read(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * key=value arguments: {@code search=grid|random|bayes}, {@code trials=20},
+     * {@code seconds=30} (per run), {@code threads=N}, {@code seed=1},
+     * {@code datasets=demo,synthetic:7:2,file.snap}, {@code out=tuning} (output
+     * directory), {@code profile=NAME} (base configuration) and
+     * {@code space.NAME=v1,v2,...} to replace or add a parameter's values.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        SolverConfig base = SchoolSolverConfig.buildSolverConfig(
+                SchoolSolverConfig.Profile.of(options.getOrDefault("profile", "default")));
+        SolverTuner tuner = new SolverTuner(base);
+        tuner.setSearch(Search.valueOf(options.getOrDefault("search", "random").toUpperCase()));
+        if (options.containsKey("trials"))
+            tuner.setTrials(Integer.parseInt(options.get("trials")));
+        if (options.containsKey("seconds"))
+            tuner.setSecondsPerRun(Long.parseLong(options.get("seconds")));
+        if (options.containsKey("threads"))
+            tuner.setThreads(Integer.parseInt(options.get("threads")));
+        if (options.containsKey("seed"))
+            tuner.setSeed(Long.parseLong(options.get("seed")));
+        for (String spec : options.getOrDefault("datasets", "demo").split(",")) {
+            tuner.addDataset(spec.trim(), dataset(spec.trim()));
+        }
+        Map<String, Parameter> space = new LinkedHashMap<>();
+        for (Parameter parameter : tuner.getSpace()) {
+            space.put(parameter.name(), parameter);
+        }
+        options.forEach((key, value) -> {
+            if (key.startsWith("space.")) {
+                String name = key.substring("space.".length());
+                space.put(name, new Parameter(name, List.of(value.split(","))));
+            }
+        });
+        tuner.setSpace(new ArrayList<>(space.values()));
+
+        List<Trial> ranked = tuner.tune();
+        System.out.println();
+        printTable(ranked, System.out);
+        Path out = Path.of(options.getOrDefault("out", "tuning"));
+        Files.createDirectories(out);
+        writeCsv(ranked, out.resolve("tuning-results.csv"));
+        if (!ranked.isEmpty() && ranked.get(0).total() != null) {
+            writeConfig(base, ranked.get(0).parameters(), out.resolve("bestSolverConfig.xml"));
+            System.out.println("Best configuration written to: " + out.resolve("bestSolverConfig.xml"));
+        }
+        System.out.println("Ranked table written to: " + out.resolve("tuning-results.csv"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How far a candidate timeslot is from where an assignment belongs, for
+ * nearby selection (lower is nearer).
+ *
+ * The group's other hours of the same course decide: a slot right before or
+ * after one of them is distance 0, a later slot on the same day grows with the
+ * gap, and a day without any of them is {@link #OTHER_DAY}. A slot taken by one
+ * of those hours is {@link #CLASH}, and a slot outside the assigned teacher's
+ * availability adds {@link #OUTSIDE_AVAILABILITY}. Sibling timeslots are read
+ * when asked, so one meter serves a whole phase.
+ */
+public class TimeslotDistanceMeter implements NearbyDistanceMeter<CourseAssignment, Timeslot> {
+
+    public static final double OTHER_DAY = 10.0;
+    public static final double CLASH = 20.0;
+    public static final double OUTSIDE_AVAILABILITY = 100.0;
+
+    private final Map<SiblingKey, List<CourseAssignment>> siblings = new HashMap<>();
+
+    public TimeslotDistanceMeter(List<CourseAssignment> assignments) {
+        for (CourseAssignment assignment : assignments) {
+            siblings.computeIfAbsent(new SiblingKey(assignment), k -> new ArrayList<>()).add(assignment);
+        }
+    }
+
+    @Override
+    public double getNearbyDistance(CourseAssignment origin, Timeslot destination) {
+        double distance = OTHER_DAY;
+        for (CourseAssignment sibling : siblings.getOrDefault(new SiblingKey(origin), List.of())) {
+            Timeslot timeslot = sibling.getTimeslot();
+            if (sibling == origin || timeslot == null || timeslot.getDayOfWeek() != destination.getDayOfWeek()) {
+                continue;
+            }
+            int gap = Math.abs(timeslot.getHour() - destination.getHour());
+            if (gap == 0) {
+                distance = CLASH;
+                break;
+            }
+            distance = Math.min(distance, gap - 1);
+        }
+        Teacher teacher = origin.getTeacher();
+        if (teacher != null && !teacher.isAvailableAt(destination)) {
+            distance += OUTSIDE_AVAILABILITY;
+        }
+        return distance;
+    }
+
+    private record SiblingKey(Group group, Course course) {
+
+        SiblingKey(CourseAssignment assignment) {
+            this(assignment.getGroup(), assignment.getCourse());
+        }
+    }
+}
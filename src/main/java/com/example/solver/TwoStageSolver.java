@@ -0,0 +1,103 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.example.domain.SchoolSchedule;
+
+import java.util.function.Consumer;
+
+/**
+ * Solves in two stages: first with every SOFT constraint zero-weighted
+ * through the schedule's ConstraintWeightOverrides (Timefold does not
+ * evaluate zero-weight constraints, so the idle-gap groupBy costs nothing)
+ * until the schedule is feasible, then from that result with the normal
+ * weights to polish the soft score.
+ *
+ * Both stages use the same configuration. The first also stops at the first
+ * feasible score, or when the hard score has not improved for
+ * {@code stageOneUnimprovedSeconds}: soft constraints such as the idle-gap rule
+ * also steer the search towards consecutive hours, so without them the search
+ * can stall a few hard points short. The second stage gets whatever remains of
+ * the configured time spent limit.
+ */
+public class TwoStageSolver {
+
+    public static final long DEFAULT_STAGE_ONE_UNIMPROVED_SECONDS = 30;
+
+    private final SolverConfig config;
+    private long stageOneUnimprovedSeconds = DEFAULT_STAGE_ONE_UNIMPROVED_SECONDS;
+    private Consumer<Solver<SchoolSchedule>> solverCustomizer = solver -> {
+    };
+
+    public TwoStageSolver(SolverConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Hook called on the solver of each stage before it starts, e.g. to attach
+     * event or phase listeners.
+     */
+    public void setSolverCustomizer(Consumer<Solver<SchoolSchedule>> solverCustomizer) {
+        this.solverCustomizer = solverCustomizer;
+    }
+
+    /** How long the hard-only stage may go without improving before stage 2 takes over. */
+    public void setStageOneUnimprovedSeconds(long stageOneUnimprovedSeconds) {
+        this.stageOneUnimprovedSeconds = stageOneUnimprovedSeconds;
+    }
+
+    public SchoolSchedule solve(SchoolSchedule schedule) {
+        ConstraintWeightOverrides<HardSoftScore> weights = schedule.getConstraintWeightOverrides();
+        long start = System.currentTimeMillis();
+
+        TerminationConfig base = config.getTerminationConfig() == null ? new TerminationConfig()
+                : config.getTerminationConfig().copyConfig();
+        schedule.setConstraintWeightOverrides(ConstraintWeights.hardOnly(weights));
+        SchoolSchedule feasible;
+        try {
+            feasible = solve(new SolverConfig(config).withTerminationConfig(base.copyConfig()
+                    .withBestScoreFeasible(true)
+                    .withUnimprovedSecondsSpentLimit(stageOneUnimprovedSeconds)), schedule);
+        } finally {
+            schedule.setConstraintWeightOverrides(weights);
+        }
+        long hardMillis = System.currentTimeMillis() - start;
+        System.out.println("Stage 1 (hard only): " + feasible.getScore() + " after " + hardMillis + " ms");
+
+        feasible.setConstraintWeightOverrides(weights);
+        SchoolSchedule solved = solve(new SolverConfig(config)
+                .withTerminationConfig(remainingTermination(base, hardMillis)), feasible);
+        System.out.println("Stage 2 (all constraints): " + solved.getScore() + " after "
+                + (System.currentTimeMillis() - start) + " ms");
+        return solved;
+    }
+
+    /**
+     * {@code base} with its time spent limit replaced by what is left after
+     * {@code elapsedMillis}, at least one second. Other limits are kept; without
+     * a time spent limit {@code base} is returned as a copy.
+     */
+    static TerminationConfig remainingTermination(TerminationConfig base, long elapsedMillis) {
+        Long limit = base.calculateTimeMillisSpentLimit();
+        TerminationConfig remaining = base.copyConfig();
+        if (limit != null) {
+            remaining.setSpentLimit(null);
+            remaining.setDaysSpentLimit(null);
+            remaining.setHoursSpentLimit(null);
+            remaining.setMinutesSpentLimit(null);
+            remaining.setSecondsSpentLimit(null);
+            remaining.setMillisecondsSpentLimit(Math.max(1000L, limit - elapsedMillis));
+        }
+        return remaining;
+    }
+
+    private SchoolSchedule solve(SolverConfig stageConfig, SchoolSchedule schedule) {
+        Solver<SchoolSchedule> solver = SolverFactory.<SchoolSchedule> create(stageConfig).buildSolver();
+        solverCustomizer.accept(solver);
+        return solver.solve(schedule);
+    }
+}
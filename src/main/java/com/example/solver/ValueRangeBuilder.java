@@ -0,0 +1,116 @@
+package com.example.solver;
+
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the per-entity teacher, room and timeslot value ranges of every
+ * CourseAssignment once at load.
+ *
+ * <ul>
+ * <li>teachers: only those qualified for the course, from a course name to
+ * teachers qualification index</li>
+ * <li>rooms: only those whose type satisfies the course's room requirement,
+ * from a requirement to rooms table</li>
+ * <li>timeslots: slots in which at least one candidate teacher is available
+ * and which no pinned assignment of the same group occupies. Availability and
+ * pinned occupation are one bitmask per day (bit h = hour h).</li>
+ * </ul>
+ *
+ * Ranges never depend on the current value of another planning variable, and
+ * assignments with the same candidates share one immutable list. Pinned
+ * assignments keep their own values. When nothing qualifies the full list is
+ * used so the solver can still build a best-effort schedule; FeasibilityChecker
+ * reports the cause.
+ */
+public final class ValueRangeBuilder {
+
+    private ValueRangeBuilder() {
+    }
+
+    public static void apply(SchoolSchedule schedule) {
+        List<Teacher> allTeachers = List.copyOf(schedule.getTeachers());
+        List<Room> allRooms = List.copyOf(schedule.getRooms());
+        List<Timeslot> timeslots = List.copyOf(schedule.getTimeslots());
+        Map<String, List<Teacher>> qualified = qualificationIndex(allTeachers);
+        Map<String, List<Room>> roomsByRequirement = new HashMap<>();
+
+        Map<Group, long[]> groupBlocked = new HashMap<>();
+        for (CourseAssignment a : schedule.getCourseAssignments()) {
+            if (a.isPinned() && a.getTimeslot() != null) {
+                groupBlocked.computeIfAbsent(a.getGroup(), k -> new long[7])[a.getTimeslot().getDayOfWeek()
+                        .ordinal()] |= 1L << a.getTimeslot().getHour();
+            }
+        }
+
+        Map<List<Object>, List<Timeslot>> timeslotCache = new HashMap<>();
+        long[] none = new long[7];
+        for (CourseAssignment a : schedule.getCourseAssignments()) {
+            List<Teacher> teachers = nonEmpty(qualified.getOrDefault(a.getCourse().getName(), List.of()), allTeachers);
+            List<Room> rooms = nonEmpty(roomsByRequirement.computeIfAbsent(a.getCourse().getRoomRequirement(),
+                    requirement -> allRooms.stream().filter(r -> r.satisfiesRequirement(requirement)).toList()),
+                    allRooms);
+            if (a.isPinned()) {
+                a.setTeacherRange(a.getTeacher() != null ? List.of(a.getTeacher()) : teachers);
+                a.setRoomRange(a.getRoom() != null ? List.of(a.getRoom()) : rooms);
+                if (a.getTimeslot() != null) {
+                    a.setTimeslotRange(List.of(a.getTimeslot()));
+                    continue;
+                }
+            } else {
+                a.setTeacherRange(teachers);
+                a.setRoomRange(rooms);
+            }
+            long[] blocked = groupBlocked.getOrDefault(a.getGroup(), none);
+            a.setTimeslotRange(timeslotCache.computeIfAbsent(List.of(a.getGroup(), a.getTeacherRange()), k -> {
+                long[] available = new long[7];
+                for (Teacher teacher : a.getTeacherRange()) {
+                    for (DayOfWeek day : DayOfWeek.values()) {
+                        available[day.ordinal()] |= teacher.getAvailabilityMask(day);
+                    }
+                }
+                List<Timeslot> range = new ArrayList<>();
+                for (Timeslot t : timeslots) {
+                    int day = t.getDayOfWeek().ordinal();
+                    long bit = 1L << t.getHour();
+                    if ((available[day] & ~blocked[day] & bit) != 0) {
+                        range.add(t);
+                    }
+                }
+                return range.isEmpty() ? timeslots : List.copyOf(range);
+            }));
+        }
+    }
+
+    /**
+     * Course name to the teachers qualified for it, in the order of
+     * {@code teachers}.
+     */
+    public static Map<String, List<Teacher>> qualificationIndex(List<Teacher> teachers) {
+        Map<String, List<Teacher>> index = new HashMap<>();
+        for (Teacher teacher : teachers) {
+            if (teacher.getQualifications() == null) {
+                continue;
+            }
+            for (String courseName : teacher.getQualifications()) {
+                index.computeIfAbsent(courseName, k -> new ArrayList<>()).add(teacher);
+            }
+        }
+        index.replaceAll((k, v) -> List.copyOf(v));
+        return index;
+    }
+
+    private static <T> List<T> nonEmpty(List<T> range, List<T> fallback) {
+        return range.isEmpty() ? fallback : range;
+    }
+}
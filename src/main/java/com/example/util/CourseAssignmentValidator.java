@@ -5,12 +5,17 @@ import java.util.List;
 import com.example.domain.Course;
 import com.example.domain.CourseAssignment;
 import com.example.domain.Teacher;
+import com.example.domain.TeacherLoadSnapshot;
 
 /**
  * Utility class for validating CourseAssignment constraints before creation.
  * This validator checks business rules such as teacher availability and hour
  * limits
  * prior to instantiating CourseAssignment objects.
+ *
+ * Each single-teacher method below makes one pass over the list; when checking
+ * many teachers, build a {@link TeacherLoadSnapshot} once with
+ * {@link #loadSnapshot(List)} and query that instead.
  */
 public class CourseAssignmentValidator {
 
@@ -25,17 +30,7 @@ public class CourseAssignmentValidator {
      */
     public static boolean canAssignCourse(Teacher teacher, Course course,
             List<CourseAssignment> existingAssignments) {
-        if (teacher == null || course == null) {
-            return false;
-        }
-
-        long hoursAssigned = existingAssignments.stream()
-                .filter(a -> teacher.equals(a.getTeacher()))
-                .filter(a -> a.getSequenceIndex() >= 0
-                        && a.getSequenceIndex() < a.getCourse().getRequiredHoursPerWeek())
-                .count();
-
-        return (hoursAssigned + course.getRequiredHoursPerWeek()) <= teacher.getMaxHoursPerWeek();
+        return loadSnapshot(existingAssignments).canAssignCourse(teacher, course);
     }
 
     /**
@@ -47,17 +42,7 @@ public class CourseAssignmentValidator {
      */
     public static int getTeacherRemainingHours(Teacher teacher,
             List<CourseAssignment> existingAssignments) {
-        if (teacher == null) {
-            return 0;
-        }
-
-        long hoursUsed = existingAssignments.stream()
-                .filter(a -> teacher.equals(a.getTeacher()))
-                .filter(a -> a.getSequenceIndex() >= 0
-                        && a.getSequenceIndex() < a.getCourse().getRequiredHoursPerWeek())
-                .count();
-
-        return Math.max(0, teacher.getMaxHoursPerWeek() - (int) hoursUsed);
+        return loadSnapshot(existingAssignments).getRemainingHours(teacher);
     }
 
     /**
@@ -69,14 +54,16 @@ public class CourseAssignmentValidator {
      */
     public static int getTeacherAssignedHours(Teacher teacher,
             List<CourseAssignment> existingAssignments) {
-        if (teacher == null) {
-            return 0;
-        }
+        return loadSnapshot(existingAssignments).getAssignedHours(teacher);
+    }
 
-        return (int) existingAssignments.stream()
-                .filter(a -> teacher.equals(a.getTeacher()))
-                .filter(a -> a.getSequenceIndex() >= 0
-                        && a.getSequenceIndex() < a.getCourse().getRequiredHoursPerWeek())
-                .count();
+    /**
+     * Computes the assigned hours of every teacher in one pass.
+     * 
+     * @param existingAssignments list of already-created assignments
+     * @return an immutable snapshot answering per-teacher queries in O(1)
+     */
+    public static TeacherLoadSnapshot loadSnapshot(List<CourseAssignment> existingAssignments) {
+        return TeacherLoadSnapshot.of(existingAssignments);
     }
 }
@@ -25,10 +25,21 @@ import java.util.stream.Collectors;
  */
 public class ExcelTemplateGenerator {
 
+    // autoSizeColumn measures every cell of the column; skip it on generated
+    // datasets with many rows
+    private static final int AUTOSIZE_ROW_LIMIT = 5_000;
+
     public static void generateTemplate(String outputPath) throws IOException {
+        // Load demo data and pre-fill rows
+        generateTemplate(DemoDataGenerator.generateDemoData(), outputPath);
+    }
+
+    /**
+     * Write {@code demo} in the template format (e.g. a dataset from
+     * SyntheticDataGenerator).
+     */
+    public static void generateTemplate(SchoolSchedule demo, String outputPath) throws IOException {
         try (Workbook wb = new XSSFWorkbook()) {
-            // Load demo data and pre-fill rows
-            SchoolSchedule demo = DemoDataGenerator.generateDemoData();
 
             // Prepare timeslot list early (used to compute teacher availability)
             List<Timeslot> timeslotList = demo.getTimeslots();
@@ -166,12 +177,14 @@ public class ExcelTemplateGenerator {
             }
 
             // Autosize a few sheets' columns
-            autosizeColumns(teachers, 7);
-            autosizeColumns(courses, 4);
-            autosizeColumns(rooms, 3);
-            autosizeColumns(times, 4);
-            autosizeColumns(groups, 4);
-            autosizeColumns(assigns, 6);
+            if (assignments.size() <= AUTOSIZE_ROW_LIMIT) {
+                autosizeColumns(teachers, 7);
+                autosizeColumns(courses, 4);
+                autosizeColumns(rooms, 3);
+                autosizeColumns(times, 4);
+                autosizeColumns(groups, 4);
+                autosizeColumns(assigns, 6);
+            }
 
             try (FileOutputStream fos = new FileOutputStream(outputPath)) {
                 wb.write(fos);
@@ -1,8 +1,14 @@
 package com.example.util;
 
+import com.example.analysis.ScheduleAnalysisResult;
+import com.example.analysis.ScheduleIndex;
 import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
 import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.monitoring.ReportEvent;
 
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -10,12 +16,26 @@ import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 
 import java.io.IOException;
+import java.time.DayOfWeek;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PdfReporter {
 
+    /** Fewest calendar pages rendered as one part; below this, merging costs more than it saves. */
+    private static final int MIN_PAGES_PER_PART = 8;
+
+    /** Calendar parts rendered but not closed yet; package-private so tests can check for leaks. */
+    static final AtomicInteger OPEN_PARTS = new AtomicInteger();
+
     /**
      * Generate a simple PDF report with score, constraint summaries and a short
      * listing of assignments.
@@ -103,19 +123,109 @@ public class PdfReporter {
             Map<String, Integer> hardViolations,
             Map<String, Integer> softViolations,
             String baseName) throws IOException {
+        generateReports(ScheduleIndex.of(schedule), hardViolations, softViolations, baseName);
+    }
+
+    /** As above, from an analysis already run over the schedule and its index. */
+    public static void generateReports(ScheduleAnalysisResult analysis, String baseName) throws IOException {
+        generateReports(analysis.getIndex(), analysis.getHardCounts(), analysis.getSoftCounts(), baseName);
+    }
+
+    /** As above, reading the calendars from an index already built over the schedule. */
+    public static void generateReports(ScheduleIndex index,
+            Map<String, Integer> hardViolations,
+            Map<String, Integer> softViolations,
+            String baseName) throws IOException {
+        generateReports(index, hardViolations, softViolations, baseName, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * As above, rendering on {@code threads} threads. The three documents are
+     * rendered concurrently, and the by-teacher and by-group documents are
+     * split into runs of calendar pages, each rendered into its own PDDocument
+     * and merged in order with PDFMergerUtility before saving.
+     */
+    public static void generateReports(ScheduleIndex index,
+            Map<String, Integer> hardViolations,
+            Map<String, Integer> softViolations,
+            String baseName,
+            int threads) throws IOException {
         String violationsPath = baseName + "-incumplimientos.pdf";
         String byTeacherPath = baseName + "-por-maestro.pdf";
         String byGroupPath = baseName + "-por-grupo.pdf";
 
-        generateViolationsPdf(schedule, hardViolations, softViolations, violationsPath);
-        generateScheduleByTeacherPdf(schedule, byTeacherPath);
-        generateScheduleByGroupPdf(schedule, byGroupPath);
+        List<CalendarPage> teacherPages = new ArrayList<>();
+        for (Teacher teacher : index.getTeachers()) {
+            String title = "Calendario - Maestr@: " + teacher.getName() + " " + teacher.getLastName();
+            teacherPages.add(new CalendarPage(title, index.getTeacherGrid(teacher), true));
+        }
+        if (!index.getWithoutTeacher().isEmpty()) {
+            teacherPages.add(new CalendarPage("Calendario - Maestr@: UNASSIGNED", index.getWithoutTeacherGrid(), true));
+        }
+        List<CalendarPage> groupPages = new ArrayList<>();
+        for (Group group : index.getGroups()) {
+            String title = "Calendario - Grupo: " + group.getName();
+            groupPages.add(new CalendarPage(title, index.getGroupGrid(group), false));
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "pdf-reporter-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Future<?> violations = null;
+        List<Future<PDDocument>> teacherParts = List.of();
+        List<Future<PDDocument>> groupParts = List.of();
+        boolean merged = false;
+        try {
+            // Every task is a leaf: the merges below run on this thread, so no task waits on another
+            violations = executor.submit(() -> {
+                generateViolationsPdf(index.getSchedule(), hardViolations, softViolations, violationsPath);
+                return null;
+            });
+            ReportEvent teacherEvent = new ReportEvent();
+            teacherEvent.begin();
+            teacherParts = submitParts(executor, teacherPages, threads);
+            ReportEvent groupEvent = new ReportEvent();
+            groupEvent.begin();
+            groupParts = submitParts(executor, groupPages, threads);
+
+            mergeParts(teacherParts, byTeacherPath);
+            commit(teacherEvent, "by-teacher", index.getSchedule(), teacherPages.size(), teacherParts.size());
+            mergeParts(groupParts, byGroupPath);
+            commit(groupEvent, "by-group", index.getSchedule(), groupPages.size(), groupParts.size());
+            merged = true;
+            violations.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering PDF reports", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("PDF rendering failed", e.getCause());
+        } finally {
+            List<Runnable> neverStarted = executor.shutdownNow();
+            if (!merged) {
+                // Wait for the tasks in flight so none of them outlives the call or leaks its part
+                drain(violations, neverStarted);
+                for (Future<PDDocument> part : teacherParts) {
+                    closePart(drain(part, neverStarted));
+                }
+                for (Future<PDDocument> part : groupParts) {
+                    closePart(drain(part, neverStarted));
+                }
+            }
+        }
     }
 
     private static void generateViolationsPdf(SchoolSchedule schedule,
             Map<String, Integer> hardViolations,
             Map<String, Integer> softViolations,
             String outputPath) throws IOException {
+        ReportEvent event = new ReportEvent();
+        event.begin();
         try (PDDocument doc = new PDDocument()) {
             PDPage page = new PDPage(PDRectangle.LETTER);
             doc.addPage(page);
@@ -254,229 +364,196 @@ public class PdfReporter {
                     cs.close();
             }
             doc.save(outputPath);
+            commit(event, "violations", schedule, doc.getNumberOfPages(), 1);
         }
     }
 
-    private static void generateScheduleByTeacherPdf(SchoolSchedule schedule, String outputPath) throws IOException {
-        try (PDDocument doc = new PDDocument()) {
-            Map<String, java.util.List<CourseAssignment>> byTeacher = new java.util.TreeMap<>();
-            for (CourseAssignment a : schedule.getCourseAssignments()) {
-                String teacher = a.getTeacher() != null
-                        ? (a.getTeacher().getName() + " " + a.getTeacher().getLastName())
-                        : "UNASSIGNED";
-                byTeacher.computeIfAbsent(teacher, k -> new java.util.ArrayList<>()).add(a);
-            }
-
-            for (Map.Entry<String, java.util.List<CourseAssignment>> teacherEntry : byTeacher.entrySet()) {
-                String teacherName = teacherEntry.getKey();
-
-                PDPage page = new PDPage(PDRectangle.LETTER);
-                doc.addPage(page);
-
-                PDPageContentStream cs = new PDPageContentStream(doc, page);
-                try {
-                    float margin = 40;
-                    float pageHeight = page.getMediaBox().getHeight();
-                    float pageWidth = page.getMediaBox().getWidth();
-                    float yStart = pageHeight - margin;
-                    float heading = 14f;
-                    float currentY = yStart;
-
-                    // Title
-                    cs.beginText();
-                    cs.setFont(PDType1Font.HELVETICA_BOLD, 15);
-                    cs.newLineAtOffset(margin, currentY);
-                    cs.showText("Calendario - Maestr@: " + teacherName);
-                    cs.newLineAtOffset(0, -heading * 1.5f);
-                    currentY -= heading * 1.5f;
-                    cs.endText();
-
-                    // Build calendar data structure for this teacher
-                    Map<Integer, Map<Integer, java.util.List<CourseAssignment>>> calendar = new java.util.TreeMap<>();
-
-                    int minHour = 7;
-                    int maxHour = 15;
-
-                    for (int day = 1; day <= 5; day++) {
-                        calendar.put(day, new java.util.TreeMap<>());
-                        for (int hour = minHour; hour < maxHour; hour++) {
-                            calendar.get(day).put(hour, new java.util.ArrayList<>());
-                        }
-                    }
-
-                    // Populate calendar with assignments for this teacher
-                    for (CourseAssignment a : teacherEntry.getValue()) {
-                        if (a.getTimeslot() != null) {
-                            int dayValue = a.getTimeslot().getDayOfWeek().getValue();
-                            int hour = a.getTimeslot().getHour();
-                            if (dayValue >= 1 && dayValue <= 5 && hour >= minHour && hour < maxHour) {
-                                calendar.get(dayValue).get(hour).add(a);
-                            }
-                        }
-                    }
+    /** One calendar page of the by-teacher or by-group document. */
+    private record CalendarPage(String title, ScheduleIndex.WeeklyGrid grid, boolean teacherCalendar) {
+    }
 
-                    // Draw table
-                    String[] daysOfWeek = { "Lunes", "Martes", "Miércoles", "Jueves", "Viernes" };
-                    float cellWidth = (pageWidth - 2 * margin - 50) / 5;
-                    float cellHeight = 40;
-                    float tableX = margin + 50;
-                    float tableY = currentY - cellHeight - 5;
-
-                    // Header row with days
-                    drawCell(cs, tableX - 50, tableY, 50, cellHeight, "Hora", 8, true);
-                    for (int i = 0; i < 5; i++) {
-                        drawCell(cs, tableX + i * cellWidth, tableY, cellWidth, cellHeight, daysOfWeek[i], 8, true);
-                    }
-                    tableY -= cellHeight;
-
-                    // Data rows with hours
-                    for (int hour = minHour; hour < maxHour; hour++) {
-                        // Hour label
-                        String hourLabel = hour + ":00-" + (hour + 1) + ":00";
-                        drawCell(cs, tableX - 50, tableY, 50, cellHeight, hourLabel, 8, false);
-
-                        // Assignments for each day
-                        for (int day = 1; day <= 5; day++) {
-                            java.util.List<CourseAssignment> assignments = calendar.get(day).get(hour);
-                            StringBuilder cellText = new StringBuilder();
-                            for (CourseAssignment a : assignments) {
-                                if (cellText.length() > 0) {
-                                    cellText.append("\n");
-                                }
-                                cellText.append(a.getCourse().getAbbreviation());
-                                cellText.append("\n");
-                                cellText.append(a.getGroup().getName());
-                                if (a.getRoom() != null) {
-                                    cellText.append("\n");
-                                    cellText.append(a.getRoom().getName());
-                                }
-                            }
-                            drawCell(cs, tableX + (day - 1) * cellWidth, tableY, cellWidth, cellHeight,
-                                    cellText.toString(), 6, false);
-                        }
-                        tableY -= cellHeight;
-                    }
+    /**
+     * Split {@code pages} into about one run per thread, never shorter than
+     * MIN_PAGES_PER_PART, and render each run into its own document.
+     */
+    private static List<Future<PDDocument>> submitParts(ExecutorService executor, List<CalendarPage> pages,
+            int threads) {
+        int partSize = Math.max(MIN_PAGES_PER_PART, (pages.size() + threads - 1) / Math.max(1, threads));
+        List<Future<PDDocument>> parts = new ArrayList<>();
+        int from = 0;
+        do {
+            List<CalendarPage> run = pages.subList(from, Math.min(pages.size(), from + partSize));
+            parts.add(executor.submit(() -> renderCalendarPages(run)));
+            from += partSize;
+        } while (from < pages.size());
+        return parts;
+    }
 
-                    cs.close();
-                } catch (IOException e) {
-                    cs.close();
-                    throw e;
-                }
+    private static PDDocument renderCalendarPages(List<CalendarPage> pages) throws IOException {
+        PDDocument doc = new PDDocument();
+        try {
+            for (CalendarPage page : pages) {
+                drawCalendarPage(doc, page.title(), page.grid(), page.teacherCalendar());
             }
-
-            doc.save(outputPath);
+            OPEN_PARTS.incrementAndGet();
+            return doc;
+        } catch (IOException | RuntimeException e) {
+            doc.close();
+            throw e;
         }
     }
 
-    private static void generateScheduleByGroupPdf(SchoolSchedule schedule, String outputPath) throws IOException {
-        try (PDDocument doc = new PDDocument()) {
-            Map<String, java.util.List<CourseAssignment>> byGroup = new java.util.TreeMap<>();
-            for (CourseAssignment a : schedule.getCourseAssignments()) {
-                String group = a.getGroup() != null ? a.getGroup().getName() : "UNASSIGNED";
-                byGroup.computeIfAbsent(group, k -> new java.util.ArrayList<>()).add(a);
+    /**
+     * Append the parts to the first one, in order, and save the result. On
+     * failure the parts already collected are closed; the caller drains the rest.
+     */
+    private static void mergeParts(List<Future<PDDocument>> parts, String outputPath)
+            throws IOException, InterruptedException, ExecutionException {
+        List<PDDocument> docs = new ArrayList<>();
+        try {
+            for (Future<PDDocument> part : parts) {
+                docs.add(part.get());
             }
+            PDDocument merged = docs.get(0);
+            PDFMergerUtility merger = new PDFMergerUtility();
+            for (PDDocument doc : docs.subList(1, docs.size())) {
+                merger.appendDocument(merged, doc);
+            }
+            merged.save(outputPath);
+        } finally {
+            // Parts stay open until the merged document is saved: it shares their resources
+            for (PDDocument doc : docs) {
+                closePart(doc);
+            }
+        }
+    }
 
-            boolean firstPage = true;
-            for (Map.Entry<String, java.util.List<CourseAssignment>> groupEntry : byGroup.entrySet()) {
-                String groupName = groupEntry.getKey();
-
-                PDPage page = new PDPage(PDRectangle.LETTER);
-                doc.addPage(page);
-
-                PDPageContentStream cs = new PDPageContentStream(doc, page);
+    /**
+     * Wait for {@code task} to finish and return its result, or null if it
+     * failed or never started. Interrupts are deferred until it is done.
+     */
+    private static <T> T drain(Future<T> task, List<Runnable> neverStarted) {
+        if (task == null || neverStarted.contains(task)) {
+            return null;
+        }
+        boolean interrupted = false;
+        try {
+            while (true) {
                 try {
-                    float margin = 40;
-                    float pageHeight = page.getMediaBox().getHeight();
-                    float pageWidth = page.getMediaBox().getWidth();
-                    float yStart = pageHeight - margin;
-                    float heading = 14f;
-                    float currentY = yStart;
-
-                    // Title
-                    cs.beginText();
-                    cs.setFont(PDType1Font.HELVETICA_BOLD, 15);
-                    cs.newLineAtOffset(margin, currentY);
-                    cs.showText("Calendario - Grupo: " + groupName);
-                    cs.newLineAtOffset(0, -heading * 1.5f);
-                    currentY -= heading * 1.5f;
-                    cs.endText();
-
-                    // Build calendar data structure for this group
-                    Map<Integer, Map<Integer, java.util.List<CourseAssignment>>> calendar = new java.util.TreeMap<>();
+                    return task.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    return null;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 
-                    int minHour = 7;
-                    int maxHour = 15;
+    /** Close a rendered part once, whether it was merged or is being discarded. */
+    private static void closePart(PDDocument doc) {
+        if (doc == null || doc.getDocument().isClosed()) {
+            return;
+        }
+        try {
+            doc.close();
+        } catch (IOException e) {
+            System.err.println("Warning: could not close a PDF part: " + e.getMessage());
+        }
+        OPEN_PARTS.decrementAndGet();
+    }
 
-                    for (int day = 1; day <= 5; day++) {
-                        calendar.put(day, new java.util.TreeMap<>());
-                        for (int hour = minHour; hour < maxHour; hour++) {
-                            calendar.get(day).put(hour, new java.util.ArrayList<>());
+    /**
+     * Add one page with a Monday-Friday, 7:00-15:00 calendar of {@code grid}.
+     * Teacher calendars show course, group and room in each cell; group
+     * calendars show course, teacher and room.
+     */
+    private static void drawCalendarPage(PDDocument doc, String title, ScheduleIndex.WeeklyGrid grid,
+            boolean teacherCalendar) throws IOException {
+        PDPage page = new PDPage(PDRectangle.LETTER);
+        doc.addPage(page);
+
+        try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+            float margin = 40;
+            float pageHeight = page.getMediaBox().getHeight();
+            float pageWidth = page.getMediaBox().getWidth();
+            float yStart = pageHeight - margin;
+            float heading = 14f;
+            float currentY = yStart;
+
+            // Title
+            cs.beginText();
+            cs.setFont(PDType1Font.HELVETICA_BOLD, 15);
+            cs.newLineAtOffset(margin, currentY);
+            cs.showText(title);
+            cs.newLineAtOffset(0, -heading * 1.5f);
+            currentY -= heading * 1.5f;
+            cs.endText();
+
+            int minHour = 7;
+            int maxHour = 15;
+
+            // Draw table
+            String[] daysOfWeek = { "Lunes", "Martes", "Miércoles", "Jueves", "Viernes" };
+            float cellWidth = (pageWidth - 2 * margin - 50) / 5;
+            float cellHeight = 40;
+            float tableX = margin + 50;
+            float tableY = currentY - cellHeight - 5;
+
+            // Header row with days
+            drawCell(cs, tableX - 50, tableY, 50, cellHeight, "Hora", 8, true);
+            for (int i = 0; i < 5; i++) {
+                drawCell(cs, tableX + i * cellWidth, tableY, cellWidth, cellHeight, daysOfWeek[i], 8, true);
+            }
+            tableY -= cellHeight;
+
+            // Data rows with hours
+            for (int hour = minHour; hour < maxHour; hour++) {
+                // Hour label
+                String hourLabel = hour + ":00-" + (hour + 1) + ":00";
+                drawCell(cs, tableX - 50, tableY, 50, cellHeight, hourLabel, 8, false);
+
+                // Assignments for each day
+                for (int day = 1; day <= 5; day++) {
+                    StringBuilder cellText = new StringBuilder();
+                    for (CourseAssignment a : grid.get(DayOfWeek.of(day), hour)) {
+                        if (cellText.length() > 0) {
+                            cellText.append("\n");
                         }
-                    }
-
-                    // Populate calendar with assignments for this group
-                    for (CourseAssignment a : groupEntry.getValue()) {
-                        if (a.getTimeslot() != null) {
-                            int dayValue = a.getTimeslot().getDayOfWeek().getValue();
-                            int hour = a.getTimeslot().getHour();
-                            if (dayValue >= 1 && dayValue <= 5 && hour >= minHour && hour < maxHour) {
-                                calendar.get(dayValue).get(hour).add(a);
-                            }
+                        cellText.append(a.getCourse().getAbbreviation());
+                        if (teacherCalendar) {
+                            cellText.append("\n");
+                            cellText.append(a.getGroup().getName());
+                        } else if (a.getTeacher() != null) {
+                            cellText.append("\n");
+                            cellText.append(a.getTeacher().getName() + " " + a.getTeacher().getLastName());
                         }
-                    }
-
-                    // Draw table
-                    String[] daysOfWeek = { "Lunes", "Martes", "Miércoles", "Jueves", "Viernes" };
-                    float cellWidth = (pageWidth - 2 * margin - 50) / 5;
-                    float cellHeight = 40;
-                    float tableX = margin + 50;
-                    float tableY = currentY - cellHeight - 5;
-
-                    // Header row with days
-                    drawCell(cs, tableX - 50, tableY, 50, cellHeight, "Hora", 8, true);
-                    for (int i = 0; i < 5; i++) {
-                        drawCell(cs, tableX + i * cellWidth, tableY, cellWidth, cellHeight, daysOfWeek[i], 8, true);
-                    }
-                    tableY -= cellHeight;
-
-                    // Data rows with hours
-                    for (int hour = minHour; hour < maxHour; hour++) {
-                        // Hour label
-                        String hourLabel = hour + ":00-" + (hour + 1) + ":00";
-                        drawCell(cs, tableX - 50, tableY, 50, cellHeight, hourLabel, 8, false);
-
-                        // Assignments for each day
-                        for (int day = 1; day <= 5; day++) {
-                            java.util.List<CourseAssignment> assignments = calendar.get(day).get(hour);
-                            StringBuilder cellText = new StringBuilder();
-                            for (CourseAssignment a : assignments) {
-                                if (cellText.length() > 0) {
-                                    cellText.append("\n");
-                                }
-                                cellText.append(a.getCourse().getAbbreviation());
-                                if (a.getTeacher() != null) {
-                                    cellText.append("\n");
-                                    cellText.append(a.getTeacher().getName() + " " + a.getTeacher().getLastName());
-                                }
-                                if (a.getRoom() != null) {
-                                    cellText.append("\n");
-                                    cellText.append(a.getRoom().getName());
-                                }
-                            }
-                            drawCell(cs, tableX + (day - 1) * cellWidth, tableY, cellWidth, cellHeight,
-                                    cellText.toString(), 6, false);
+                        if (a.getRoom() != null) {
+                            cellText.append("\n");
+                            cellText.append(a.getRoom().getName());
                         }
-                        tableY -= cellHeight;
                     }
-
-                    cs.close();
-                } catch (IOException e) {
-                    cs.close();
-                    throw e;
+                    drawCell(cs, tableX + (day - 1) * cellWidth, tableY, cellWidth, cellHeight,
+                            cellText.toString(), 6, false);
                 }
+                tableY -= cellHeight;
             }
+        }
+    }
 
-            doc.save(outputPath);
+    private static void commit(ReportEvent event, String document, SchoolSchedule schedule, int pages,
+            int parts) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.document = document;
+            event.assignments = schedule.getCourseAssignments().size();
+            event.pages = pages;
+            event.parts = parts;
+            event.commit();
         }
     }
 
@@ -0,0 +1,116 @@
+package com.example.analysis;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class FeasibilityCheckerTest {
+
+    private final List<Timeslot> timeslots = List.of(
+            new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7"),
+            new Timeslot("MON_8", DayOfWeek.MONDAY, 8, "Mon 8"),
+            new Timeslot("MON_9", DayOfWeek.MONDAY, 9, "Mon 9"));
+    private final Room room = new Room("R1", "A", "estándar");
+    private final Course math = new Course("Math", "estándar", 2);
+    private final Course physics = new Course("Physics", "estándar", 1);
+    private final Group group = new Group("g1", "G1", Set.of("Math", "Physics"));
+
+    @Test
+    public void feasibleWhenHoursFit() {
+        Teacher teacher = new Teacher("T1", Set.of("Math", "Physics"), Set.of(DayOfWeek.MONDAY), 7, 10);
+        FeasibilityReport report = FeasibilityChecker.check(schedule(teacher, teacher));
+        assertTrue(report.getErrors().toString(), report.isFeasible());
+    }
+
+    @Test
+    public void matchingDetectsTeachersCompetingForTheSameSlot() {
+        // Each teacher alone fits, but both are only available at 7:00
+        Teacher onlySeven = new Teacher("t1", "T1", "", Set.of("Math"), Map.of(DayOfWeek.MONDAY, Set.of(7, 8)), 40);
+        Teacher alsoSeven = new Teacher("t2", "T2", "", Set.of("Physics"), Map.of(DayOfWeek.MONDAY, Set.of(7)), 40);
+        FeasibilityReport report = FeasibilityChecker.check(schedule(onlySeven, alsoSeven));
+        assertFalse(report.isFeasible());
+        assertTrue(report.getErrors().get(0).contains("only 2 of 3"));
+    }
+
+    @Test
+    public void roomTypeSupplyIsChecked() {
+        Teacher teacher = new Teacher("T1", Set.of("Math", "Physics"), Set.of(DayOfWeek.MONDAY), 7, 10);
+        SchoolSchedule schedule = schedule(teacher, teacher);
+        schedule.getCourseAssignments().add(new CourseAssignment("lab", group,
+                new Course("Chemistry", "centro de cómputo", 1), 0));
+        FeasibilityReport report = FeasibilityChecker.check(schedule);
+        assertTrue(report.getErrors().stream().anyMatch(e -> e.contains("centro de cómputo")));
+    }
+
+    @Test
+    public void hoursFixedToOneSlotMustFitItsRooms() {
+        Teacher teacher = new Teacher("T1", Set.of("Math", "Physics"), Set.of(DayOfWeek.MONDAY), 7, 10);
+        Group other = new Group("g2", "G2", Set.of("Math"));
+        SchoolSchedule schedule = schedule(teacher, teacher);
+        schedule.getRooms().add(new Room("R2", "A", "estándar"));
+        CourseAssignment mine = schedule.getCourseAssignments().get(0);
+        CourseAssignment theirs = new CourseAssignment("other", other, math, 0);
+        CourseAssignment third = new CourseAssignment("third", new Group("g3", "G3", Set.of("Math")), math, 0);
+        schedule.getCourseAssignments().addAll(List.of(theirs, third));
+        // Pinned to Mon 7, plus two more rows whose range leaves only Mon 7
+        mine.setTimeslot(timeslots.get(0));
+        mine.setPinned(true);
+        theirs.setTimeslotRange(List.of(timeslots.get(0)));
+        third.setTimeslotRange(List.of(timeslots.get(0)));
+
+        FeasibilityReport report = FeasibilityChecker.check(schedule);
+
+        assertTrue(report.getErrors().toString(),
+                report.getErrors().stream().anyMatch(e -> e.equals("3 hours are fixed to Mon 7 but only 2 fit a room"
+                        + " that satisfies their requirement")));
+        // Over the week the 5 hours fit the 6 room-hours
+        assertTrue(report.getErrors().toString(),
+                report.getErrors().stream().noneMatch(e -> e.startsWith("Room-type demand")));
+    }
+
+    @Test
+    public void pinnedHoursOverTheWeeklyMaximumAreAWarning() {
+        Teacher teacher = new Teacher("t1", "T1", "", Set.of("Math", "Physics"),
+                Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9)), 1);
+        SchoolSchedule schedule = schedule(teacher, teacher);
+        for (int i = 0; i < 2; i++) {
+            CourseAssignment a = schedule.getCourseAssignments().get(i);
+            a.setTimeslot(timeslots.get(i));
+            a.setPinned(true);
+        }
+
+        FeasibilityReport report = FeasibilityChecker.check(schedule);
+
+        assertTrue(report.getErrors().toString(), report.isFeasible());
+        assertTrue(report.getWarnings().toString(),
+                report.getWarnings().contains(teacher + " has 2 pinned hours, over the maximum of 1 per week"));
+    }
+
+    private SchoolSchedule schedule(Teacher mathTeacher, Teacher physicsTeacher) {
+        List<CourseAssignment> assignments = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            CourseAssignment a = new CourseAssignment("math" + i, group, math, i);
+            a.setTeacher(mathTeacher);
+            assignments.add(a);
+        }
+        CourseAssignment p = new CourseAssignment("physics", group, physics, 0);
+        p.setTeacher(physicsTeacher);
+        assignments.add(p);
+        return new SchoolSchedule(List.of(mathTeacher, physicsTeacher), timeslots, new ArrayList<>(List.of(room)),
+                List.of(math, physics), List.of(group), assignments);
+    }
+}
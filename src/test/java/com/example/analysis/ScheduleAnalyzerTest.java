@@ -0,0 +1,194 @@
+package com.example.analysis;
+
+import ai.timefold.solver.core.api.score.analysis.ConstraintAnalysis;
+import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+import com.example.solver.SchoolConstraintProvider;
+import com.example.solver.SchoolSolverConfig;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * One schedule that breaks every rule a known number of times. The hard
+ * counts and the soft rules the solver also scores are checked against
+ * {@link SchoolConstraintProvider} through {@link SolutionManager}.
+ */
+public class ScheduleAnalyzerTest {
+
+    private final AtomicInteger roomNameReads = new AtomicInteger();
+    private final Room room = new CountingRoom("R1", "estándar");
+    private final Room lab = new CountingRoom("LAB", "centro de cómputo");
+    private final Course math = new Course("c_math", "Math", "M", "1", "BASICAS", "estándar", 3, true);
+    private final Course physics = new Course("c_physics", "Physics", "F", "1", "BASICAS", "estándar", 2, true);
+    private final Course tech = new Course("c_tech", "Tech", "T", "1", "TADHR", "estándar", 3, true);
+    private final Group g1 = new Group("g1", "G1", Set.of("Math", "Physics"));
+    private final Group g2 = new Group("g2", "G2", Set.of("Math", "Tech"));
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math", "Physics", "Tech"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9, 10, 11, 12), DayOfWeek.TUESDAY, Set.of(7),
+                    DayOfWeek.WEDNESDAY, Set.of(7), DayOfWeek.THURSDAY, Set.of(7)), 6);
+    private final Teacher bruno = new Teacher("t2", "Bruno", "Diaz", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8)), 20);
+    private final Map<String, Timeslot> timeslots = new LinkedHashMap<>();
+
+    public ScheduleAnalyzerTest() {
+        for (int hour = 7; hour <= 12; hour++) {
+            timeslot(DayOfWeek.MONDAY, "MON", hour);
+        }
+        timeslot(DayOfWeek.TUESDAY, "TUE", 7);
+        timeslot(DayOfWeek.WEDNESDAY, "WED", 7);
+        timeslot(DayOfWeek.THURSDAY, "THU", 7);
+    }
+
+    @Test
+    public void everyRuleCountsItsKnownViolations() {
+        ScheduleAnalysisResult result = ScheduleAnalyzer.analyze(schedule());
+
+        Map<String, Integer> hard = new LinkedHashMap<>();
+        hard.put("Teacher must be qualified", 1);
+        hard.put("Teacher must be available at timeslot", 1);
+        hard.put("No teacher double-booking", 1);
+        hard.put("No room double-booking", 1);
+        hard.put("Room type must satisfy course requirement", 1);
+        hard.put("Group cannot have two courses at same time", 1);
+        hard.put("Same teacher for all course hours", 2);
+        hard.put("Group course hours must be consecutive on same day", 2);
+        assertEquals(hard, result.getHardCounts());
+        assertEquals(10, result.getHardTotal());
+
+        Map<String, Integer> soft = new LinkedHashMap<>();
+        // Ana is idle at Mon 9 and 11, Bruno at Mon 8
+        soft.put("Minimize teacher idle gaps (availability-aware)", 3);
+        // Ana has 8 hours for a maximum of 6
+        soft.put("Teacher max hours per week", 2);
+        soft.put("Balance teacher workload", 53);
+        // Tech is on Mon, Wed and Thu: one day too many, weight 5
+        soft.put("Limit non-BASICAS courses to at most 2 days per group", 5);
+        assertEquals(soft, result.getSoftCounts());
+    }
+
+    @Test
+    public void countsMatchTheConstraintProvider() {
+        SchoolSchedule schedule = schedule();
+        SolutionManager<SchoolSchedule, HardSoftScore> solutionManager =
+                SolutionManager.create(SchoolSolverConfig.buildSolverFactory());
+        ScoreAnalysis<HardSoftScore> analysis = solutionManager.analyze(schedule);
+        ScheduleAnalysisResult result = ScheduleAnalyzer.analyze(schedule);
+
+        Map<String, String> hardConstraints = new LinkedHashMap<>();
+        hardConstraints.put("Teacher must be qualified", "Teacher must be qualified");
+        hardConstraints.put("Teacher must be available at timeslot", "Teacher must be available at timeslot");
+        hardConstraints.put("No teacher double-booking", "No teacher double-booking");
+        hardConstraints.put("No room double-booking", "No room double-booking");
+        hardConstraints.put("Room type must satisfy course requirement", "Room type must satisfy course requirement");
+        hardConstraints.put("Group cannot have two courses at same time", "Group cannot have two courses at same time");
+        hardConstraints.put("Same teacher for all course hours", "Same teacher for all course hours (hard constraint)");
+        hardConstraints.put("Group course hours must be consecutive on same day",
+                SchoolConstraintProvider.GROUP_COURSE_CONSECUTIVE);
+        hardConstraints.forEach((rule, constraint) -> assertEquals(rule,
+                result.getHardCounts().get(rule).intValue(), -score(analysis, constraint).hardScore()));
+
+        assertEquals(result.getSoftCounts().get("Minimize teacher idle gaps (availability-aware)").intValue(),
+                -score(analysis, SchoolConstraintProvider.TEACHER_IDLE_GAPS).softScore());
+        assertEquals(result.getSoftCounts().get("Teacher max hours per week").intValue(),
+                -score(analysis, SchoolConstraintProvider.TEACHER_MAX_HOURS).softScore());
+    }
+
+    @Test
+    public void offendersAreOnlyDescribedWhenTheDetailsAreAskedFor() {
+        ScheduleIndex index = ScheduleIndex.of(schedule());
+        roomNameReads.set(0);
+
+        ScheduleAnalysisResult result = ScheduleAnalyzer.analyze(index);
+        result.getHardCounts();
+        result.getSoftCounts();
+        assertEquals(0, roomNameReads.get());
+
+        Map<String, List<String>> hardDetails = result.getHardDetails();
+        assertTrue(roomNameReads.get() > 0);
+        result.getHardCounts().forEach((rule, count) -> assertEquals(rule, count.intValue(),
+                hardDetails.get(rule).size()));
+
+        int afterHard = roomNameReads.get();
+        assertSame(hardDetails, result.getHardDetails());
+        assertEquals(afterHard, roomNameReads.get());
+
+        // Idle gap descriptions name the rooms of the classes around the gap
+        assertEquals(3, result.getSoftDetails().get("Minimize teacher idle gaps (availability-aware)").size());
+        assertTrue(roomNameReads.get() > afterHard);
+    }
+
+    private static HardSoftScore score(ScoreAnalysis<HardSoftScore> analysis, String constraint) {
+        ConstraintAnalysis<HardSoftScore> constraintAnalysis = analysis.getConstraintAnalysis(constraint);
+        return constraintAnalysis == null ? HardSoftScore.ZERO : constraintAnalysis.score();
+    }
+
+    /**
+     * Mon 7 holds G1 Math and Physics in R1 (group clash, room clash) and G2
+     * Math with Ana again in the lab (teacher clash, wrong room type). Bruno
+     * teaches G1 Physics without the qualification and G2 Math at Mon 9,
+     * outside his hours; both courses also have a second teacher. G1 Math
+     * (Mon 7, 8, 10) and G2 Math (Mon 7, 9) each have one break.
+     */
+    private SchoolSchedule schedule() {
+        List<CourseAssignment> assignments = new ArrayList<>();
+        assignments.add(assignment("m0", g1, math, 0, "MON_7", ana, room));
+        assignments.add(assignment("m1", g1, math, 1, "MON_8", ana, room));
+        assignments.add(assignment("m2", g1, math, 2, "MON_10", ana, room));
+        assignments.add(assignment("p0", g1, physics, 0, "MON_7", bruno, room));
+        assignments.add(assignment("p1", g1, physics, 1, "TUE_7", ana, room));
+        assignments.add(assignment("n0", g2, math, 0, "MON_7", ana, lab));
+        assignments.add(assignment("n1", g2, math, 1, "MON_9", bruno, room));
+        assignments.add(assignment("t0", g2, tech, 0, "WED_7", ana, room));
+        assignments.add(assignment("t1", g2, tech, 1, "THU_7", ana, room));
+        assignments.add(assignment("t2", g2, tech, 2, "MON_12", ana, room));
+        return new SchoolSchedule(List.of(ana, bruno), new ArrayList<>(timeslots.values()), List.of(room, lab),
+                List.of(math, physics, tech), List.of(g1, g2), assignments);
+    }
+
+    private CourseAssignment assignment(String id, Group group, Course course, int sequence, String timeslot,
+            Teacher teacher, Room room) {
+        CourseAssignment a = new CourseAssignment(id, group, course, sequence);
+        a.setTimeslot(timeslots.get(timeslot));
+        a.setTeacher(teacher);
+        a.setRoom(room);
+        return a;
+    }
+
+    private void timeslot(DayOfWeek day, String prefix, int hour) {
+        String id = prefix + "_" + hour;
+        timeslots.put(id, new Timeslot(id, day, hour, prefix + " " + hour));
+    }
+
+    /** Counts name reads, which only the offender descriptions make. */
+    private class CountingRoom extends Room {
+
+        CountingRoom(String name, String type) {
+            super(name, "A", type);
+        }
+
+        @Override
+        public String getName() {
+            roomNameReads.incrementAndGet();
+            return super.getName();
+        }
+    }
+}
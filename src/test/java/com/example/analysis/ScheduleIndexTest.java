@@ -0,0 +1,96 @@
+package com.example.analysis;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ScheduleIndexTest {
+
+    private final Timeslot mon7 = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+    private final Timeslot mon8 = new Timeslot("MON_8", DayOfWeek.MONDAY, 8, "Mon 8");
+    private final Timeslot tue7 = new Timeslot("TUE_7", DayOfWeek.TUESDAY, 7, "Tue 7");
+    private final Room room = new Room("R1", "A", "estándar");
+    private final Course math = new Course("Math", "estándar", 2);
+    private final Course physics = new Course("Physics", "estándar", 1);
+    private final Group group = new Group("g1", "G1", Set.of("Math", "Physics"));
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math", "Physics"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8), DayOfWeek.TUESDAY, Set.of(7)), 20);
+    private final Teacher bruno = new Teacher("t2", "Bruno", "Diaz", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8)), 20);
+
+    @Test
+    public void listsAreSortedByTimeAndGridsMatchLists() {
+        // Listed out of time order on purpose
+        CourseAssignment physicsTue = assignment("p0", physics, 0, tue7, ana);
+        CourseAssignment math8 = assignment("m1", math, 1, mon8, ana);
+        CourseAssignment math7 = assignment("m0", math, 0, mon7, bruno);
+        CourseAssignment unscheduled = assignment("m2", math, 2, null, null);
+        ScheduleIndex index = ScheduleIndex.of(schedule(physicsTue, math8, math7, unscheduled));
+
+        assertEquals(List.of(ana, bruno), index.getTeachers());
+        assertEquals(List.of(math8, physicsTue), index.getByTeacher(ana));
+        assertEquals(2, index.getTeacherHours(ana));
+        assertEquals(List.of(unscheduled), index.getWithoutTeacher());
+        assertEquals(List.of(math7, math8, physicsTue, unscheduled), index.getByGroup(group));
+        assertEquals(List.of(math7, math8), index.getByDay(DayOfWeek.MONDAY));
+        assertEquals(List.of(math8, math7, unscheduled), index.getByGroupCourse(group, math));
+        assertEquals(List.of(math7), index.getGroupGrid(group).get(DayOfWeek.MONDAY, 7));
+        assertEquals(List.of(physicsTue), index.getTeacherGrid(ana).get(DayOfWeek.TUESDAY, 7));
+        assertTrue(index.getTeacherGrid(bruno).get(DayOfWeek.MONDAY, 8).isEmpty());
+    }
+
+    @Test
+    public void teacherHoursSkipRowsBeyondTheRequiredHours() {
+        // Math requires 2 hours, so the third row does not count towards the load
+        CourseAssignment math7 = assignment("m0", math, 0, mon7, ana);
+        CourseAssignment math8 = assignment("m1", math, 1, mon8, ana);
+        CourseAssignment extra = assignment("m2", math, 2, tue7, ana);
+        ScheduleIndex index = ScheduleIndex.of(schedule(math7, math8, extra));
+
+        assertEquals(3, index.getByTeacher(ana).size());
+        assertEquals(2, index.getTeacherHours(ana));
+        assertEquals(Map.of(ana, 2), index.getTeacherLoad().asMap());
+        assertEquals(0, index.getTeacherHours(bruno));
+    }
+
+    @Test
+    public void analyzerFindsClashesWithinATimeslot() {
+        CourseAssignment math7 = assignment("m0", math, 0, mon7, ana);
+        CourseAssignment physics7 = assignment("p0", physics, 0, mon7, ana);
+        CourseAssignment math8 = assignment("m1", math, 1, mon8, bruno);
+        ScheduleIndex index = ScheduleIndex.of(schedule(math7, physics7, math8));
+
+        Map<String, Integer> hard = ScheduleAnalyzer.analyzeHardConstraintViolations(index);
+        assertEquals(Integer.valueOf(1), hard.get("No teacher double-booking"));
+        assertEquals(Integer.valueOf(1), hard.get("No room double-booking"));
+        assertEquals(Integer.valueOf(1), hard.get("Group cannot have two courses at same time"));
+        assertEquals(Integer.valueOf(1), hard.get("Same teacher for all course hours"));
+    }
+
+    private CourseAssignment assignment(String id, Course course, int sequence, Timeslot timeslot, Teacher teacher) {
+        CourseAssignment a = new CourseAssignment(id, group, course, sequence);
+        a.setTimeslot(timeslot);
+        a.setTeacher(teacher);
+        a.setRoom(room);
+        return a;
+    }
+
+    private SchoolSchedule schedule(CourseAssignment... assignments) {
+        return new SchoolSchedule(List.of(ana, bruno), List.of(mon7, mon8, tue7), List.of(room),
+                List.of(math, physics), List.of(group), new ArrayList<>(List.of(assignments)));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.data;
+
+import com.example.domain.BlockSchedule;
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.CourseBlock;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CourseBlockConverterTest {
+
+    private final List<Timeslot> timeslots = new ArrayList<>();
+    private final Room r1 = new Room("R1", "A", "estándar");
+    private final Room r2 = new Room("R2", "A", "estándar");
+    private final Course math = new Course("Math", "estándar", 4);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9, 10), DayOfWeek.TUESDAY, Set.of(7, 8, 9, 10)), 20);
+
+    public CourseBlockConverterTest() {
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY)) {
+            for (int hour = 7; hour <= 10; hour++) {
+                timeslots.add(new Timeslot(day + "_" + hour, day, hour, day + " " + hour));
+            }
+        }
+    }
+
+    @Test
+    public void unpinnedRowsTakeBlockHoursInChronologicalOrder() {
+        List<CourseAssignment> rows = rows(4);
+        SchoolSchedule original = schedule(rows);
+        BlockSchedule blocks = CourseBlockSplitter.split(original, 2);
+        // Blocks placed out of index order: the later block index runs first
+        place(blocks.getCourseBlocks().get(0), timeslot(DayOfWeek.TUESDAY, 9), r1);
+        place(blocks.getCourseBlocks().get(1), timeslot(DayOfWeek.MONDAY, 7), r2);
+
+        SchoolSchedule converted = CourseBlockConverter.toSchoolSchedule(blocks, original);
+
+        List<CourseAssignment> out = converted.getCourseAssignments();
+        assertEquals(List.of("m0", "m1", "m2", "m3"), out.stream().map(CourseAssignment::getId).toList());
+        assertEquals(timeslot(DayOfWeek.MONDAY, 7), out.get(0).getTimeslot());
+        assertEquals(timeslot(DayOfWeek.MONDAY, 8), out.get(1).getTimeslot());
+        assertEquals(timeslot(DayOfWeek.TUESDAY, 9), out.get(2).getTimeslot());
+        assertEquals(timeslot(DayOfWeek.TUESDAY, 10), out.get(3).getTimeslot());
+        assertSame(r2, out.get(0).getRoom());
+        assertSame(r1, out.get(3).getRoom());
+        assertTrue(out.stream().allMatch(a -> a.getTeacher() == ana));
+        // New row objects: the input schedule is left alone
+        assertNull(rows.get(0).getTimeslot());
+    }
+
+    @Test
+    public void pinnedRowsAreCopiedUnchanged() {
+        List<CourseAssignment> rows = rows(4);
+        CourseAssignment pinned = rows.get(3);
+        pinned.setTimeslot(timeslot(DayOfWeek.TUESDAY, 7));
+        pinned.setTeacher(ana);
+        pinned.setRoom(r2);
+        pinned.setPinned(true);
+        SchoolSchedule original = schedule(rows);
+        BlockSchedule blocks = CourseBlockSplitter.split(original, 2);
+        for (CourseBlock block : blocks.getCourseBlocks()) {
+            if (!block.isPinned()) {
+                place(block, timeslot(DayOfWeek.MONDAY, block.getBlockIndex() == 1 ? 7 : 9), r1);
+            }
+        }
+
+        SchoolSchedule converted = CourseBlockConverter.toSchoolSchedule(blocks, original);
+
+        CourseAssignment pinnedOut = converted.getCourseAssignments().get(3);
+        assertTrue(pinnedOut.isPinned());
+        assertEquals(timeslot(DayOfWeek.TUESDAY, 7), pinnedOut.getTimeslot());
+        assertSame(r2, pinnedOut.getRoom());
+        // The three unpinned rows fill Mon 7, 8 and 9
+        assertEquals(List.of(7, 8, 9), converted.getCourseAssignments().subList(0, 3).stream()
+                .map(a -> a.getTimeslot().getHour()).toList());
+    }
+
+    @Test
+    public void rowsWithoutABlockHourAreCleared() {
+        List<CourseAssignment> rows = rows(5);
+        // A stale slot from an earlier run; Math only needs 4 hours, so row m4 gets no block hour
+        rows.get(4).setTimeslot(timeslot(DayOfWeek.MONDAY, 10));
+        rows.get(4).setTeacher(ana);
+        rows.get(4).setRoom(r1);
+        SchoolSchedule original = schedule(rows);
+        BlockSchedule blocks = CourseBlockSplitter.split(original, 2);
+        place(blocks.getCourseBlocks().get(0), timeslot(DayOfWeek.MONDAY, 7), r1);
+        place(blocks.getCourseBlocks().get(1), timeslot(DayOfWeek.TUESDAY, 7), r1);
+
+        SchoolSchedule converted = CourseBlockConverter.toSchoolSchedule(blocks, original);
+
+        CourseAssignment extra = converted.getCourseAssignments().get(4);
+        assertNull(extra.getTimeslot());
+        assertNull(extra.getTeacher());
+        assertNull(extra.getRoom());
+        assertNotNull(converted.getCourseAssignments().get(3).getTimeslot());
+    }
+
+    @Test
+    public void hoursPastTheEndOfTheDayAreReported() {
+        SchoolSchedule original = schedule(rows(4));
+        BlockSchedule blocks = CourseBlockSplitter.split(original, 2);
+        place(blocks.getCourseBlocks().get(0), timeslot(DayOfWeek.MONDAY, 7), r1);
+        // Starts in the last hour of Tuesday, so its second hour has no timeslot
+        place(blocks.getCourseBlocks().get(1), timeslot(DayOfWeek.TUESDAY, 10), r1);
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        SchoolSchedule converted;
+        try {
+            converted = CourseBlockConverter.toSchoolSchedule(blocks, original);
+        } finally {
+            System.setErr(err);
+        }
+
+        assertEquals(timeslot(DayOfWeek.TUESDAY, 10), converted.getCourseAssignments().get(2).getTimeslot());
+        assertNull(converted.getCourseAssignments().get(3).getTimeslot());
+        assertTrue(captured.toString(StandardCharsets.UTF_8).contains("1 block hours fall past the end of their day"));
+    }
+
+    private void place(CourseBlock block, Timeslot start, Room room) {
+        block.setStart(start);
+        block.setTeacher(ana);
+        block.setRoom(room);
+    }
+
+    private List<CourseAssignment> rows(int hours) {
+        List<CourseAssignment> rows = new ArrayList<>();
+        for (int i = 0; i < hours; i++) {
+            rows.add(new CourseAssignment("m" + i, group, math, i));
+        }
+        return rows;
+    }
+
+    private Timeslot timeslot(DayOfWeek day, int hour) {
+        return timeslots.stream().filter(t -> t.getDayOfWeek() == day && t.getHour() == hour).findFirst()
+                .orElseThrow();
+    }
+
+    private SchoolSchedule schedule(List<CourseAssignment> rows) {
+        return new SchoolSchedule(List.of(ana), timeslots, List.of(r1, r2), List.of(math), List.of(group), rows);
+    }
+}
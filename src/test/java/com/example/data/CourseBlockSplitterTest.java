@@ -0,0 +1,147 @@
+package com.example.data;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import com.example.domain.BlockSchedule;
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.CourseBlock;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+import com.example.solver.BlockConstraintProvider;
+import com.example.solver.ConstraintWeights;
+import com.example.solver.SchoolConstraintProvider;
+import com.example.solver.SchoolSolverConfig;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CourseBlockSplitterTest {
+
+    private final List<Timeslot> timeslots = new ArrayList<>();
+    private final Room room = new Room("R1", "A", "estándar");
+    private final Course math = new Course("Math", "estándar", 5);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9, 10), DayOfWeek.TUESDAY, Set.of(7, 8)), 20);
+
+    public CourseBlockSplitterTest() {
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY)) {
+            for (int hour = 7; hour <= 10; hour++) {
+                timeslots.add(new Timeslot(day + "_" + hour, day, hour, day + " " + hour));
+            }
+        }
+    }
+
+    @Test
+    public void splitsRequiredHoursIntoEvenBlocks() {
+        BlockSchedule blocks = CourseBlockSplitter.split(schedule(rows(5)), 2);
+
+        assertEquals(List.of(2, 2, 1), lengths(blocks));
+        assertTrue(blocks.getCourseBlocks().stream().noneMatch(CourseBlock::isPinned));
+    }
+
+    @Test
+    public void pinnedRunsBecomePinnedBlocksAndBlockTheirHours() {
+        List<CourseAssignment> rows = rows(5);
+        pin(rows.get(0), timeslot(DayOfWeek.MONDAY, 7));
+        pin(rows.get(1), timeslot(DayOfWeek.MONDAY, 8));
+        BlockSchedule blocks = CourseBlockSplitter.split(schedule(rows), 2);
+
+        // One pinned 2-hour run, then the 3 remaining hours as 2+1
+        assertEquals(List.of(2, 2, 1), lengths(blocks));
+        CourseBlock pinned = blocks.getCourseBlocks().get(0);
+        assertTrue(pinned.isPinned());
+        assertEquals(timeslot(DayOfWeek.MONDAY, 7), pinned.getStart());
+        assertEquals(List.of(timeslot(DayOfWeek.MONDAY, 7)), pinned.getStartRange());
+
+        // A 2-hour block must fit the day, stay within Ana's hours and avoid Mon 7-8
+        CourseBlock twoHours = blocks.getCourseBlocks().get(1);
+        assertEquals(List.of(timeslot(DayOfWeek.MONDAY, 9), timeslot(DayOfWeek.TUESDAY, 7)),
+                twoHours.getStartRange());
+        CourseBlock oneHour = blocks.getCourseBlocks().get(2);
+        assertFalse(oneHour.getStartRange().contains(timeslot(DayOfWeek.MONDAY, 8)));
+        assertTrue(oneHour.getStartRange().contains(timeslot(DayOfWeek.MONDAY, 10)));
+        assertEquals(List.of(ana), oneHour.getTeacherRange());
+    }
+
+    @Test
+    public void pinnedHoursWithAnotherTeacherStartANewBlock() {
+        Teacher bruno = new Teacher("t2", "Bruno", "Diaz", Set.of("Math"),
+                Map.of(DayOfWeek.MONDAY, Set.of(7, 8)), 20);
+        // Math needs 5 hours: Mon 7 (Ana) and Mon 8 (Bruno) are pinned, 3 are left
+        List<CourseAssignment> rows = rows(5);
+        pin(rows.get(0), timeslot(DayOfWeek.MONDAY, 7));
+        pin(rows.get(1), timeslot(DayOfWeek.MONDAY, 8));
+        rows.get(1).setTeacher(bruno);
+
+        BlockSchedule blocks = CourseBlockSplitter.split(new SchoolSchedule(List.of(ana, bruno), timeslots,
+                List.of(room), List.of(math), List.of(group), rows), 2);
+
+        assertEquals(List.of(1, 1, 2, 1), lengths(blocks));
+        assertSame(bruno, blocks.getCourseBlocks().get(1).getTeacher());
+    }
+
+    @Test
+    public void sharedWeightOverridesAreCarriedOverAndAccepted() {
+        SchoolSchedule schedule = schedule(rows(2));
+        schedule.setConstraintWeightOverrides(ConstraintWeights.of(Map.of(
+                SchoolConstraintProvider.TEACHER_IDLE_GAPS, "0hard/5soft",
+                SchoolConstraintProvider.PREFERRED_ROOM, "0hard/3soft")));
+
+        BlockSchedule blocks = CourseBlockSplitter.split(schedule, 2);
+
+        ConstraintWeightOverrides<HardSoftScore> weights = blocks.getConstraintWeightOverrides();
+        assertEquals(Set.of(SchoolConstraintProvider.TEACHER_IDLE_GAPS), weights.getKnownConstraintNames());
+        assertEquals(HardSoftScore.ofSoft(5), weights.getConstraintWeight(SchoolConstraintProvider.TEACHER_IDLE_GAPS));
+        // The block solver accepts an override for each of its constraint names
+        Map<String, String> all = new HashMap<>();
+        BlockConstraintProvider.CONSTRAINT_NAMES.forEach(name -> all.put(name, "0hard/1soft"));
+        blocks.setConstraintWeightOverrides(ConstraintWeights.of(all));
+        SolutionManager<BlockSchedule, HardSoftScore> solutionManager = SolutionManager
+                .create(SchoolSolverConfig.buildBlockSolverFactory());
+        ScoreAnalysis<HardSoftScore> analysis = solutionManager.analyze(blocks);
+        assertEquals(BlockConstraintProvider.CONSTRAINT_NAMES.size(), analysis.constraintMap().size());
+    }
+
+    private List<CourseAssignment> rows(int hours) {
+        List<CourseAssignment> rows = new ArrayList<>();
+        for (int i = 0; i < hours; i++) {
+            rows.add(new CourseAssignment("m" + i, group, math, i));
+        }
+        return rows;
+    }
+
+    private void pin(CourseAssignment a, Timeslot timeslot) {
+        a.setTimeslot(timeslot);
+        a.setTeacher(ana);
+        a.setRoom(room);
+        a.setPinned(true);
+    }
+
+    private Timeslot timeslot(DayOfWeek day, int hour) {
+        return timeslots.stream().filter(t -> t.getDayOfWeek() == day && t.getHour() == hour).findFirst()
+                .orElseThrow();
+    }
+
+    private SchoolSchedule schedule(List<CourseAssignment> rows) {
+        return new SchoolSchedule(List.of(ana), timeslots, List.of(room), List.of(math), List.of(group), rows);
+    }
+
+    private static List<Integer> lengths(BlockSchedule blocks) {
+        return blocks.getCourseBlocks().stream().map(CourseBlock::getLength).toList();
+    }
+}
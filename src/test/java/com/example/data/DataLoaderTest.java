@@ -0,0 +1,56 @@
+package com.example.data;
+
+import com.example.domain.SchoolSchedule;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class DataLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SchoolSchedule schedule = new SyntheticDataGenerator().generate();
+    private DataLoader loader;
+
+    @Before
+    public void setUp() {
+        loader = new DataLoader("jdbc:postgresql://localhost:5432/school_schedule", "user", "secret");
+        loader.setCacheDirectory(folder.getRoot().toPath());
+        loader.writeCache(schedule, DataLoader.fingerprint("epoch", 7));
+    }
+
+    @Test
+    public void unchangedVersionIsACacheHit() {
+        SchoolSchedule cached = loader.cachedSchedule(DataLoader.fingerprint("epoch", 7));
+        assertNotNull(cached);
+        assertEquals(schedule.getCourseAssignments().size(), cached.getCourseAssignments().size());
+        assertEquals(schedule.getTeachers(), cached.getTeachers());
+    }
+
+    @Test
+    public void bumpedVersionOrNewEpochIsACacheMiss() {
+        assertNull(loader.cachedSchedule(DataLoader.fingerprint("epoch", 8)));
+        // Recreated table: the version starts over, the epoch does not match
+        assertNull(loader.cachedSchedule(DataLoader.fingerprint("recreated", 7)));
+        // No schedule_data_version row
+        assertNull(loader.cachedSchedule(null));
+    }
+
+    @Test
+    public void reloadSkipsAMatchingCacheButStillRefreshesIt() {
+        loader.setForceReload(true);
+        assertNull(loader.cachedSchedule(DataLoader.fingerprint("epoch", 7)));
+
+        SchoolSchedule reloaded = new SyntheticDataGenerator().generate();
+        reloaded.getCourseAssignments().remove(0);
+        loader.writeCache(reloaded, DataLoader.fingerprint("epoch", 7));
+        loader.setForceReload(false);
+        SchoolSchedule cached = loader.cachedSchedule(DataLoader.fingerprint("epoch", 7));
+        assertEquals(reloaded.getCourseAssignments().size(), cached.getCourseAssignments().size());
+    }
+}
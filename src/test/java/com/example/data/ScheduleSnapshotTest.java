@@ -0,0 +1,76 @@
+package com.example.data;
+
+import com.example.domain.CourseAssignment;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+
+import static org.junit.Assert.*;
+
+public class ScheduleSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripKeepsFactsAndAssignments() throws IOException {
+        SchoolSchedule original = new SyntheticDataGenerator().generate();
+        CourseAssignment first = original.getCourseAssignments().get(0);
+        first.setTeacher(original.getTeachers().get(0));
+        first.setTimeslot(original.getTimeslots().get(3));
+        first.setRoom(original.getRooms().get(1));
+        first.setPinned(true);
+
+        Path file = folder.getRoot().toPath().resolve("schedule.snap");
+        ScheduleSnapshot.write(original, file);
+        SchoolSchedule copy = ScheduleSnapshot.read(file);
+
+        assertEquals(original.getTeachers(), copy.getTeachers());
+        assertEquals(original.getCourses(), copy.getCourses());
+        assertEquals(original.getRooms(), copy.getRooms());
+        assertEquals(original.getTimeslots(), copy.getTimeslots());
+        assertEquals(original.getGroups(), copy.getGroups());
+        for (int i = 0; i < original.getTeachers().size(); i++) {
+            Teacher a = original.getTeachers().get(i);
+            Teacher b = copy.getTeachers().get(i);
+            assertEquals(a.getQualifications(), b.getQualifications());
+            assertEquals(a.getMaxHoursPerWeek(), b.getMaxHoursPerWeek());
+            for (DayOfWeek day : DayOfWeek.values()) {
+                assertEquals(a.getAvailabilityMask(day), b.getAvailabilityMask(day));
+            }
+        }
+        assertEquals(original.getCourseAssignments().size(), copy.getCourseAssignments().size());
+        for (int i = 0; i < original.getCourseAssignments().size(); i++) {
+            CourseAssignment a = original.getCourseAssignments().get(i);
+            CourseAssignment b = copy.getCourseAssignments().get(i);
+            assertEquals(a.getId(), b.getId());
+            assertEquals(a.getGroup(), b.getGroup());
+            assertEquals(a.getCourse(), b.getCourse());
+            assertEquals(a.getSequenceIndex(), b.getSequenceIndex());
+            assertEquals(a.getTeacher(), b.getTeacher());
+            assertEquals(a.getTimeslot(), b.getTimeslot());
+            assertEquals(a.getRoom(), b.getRoom());
+            assertEquals(a.isPinned(), b.isPinned());
+            assertEquals(a.getTeacherRange(), b.getTeacherRange());
+            assertEquals(a.getRoomRange(), b.getRoomRange());
+            assertEquals(a.getTimeslotRange(), b.getTimeslotRange());
+        }
+        // Facts are shared within the copy, not duplicated per row
+        assertSame(copy.getTeachers().get(0), copy.getCourseAssignments().get(0).getTeacher());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("not-a-snapshot");
+        Files.writeString(file, "hello world");
+        ScheduleSnapshot.read(file);
+    }
+}
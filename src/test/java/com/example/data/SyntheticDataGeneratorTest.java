@@ -0,0 +1,68 @@
+package com.example.data;
+
+import com.example.domain.Course;
+import com.example.domain.SchoolSchedule;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class SyntheticDataGeneratorTest {
+
+    @Test
+    public void courseRowsFitTheSchema() throws IOException {
+        Map<String, Integer> widths = varcharWidths("course");
+        SyntheticDataGenerator generator = new SyntheticDataGenerator();
+        generator.setSemesters(6);
+        generator.setScale(2);
+        SchoolSchedule schedule = generator.generate();
+
+        assertFalse(schedule.getCourses().isEmpty());
+        for (Course c : schedule.getCourses()) {
+            assertFits(widths, "id", c.getId());
+            assertFits(widths, "name", c.getName());
+            assertFits(widths, "abbreviation", c.getAbbreviation());
+            assertFits(widths, "room_requirement", c.getRoomRequirement());
+            assertFits(widths, "semester", c.getSemester());
+            assertFits(widths, "component", c.getComponent());
+            assertTrue(c.getRequiredHoursPerWeek() > 0);
+        }
+    }
+
+    @Test
+    public void sameSeedGivesSameSchool() {
+        SchoolSchedule a = new SyntheticDataGenerator().generate();
+        SchoolSchedule b = new SyntheticDataGenerator().generate();
+        assertEquals(a.getCourses(), b.getCourses());
+        assertEquals(a.getCourseAssignments().size(), b.getCourseAssignments().size());
+    }
+
+    private static void assertFits(Map<String, Integer> widths, String column, String value) {
+        assertNotNull(column, value);
+        assertTrue(column + " '" + value + "' is longer than VARCHAR(" + widths.get(column) + ")",
+                value.length() <= widths.get(column));
+    }
+
+    /** VARCHAR(n) widths of {@code table}'s columns in database/schema.sql. */
+    private static Map<String, Integer> varcharWidths(String table) throws IOException {
+        String schema = Files.readString(Path.of("database", "schema.sql"), StandardCharsets.UTF_8);
+        int start = schema.indexOf("CREATE TABLE " + table + " (");
+        assertTrue("no table " + table + " in schema.sql", start >= 0);
+        String body = schema.substring(start, schema.indexOf(");", start));
+        Map<String, Integer> widths = new HashMap<>();
+        Matcher m = Pattern.compile("(?m)^\\s*(\\w+) VARCHAR\\((\\d+)\\)").matcher(body);
+        while (m.find()) {
+            widths.put(m.group(1), Integer.parseInt(m.group(2)));
+        }
+        return widths;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.domain;
+
+import com.example.solver.TestSchedules;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TeacherLoadTest {
+
+    private final Course math = new Course("Math", "estándar", 2);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9)), 3);
+    private final Teacher bruno = new Teacher("t2", "Bruno", "Diaz", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9)), 3);
+
+    @Test
+    public void followsTeacherChangesAfterItWasBuilt() {
+        CourseAssignment m0 = assignment("m0", 0, ana);
+        CourseAssignment m1 = assignment("m1", 1, ana);
+        TeacherLoad load = TeacherLoad.of(List.of(m0, m1));
+        assertEquals(2, load.getAssignedHours(ana));
+        assertEquals(0, load.getAssignedHours(bruno));
+
+        m1.setTeacher(bruno);
+        assertEquals(1, load.getAssignedHours(ana));
+        assertEquals(1, load.getAssignedHours(bruno));
+        assertEquals(2, load.getRemainingHours(bruno));
+
+        m0.setTeacher(null);
+        assertEquals(0, load.getAssignedHours(ana));
+    }
+
+    @Test
+    public void rowsBeyondTheRequiredHoursDoNotCount() {
+        // Math needs 2 hours; the third row is extra
+        TeacherLoad load = TeacherLoad.of(List.of(assignment("m0", 0, ana), assignment("m1", 1, ana),
+                assignment("m2", 2, ana)));
+        assertEquals(2, load.getAssignedHours(ana));
+        assertEquals(1, load.getRemainingHours(ana));
+    }
+
+    @Test
+    public void rowsWithoutARangeCountForAnyTeacher() {
+        CourseAssignment ranged = assignment("m0", 0, ana);
+        CourseAssignment unranged = new CourseAssignment("m1", group, math, 1);
+        unranged.setTeacher(ana);
+        TeacherLoad load = TeacherLoad.of(List.of(ranged, unranged));
+        assertEquals(2, load.getAssignedHours(ana));
+
+        unranged.setTeacher(bruno);
+        assertEquals(1, load.getAssignedHours(bruno));
+    }
+
+    private CourseAssignment assignment(String id, int sequence, Teacher teacher) {
+        return TestSchedules.assignment(id, group, math, sequence, teacher, List.of(ana, bruno));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.analysis.ConstraintAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+
+import com.example.domain.BlockSchedule;
+import com.example.domain.Course;
+import com.example.domain.CourseBlock;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/** Scores hand-built block schedules through {@link SolutionManager}, like SchoolConstraintProviderTest. */
+public class BlockConstraintProviderTest {
+
+    private final SolutionManager<BlockSchedule, HardSoftScore> solutionManager =
+            SolutionManager.create(SchoolSolverConfig.buildBlockSolverFactory());
+    private final List<Timeslot> timeslots = new ArrayList<>();
+    private final Room room = new Room("R1", "A", "estándar");
+    private final Course math = new Course("Math", "estándar", 6);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9, 10, 11, 12, 13)), 20);
+
+    public BlockConstraintProviderTest() {
+        for (int hour = 7; hour <= 13; hour++) {
+            timeslots.add(new Timeslot("MON_" + hour, DayOfWeek.MONDAY, hour, "Mon " + hour));
+        }
+    }
+
+    @Test
+    public void chainOfTouchingBlocksIsNotPenalized() {
+        // 7-9, 9-11 and 11-12: the first and last block do not touch, but the day is one run
+        assertConsecutivePenalty(0, schedule(7, 2, 9, 2, 11, 1));
+        assertConsecutivePenalty(0, schedule(11, 1, 7, 2, 9, 2));
+        assertConsecutivePenalty(0, schedule(7, 1, 8, 1, 9, 1, 10, 2));
+    }
+
+    @Test
+    public void eachBreakBetweenRunsCostsOne() {
+        // 7-9 and 11-12: one break, however many hours it spans
+        assertConsecutivePenalty(1, schedule(7, 2, 11, 1));
+        assertConsecutivePenalty(1, schedule(7, 2, 9, 1, 12, 1));
+        assertConsecutivePenalty(2, schedule(7, 1, 9, 1, 12, 2));
+    }
+
+    private void assertConsecutivePenalty(int breaks, BlockSchedule schedule) {
+        ConstraintAnalysis<HardSoftScore> constraint = solutionManager.analyze(schedule)
+                .getConstraintAnalysis(SchoolConstraintProvider.GROUP_COURSE_CONSECUTIVE);
+        assertEquals(breaks, constraint == null ? 0 : -constraint.score().hardScore());
+    }
+
+    /** Monday blocks of Math for one group, as (start hour, length) pairs. */
+    private BlockSchedule schedule(int... startsAndLengths) {
+        List<CourseBlock> blocks = new ArrayList<>();
+        for (int i = 0; i < startsAndLengths.length; i += 2) {
+            CourseBlock block = new CourseBlock("b" + i, group, math, i / 2, startsAndLengths[i + 1]);
+            block.setStart(timeslots.get(startsAndLengths[i] - 7));
+            block.setTeacher(ana);
+            block.setRoom(room);
+            blocks.add(block);
+        }
+        return new BlockSchedule(List.of(ana), timeslots, List.of(room), List.of(math), List.of(group), blocks);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ConstraintWeightsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsNamesWithSpacesAndDisabledWeights() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("weights.properties");
+        Files.writeString(file, "# quick run\n"
+                + SchoolConstraintProvider.TEACHER_IDLE_GAPS + " = off\n"
+                + "\n"
+                + SchoolConstraintProvider.PREFERRED_ROOM + " = 0hard/3soft\n");
+        ConstraintWeightOverrides<HardSoftScore> weights = ConstraintWeights.fromFile(file);
+        assertEquals(HardSoftScore.ZERO, weights.getConstraintWeight(SchoolConstraintProvider.TEACHER_IDLE_GAPS));
+        assertEquals(HardSoftScore.ofSoft(3), weights.getConstraintWeight(SchoolConstraintProvider.PREFERRED_ROOM));
+        assertNull(weights.getConstraintWeight(SchoolConstraintProvider.TEACHER_MAX_HOURS));
+    }
+
+    @Test
+    public void mergeLetsTheTopWeightsWin() {
+        ConstraintWeightOverrides<HardSoftScore> base = ConstraintWeights.of(Map.of(
+                SchoolConstraintProvider.TEACHER_IDLE_GAPS, "0hard/2soft",
+                SchoolConstraintProvider.TEACHER_MAX_HOURS, "0hard/5soft"));
+        ConstraintWeightOverrides<HardSoftScore> top = ConstraintWeights.of(Map.of(
+                SchoolConstraintProvider.TEACHER_IDLE_GAPS, "0"));
+        ConstraintWeightOverrides<HardSoftScore> merged = ConstraintWeights.merge(base, top);
+        assertEquals(HardSoftScore.ZERO, merged.getConstraintWeight(SchoolConstraintProvider.TEACHER_IDLE_GAPS));
+        assertEquals(HardSoftScore.ofSoft(5), merged.getConstraintWeight(SchoolConstraintProvider.TEACHER_MAX_HOURS));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsLinesWithoutWeight() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("broken.properties");
+        Files.writeString(file, "Minimize teacher idle gaps\n");
+        ConstraintWeights.fromFile(file);
+    }
+}
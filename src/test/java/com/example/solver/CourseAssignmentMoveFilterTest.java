@@ -0,0 +1,79 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.domain.entity.descriptor.EntityDescriptor;
+import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import ai.timefold.solver.core.impl.heuristic.selector.move.generic.ChangeMove;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CourseAssignmentMoveFilterTest {
+
+    private static final EntityDescriptor<SchoolSchedule> ENTITY = SolutionDescriptor
+            .buildSolutionDescriptor(SchoolSchedule.class, CourseAssignment.class)
+            .findEntityDescriptorOrFail(CourseAssignment.class);
+
+    private final Timeslot mon7 = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+    private final Course math = new Course("Math", "estándar", 3);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final Teacher full = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9)), 2);
+    private final Teacher free = new Teacher("t2", "Bruno", "Diaz", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9)), 2);
+
+    private final CourseAssignment m0 = assignment("m0", 0, full);
+    private final CourseAssignment m1 = assignment("m1", 1, full);
+    private final CourseAssignment m2 = assignment("m2", 2, free);
+    private final SchoolSchedule schedule = TestSchedules.schedule(List.of(mon7), m0, m1, m2);
+
+    @Test
+    public void rejectsTeacherChangesPastMaxHours() {
+        CourseAssignmentMoveFilter filter = new CourseAssignmentMoveFilter();
+        ScoreDirector<SchoolSchedule> scoreDirector = StubScoreDirector.of(schedule);
+        assertFalse(filter.accept(scoreDirector, teacherChange(m2, full)));
+        assertTrue(filter.accept(scoreDirector, teacherChange(m0, free)));
+        // Keeping the current teacher never adds an hour
+        assertTrue(filter.accept(scoreDirector, teacherChange(m0, full)));
+    }
+
+    @Test
+    public void seesTeacherChangesMadeAfterTheFirstCall() {
+        CourseAssignmentMoveFilter filter = new CourseAssignmentMoveFilter();
+        assertFalse(filter.accept(schedule, m2, full));
+        // A step moves m1 to the other teacher: full has room again, free does not
+        m1.setTeacher(free);
+        assertTrue(filter.accept(schedule, m2, full));
+        assertFalse(filter.accept(schedule, m0, free));
+    }
+
+    @Test
+    public void passesOtherMoves() {
+        CourseAssignmentMoveFilter filter = new CourseAssignmentMoveFilter();
+        ChangeMove<SchoolSchedule> timeslotChange = new ChangeMove<>(ENTITY.getGenuineVariableDescriptor("timeslot"),
+                m2, mon7);
+        assertTrue(filter.accept(StubScoreDirector.of(schedule), timeslotChange));
+        assertTrue(filter.accept(schedule, m2, null));
+    }
+
+    private static ChangeMove<SchoolSchedule> teacherChange(CourseAssignment assignment, Teacher teacher) {
+        return new ChangeMove<>(ENTITY.getGenuineVariableDescriptor("teacher"), assignment, teacher);
+    }
+
+    private CourseAssignment assignment(String id, int sequence, Teacher teacher) {
+        return TestSchedules.assignment(id, group, math, sequence, teacher, List.of(full, free));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class DaySwapMoveIteratorFactoryTest {
+
+    private final List<Timeslot> timeslots = TestSchedules.timeslots(
+            List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY), 7, 9);
+    private final Map<DayOfWeek, Map<Integer, Timeslot>> slots = DaySwapMoveIteratorFactory.slotsByDay(timeslots);
+    private final Course math = new Course("Math", "estándar", 4);
+    private final Group g1 = new Group("g1", "G1", Set.of("Math"));
+    private final Group g2 = new Group("g2", "G2", Set.of("Math"));
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9), DayOfWeek.TUESDAY, Set.of(7, 8, 9),
+                    DayOfWeek.WEDNESDAY, Set.of(7, 8, 9)), 20);
+    private final Teacher bruno = new Teacher("t2", "Bruno", "Diaz", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9), DayOfWeek.TUESDAY, Set.of(7)), 20);
+
+    @Test
+    public void groupSwapTradesBothDaysAndKeepsTheHours() {
+        CourseAssignment mon7 = assignment("a", g1, ana, DayOfWeek.MONDAY, 7);
+        CourseAssignment mon8 = assignment("b", g1, ana, DayOfWeek.MONDAY, 8);
+        CourseAssignment tue9 = assignment("c", g1, ana, DayOfWeek.TUESDAY, 9);
+        CourseAssignment wed7 = assignment("d", g1, ana, DayOfWeek.WEDNESDAY, 7);
+        CourseAssignment pinned = assignment("e", g1, ana, DayOfWeek.TUESDAY, 7);
+        pinned.setPinned(true);
+
+        DaySwapMove move = DaySwapMoveIteratorFactory.daySwap("group", List.of(mon7, mon8, tue9, wed7, pinned),
+                DayOfWeek.MONDAY, DayOfWeek.TUESDAY, slots);
+        assertEquals(List.of(mon7, mon8, tue9), move.getAssignments());
+        assertTrue(move.isMoveDoable(null));
+
+        move.doMoveOnGenuineVariables(StubScoreDirector.of(schedule(mon7, mon8, tue9, wed7, pinned)));
+
+        assertEquals(slots.get(DayOfWeek.TUESDAY).get(7), mon7.getTimeslot());
+        assertEquals(slots.get(DayOfWeek.TUESDAY).get(8), mon8.getTimeslot());
+        assertEquals(slots.get(DayOfWeek.MONDAY).get(9), tue9.getTimeslot());
+        assertEquals(slots.get(DayOfWeek.WEDNESDAY).get(7), wed7.getTimeslot());
+        assertEquals(slots.get(DayOfWeek.TUESDAY).get(7), pinned.getTimeslot());
+    }
+
+    @Test
+    public void teacherSwapMovesTheTeachersAssignmentsAcrossGroups() {
+        CourseAssignment g1Mon = assignment("a", g1, ana, DayOfWeek.MONDAY, 8);
+        CourseAssignment g2Wed = assignment("b", g2, ana, DayOfWeek.WEDNESDAY, 9);
+        CourseAssignment other = assignment("c", g2, bruno, DayOfWeek.MONDAY, 7);
+        Iterator<DaySwapMove> moves = new DaySwapMoveIteratorFactory()
+                .createRandomMoveIterator(StubScoreDirector.of(schedule(g1Mon, g2Wed, other)), new Random(3));
+
+        DaySwapMove move = null;
+        for (int i = 0; i < 200 && move == null; i++) {
+            DaySwapMove candidate = moves.next();
+            if (candidate.getSimpleMoveTypeDescription().equals("DaySwapMove(teacher)")
+                    && candidate.getAssignments().size() == 2) {
+                move = candidate;
+            }
+        }
+        assertNotNull(move);
+        assertTrue(move.isMoveDoable(null));
+
+        move.doMoveOnGenuineVariables(StubScoreDirector.of(null));
+
+        assertEquals(slots.get(DayOfWeek.WEDNESDAY).get(8), g1Mon.getTimeslot());
+        assertEquals(slots.get(DayOfWeek.MONDAY).get(9), g2Wed.getTimeslot());
+        assertEquals(slots.get(DayOfWeek.MONDAY).get(7), other.getTimeslot());
+    }
+
+    @Test
+    public void swapIsNotDoableWhenTheTeacherIsUnavailable() {
+        // Bruno teaches Tuesday only at 7, so Monday 8 cannot move to Tuesday
+        CourseAssignment mon7 = assignment("a", g1, bruno, DayOfWeek.MONDAY, 7);
+        CourseAssignment mon8 = assignment("b", g1, bruno, DayOfWeek.MONDAY, 8);
+
+        assertFalse(DaySwapMoveIteratorFactory.daySwap("teacher", List.of(mon7, mon8), DayOfWeek.MONDAY,
+                DayOfWeek.TUESDAY, slots).isMoveDoable(null));
+        assertTrue(DaySwapMoveIteratorFactory.daySwap("teacher", List.of(mon7), DayOfWeek.MONDAY,
+                DayOfWeek.TUESDAY, slots).isMoveDoable(null));
+    }
+
+    @Test
+    public void randomMovesStayWithinAvailability() {
+        List<CourseAssignment> assignments = new ArrayList<>();
+        for (int hour = 7; hour <= 9; hour++) {
+            assignments.add(assignment("a" + hour, g1, bruno, DayOfWeek.MONDAY, hour));
+            assignments.add(assignment("b" + hour, g2, ana, DayOfWeek.WEDNESDAY, hour));
+        }
+        Iterator<DaySwapMove> moves = new DaySwapMoveIteratorFactory()
+                .createRandomMoveIterator(StubScoreDirector.of(schedule(assignments.toArray(CourseAssignment[]::new))),
+                        new Random(11));
+
+        for (int i = 0; i < 50; i++) {
+            DaySwapMove move = moves.next();
+            if (!move.isMoveDoable(null)) {
+                continue;
+            }
+            for (int j = 0; j < move.getAssignments().size(); j++) {
+                CourseAssignment assignment = move.getAssignments().get(j);
+                Timeslot target = move.getTargets().get(j);
+                assertEquals(assignment.getTimeslot().getHour(), target.getHour());
+                assertTrue(assignment.getTeacher().isAvailableAt(target));
+            }
+        }
+    }
+
+    @Test
+    public void placeholderMoveIsNeverDoable() {
+        CourseAssignment pinned = assignment("a", g1, ana, DayOfWeek.MONDAY, 7);
+        pinned.setPinned(true);
+        Iterator<DaySwapMove> moves = new DaySwapMoveIteratorFactory()
+                .createRandomMoveIterator(StubScoreDirector.of(schedule(pinned)), new Random(5));
+
+        DaySwapMove move = moves.next();
+        assertTrue(move.getAssignments().isEmpty());
+        assertFalse(move.isMoveDoable(null));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void originalOrderIsRejected() {
+        new DaySwapMoveIteratorFactory().createOriginalMoveIterator(StubScoreDirector.of(null));
+    }
+
+    private CourseAssignment assignment(String id, Group group, Teacher teacher, DayOfWeek day, int hour) {
+        CourseAssignment a = TestSchedules.assignment(id, group, math, slots.get(day).get(hour), timeslots);
+        a.setTeacher(teacher);
+        return a;
+    }
+
+    private SchoolSchedule schedule(CourseAssignment... assignments) {
+        return TestSchedules.schedule(timeslots, assignments);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.solver;
+
+import org.junit.Test;
+
+import java.util.function.BiFunction;
+
+import static org.junit.Assert.*;
+
+public class HourMaskCollectorTest {
+
+    private static long hours(int... hours) {
+        long mask = 0L;
+        for (int h : hours) {
+            mask |= 1L << h;
+        }
+        return mask;
+    }
+
+    @Test
+    public void eachIdleHourCountsOnce() {
+        long available = hours(7, 8, 9, 10, 11, 12, 13, 14);
+        // Classes at 7, 9 and 12: gaps 8 and 10-11, i.e. 3 idle hours
+        assertEquals(3, HourMaskCollector.avoidableIdleHours(hours(7, 9, 12), available));
+        assertEquals(0, HourMaskCollector.avoidableIdleHours(hours(7, 8, 9), available));
+        assertEquals(0, HourMaskCollector.avoidableIdleHours(hours(10), available));
+    }
+
+    @Test
+    public void gapWithUnavailableHourIsNotPenalized() {
+        // Teacher is away at 10, so the 9-11 gap cannot be closed; the 8 gap can
+        long available = hours(7, 8, 9, 11, 12);
+        assertEquals(1, HourMaskCollector.avoidableIdleHours(hours(7, 9, 12), available));
+    }
+
+    @Test
+    public void breaksCountTheGapsBetweenRuns() {
+        assertEquals(0, HourMaskCollector.breaks(0L));
+        assertEquals(0, HourMaskCollector.breaks(hours(7, 8, 9, 10, 11)));
+        assertEquals(1, HourMaskCollector.breaks(hours(7, 8, 11)));
+        assertEquals(2, HourMaskCollector.breaks(hours(7, 9, 12, 13)));
+    }
+
+    @Test
+    public void sharedHourSurvivesRetractOfOneMatch() {
+        HourMaskCollector<Integer> collector = HourMaskCollector.hourMask(h -> 1L << h);
+        HourMaskCollector.Hours container = collector.supplier().get();
+        BiFunction<HourMaskCollector.Hours, Integer, Runnable> accumulator = collector.accumulator();
+        Runnable first = accumulator.apply(container, 8);
+        accumulator.apply(container, 8);
+        accumulator.apply(container, 10);
+        first.run();
+        assertEquals(Long.valueOf(hours(8, 10)), collector.finisher().apply(container));
+    }
+}
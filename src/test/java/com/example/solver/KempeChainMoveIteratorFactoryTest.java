@@ -0,0 +1,106 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class KempeChainMoveIteratorFactoryTest {
+
+    private final Timeslot mon7 = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+    private final Timeslot mon8 = new Timeslot("MON_8", DayOfWeek.MONDAY, 8, "Mon 8");
+    private final Timeslot mon9 = new Timeslot("MON_9", DayOfWeek.MONDAY, 9, "Mon 9");
+    private final Course math = new Course("Math", "estándar", 1);
+    private final List<Timeslot> slots = List.of(mon7, mon8, mon9);
+
+    @Test
+    public void chainFollowsGroupTeacherAndRoomLinksAcrossBothSlots() {
+        // a -group-> b -teacher-> c -room-> d, each hop crossing to the other slot
+        CourseAssignment a = assignment("a", "g1", "t1", "r1", mon7);
+        CourseAssignment b = assignment("b", "g1", "t2", "r2", mon8);
+        CourseAssignment c = assignment("c", "g2", "t2", "r3", mon7);
+        CourseAssignment d = assignment("d", "g3", "t3", "r3", mon8);
+        // Shares t1 with a, but in a third slot
+        CourseAssignment elsewhere = assignment("e", "g4", "t1", "r4", mon9);
+        // Same slot as a and shares its room: not an edge, both are already in mon7
+        CourseAssignment sameSlot = assignment("f", "g5", "t5", "r1", mon7);
+        Map<Timeslot, List<CourseAssignment>> bySlot = KempeChainMoveIteratorFactory
+                .bySlot(List.of(a, b, c, d, elsewhere, sameSlot));
+
+        List<CourseAssignment> chain = KempeChainMoveIteratorFactory.chain(bySlot, a, mon7, mon8);
+
+        assertEquals(List.of(a, b, c, d), chain);
+        assertEquals(List.of(d, c, b, a), KempeChainMoveIteratorFactory.chain(bySlot, d, mon7, mon8));
+    }
+
+    @Test
+    public void chainsAboveTheLimitAreDropped() {
+        // One group in both slots links everything: 2 x 21 members
+        List<CourseAssignment> assignments = new ArrayList<>();
+        int half = KempeChainMoveIteratorFactory.MAX_CHAIN_SIZE / 2 + 1;
+        for (int i = 0; i < half; i++) {
+            assignments.add(assignment("a" + i, "g1", "t" + i, "r" + i, mon7));
+            assignments.add(assignment("b" + i, "g1", "u" + i, "s" + i, mon8));
+        }
+        Map<Timeslot, List<CourseAssignment>> bySlot = KempeChainMoveIteratorFactory.bySlot(assignments);
+        assertNull(KempeChainMoveIteratorFactory.chain(bySlot, assignments.get(0), mon7, mon8));
+
+        // One member less on each side fits
+        bySlot = KempeChainMoveIteratorFactory.bySlot(assignments.subList(2, assignments.size()));
+        assertEquals(KempeChainMoveIteratorFactory.MAX_CHAIN_SIZE,
+                KempeChainMoveIteratorFactory.chain(bySlot, assignments.get(2), mon7, mon8).size());
+    }
+
+    @Test
+    public void randomMovesAreDoableOrEmpty() {
+        CourseAssignment a = assignment("a", "g1", "t1", "r1", mon7);
+        CourseAssignment b = assignment("b", "g1", "t2", "r2", mon8);
+        CourseAssignment pinned = assignment("p", "g2", "t2", "r3", mon7);
+        pinned.setPinned(true);
+        SchoolSchedule schedule = TestSchedules.schedule(slots, a, b, pinned);
+        Iterator<KempeChainMove> moves = new KempeChainMoveIteratorFactory()
+                .createRandomMoveIterator(StubScoreDirector.of(schedule), new Random(7));
+
+        for (int i = 0; i < 50; i++) {
+            KempeChainMove move = moves.next();
+            // Across mon7 and mon8 the chain a-b reaches the pinned row through t2, so
+            // only a or b moving alone to the empty mon9 is doable
+            if (move.isMoveDoable(null)) {
+                assertEquals(1, move.getChain().size());
+                assertFalse(move.getChain().contains(pinned));
+            } else {
+                assertTrue(move.getChain().isEmpty() || move.getChain().contains(pinned));
+            }
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void originalOrderIsRejected() {
+        new KempeChainMoveIteratorFactory().createOriginalMoveIterator(StubScoreDirector.of(null));
+    }
+
+    /** Group, teacher and room are created by name; equal names are equal facts. */
+    private CourseAssignment assignment(String id, String group, String teacher, String room, Timeslot timeslot) {
+        CourseAssignment a = TestSchedules.assignment(id, new Group(group, group, Set.of("Math")), math, timeslot,
+                slots);
+        a.setTeacher(new Teacher(teacher, teacher, "", Set.of("Math"), Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9)),
+                20));
+        a.setRoom(new Room(room, "A", "estándar"));
+        return a;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class KempeChainMoveTest {
+
+    private final Timeslot mon7 = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+    private final Timeslot mon8 = new Timeslot("MON_8", DayOfWeek.MONDAY, 8, "Mon 8");
+    private final Timeslot mon9 = new Timeslot("MON_9", DayOfWeek.MONDAY, 9, "Mon 9");
+    private final Course math = new Course("Math", "estándar", 2);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final List<Timeslot> slots = List.of(mon7, mon8, mon9);
+
+    @Test
+    public void swapsEveryMemberBetweenTheTwoSlots() {
+        CourseAssignment a = assignment("a", mon7);
+        CourseAssignment b = assignment("b", mon8);
+        KempeChainMove move = new KempeChainMove(List.of(a, b), mon7, mon8);
+        assertTrue(move.isMoveDoable(null));
+
+        move.doMoveOnGenuineVariables(StubScoreDirector.of(TestSchedules.schedule(slots, a, b)));
+
+        assertSame(mon8, a.getTimeslot());
+        assertSame(mon7, b.getTimeslot());
+    }
+
+    @Test
+    public void notDoableWithAPinnedMemberOrATargetOutsideTheRange() {
+        CourseAssignment a = assignment("a", mon7);
+        CourseAssignment b = assignment("b", mon8);
+        b.setPinned(true);
+        assertFalse(new KempeChainMove(List.of(a, b), mon7, mon8).isMoveDoable(null));
+
+        CourseAssignment c = assignment("c", mon8);
+        c.setTimeslotRange(List.of(mon8, mon9));
+        assertFalse(new KempeChainMove(List.of(a, c), mon7, mon8).isMoveDoable(null));
+
+        // A member in neither slot has no target
+        assertFalse(new KempeChainMove(List.of(a, assignment("d", mon9)), mon7, mon8).isMoveDoable(null));
+        assertFalse(new KempeChainMove(List.of(a), mon7, mon7).isMoveDoable(null));
+    }
+
+    @Test
+    public void emptyChainIsNeverDoable() {
+        assertFalse(new KempeChainMove(List.of(), null, null).isMoveDoable(null));
+    }
+
+    @Test
+    public void rebaseLooksUpTheChainAndBothSlots() {
+        CourseAssignment a = assignment("a", mon7);
+        CourseAssignment b = assignment("b", mon8);
+        CourseAssignment aClone = assignment("a", mon7);
+        CourseAssignment bClone = assignment("b", mon8);
+        Timeslot mon7Clone = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+        Map<Object, Object> workingObjects = Map.of(a, aClone, b, bClone, mon7, mon7Clone);
+
+        KempeChainMove rebased = new KempeChainMove(List.of(a, b), mon7, mon8)
+                .rebase(StubScoreDirector.of(TestSchedules.schedule(slots, aClone, bClone), workingObjects));
+
+        assertEquals(2, rebased.getChain().size());
+        assertSame(aClone, rebased.getChain().get(0));
+        assertSame(bClone, rebased.getChain().get(1));
+        assertSame(mon7Clone, rebased.getPlanningValues().iterator().next());
+    }
+
+    private CourseAssignment assignment(String id, Timeslot timeslot) {
+        return TestSchedules.assignment(id, group, math, timeslot, slots);
+    }
+}
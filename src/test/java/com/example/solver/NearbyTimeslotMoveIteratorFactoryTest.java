@@ -0,0 +1,91 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class NearbyTimeslotMoveIteratorFactoryTest {
+
+    private final List<Timeslot> timeslots =
+            TestSchedules.timeslots(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), 7, 10);
+    private final Course math = new Course("Math", "estándar", 3);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+
+    @Test
+    public void candidatesAreRankedNearestFirstWithOneDistancePerCandidate() {
+        CourseAssignment sibling = assignment("a", slot(DayOfWeek.MONDAY, 7));
+        CourseAssignment origin = assignment("b", slot(DayOfWeek.TUESDAY, 10));
+        int[] calls = new int[1];
+        TimeslotDistanceMeter meter = new TimeslotDistanceMeter(List.of(sibling, origin)) {
+            @Override
+            public double getNearbyDistance(CourseAssignment from, Timeslot destination) {
+                calls[0]++;
+                return super.getNearbyDistance(from, destination);
+            }
+        };
+
+        List<Timeslot> ranked = NearbyTimeslotMoveIteratorFactory.rankByDistance(origin, meter, new Random(1));
+
+        assertEquals(7, ranked.size());
+        assertFalse(ranked.contains(origin.getTimeslot()));
+        assertEquals(7, calls[0]);
+        // Next to the sibling, then later on its day, then the other day (clash on Mon 7 last)
+        assertEquals(List.of(slot(DayOfWeek.MONDAY, 8), slot(DayOfWeek.MONDAY, 9), slot(DayOfWeek.MONDAY, 10)),
+                ranked.subList(0, 3));
+        assertEquals(slot(DayOfWeek.MONDAY, 7), ranked.get(6));
+    }
+
+    @Test
+    public void randomMovesChangeOrSwapWithinTheRanges() {
+        CourseAssignment a = assignment("a", slot(DayOfWeek.MONDAY, 7));
+        CourseAssignment b = assignment("b", slot(DayOfWeek.MONDAY, 8));
+        CourseAssignment pinned = assignment("p", slot(DayOfWeek.TUESDAY, 7));
+        pinned.setPinned(true);
+        Iterator<NearbyTimeslotMove> moves = new NearbyTimeslotMoveIteratorFactory()
+                .createRandomMoveIterator(StubScoreDirector.of(TestSchedules.schedule(timeslots, a, b, pinned)),
+                        new Random(7));
+
+        boolean sawSwap = false;
+        for (int i = 0; i < 100; i++) {
+            NearbyTimeslotMove move = moves.next();
+            List<? extends Object> entities = new ArrayList<>(move.getPlanningEntities());
+            if (entities.contains(pinned)) {
+                assertFalse(move.isMoveDoable(null));
+                continue;
+            }
+            assertTrue(move.isMoveDoable(null));
+            if (entities.size() == 2) {
+                sawSwap = true;
+                List<? extends Object> targets = new ArrayList<>(move.getPlanningValues());
+                assertEquals(((CourseAssignment) entities.get(1)).getTimeslot(), targets.get(0));
+                assertEquals(((CourseAssignment) entities.get(0)).getTimeslot(), targets.get(1));
+            }
+        }
+        assertTrue(sawSwap);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void originalOrderIsRejected() {
+        new NearbyTimeslotMoveIteratorFactory().createOriginalMoveIterator(StubScoreDirector.of(null));
+    }
+
+    private CourseAssignment assignment(String id, Timeslot timeslot) {
+        return TestSchedules.assignment(id, group, math, timeslot, timeslots);
+    }
+
+    private Timeslot slot(DayOfWeek day, int hour) {
+        return TestSchedules.slot(timeslots, day, hour);
+    }
+}
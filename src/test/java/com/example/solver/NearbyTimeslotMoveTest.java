@@ -0,0 +1,74 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class NearbyTimeslotMoveTest {
+
+    private final Timeslot mon7 = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+    private final Timeslot mon8 = new Timeslot("MON_8", DayOfWeek.MONDAY, 8, "Mon 8");
+    private final Timeslot mon9 = new Timeslot("MON_9", DayOfWeek.MONDAY, 9, "Mon 9");
+    private final Course math = new Course("Math", "estándar", 2);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final List<Timeslot> slots = List.of(mon7, mon8, mon9);
+
+    @Test
+    public void changeAndSwapSetTheTargets() {
+        CourseAssignment a = assignment("a", mon7);
+        CourseAssignment b = assignment("b", mon8);
+
+        NearbyTimeslotMove change = new NearbyTimeslotMove(List.of(a), List.of(mon9));
+        assertTrue(change.isMoveDoable(null));
+        assertEquals("NearbyTimeslotMove(change)", change.getSimpleMoveTypeDescription());
+        change.doMoveOnGenuineVariables(StubScoreDirector.of(null));
+        assertSame(mon9, a.getTimeslot());
+
+        NearbyTimeslotMove swap = new NearbyTimeslotMove(List.of(a, b), List.of(mon8, mon9));
+        assertEquals("NearbyTimeslotMove(swap)", swap.getSimpleMoveTypeDescription());
+        swap.doMoveOnGenuineVariables(StubScoreDirector.of(null));
+        assertSame(mon8, a.getTimeslot());
+        assertSame(mon9, b.getTimeslot());
+    }
+
+    @Test
+    public void notDoableWhenPinnedOutsideTheRangeOrUnchanged() {
+        CourseAssignment a = assignment("a", mon7);
+        assertFalse(new NearbyTimeslotMove(List.of(a), List.of(mon7)).isMoveDoable(null));
+        assertFalse(new NearbyTimeslotMove(List.of(a), Arrays.asList((Timeslot) null)).isMoveDoable(null));
+
+        a.setTimeslotRange(List.of(mon7, mon8));
+        assertFalse(new NearbyTimeslotMove(List.of(a), List.of(mon9)).isMoveDoable(null));
+
+        a.setPinned(true);
+        assertFalse(new NearbyTimeslotMove(List.of(a), List.of(mon8)).isMoveDoable(null));
+    }
+
+    @Test
+    public void rebaseLooksUpAssignmentsAndTargets() {
+        CourseAssignment a = assignment("a", mon7);
+        CourseAssignment aClone = assignment("a", mon7);
+        Timeslot mon8Clone = new Timeslot("MON_8", DayOfWeek.MONDAY, 8, "Mon 8");
+
+        NearbyTimeslotMove rebased = new NearbyTimeslotMove(List.of(a), List.of(mon8))
+                .rebase(StubScoreDirector.of(null, Map.of(a, aClone, mon8, mon8Clone)));
+
+        assertSame(aClone, rebased.getPlanningEntities().iterator().next());
+        assertSame(mon8Clone, rebased.getPlanningValues().iterator().next());
+    }
+
+    private CourseAssignment assignment(String id, Timeslot timeslot) {
+        return TestSchedules.assignment(id, group, math, timeslot, slots);
+    }
+}
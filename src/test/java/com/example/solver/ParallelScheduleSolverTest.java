@@ -0,0 +1,94 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ParallelScheduleSolverTest {
+
+    private final Timeslot mon7 = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+    private final Timeslot mon8 = new Timeslot("MON_8", DayOfWeek.MONDAY, 8, "Mon 8");
+    private final Room r1 = new Room("R1", "A", "estándar");
+    private final Room r2 = new Room("R2", "A", "estándar");
+    private final Course math = new Course("Math", "estándar", 1);
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8)), 20);
+
+    @Test
+    public void laterPartsGiveUpSlotsTakenByEarlierOnesOrByPins() {
+        CourseAssignment first = assignment("a1", "g1", mon7, r1);
+        CourseAssignment sameTeacher = assignment("a2", "g2", mon7, r2);
+        CourseAssignment free = assignment("a3", "g3", mon8, r2);
+        CourseAssignment unpinned = assignment("a4", "g4", mon8, r1);
+        CourseAssignment pinned = assignment("a5", "g5", mon8, r1);
+        pinned.setTeacher(null);
+        pinned.setPinned(true);
+
+        List<CourseAssignment> clashing = ParallelScheduleSolver.crossPartClashes(List.of(
+                part(first, unpinned), part(sameTeacher), part(free, pinned)));
+
+        // a2 uses Ana at Mon 7 after part 1; a4 uses R1 at Mon 8, where a5 is pinned.
+        // a3 uses Ana at Mon 8 after a4 in part 1.
+        assertEquals(List.of(unpinned, sameTeacher, free), clashing);
+    }
+
+    @Test
+    public void crossPartClashesAreRepairedAfterTheMerge() {
+        // Solved as two parts, both sub-solvers put Ana at Mon 7; only one can keep it
+        CourseAssignment a1 = assignment("a1", "g1", null, null);
+        CourseAssignment a2 = assignment("a2", "g2", null, null);
+        for (CourseAssignment a : List.of(a1, a2)) {
+            a.setTeacher(null);
+            a.setTeacherRange(List.of(ana));
+            a.setTimeslotRange(List.of(mon7, mon8));
+            a.setRoomRange(List.of(r1, r2));
+        }
+        SchoolSchedule schedule = new SchoolSchedule(List.of(ana), List.of(mon7, mon8), List.of(r1, r2),
+                List.of(math), List.of(a1.getGroup(), a2.getGroup()), new ArrayList<>(List.of(a1, a2)));
+        List<SchoolSchedule> components = List.of(part(a1), part(a2));
+
+        ParallelScheduleSolver solver = new ParallelScheduleSolver(SolverFactory.create(
+                SchoolSolverConfig.buildSolverConfig()
+                        .withTerminationConfig(new TerminationConfig().withSecondsSpentLimit(1L))), 2);
+        solver.setRepairTermination(new TerminationConfig().withBestScoreLimit("0hard/*soft")
+                .withSecondsSpentLimit(10L));
+        SchoolSchedule solved = solver.solve(schedule, components);
+
+        assertEquals(0, solved.getScore().hardScore());
+        assertNotEquals(solved.getCourseAssignments().get(0).getTimeslot(),
+                solved.getCourseAssignments().get(1).getTimeslot());
+    }
+
+    private CourseAssignment assignment(String id, String group, Timeslot timeslot, Room room) {
+        CourseAssignment a = new CourseAssignment(id, new Group(group, group.toUpperCase(), Set.of("Math")), math, 0);
+        a.setTeacher(ana);
+        a.setTimeslot(timeslot);
+        a.setRoom(room);
+        return a;
+    }
+
+    private SchoolSchedule part(CourseAssignment... assignments) {
+        List<Group> groups = new ArrayList<>();
+        for (CourseAssignment a : assignments) {
+            groups.add(a.getGroup());
+        }
+        return new SchoolSchedule(List.of(ana), List.of(mon7, mon8), List.of(r1, r2), List.of(math), groups,
+                new ArrayList<>(List.of(assignments)));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+import com.example.data.SyntheticDataGenerator;
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class PortfolioSolverTest {
+
+    private final Timeslot mon7 = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+    private final Timeslot mon8 = new Timeslot("MON_8", DayOfWeek.MONDAY, 8, "Mon 8");
+    private final Room r1 = new Room("R1", "A", "estándar");
+    private final Room r2 = new Room("R2", "A", "estándar");
+    private final Course math = new Course("Math", "estándar", 2);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8)), 20);
+    private final Teacher bruno = new Teacher("t2", "Bruno", "Diaz", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8)), 20);
+
+    @Test
+    public void globalBestIsTheHighestInitializedScore() {
+        PortfolioSolver portfolio = new PortfolioSolver(SchoolSolverConfig.buildSolverConfig(), 3, 1, 0);
+        HardSoftScore[] memberBest = new HardSoftScore[3];
+
+        SchoolSchedule first = scored(HardSoftScore.of(-2, -10));
+        portfolio.onBestSolution(0, first, true, memberBest);
+        assertSame(first, portfolio.getGlobalBest());
+
+        // Better score, but not every assignment is placed yet
+        portfolio.onBestSolution(1, scored(HardSoftScore.ZERO), false, memberBest);
+        assertSame(first, portfolio.getGlobalBest());
+        assertEquals(HardSoftScore.ZERO, memberBest[1]);
+
+        portfolio.onBestSolution(2, scored(HardSoftScore.of(-3, 0)), true, memberBest);
+        assertSame(first, portfolio.getGlobalBest());
+
+        SchoolSchedule best = scored(HardSoftScore.of(0, -50));
+        portfolio.onBestSolution(2, best, true, memberBest);
+        assertSame(best, portfolio.getGlobalBest());
+        assertEquals(2, portfolio.getGlobalBestOwner());
+    }
+
+    @Test
+    public void restartCopiesTheBestIntoUnpinnedAssignments() {
+        CourseAssignment bestHour = assignment("m0", ana, mon7, r1);
+        CourseAssignment bestPinned = assignment("m1", ana, mon8, r1);
+        CourseAssignment working = assignment("m0", bruno, mon8, r1);
+        CourseAssignment pinned = assignment("m1", bruno, mon7, r2);
+        pinned.setPinned(true);
+        SchoolSchedule workingSolution = new SchoolSchedule(List.of(ana, bruno), List.of(mon7, mon8),
+                List.of(r1, r2), List.of(math), List.of(group), new ArrayList<>(List.of(working, pinned)));
+        List<String> changed = new ArrayList<>();
+
+        new PortfolioSolver.RestartFromBest(Map.of("m0", bestHour, "m1", bestPinned))
+                .doChange(workingSolution, director(changed));
+
+        assertSame(ana, working.getTeacher());
+        assertSame(mon7, working.getTimeslot());
+        assertSame(r1, working.getRoom());
+        // Only the variables that differ are changed, and pinned rows are left alone
+        assertEquals(List.of("teacher", "timeslot"), changed);
+        assertSame(bruno, pinned.getTeacher());
+    }
+
+    @Test
+    public void solveReturnsAnInitializedBest() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator();
+        generator.setGroups(1);
+        generator.setTeachers(3);
+        generator.setSemesters(1);
+        generator.setCoursesPerGroup(2);
+        SchoolSchedule problem = generator.generate();
+
+        PortfolioSolver portfolio = new PortfolioSolver(SchoolSolverConfig.buildSolverConfig(), 2, 2, 1);
+        SchoolSchedule best = portfolio.solve(problem);
+
+        assertTrue(PortfolioSolver.isInitialized(best));
+        assertNotSame(problem, best);
+        assertTrue(portfolio.getGlobalBestOwner() >= 0);
+    }
+
+    private SchoolSchedule scored(HardSoftScore score) {
+        SchoolSchedule schedule = new SchoolSchedule(List.of(ana), List.of(mon7), List.of(r1), List.of(math),
+                List.of(group), new ArrayList<>());
+        schedule.setScore(score);
+        return schedule;
+    }
+
+    private CourseAssignment assignment(String id, Teacher teacher, Timeslot timeslot, Room room) {
+        CourseAssignment a = new CourseAssignment(id, group, math, id.equals("m0") ? 0 : 1);
+        a.setTeacher(teacher);
+        a.setTimeslot(timeslot);
+        a.setRoom(room);
+        return a;
+    }
+
+    /** Applies every variable change right away and records the variable names. */
+    @SuppressWarnings("unchecked")
+    private static ProblemChangeDirector director(List<String> changed) {
+        return (ProblemChangeDirector) Proxy.newProxyInstance(ProblemChangeDirector.class.getClassLoader(),
+                new Class<?>[] { ProblemChangeDirector.class }, (proxy, method, args) -> {
+                    if (!method.getName().equals("changeVariable")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    changed.add((String) args[1]);
+                    ((Consumer<Object>) args[2]).accept(args[0]);
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ScheduleDecomposerTest {
+
+    @Test
+    public void splitsGroupsWithoutSharedPinnedOrFixedResources() {
+        Teacher t1 = new Teacher("T1", Set.of("Math"), Set.of(DayOfWeek.MONDAY), 7, 15);
+        Teacher t2 = new Teacher("T2", Set.of("Math"), Set.of(DayOfWeek.MONDAY), 7, 15);
+        Room r1 = new Room("R1", "A", "estándar");
+        Room r2 = new Room("R2", "A", "estándar");
+        Room r3 = new Room("R3", "A", "estándar");
+        Course math = new Course("Math", "estándar", 1);
+        Group g1 = new Group("g1", "G1", Set.of("Math"));
+        Group g2 = new Group("g2", "G2", Set.of("Math"));
+        Group g3 = new Group("g3", "G3", Set.of("Math"));
+        Timeslot mon7 = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+
+        // g1 has t1 pinned and g2 can only take t1; g3's teacher is not bound
+        CourseAssignment a1 = assignment("a1", g1, math, t1, r1);
+        a1.setTimeslot(mon7);
+        a1.setPinned(true);
+        CourseAssignment a2 = assignment("a2", g2, math, t1, r2);
+        a2.setTeacherRange(List.of(t1));
+        a2.setRoomRange(List.of(r2, r3));
+        CourseAssignment a3 = assignment("a3", g3, math, t2, r3);
+        SchoolSchedule schedule = new SchoolSchedule(List.of(t1, t2), List.of(mon7), List.of(r1, r2, r3),
+                List.of(math), List.of(g1, g2, g3), new ArrayList<>(List.of(a1, a2, a3)));
+
+        List<SchoolSchedule> components = ScheduleDecomposer.decompose(schedule);
+
+        assertEquals(2, components.size());
+        assertEquals(List.of(a1, a2), components.get(0).getCourseAssignments());
+        assertEquals(List.of(t1), components.get(0).getTeachers());
+        // a2's room range still puts r3 in its part, shared with g3's
+        assertEquals(List.of(r1, r2, r3), components.get(0).getRooms());
+        assertEquals(List.of(g3), components.get(1).getGroups());
+
+        List<SchoolSchedule> packed = ScheduleDecomposer.pack(schedule, components, 1);
+        assertEquals(1, packed.size());
+        assertEquals(3, packed.get(0).getCourseAssignments().size());
+    }
+
+    @Test
+    public void sharedCandidateTeacherDoesNotJoinGroups() {
+        Teacher t1 = new Teacher("T1", Set.of("Math"), Set.of(DayOfWeek.MONDAY), 7, 15);
+        Teacher t2 = new Teacher("T2", Set.of("Math"), Set.of(DayOfWeek.MONDAY), 7, 15);
+        Room r1 = new Room("R1", "A", "estándar");
+        Room r2 = new Room("R2", "A", "estándar");
+        Course math = new Course("Math", "estándar", 1);
+        Group g1 = new Group("g1", "G1", Set.of("Math"));
+        Group g2 = new Group("g2", "G2", Set.of("Math"));
+
+        // Both could take either teacher: only a clash after solving would couple them
+        CourseAssignment a1 = assignment("a1", g1, math, t1, r1);
+        a1.setTeacherRange(List.of(t1, t2));
+        a1.setRoomRange(List.of(r1));
+        CourseAssignment a2 = assignment("a2", g2, math, t2, r2);
+        a2.setTeacherRange(List.of(t2, t1));
+        a2.setRoomRange(List.of(r2));
+        SchoolSchedule schedule = new SchoolSchedule(List.of(t1, t2),
+                List.of(new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7")), List.of(r1, r2),
+                List.of(math), List.of(g1, g2), new ArrayList<>(List.of(a1, a2)));
+
+        List<SchoolSchedule> components = ScheduleDecomposer.decompose(schedule);
+
+        assertEquals(2, components.size());
+        assertEquals(List.of(t1, t2), components.get(0).getTeachers());
+        assertEquals(List.of(t2, t1), components.get(1).getTeachers());
+    }
+
+    private static CourseAssignment assignment(String id, Group group, Course course, Teacher teacher, Room room) {
+        CourseAssignment a = new CourseAssignment(id, group, course, 0);
+        a.setTeacher(teacher);
+        a.setRoom(room);
+        return a;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.analysis.ConstraintAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+
+import com.example.analysis.ScheduleAnalyzer;
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Scores hand-built schedules through {@link SolutionManager} (timefold-solver-test's
+ * ConstraintVerifier is not on the build path) and checks the analyzer agrees.
+ */
+public class SchoolConstraintProviderTest {
+
+    private static final String ANALYZER_RULE = "Group course hours must be consecutive on same day";
+
+    private final SolutionManager<SchoolSchedule, HardSoftScore> solutionManager =
+            SolutionManager.create(SchoolSolverConfig.buildSolverFactory());
+    private final List<Timeslot> timeslots = new ArrayList<>();
+    private final Room room = new Room("R1", "A", "estándar");
+    private final Course math = new Course("Math", "estándar", 4);
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8, 9, 10, 11, 12, 13)), 20);
+
+    public SchoolConstraintProviderTest() {
+        for (int hour = 7; hour <= 13; hour++) {
+            timeslots.add(new Timeslot("MON_" + hour, DayOfWeek.MONDAY, hour, "Mon " + hour));
+        }
+    }
+
+    @Test
+    public void oneBlockOutOfSequenceOrderIsNotPenalized() {
+        // Sequence 0 and 2 side by side is fine: only the hours matter
+        assertConsecutivePenalty(0, schedule(8, 9, 7, 10));
+        assertConsecutivePenalty(0, schedule(8, 7, 9, 10));
+    }
+
+    @Test
+    public void blockSplitInTwoCostsOneBreak() {
+        assertConsecutivePenalty(1, schedule(7, 8, 10, 11));
+        assertConsecutivePenalty(1, schedule(7, 8, 9, 13));
+    }
+
+    @Test
+    public void blockSplitInThreeCostsTwoBreaks() {
+        assertConsecutivePenalty(2, schedule(7, 9, 10, 12));
+        assertConsecutivePenalty(2, schedule(13, 7, 10, 11));
+    }
+
+    private void assertConsecutivePenalty(int breaks, SchoolSchedule schedule) {
+        ConstraintAnalysis<HardSoftScore> constraint = solutionManager.analyze(schedule)
+                .getConstraintAnalysis(SchoolConstraintProvider.GROUP_COURSE_CONSECUTIVE);
+        int penalty = constraint == null ? 0 : -constraint.score().hardScore();
+        assertEquals(breaks, penalty);
+        assertEquals(Integer.valueOf(breaks),
+                ScheduleAnalyzer.analyzeHardConstraintViolations(schedule).get(ANALYZER_RULE));
+    }
+
+    /** One Monday hour per sequence index, all with the same teacher and room. */
+    private SchoolSchedule schedule(int... hours) {
+        List<CourseAssignment> assignments = new ArrayList<>();
+        for (int sequence = 0; sequence < hours.length; sequence++) {
+            CourseAssignment a = new CourseAssignment("m" + sequence, group, math, sequence);
+            a.setTimeslot(timeslots.get(hours[sequence] - 7));
+            a.setTeacher(ana);
+            a.setRoom(room);
+            assignments.add(a);
+        }
+        return new SchoolSchedule(List.of(ana), timeslots, List.of(room), List.of(math), List.of(group),
+                assignments);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.PillarSwapMoveSelectorConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.phase.PhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.example.domain.SchoolSchedule;
+import com.example.solver.SchoolSolverConfig.Profile;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SchoolSolverConfigTest {
+
+    @Test
+    public void defaultIsTheXmlAsIs() {
+        SolverConfig config = SchoolSolverConfig.buildSolverConfig(Profile.DEFAULT);
+
+        List<PhaseConfig> phases = config.getPhaseConfigList();
+        assertEquals(2, phases.size());
+        assertTrue(phases.get(0) instanceof ConstructionHeuristicPhaseConfig);
+        TerminationConfig search = phases.get(1).getTerminationConfig();
+        assertEquals("0hard/*soft", search.getBestScoreLimit());
+        assertEquals(Long.valueOf(120), search.getMinutesSpentLimit());
+        assertEquals(Long.valueOf(3), search.getUnimprovedMinutesSpentLimit());
+    }
+
+    @Test
+    public void feasibilityFastStopsAtTheFirstFeasibleScoreWithSoftWeightsZeroed() {
+        SolverConfig config = SchoolSolverConfig.buildSolverConfig(Profile.FEASIBILITY_FAST);
+
+        assertEquals(2, config.getPhaseConfigList().size());
+        TerminationConfig search = config.getPhaseConfigList().get(1).getTerminationConfig();
+        assertEquals(Boolean.TRUE, search.getBestScoreFeasible());
+        assertEquals(Long.valueOf(60), search.getUnimprovedSecondsSpentLimit());
+        assertEquals(Long.valueOf(5), config.getTerminationConfig().getMinutesSpentLimit());
+
+        SchoolSchedule schedule = new SchoolSchedule(List.of(), List.of(), List.of(), List.of(), List.of(),
+                new ArrayList<>());
+        schedule.setConstraintWeightOverrides(ConstraintWeights.of(Map.of(
+                SchoolConstraintProvider.PREFERRED_ROOM, "0hard/3soft")));
+        SchoolSolverConfig.applyWeights(Profile.FEASIBILITY_FAST, schedule);
+
+        ConstraintWeightOverrides<HardSoftScore> weights = schedule.getConstraintWeightOverrides();
+        for (String soft : SchoolConstraintProvider.SOFT_CONSTRAINTS) {
+            assertEquals(soft, HardSoftScore.ZERO, weights.getConstraintWeight(soft));
+        }
+        assertNull(weights.getConstraintWeight(SchoolConstraintProvider.GROUP_COURSE_CONSECUTIVE));
+    }
+
+    @Test
+    public void nightlyQualityPolishesWithPillarSwaps() {
+        SolverConfig config = SchoolSolverConfig.buildSolverConfig(Profile.NIGHTLY_QUALITY);
+
+        List<PhaseConfig> phases = config.getPhaseConfigList();
+        assertEquals(3, phases.size());
+        TerminationConfig feasibility = phases.get(1).getTerminationConfig();
+        assertEquals(Boolean.TRUE, feasibility.getBestScoreFeasible());
+        assertEquals(Long.valueOf(20), feasibility.getUnimprovedMinutesSpentLimit());
+        LocalSearchPhaseConfig polish = (LocalSearchPhaseConfig) phases.get(2);
+        assertEquals(Long.valueOf(45), polish.getTerminationConfig().getUnimprovedMinutesSpentLimit());
+        assertEquals(Integer.valueOf(2000), polish.getAcceptorConfig().getLateAcceptanceSize());
+        assertTrue(((UnionMoveSelectorConfig) polish.getMoveSelectorConfig()).getMoveSelectorList().stream()
+                .anyMatch(PillarSwapMoveSelectorConfig.class::isInstance));
+        // The feasibility phase keeps the XML moves
+        assertTrue(((UnionMoveSelectorConfig) ((LocalSearchPhaseConfig) phases.get(1)).getMoveSelectorConfig())
+                .getMoveSelectorList().stream().noneMatch(PillarSwapMoveSelectorConfig.class::isInstance));
+        assertEquals(Long.valueOf(8), config.getTerminationConfig().getHoursSpentLimit());
+    }
+
+    @Test
+    public void repairUsesEntityTabuAndTightLimits() {
+        SolverConfig config = SchoolSolverConfig.buildSolverConfig(Profile.REPAIR);
+
+        assertEquals(2, config.getPhaseConfigList().size());
+        LocalSearchPhaseConfig search = (LocalSearchPhaseConfig) config.getPhaseConfigList().get(1);
+        assertEquals(Integer.valueOf(7), search.getAcceptorConfig().getEntityTabuSize());
+        assertEquals(Long.valueOf(15), search.getTerminationConfig().getUnimprovedSecondsSpentLimit());
+        assertEquals(Long.valueOf(60), config.getTerminationConfig().getSecondsSpentLimit());
+    }
+
+    @Test
+    public void onlyFeasibilityFastChangesTheWeights() {
+        for (Profile profile : List.of(Profile.DEFAULT, Profile.NIGHTLY_QUALITY, Profile.REPAIR)) {
+            SchoolSchedule schedule = new SchoolSchedule(List.of(), List.of(), List.of(), List.of(), List.of(),
+                    new ArrayList<>());
+            ConstraintWeightOverrides<HardSoftScore> weights = schedule.getConstraintWeightOverrides();
+            SchoolSolverConfig.applyWeights(profile, schedule);
+            assertSame(profile.getId(), weights, schedule.getConstraintWeightOverrides());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.config.heuristic.selector.move.MoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import com.example.data.SyntheticDataGenerator;
+import com.example.domain.SchoolSchedule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SolverTunerTest {
+
+    @Test
+    public void gridHoldsEveryCombination() {
+        List<Map<String, String>> grid = SolverTuner.grid(List.of(
+                new SolverTuner.Parameter(SolverTuner.LATE_ACCEPTANCE_SIZE, List.of("500", "1000")),
+                new SolverTuner.Parameter(SolverTuner.ACCEPTED_COUNT_LIMIT, List.of("1", "2", "4"))));
+        assertEquals(6, grid.size());
+        assertEquals(Map.of(SolverTuner.LATE_ACCEPTANCE_SIZE, "500", SolverTuner.ACCEPTED_COUNT_LIMIT, "1"),
+                grid.get(0));
+        assertEquals(6, grid.stream().distinct().count());
+    }
+
+    @Test
+    public void searchStopsWhenTheSpaceIsSmallerThanTheTrials() {
+        for (SolverTuner.Search search : List.of(SolverTuner.Search.RANDOM, SolverTuner.Search.BAYES)) {
+            SolverTuner tuner = new SolverTuner(SchoolSolverConfig.buildSolverConfig());
+            tuner.setSpace(List.of(
+                    new SolverTuner.Parameter(SolverTuner.LATE_ACCEPTANCE_SIZE, List.of("500", "1000"))));
+            tuner.setSearch(search);
+            tuner.setTrials(5);
+            tuner.setSecondsPerRun(1);
+            tuner.setThreads(1);
+            tuner.addDataset("tiny", SolverTunerTest::tinySchool);
+
+            List<SolverTuner.Trial> trials = tuner.tune();
+
+            assertEquals(search.toString(), 2, trials.size());
+            assertEquals(2, trials.stream().map(SolverTuner.Trial::parameters).distinct().count());
+        }
+    }
+
+    @Test
+    public void spaceSizeSaturates() {
+        List<String> values = List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
+        List<SolverTuner.Parameter> space = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            space.add(new SolverTuner.Parameter("p" + i, values));
+        }
+        SolverTuner tuner = new SolverTuner(SchoolSolverConfig.buildSolverConfig());
+        tuner.setSpace(space);
+        assertEquals(Long.MAX_VALUE, tuner.spaceSize());
+    }
+
+    @Test
+    public void configureAppliesAcceptorForagerAndWeights() {
+        SolverConfig base = SchoolSolverConfig.buildSolverConfig();
+        List<SolverTuner.Parameter> space = SolverTuner.defaultSpace(base);
+        String firstWeight = space.stream().map(SolverTuner.Parameter::name)
+                .filter(name -> name.startsWith(SolverTuner.WEIGHT_PREFIX)).findFirst().orElseThrow();
+
+        SolverConfig tuned = SolverTuner.configure(base, Map.of(SolverTuner.LATE_ACCEPTANCE_SIZE, "250",
+                SolverTuner.ENTITY_TABU_SIZE, "0", SolverTuner.ACCEPTED_COUNT_LIMIT, "4", firstWeight, "2"));
+
+        LocalSearchPhaseConfig localSearch = (LocalSearchPhaseConfig) tuned.getPhaseConfigList().get(1);
+        assertEquals(Integer.valueOf(250), localSearch.getAcceptorConfig().getLateAcceptanceSize());
+        assertNull(localSearch.getAcceptorConfig().getEntityTabuSize());
+        assertEquals(Integer.valueOf(4), localSearch.getForagerConfig().getAcceptedCountLimit());
+        List<MoveSelectorConfig> selectors = ((UnionMoveSelectorConfig) localSearch.getMoveSelectorConfig())
+                .getMoveSelectorList();
+        assertEquals(Double.valueOf(2.0), selectors.get(0).getFixedProbabilityWeight());
+        // The base configuration is left alone
+        LocalSearchPhaseConfig original = (LocalSearchPhaseConfig) base.getPhaseConfigList().get(1);
+        assertEquals(Integer.valueOf(1000), original.getAcceptorConfig().getLateAcceptanceSize());
+    }
+
+    private static SchoolSchedule tinySchool() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator();
+        generator.setGroups(1);
+        generator.setTeachers(3);
+        generator.setSemesters(1);
+        generator.setCoursesPerGroup(2);
+        return generator.generate();
+    }
+}
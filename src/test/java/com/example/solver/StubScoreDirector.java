@@ -0,0 +1,34 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import com.example.domain.SchoolSchedule;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Score director for move tests: hands out the working solution, looks up
+ * working objects in a map (identity when absent) and ignores variable change
+ * notifications. Anything else fails the test.
+ */
+final class StubScoreDirector {
+
+    private StubScoreDirector() {
+    }
+
+    static ScoreDirector<SchoolSchedule> of(SchoolSchedule workingSolution) {
+        return of(workingSolution, Map.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    static ScoreDirector<SchoolSchedule> of(SchoolSchedule workingSolution, Map<Object, Object> workingObjects) {
+        return (ScoreDirector<SchoolSchedule>) Proxy.newProxyInstance(ScoreDirector.class.getClassLoader(),
+                new Class<?>[] { ScoreDirector.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "getWorkingSolution" -> workingSolution;
+                    case "lookUpWorkingObject", "lookUpWorkingObjectOrReturnNull" ->
+                        args[0] == null ? null : workingObjects.getOrDefault(args[0], args[0]);
+                    case "beforeVariableChanged", "afterVariableChanged", "triggerVariableListeners" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fixture factories shared by the move, move factory and filter tests: a grid
+ * of timeslots, single assignments, and a schedule whose facts are collected
+ * from the assignments it holds.
+ */
+public final class TestSchedules {
+
+    private TestSchedules() {
+    }
+
+    /** One timeslot per day and hour from {@code firstHour} to {@code lastHour}, day by day. */
+    public static List<Timeslot> timeslots(List<DayOfWeek> days, int firstHour, int lastHour) {
+        List<Timeslot> timeslots = new ArrayList<>();
+        for (DayOfWeek day : days) {
+            for (int hour = firstHour; hour <= lastHour; hour++) {
+                timeslots.add(new Timeslot(day + "_" + hour, day, hour, day + " " + hour));
+            }
+        }
+        return timeslots;
+    }
+
+    public static Timeslot slot(List<Timeslot> timeslots, DayOfWeek day, int hour) {
+        return timeslots.stream().filter(t -> t.getDayOfWeek() == day && t.getHour() == hour).findFirst()
+                .orElseThrow();
+    }
+
+    /** Hour 0 of {@code course} for {@code group} at {@code timeslot}, free to move within {@code timeslotRange}. */
+    public static CourseAssignment assignment(String id, Group group, Course course, Timeslot timeslot,
+            List<Timeslot> timeslotRange) {
+        CourseAssignment a = new CourseAssignment(id, group, course, 0);
+        a.setTimeslot(timeslot);
+        a.setTimeslotRange(timeslotRange);
+        return a;
+    }
+
+    /** Hour {@code sequence} of {@code course} for {@code group}, taught by one of {@code teacherRange}. */
+    public static CourseAssignment assignment(String id, Group group, Course course, int sequence, Teacher teacher,
+            List<Teacher> teacherRange) {
+        CourseAssignment a = new CourseAssignment(id, group, course, sequence);
+        a.setTeacherRange(teacherRange);
+        a.setTeacher(teacher);
+        return a;
+    }
+
+    /**
+     * A schedule of {@code assignments} over {@code timeslots}. Its groups,
+     * courses, teachers (current and candidates) and rooms are those the
+     * assignments use, in order of first use.
+     */
+    public static SchoolSchedule schedule(List<Timeslot> timeslots, CourseAssignment... assignments) {
+        Set<Group> groups = new LinkedHashSet<>();
+        Set<Course> courses = new LinkedHashSet<>();
+        Set<Teacher> teachers = new LinkedHashSet<>();
+        Set<Room> rooms = new LinkedHashSet<>();
+        for (CourseAssignment a : assignments) {
+            groups.add(a.getGroup());
+            courses.add(a.getCourse());
+            if (a.getTeacher() != null) {
+                teachers.add(a.getTeacher());
+            }
+            if (a.getTeacherRange() != null) {
+                teachers.addAll(a.getTeacherRange());
+            }
+            if (a.getRoom() != null) {
+                rooms.add(a.getRoom());
+            }
+        }
+        return new SchoolSchedule(new ArrayList<>(teachers), timeslots, new ArrayList<>(rooms),
+                new ArrayList<>(courses), new ArrayList<>(groups), new ArrayList<>(List.of(assignments)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TimeslotDistanceMeterTest {
+
+    private static Timeslot slot(DayOfWeek day, int hour) {
+        return new Timeslot(day + "_" + hour, day, hour, day + " " + hour);
+    }
+
+    @Test
+    public void adjacentToSiblingIsNearestAndTeacherWindowIsFar() {
+        Group group = new Group("g1", "1A", Set.of("Math"));
+        Course math = new Course("c1", "Math", "MAT", "I", "BASICAS", "standard", 3, true);
+        Teacher teacher = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+                Map.of(DayOfWeek.MONDAY, Set.of(8, 9, 10, 11), DayOfWeek.TUESDAY, Set.of(8, 9)), 20);
+        CourseAssignment sibling = new CourseAssignment("a1", group, math, 0);
+        sibling.setTimeslot(slot(DayOfWeek.MONDAY, 8));
+        CourseAssignment origin = new CourseAssignment("a2", group, math, 1);
+        origin.setTeacher(teacher);
+        origin.setTimeslot(slot(DayOfWeek.TUESDAY, 9));
+        TimeslotDistanceMeter meter = new TimeslotDistanceMeter(List.of(sibling, origin));
+
+        double adjacent = meter.getNearbyDistance(origin, slot(DayOfWeek.MONDAY, 9));
+        double sameDay = meter.getNearbyDistance(origin, slot(DayOfWeek.MONDAY, 11));
+        double otherDay = meter.getNearbyDistance(origin, slot(DayOfWeek.TUESDAY, 8));
+        double clash = meter.getNearbyDistance(origin, slot(DayOfWeek.MONDAY, 8));
+        double unavailable = meter.getNearbyDistance(origin, slot(DayOfWeek.TUESDAY, 11));
+
+        assertEquals(0.0, adjacent, 0.0);
+        assertTrue(adjacent < sameDay && sameDay < otherDay);
+        assertTrue(otherDay < clash && clash < unavailable);
+    }
+}
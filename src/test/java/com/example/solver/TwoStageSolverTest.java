@@ -0,0 +1,95 @@
+package com.example.solver;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoft.HardSoftScore;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import com.example.data.SyntheticDataGenerator;
+import com.example.domain.SchoolSchedule;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TwoStageSolverTest {
+
+    @Test
+    public void stageOneZeroesSoftWeightsAndStageTwoRestoresThem() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator();
+        generator.setGroups(1);
+        generator.setTeachers(3);
+        generator.setSemesters(1);
+        generator.setCoursesPerGroup(2);
+        SchoolSchedule problem = generator.generate();
+        ConstraintWeightOverrides<HardSoftScore> weights = ConstraintWeights.of(Map.of(
+                SchoolConstraintProvider.PREFERRED_ROOM, "0hard/3soft"));
+        problem.setConstraintWeightOverrides(weights);
+
+        TwoStageSolver twoStage = new TwoStageSolver(SchoolSolverConfig.buildSolverConfig()
+                .withTerminationConfig(new TerminationConfig().withSecondsSpentLimit(2L)));
+        twoStage.setStageOneUnimprovedSeconds(1);
+        // Weights each stage's best solutions carry, per stage
+        List<List<ConstraintWeightOverrides<HardSoftScore>>> seen = new ArrayList<>();
+        twoStage.setSolverCustomizer(solver -> {
+            List<ConstraintWeightOverrides<HardSoftScore>> stage = new ArrayList<>();
+            seen.add(stage);
+            solver.addEventListener(event -> stage.add(event.getNewBestSolution().getConstraintWeightOverrides()));
+        });
+
+        SchoolSchedule solved = twoStage.solve(problem);
+
+        assertEquals(2, seen.size());
+        assertFalse(seen.get(0).isEmpty());
+        for (ConstraintWeightOverrides<HardSoftScore> stageOne : seen.get(0)) {
+            for (String soft : SchoolConstraintProvider.SOFT_CONSTRAINTS) {
+                assertEquals(soft, HardSoftScore.ZERO, stageOne.getConstraintWeight(soft));
+            }
+        }
+        for (ConstraintWeightOverrides<HardSoftScore> stageTwo : seen.get(1)) {
+            assertSame(weights, stageTwo);
+        }
+        assertSame(weights, solved.getConstraintWeightOverrides());
+        assertSame(weights, problem.getConstraintWeightOverrides());
+    }
+
+    @Test
+    public void stageTwoGetsWhatIsLeftOfTheTimeLimit() {
+        TerminationConfig base = new TerminationConfig().withMinutesSpentLimit(2L)
+                .withUnimprovedSecondsSpentLimit(30L).withBestScoreLimit("0hard/*soft");
+
+        TerminationConfig remaining = TwoStageSolver.remainingTermination(base, 30_000L);
+
+        assertEquals(Long.valueOf(90_000L), remaining.getMillisecondsSpentLimit());
+        assertNull(remaining.getMinutesSpentLimit());
+        assertEquals(Long.valueOf(30), remaining.getUnimprovedSecondsSpentLimit());
+        assertEquals("0hard/*soft", remaining.getBestScoreLimit());
+        // The base config is left alone
+        assertEquals(Long.valueOf(2), base.getMinutesSpentLimit());
+    }
+
+    @Test
+    public void stageTwoGetsAtLeastOneSecond() {
+        TerminationConfig base = new TerminationConfig().withSpentLimit(Duration.ofSeconds(5));
+
+        TerminationConfig remaining = TwoStageSolver.remainingTermination(base, 60_000L);
+
+        assertEquals(Long.valueOf(1000L), remaining.getMillisecondsSpentLimit());
+        assertNull(remaining.getSpentLimit());
+    }
+
+    @Test
+    public void withoutATimeLimitTheTerminationIsKept() {
+        TerminationConfig base = new TerminationConfig().withUnimprovedMinutesSpentLimit(3L);
+
+        TerminationConfig remaining = TwoStageSolver.remainingTermination(base, 60_000L);
+
+        assertNotSame(base, remaining);
+        assertNull(remaining.getMillisecondsSpentLimit());
+        assertEquals(Long.valueOf(3), remaining.getUnimprovedMinutesSpentLimit());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.solver;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ValueRangeBuilderTest {
+
+    private final List<Timeslot> timeslots = new ArrayList<>();
+    private final Room standard = new Room("R1", "A", "estándar");
+    private final Room lab = new Room("C1", "A", "centro de cómputo");
+    private final Course math = new Course("Math", "estándar", 2);
+    private final Course chemistry = new Course("Chemistry", "centro de cómputo", 1);
+    private final Group group = new Group("g1", "G1", Set.of("Math", "Chemistry"));
+    // Ana: Monday mornings, Bruno: Tuesday 7; both teach Math, only Bruno Chemistry
+    private final Teacher ana = new Teacher("t1", "Ana", "Lopez", Set.of("Math"),
+            Map.of(DayOfWeek.MONDAY, Set.of(7, 8)), 20);
+    private final Teacher bruno = new Teacher("t2", "Bruno", "Diaz", Set.of("Math", "Chemistry"),
+            Map.of(DayOfWeek.TUESDAY, Set.of(7)), 20);
+    private final Teacher carla = new Teacher("t3", "Carla", "Ruiz", Set.of("History"),
+            Map.of(DayOfWeek.WEDNESDAY, Set.of(7, 8, 9)), 20);
+
+    public ValueRangeBuilderTest() {
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY)) {
+            for (int hour = 7; hour <= 9; hour++) {
+                timeslots.add(new Timeslot(day + "_" + hour, day, hour, day + " " + hour));
+            }
+        }
+    }
+
+    @Test
+    public void timeslotsAreTheUnionOfTheQualifiedTeachersAvailability() {
+        CourseAssignment mathHour = new CourseAssignment("m0", group, math, 0);
+        CourseAssignment chemistryHour = new CourseAssignment("c0", group, chemistry, 0);
+        ValueRangeBuilder.apply(schedule(mathHour, chemistryHour));
+
+        assertEquals(List.of(ana, bruno), mathHour.getTeacherRange());
+        assertEquals(List.of(slot(DayOfWeek.MONDAY, 7), slot(DayOfWeek.MONDAY, 8), slot(DayOfWeek.TUESDAY, 7)),
+                mathHour.getTimeslotRange());
+        // Carla's Wednesdays never show up: she is not qualified
+        assertEquals(List.of(bruno), chemistryHour.getTeacherRange());
+        assertEquals(List.of(slot(DayOfWeek.TUESDAY, 7)), chemistryHour.getTimeslotRange());
+        assertEquals(List.of(standard), mathHour.getRoomRange());
+        assertEquals(List.of(lab), chemistryHour.getRoomRange());
+    }
+
+    @Test
+    public void pinnedSlotsOfTheGroupAreRemovedAndPinnedRowsKeepTheirValues() {
+        CourseAssignment pinned = new CourseAssignment("c0", group, chemistry, 0);
+        pinned.setTimeslot(slot(DayOfWeek.MONDAY, 8));
+        pinned.setTeacher(bruno);
+        pinned.setRoom(lab);
+        pinned.setPinned(true);
+        CourseAssignment mathHour = new CourseAssignment("m0", group, math, 0);
+        CourseAssignment otherGroup = new CourseAssignment("m1", new Group("g2", "G2", Set.of("Math")), math, 0);
+        ValueRangeBuilder.apply(schedule(pinned, mathHour, otherGroup));
+
+        assertEquals(List.of(slot(DayOfWeek.MONDAY, 8)), pinned.getTimeslotRange());
+        assertEquals(List.of(bruno), pinned.getTeacherRange());
+        assertEquals(List.of(lab), pinned.getRoomRange());
+        assertEquals(List.of(slot(DayOfWeek.MONDAY, 7), slot(DayOfWeek.TUESDAY, 7)), mathHour.getTimeslotRange());
+        // Another group's pinned hour does not block
+        assertTrue(otherGroup.getTimeslotRange().contains(slot(DayOfWeek.MONDAY, 8)));
+    }
+
+    @Test
+    public void everySlotHasAnAvailableCandidateButNotEveryCandidateIsAvailable() {
+        CourseAssignment mathHour = new CourseAssignment("m0", group, math, 0);
+        ValueRangeBuilder.apply(schedule(mathHour));
+
+        for (Timeslot timeslot : mathHour.getTimeslotRange()) {
+            assertTrue(timeslot.toString(),
+                    mathHour.getTeacherRange().stream().anyMatch(t -> t.isAvailableAt(timeslot)));
+        }
+        // The ranges are independent, so teacherMustBeAvailable can still fire: Ana on Tuesday 7
+        assertTrue(mathHour.getTeacherRange().contains(ana));
+        assertTrue(mathHour.getTimeslotRange().contains(slot(DayOfWeek.TUESDAY, 7)));
+        assertFalse(ana.isAvailableAt(slot(DayOfWeek.TUESDAY, 7)));
+    }
+
+    @Test
+    public void emptyRangesFallBackToEverything() {
+        CourseAssignment history = new CourseAssignment("h0", group, new Course("Art", "taller", 1), 0);
+        ValueRangeBuilder.apply(schedule(history));
+
+        assertEquals(List.of(ana, bruno, carla), history.getTeacherRange());
+        assertEquals(List.of(standard, lab), history.getRoomRange());
+        // Together the teachers cover Mon 7-8, Tue 7 and Wed 7-9
+        assertEquals(6, history.getTimeslotRange().size());
+    }
+
+    private Timeslot slot(DayOfWeek day, int hour) {
+        return timeslots.stream().filter(t -> t.getDayOfWeek() == day && t.getHour() == hour).findFirst()
+                .orElseThrow();
+    }
+
+    private SchoolSchedule schedule(CourseAssignment... assignments) {
+        return new SchoolSchedule(List.of(ana, bruno, carla), timeslots, List.of(standard, lab),
+                List.of(math, chemistry), List.of(group), new ArrayList<>(List.of(assignments)));
+    }
+}
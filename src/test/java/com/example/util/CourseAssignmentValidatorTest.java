@@ -0,0 +1,68 @@
+package com.example.util;
+
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Teacher;
+import com.example.domain.TeacherLoadSnapshot;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CourseAssignmentValidatorTest {
+
+    private final Group group = new Group("g1", "G1", Set.of("Math"));
+    private final Course math = new Course("Math", "estándar", 3);
+    private final Teacher busy = new Teacher("t1", "T1", "", Set.of("Math"), Set.of(DayOfWeek.MONDAY), 7, 15, 4);
+    private final Teacher idle = new Teacher("t2", "T2", "", Set.of("Math"), Set.of(DayOfWeek.MONDAY), 7, 15, 4);
+
+    @Test
+    public void rowsBeyondTheRequiredHoursDoNotCount() {
+        // The 4th row is beyond Math's 3 required hours
+        List<CourseAssignment> assignments = assignments(4);
+        assertEquals(3, CourseAssignmentValidator.getTeacherAssignedHours(busy, assignments));
+        assertEquals(1, CourseAssignmentValidator.getTeacherRemainingHours(busy, assignments));
+        assertEquals(0, CourseAssignmentValidator.getTeacherAssignedHours(idle, assignments));
+    }
+
+    @Test
+    public void canAssignCourseChecksTheWholeCourseAgainstMaxHours() {
+        List<CourseAssignment> assignments = assignments(5);
+        assertFalse(CourseAssignmentValidator.canAssignCourse(busy, math, assignments));
+        assertTrue(CourseAssignmentValidator.canAssignCourse(idle, math, assignments));
+        assertFalse(CourseAssignmentValidator.canAssignCourse(null, math, assignments));
+    }
+
+    @Test
+    public void snapshotAnswersForEveryTeacherWithTheSameRule() {
+        List<CourseAssignment> assignments = assignments(4);
+        CourseAssignment other = new CourseAssignment("b0", group, math, 0);
+        other.setTeacher(idle);
+        assignments.add(other);
+
+        TeacherLoadSnapshot snapshot = CourseAssignmentValidator.loadSnapshot(assignments);
+        assertEquals(Map.of(busy, 3, idle, 1), snapshot.asMap());
+        assertEquals(1, snapshot.getRemainingHours(busy));
+        assertEquals(3, snapshot.getRemainingHours(idle));
+        assertTrue(snapshot.canAssignCourse(idle, math));
+        assertFalse(snapshot.canAssignCourse(busy, math));
+        assertEquals(0, snapshot.getAssignedHours(null));
+    }
+
+    private List<CourseAssignment> assignments(int hours) {
+        List<CourseAssignment> assignments = new ArrayList<>();
+        for (int i = 0; i < hours; i++) {
+            CourseAssignment a = new CourseAssignment("a" + i, group, math, i);
+            a.setTeacher(busy);
+            assignments.add(a);
+        }
+        return assignments;
+    }
+}
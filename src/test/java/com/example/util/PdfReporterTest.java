@@ -0,0 +1,127 @@
+package com.example.util;
+
+import com.example.analysis.ScheduleIndex;
+import com.example.domain.Course;
+import com.example.domain.CourseAssignment;
+import com.example.domain.Group;
+import com.example.domain.Room;
+import com.example.domain.SchoolSchedule;
+import com.example.domain.Teacher;
+import com.example.domain.Timeslot;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class PdfReporterTest {
+
+    // 20 calendars per document: 3 threads render them as parts of 8, 8 and 4 pages
+    private static final int CALENDARS = 20;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Timeslot mon7 = new Timeslot("MON_7", DayOfWeek.MONDAY, 7, "Mon 7");
+    private final Room room = new Room("R1", "A", "estándar");
+    private final Course math = new Course("Math", "estándar", 1);
+
+    @Test
+    public void mergedCalendarsKeepEveryPageInOrder() throws IOException {
+        ScheduleIndex index = ScheduleIndex.of(schedule("Teacher"));
+        String baseName = folder.getRoot().toPath().resolve("report").toString();
+
+        PdfReporter.generateReports(index, Map.of(), Map.of(), baseName, 3);
+
+        List<String> teacherTitles = new ArrayList<>();
+        for (Teacher teacher : index.getTeachers()) {
+            teacherTitles.add("Calendario - Maestr@: " + teacher.getName() + " " + teacher.getLastName());
+        }
+        List<String> groupTitles = new ArrayList<>();
+        for (Group group : index.getGroups()) {
+            groupTitles.add("Calendario - Grupo: " + group.getName());
+        }
+        assertEquals(CALENDARS, teacherTitles.size());
+        assertEquals(teacherTitles, pageTitles(new File(baseName + "-por-maestro.pdf")));
+        assertEquals(groupTitles, pageTitles(new File(baseName + "-por-grupo.pdf")));
+        assertTrue(new File(baseName + "-incumplimientos.pdf").isFile());
+        assertEquals(0, PdfReporter.OPEN_PARTS.get());
+    }
+
+    @Test
+    public void failingPartFailsTheReportWithoutAMergedFile() throws IOException, InterruptedException {
+        // Helvetica has no glyph for these, so the middle part of the teacher calendars throws
+        ScheduleIndex index = ScheduleIndex.of(schedule("教師"));
+        String baseName = folder.getRoot().toPath().resolve("report").toString();
+
+        try {
+            PdfReporter.generateReports(index, Map.of(), Map.of(), baseName, 3);
+            fail("Expected the unencodable teacher name to fail rendering");
+        } catch (IllegalStateException e) {
+            assertEquals("PDF rendering failed", e.getMessage());
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        assertFalse(Files.exists(folder.getRoot().toPath().resolve("report-por-maestro.pdf")));
+        // The teacher parts on either side of the failing one and every group part were rendered:
+        // all of them are closed before the call returns
+        assertEquals(0, PdfReporter.OPEN_PARTS.get());
+        // The pool is shut down: its threads finish the parts in flight and exit
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (reporterThreadsAlive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertFalse(reporterThreadsAlive());
+    }
+
+    private static boolean reporterThreadsAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(t -> t.isAlive() && t.getName().startsWith("pdf-reporter-"));
+    }
+
+    /** First line of each page: the calendar title. */
+    private static List<String> pageTitles(File pdf) throws IOException {
+        List<String> titles = new ArrayList<>();
+        try (PDDocument doc = PDDocument.load(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= doc.getNumberOfPages(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                titles.add(stripper.getText(doc).lines().findFirst().orElse("").trim());
+            }
+        }
+        return titles;
+    }
+
+    /** One assignment per teacher and group; teacher 12's last name is {@code lastName12}. */
+    private SchoolSchedule schedule(String lastName12) {
+        List<Teacher> teachers = new ArrayList<>();
+        List<Group> groups = new ArrayList<>();
+        List<CourseAssignment> assignments = new ArrayList<>();
+        for (int i = 0; i < CALENDARS; i++) {
+            String n = String.format("%02d", i);
+            Teacher teacher = new Teacher("t" + n, "T" + n, i == 12 ? lastName12 : "Teacher", Set.of("Math"),
+                    Map.of(DayOfWeek.MONDAY, Set.of(7)), 20);
+            Group group = new Group("g" + n, "G" + n, Set.of("Math"));
+            CourseAssignment a = new CourseAssignment("a" + n, group, math, 0);
+            a.setTeacher(teacher);
+            a.setTimeslot(mon7);
+            a.setRoom(room);
+            teachers.add(teacher);
+            groups.add(group);
+            assignments.add(a);
+        }
+        return new SchoolSchedule(teachers, List.of(mon7), List.of(room), List.of(math), groups, assignments);
+    }
+}